@@ -304,7 +304,9 @@ public class AccessorClient implements Closeable {
   }
 
   /**
-   * Returns an Iterator containing AccessorObjects
+   * Returns an Iterator containing AccessorObjects.
+   * For a paginated listing (page size or continuation token set), the filter continuation token is replaced by
+   * the one of the next page, null if this page is the last one.
    */
   public Iterator<AccessorObject> listObjects(final String bucketName, final AccessorFilter filter)
       throws CcsWithStatusException {
@@ -317,6 +319,10 @@ public class AccessorClient implements Closeable {
       setHeadersForFilter(request, filter == null ? new AccessorFilter() : filter);
       var response = closeableHttpClient.executeOpen(null, request, null);
       if (response.getCode() == HttpStatus.SC_OK) {
+        if (filter != null && (filter.getPageSize() > 0 || filter.getContinuationToken() != null)) {
+          final var next = response.getFirstHeader(AccessorConstants.HeaderFilterObject.FILTER_NEXT_CONTINUATION_TOKEN);
+          filter.setContinuationToken(next != null ? next.getValue() : null);
+        }
         var inputStream = response.getEntity().getContent();
         var encoding = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
         if (encoding != null && encoding.getValue().equalsIgnoreCase(COMPRESSION_ZSTD)) {
@@ -573,6 +579,14 @@ public class AccessorClient implements Closeable {
         request.addHeader(AccessorConstants.HeaderFilterObject.FILTER_METADATA_EQ,
             StandardProperties.getObjectMapper().writeValueAsString(accessorFilter.getMetadataFilter()));
       }
+      if (accessorFilter.getPageSize() > 0) {
+        request.addHeader(AccessorConstants.HeaderFilterObject.FILTER_PAGE_SIZE,
+            Integer.toString(accessorFilter.getPageSize()));
+      }
+      if (ParametersChecker.isNotEmpty(accessorFilter.getContinuationToken())) {
+        request.addHeader(AccessorConstants.HeaderFilterObject.FILTER_CONTINUATION_TOKEN,
+            accessorFilter.getContinuationToken());
+      }
     } catch (final Exception e) {
       throw new CcsInvalidArgumentRuntimeException(INVALID_ARGUMENT, e);
     }
@@ -118,7 +118,9 @@ public class AccessorObjectInternalApiClient
   }
 
   /**
-   * Returns an Iterator containing AccessorObjects
+   * Returns an Iterator containing AccessorObjects.
+   * For a paginated listing (page size or continuation token set), the filter continuation token is replaced by
+   * the one of the next page, null if this page is the last one.
    */
   public Iterator<AccessorObject> listObjects(final String bucketName, final String clientId,
                                               final AccessorFilter filter) throws CcsWithStatusException {
@@ -126,9 +128,10 @@ public class AccessorObjectInternalApiClient
     final var accessorObject = new AccessorObject();
     accessorObject.setBucket(bucketName);
     prepareInputStreamToReceive(AccessorProperties.isInternalCompression(), accessorObject);
-    final var uni =
-        getService().listObjects(AccessorProperties.isInternalCompression(), bucketName, clientId, getOpId());
+    final var opId = getOpId();
+    final var uni = getService().listObjects(AccessorProperties.isInternalCompression(), bucketName, clientId, opId);
     final var inputStream = getInputStreamBusinessOutFromUni(true, uni).inputStream();
+    AccessorHeaderDtoConverter.nextContinuationTokenToFilter(opId, filter);
     return StreamIteratorUtils.getIteratorFromInputStream(inputStream, AccessorObject.class);
   }
 
@@ -19,6 +19,7 @@ package io.clonecloudstore.accessor.client.internal.api;
 import io.clonecloudstore.accessor.client.model.AccessorHeaderDtoConverter;
 import io.clonecloudstore.accessor.config.AccessorConstants;
 import io.clonecloudstore.accessor.model.AccessorObject;
+import io.clonecloudstore.common.quarkus.client.SimpleClientAbstract;
 import io.clonecloudstore.common.quarkus.client.utils.AbstractResponseClientFilter;
 import io.clonecloudstore.common.standard.system.ParametersChecker;
 import jakarta.ws.rs.client.ClientResponseContext;
@@ -31,6 +32,7 @@ public class ResponseObjectClientFilter extends AbstractResponseClientFilter<Acc
   protected AccessorObject getOutFromHeader(final ResteasyReactiveClientRequestContext requestContext,
                                             final ClientResponseContext responseContext,
                                             final MultivaluedMap<String, String> headers) {
+    AccessorHeaderDtoConverter.nextContinuationTokenFromMap(SimpleClientAbstract.getMdcOpId(), headers);
     if (ParametersChecker.isEmpty(headers.getFirst(AccessorConstants.HeaderObject.X_OBJECT_SITE))) {
       return null;
     }
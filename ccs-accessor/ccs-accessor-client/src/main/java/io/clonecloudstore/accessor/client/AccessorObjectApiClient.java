@@ -16,14 +16,21 @@
 
 package io.clonecloudstore.accessor.client;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
 import io.clonecloudstore.accessor.client.api.AccessorObjectApi;
 import io.clonecloudstore.accessor.client.model.AccessorHeaderDtoConverter;
+import io.clonecloudstore.accessor.model.AccessorBatchAction;
+import io.clonecloudstore.accessor.model.AccessorBatchItem;
+import io.clonecloudstore.accessor.model.AccessorBatchResult;
 import io.clonecloudstore.accessor.model.AccessorFilter;
+import io.clonecloudstore.accessor.model.AccessorMultipartPart;
+import io.clonecloudstore.accessor.model.AccessorMultipartUpload;
 import io.clonecloudstore.accessor.model.AccessorObject;
 import io.clonecloudstore.common.quarkus.client.ClientAbstract;
 import io.clonecloudstore.common.quarkus.client.InputStreamBusinessOut;
@@ -31,6 +38,7 @@ import io.clonecloudstore.common.quarkus.client.utils.ClientResponseExceptionMap
 import io.clonecloudstore.common.quarkus.exception.CcsClientGenericException;
 import io.clonecloudstore.common.quarkus.exception.CcsServerGenericException;
 import io.clonecloudstore.common.quarkus.modules.AccessorProperties;
+import io.clonecloudstore.common.quarkus.properties.JsonUtil;
 import io.clonecloudstore.common.standard.exception.CcsWithStatusException;
 import io.clonecloudstore.common.standard.stream.StreamIteratorUtils;
 import io.clonecloudstore.driver.api.StorageType;
@@ -119,7 +127,9 @@ public class AccessorObjectApiClient extends ClientAbstract<AccessorObject, Acce
   }
 
   /**
-   * Returns an Iterator containing AccessorObjects
+   * Returns an Iterator containing AccessorObjects.
+   * For a paginated listing (page size or continuation token set), the filter continuation token is replaced by
+   * the one of the next page, null if this page is the last one.
    */
   public Iterator<AccessorObject> listObjects(final String bucketName, final String clientId,
                                               final AccessorFilter filter) throws CcsWithStatusException {
@@ -127,9 +137,10 @@ public class AccessorObjectApiClient extends ClientAbstract<AccessorObject, Acce
     final var accessorObject = new AccessorObject();
     accessorObject.setBucket(bucketName);
     prepareInputStreamToReceive(AccessorProperties.isInternalCompression(), accessorObject);
-    final var uni =
-        getService().listObjects(AccessorProperties.isInternalCompression(), bucketName, clientId, getOpId());
+    final var opId = getOpId();
+    final var uni = getService().listObjects(AccessorProperties.isInternalCompression(), bucketName, clientId, opId);
     final var inputStream = getInputStreamBusinessOutFromUni(true, uni).inputStream();
+    AccessorHeaderDtoConverter.nextContinuationTokenToFilter(opId, filter);
     return StreamIteratorUtils.getIteratorFromInputStream(inputStream, AccessorObject.class);
   }
 
@@ -177,6 +188,125 @@ public class AccessorObjectApiClient extends ClientAbstract<AccessorObject, Acce
     }
   }
 
+  /**
+   * Apply one action on several Objects of the Bucket in one request
+   *
+   * @return the per item results, in the same order as the items
+   */
+  public Iterator<AccessorBatchResult> batchObjects(final String bucketName, final String clientId,
+                                                    final AccessorBatchAction action,
+                                                    final Iterator<AccessorBatchItem> items)
+      throws CcsWithStatusException {
+    final var accessorObject = new AccessorObject();
+    accessorObject.setBucket(bucketName);
+    try {
+      final var body = StreamIteratorUtils.getInputStreamFromIterator(items, AccessorBatchItem.class);
+      final var uni = getService().batchObjects(bucketName, action, clientId, getOpId(), body);
+      try (final var response = exceptionMapper.handleUniResponse(uni)) {
+        final var results = new ArrayList<AccessorBatchResult>();
+        StreamIteratorUtils.getIteratorFromInputStream(response.readEntity(InputStream.class),
+            AccessorBatchResult.class).forEachRemaining(results::add);
+        return results.iterator();
+      }
+    } catch (final CcsClientGenericException | CcsServerGenericException | ClientWebApplicationException e) {
+      throw ClientResponseExceptionMapper.getBusinessException(e);
+    } catch (final RuntimeException | IOException e) {
+      throw new CcsWithStatusException(accessorObject, Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+          e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Start a Multipart upload of the Object (bucket, name and optionally metadata and expiration date)
+   *
+   * @return the Multipart upload with its upload id
+   */
+  public AccessorMultipartUpload initiateMultipartUpload(final AccessorObject accessorObject, final String clientId)
+      throws CcsWithStatusException {
+    try {
+      final var metadata = accessorObject.getMetadata().isEmpty() ? null :
+          JsonUtil.getInstance().writeValueAsString(accessorObject.getMetadata());
+      final var expires = accessorObject.getExpires() != null ? accessorObject.getExpires().toString() : null;
+      final var uni =
+          getService().initiateMultipartUpload(accessorObject.getBucket(), accessorObject.getName(), clientId,
+              getOpId(), metadata, expires);
+      return (AccessorMultipartUpload) exceptionMapper.handleUniObject(this, uni);
+    } catch (final CcsClientGenericException | CcsServerGenericException | ClientWebApplicationException e) {
+      throw ClientResponseExceptionMapper.getBusinessException(e);
+    } catch (final RuntimeException | IOException e) {
+      throw new CcsWithStatusException(accessorObject, Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+          e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Upload one Part (1 to 10000) of a Multipart upload; uploading again the same part number replaces it
+   *
+   * @param len the size of this part (must be known)
+   */
+  public AccessorMultipartPart uploadMultipartPart(final String uploadId, final int partNumber,
+                                                   final InputStream inputStream, final long len,
+                                                   final String clientId) throws CcsWithStatusException {
+    try {
+      final var uni = getService().uploadMultipartPart(uploadId, partNumber, clientId, getOpId(), len, inputStream);
+      return (AccessorMultipartPart) exceptionMapper.handleUniObject(this, uni);
+    } catch (final CcsClientGenericException | CcsServerGenericException | ClientWebApplicationException e) {
+      throw ClientResponseExceptionMapper.getBusinessException(e);
+    } catch (final RuntimeException e) {
+      throw new CcsWithStatusException(uploadId, Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+          e.getMessage(), e);
+    }
+  }
+
+  /**
+   * @return the Multipart upload with its already uploaded Parts, allowing to resume it
+   */
+  public AccessorMultipartUpload listMultipartParts(final String uploadId, final String clientId)
+      throws CcsWithStatusException {
+    try {
+      final var uni = getService().listMultipartParts(uploadId, clientId, getOpId());
+      return (AccessorMultipartUpload) exceptionMapper.handleUniObject(this, uni);
+    } catch (final CcsClientGenericException | CcsServerGenericException | ClientWebApplicationException e) {
+      throw ClientResponseExceptionMapper.getBusinessException(e);
+    } catch (final RuntimeException e) {
+      throw new CcsWithStatusException(uploadId, Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+          e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Complete the Multipart upload
+   *
+   * @return the final Object (without hash, the whole content being not digested)
+   */
+  public AccessorObject completeMultipartUpload(final String uploadId, final String clientId)
+      throws CcsWithStatusException {
+    try {
+      final var uni = getService().completeMultipartUpload(uploadId, clientId, getOpId());
+      return (AccessorObject) exceptionMapper.handleUniObject(this, uni);
+    } catch (final CcsClientGenericException | CcsServerGenericException | ClientWebApplicationException e) {
+      throw ClientResponseExceptionMapper.getBusinessException(e);
+    } catch (final RuntimeException e) {
+      throw new CcsWithStatusException(uploadId, Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+          e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Abort the Multipart upload
+   */
+  public boolean abortMultipartUpload(final String uploadId, final String clientId) throws CcsWithStatusException {
+    final var uni = getService().abortMultipartUpload(uploadId, clientId, getOpId());
+    try (final var response = exceptionMapper.handleUniResponse(uni)) {
+      return response.getStatus() == Response.Status.NO_CONTENT.getStatusCode();
+    } catch (final CcsClientGenericException | CcsServerGenericException | ClientWebApplicationException e) {
+      throw ClientResponseExceptionMapper.getBusinessException(e);
+    } catch (final RuntimeException e) {
+      throw new CcsWithStatusException(uploadId, Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+          e.getMessage(), e);
+    }
+  }
+
   @Override
   protected AccessorObject getApiBusinessOutFromResponseForCreate(final Response response) {
     try {
@@ -20,6 +20,9 @@ import java.io.Closeable;
 import java.io.InputStream;
 
 import io.clonecloudstore.accessor.config.AccessorConstants;
+import io.clonecloudstore.accessor.model.AccessorBatchAction;
+import io.clonecloudstore.accessor.model.AccessorMultipartPart;
+import io.clonecloudstore.accessor.model.AccessorMultipartUpload;
 import io.clonecloudstore.accessor.model.AccessorObject;
 import io.clonecloudstore.common.quarkus.client.utils.ClientResponseExceptionMapper;
 import io.clonecloudstore.common.quarkus.client.utils.RequestHeaderFactory;
@@ -32,6 +35,7 @@ import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.HEAD;
 import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PATCH;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
@@ -214,7 +218,10 @@ public interface AccessorObjectApi extends Closeable {
   @APIResponse(responseCode = "200", description = "OK", content = @Content(mediaType =
       MediaType.APPLICATION_OCTET_STREAM, schema = @Schema(type = SchemaType.STRING, format = "binary")), headers = {
       @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
-      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING))})
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = AccessorConstants.HeaderFilterObject.FILTER_NEXT_CONTINUATION_TOKEN, description =
+          "Continuation token of the next page, if any (paginated listing)", schema = @Schema(type =
+          SchemaType.STRING))})
   @APIResponse(responseCode = "400", description = "Bad Request", headers = {
       @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
       @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
@@ -257,6 +264,12 @@ public interface AccessorObjectApi extends Closeable {
           " size greater than", in = ParameterIn.HEADER, schema = @Schema(type = SchemaType.INTEGER), required = false),
       @Parameter(name = AccessorConstants.HeaderFilterObject.FILTER_METADATA_EQ, description = "Filter based on " +
           "metadatata containing", in = ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING), required =
+          false),
+      @Parameter(name = AccessorConstants.HeaderFilterObject.FILTER_PAGE_SIZE, description = "Maximum number of " +
+          "objects (one page ordered by name)", in = ParameterIn.HEADER, schema = @Schema(type = SchemaType.INTEGER),
+          required = false),
+      @Parameter(name = AccessorConstants.HeaderFilterObject.FILTER_CONTINUATION_TOKEN, description = "Continuation " +
+          "token from previous page", in = ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING), required =
           false)})
   @ClientHeaderParam(name = ACCEPT, value = MediaType.APPLICATION_OCTET_STREAM)
   @ClientHeaderParam(name = ACCEPT_ENCODING, value = "{computeCompressionModel}", required = false)
@@ -396,4 +409,211 @@ public interface AccessorObjectApi extends Closeable {
                              @Parameter(name = X_OP_ID, description = "Operation ID", in = ParameterIn.HEADER,
                                  schema = @Schema(type = SchemaType.STRING), required = false) @HeaderParam(X_OP_ID) final String opId,
                              final InputStream inputStream);
+
+  @Tag(name = TAG_PUBLIC + AccessorConstants.Api.TAG_OBJECT)
+  @Path("{bucketName}")
+  @PATCH
+  @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+  @Produces(MediaType.APPLICATION_OCTET_STREAM)
+  @Operation(summary = "Batch action on objects", description = "Apply one action (INFO, DELETE, UPDATE_METADATA) " +
+      "on several objects given as a Stream of Json lines, returning per object results as a Stream of Json lines")
+  @RequestBody(required = true, content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM), description =
+      "Stream of Json lines of AccessorBatchItem")
+  @APIResponse(responseCode = "200", description = "OK", content = @Content(mediaType =
+      MediaType.APPLICATION_OCTET_STREAM, schema = @Schema(type = SchemaType.STRING, format = "binary")), headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "400", description = "Bad Request", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "401", description = "Unauthorized", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "403", description = "Forbidden", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "404", description = "Bucket not found", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "500", description = "Internal Error", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @ClientHeaderParam(name = CONTENT_TYPE, value = MediaType.APPLICATION_OCTET_STREAM)
+  @ClientHeaderParam(name = TRANSFER_ENCODING, value = CHUNKED)
+  @ClientHeaderParam(name = ACCEPT, value = MediaType.APPLICATION_OCTET_STREAM)
+  Uni<Response> batchObjects(@PathParam("bucketName") final String bucketName,
+                             @Parameter(name = AccessorConstants.Api.X_BATCH_ACTION, description = "Batch action",
+                                 in = ParameterIn.HEADER, schema = @Schema(implementation = AccessorBatchAction.class),
+                                 required = true) @HeaderParam(AccessorConstants.Api.X_BATCH_ACTION) final AccessorBatchAction action,
+                             @Parameter(name = AccessorConstants.Api.X_CLIENT_ID, description = "Client ID", in =
+                                 ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING), required = true) @HeaderParam(AccessorConstants.Api.X_CLIENT_ID) final String clientId,
+                             @Parameter(name = X_OP_ID, description = "Operation ID", in = ParameterIn.HEADER,
+                                 schema = @Schema(type = SchemaType.STRING), required = false) @HeaderParam(X_OP_ID) final String opId,
+                             final InputStream inputStream);
+
+  @Tag(name = TAG_PUBLIC + AccessorConstants.Api.TAG_OBJECT)
+  @Path(AccessorConstants.Api.COLL_MULTIPART + "/{bucketName}/{objectName:.+}")
+  @POST
+  @Produces(MediaType.APPLICATION_JSON)
+  @Operation(summary = "Start a multipart upload", description = "Start a resumable multipart upload of the object")
+  @APIResponse(responseCode = "201", description = "OK", content = @Content(mediaType = MediaType.APPLICATION_JSON,
+      schema = @Schema(implementation = AccessorMultipartUpload.class)), headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "400", description = "Bad Request", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "404", description = "Bucket not found", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "406", description = "Object already in creation or multipart not supported", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "409", description = "Conflict since Object already exist or invalid", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "500", description = "Internal Error", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  Uni<AccessorMultipartUpload> initiateMultipartUpload(@PathParam("bucketName") String bucketName,
+                                                       @PathParam("objectName") String objectName,
+                                                       @Parameter(name = AccessorConstants.Api.X_CLIENT_ID,
+                                                           description = "Client ID", in = ParameterIn.HEADER,
+                                                           schema = @Schema(type = SchemaType.STRING), required =
+                                                           true) @HeaderParam(AccessorConstants.Api.X_CLIENT_ID) String clientId,
+                                                       @Parameter(name = X_OP_ID, description = "Operation ID",
+                                                           in = ParameterIn.HEADER, schema = @Schema(type =
+                                                           SchemaType.STRING), required = false) @HeaderParam(X_OP_ID) final String opId,
+                                                       @HeaderParam(AccessorConstants.HeaderObject.X_OBJECT_METADATA) String xObjectMetadata,
+                                                       @HeaderParam(AccessorConstants.HeaderObject.X_OBJECT_EXPIRES) String xObjectExpires);
+
+  @Tag(name = TAG_PUBLIC + AccessorConstants.Api.TAG_OBJECT)
+  @Path(AccessorConstants.Api.COLL_MULTIPART + "/{uploadId}/{partNumber}")
+  @PUT
+  @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+  @Produces(MediaType.APPLICATION_JSON)
+  @Operation(summary = "Upload one part of a multipart upload", description = "Upload one part of a multipart upload")
+  @APIResponse(responseCode = "200", description = "OK", content = @Content(mediaType = MediaType.APPLICATION_JSON,
+      schema = @Schema(implementation = AccessorMultipartPart.class)), headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "400", description = "Bad Request", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "404", description = "Multipart upload not found", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "406", description = "Invalid part number or size, or multipart not supported",
+      headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "500", description = "Internal Error", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @ClientHeaderParam(name = CONTENT_TYPE, value = MediaType.APPLICATION_OCTET_STREAM)
+  @ClientHeaderParam(name = TRANSFER_ENCODING, value = CHUNKED)
+  Uni<AccessorMultipartPart> uploadMultipartPart(@PathParam("uploadId") String uploadId,
+                                                 @PathParam("partNumber") int partNumber,
+                                                 @Parameter(name = AccessorConstants.Api.X_CLIENT_ID, description =
+                                                     "Client ID", in = ParameterIn.HEADER, schema = @Schema(type =
+                                                     SchemaType.STRING), required = true) @HeaderParam(AccessorConstants.Api.X_CLIENT_ID) String clientId,
+                                                 @Parameter(name = X_OP_ID, description = "Operation ID", in =
+                                                     ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING),
+                                                     required = false) @HeaderParam(X_OP_ID) final String opId,
+                                                 @HeaderParam(AccessorConstants.HeaderObject.X_OBJECT_SIZE) long xObjectSize,
+                                                 InputStream inputStream);
+
+  @Tag(name = TAG_PUBLIC + AccessorConstants.Api.TAG_OBJECT)
+  @Path(AccessorConstants.Api.COLL_MULTIPART + "/{uploadId}")
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  @Operation(summary = "List parts of a multipart upload", description = "List already uploaded parts of a " +
+      "multipart upload")
+  @APIResponse(responseCode = "200", description = "OK", content = @Content(mediaType = MediaType.APPLICATION_JSON,
+      schema = @Schema(implementation = AccessorMultipartUpload.class)), headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "404", description = "Multipart upload not found", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "500", description = "Internal Error", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  Uni<AccessorMultipartUpload> listMultipartParts(@PathParam("uploadId") String uploadId,
+                                                 @Parameter(name = AccessorConstants.Api.X_CLIENT_ID, description =
+                                                     "Client ID", in = ParameterIn.HEADER, schema = @Schema(type =
+                                                     SchemaType.STRING), required = true) @HeaderParam(AccessorConstants.Api.X_CLIENT_ID) String clientId,
+                                                 @Parameter(name = X_OP_ID, description = "Operation ID", in =
+                                                     ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING),
+                                                     required = false) @HeaderParam(X_OP_ID) final String opId);
+
+  @Tag(name = TAG_PUBLIC + AccessorConstants.Api.TAG_OBJECT)
+  @Path(AccessorConstants.Api.COLL_MULTIPART + "/{uploadId}")
+  @POST
+  @Produces(MediaType.APPLICATION_JSON)
+  @Operation(summary = "Complete a multipart upload", description = "Assemble all uploaded parts into the final " +
+      "object")
+  @APIResponse(responseCode = "201", description = "OK", content = @Content(mediaType = MediaType.APPLICATION_JSON,
+      schema = @Schema(implementation = AccessorObject.class)), headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "404", description = "Multipart upload not found", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "406", description = "No part uploaded or multipart not supported", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "500", description = "Internal Error", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  Uni<AccessorObject> completeMultipartUpload(@PathParam("uploadId") String uploadId,
+                                              @Parameter(name = AccessorConstants.Api.X_CLIENT_ID, description =
+                                                  "Client ID", in = ParameterIn.HEADER, schema = @Schema(type =
+                                                  SchemaType.STRING), required = true) @HeaderParam(AccessorConstants.Api.X_CLIENT_ID) String clientId,
+                                              @Parameter(name = X_OP_ID, description = "Operation ID", in =
+                                                  ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING),
+                                                  required = false) @HeaderParam(X_OP_ID) final String opId);
+
+  @Tag(name = TAG_PUBLIC + AccessorConstants.Api.TAG_OBJECT)
+  @Path(AccessorConstants.Api.COLL_MULTIPART + "/{uploadId}")
+  @DELETE
+  @Operation(summary = "Abort a multipart upload", description = "Abort a multipart upload, removing all uploaded " +
+      "parts")
+  @APIResponse(responseCode = "204", description = "OK", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "404", description = "Multipart upload not found", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "500", description = "Internal Error", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  Uni<Response> abortMultipartUpload(@PathParam("uploadId") String uploadId,
+                                     @Parameter(name = AccessorConstants.Api.X_CLIENT_ID, description =
+                                         "Client ID", in = ParameterIn.HEADER, schema = @Schema(type =
+                                         SchemaType.STRING), required = true) @HeaderParam(AccessorConstants.Api.X_CLIENT_ID) String clientId,
+                                     @Parameter(name = X_OP_ID, description = "Operation ID", in =
+                                         ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING),
+                                         required = false) @HeaderParam(X_OP_ID) final String opId);
 }
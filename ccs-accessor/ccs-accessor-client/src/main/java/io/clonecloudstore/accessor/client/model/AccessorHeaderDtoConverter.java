@@ -18,6 +18,7 @@ package io.clonecloudstore.accessor.client.model;
 
 import java.time.Instant;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -42,6 +43,7 @@ public class AccessorHeaderDtoConverter {
   private static final TypeReference<AccessorStatus[]> typeReferenceAccessorStatusArray = new TypeReference<>() {
   };
   private static final String INVALID_ARGUMENT = "Invalid Argument";
+  private static final Map<String, String> NEXT_CONTINUATION_TOKEN_MAP = new ConcurrentHashMap<>();
 
   private static Instant getInstant(final MultivaluedMap<String, String> headers, final String headerName) {
     final var instantAsString = getString(headers, headerName);
@@ -273,6 +275,15 @@ public class AccessorHeaderDtoConverter {
         accessorFilter.setMetadataFilter(map);
         found = true;
       }
+      accessorFilter.setPageSize((int) getLong(headers, AccessorConstants.HeaderFilterObject.FILTER_PAGE_SIZE));
+      if (accessorFilter.getPageSize() > 0) {
+        found = true;
+      }
+      final var token = getString(headers, AccessorConstants.HeaderFilterObject.FILTER_CONTINUATION_TOKEN);
+      if (ParametersChecker.isNotEmpty(token)) {
+        accessorFilter.setContinuationToken(token);
+        found = true;
+      }
       return found;
     } catch (final Exception e) {
       throw new CcsInvalidArgumentRuntimeException(INVALID_ARGUMENT, e);
@@ -320,11 +331,39 @@ public class AccessorHeaderDtoConverter {
         map.put(AccessorConstants.HeaderFilterObject.FILTER_METADATA_EQ,
             JsonUtil.getInstance().writeValueAsString(accessorFilter.getMetadataFilter()));
       }
+      if (accessorFilter.getPageSize() > 0) {
+        map.put(AccessorConstants.HeaderFilterObject.FILTER_PAGE_SIZE, Integer.toString(accessorFilter.getPageSize()));
+      }
+      if (ParametersChecker.isNotEmpty(accessorFilter.getContinuationToken())) {
+        map.put(AccessorConstants.HeaderFilterObject.FILTER_CONTINUATION_TOKEN, accessorFilter.getContinuationToken());
+      }
     } catch (final Exception e) {
       throw new CcsInvalidArgumentRuntimeException(INVALID_ARGUMENT, e);
     }
   }
 
+  /**
+   * Keep the next page continuation token from Headers, if any, for the given Operation ID
+   */
+  public static void nextContinuationTokenFromMap(final String opId, final MultivaluedMap<String, String> headers) {
+    final var token = getString(headers, AccessorConstants.HeaderFilterObject.FILTER_NEXT_CONTINUATION_TOKEN);
+    if (ParametersChecker.isNotEmpty(token)) {
+      NEXT_CONTINUATION_TOKEN_MAP.put(opId, token);
+    }
+  }
+
+  /**
+   * For a paginated listing (page size or continuation token set), replace the filter continuation token by the
+   * one of the next page received for the given Operation ID, null if this page is the last one
+   */
+  public static void nextContinuationTokenToFilter(final String opId, final AccessorFilter accessorFilter) {
+    final var next = NEXT_CONTINUATION_TOKEN_MAP.remove(opId);
+    if (accessorFilter != null &&
+        (accessorFilter.getPageSize() > 0 || accessorFilter.getContinuationToken() != null)) {
+      accessorFilter.setContinuationToken(next);
+    }
+  }
+
   public static StorageType getStorageTypeFromResponse(final Response response) {
     final var xType = response.getHeaders().get(AccessorConstants.Api.X_TYPE);
     if (xType == null) {
@@ -28,6 +28,8 @@ import io.clonecloudstore.common.standard.exception.CcsInvalidArgumentRuntimeExc
 import io.clonecloudstore.common.standard.system.ParametersChecker;
 import io.clonecloudstore.common.standard.system.SystemTools;
 import jakarta.persistence.Column;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.MappedSuperclass;
 import jakarta.persistence.Transient;
 
@@ -51,6 +53,7 @@ public abstract class DaoAccessorBucket {
   private Instant expires = null;
 
   @Column(name = DaoAccessorBucketRepository.BUCKET_STATUS, nullable = false, length = STATUS_LENGTH)
+  @Enumerated(EnumType.STRING)
   private AccessorStatus status = null;
   /**
    * Reconciliation status is not used elsewhere than Reconciliation
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.database.model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.clonecloudstore.accessor.model.AccessorMultipartPart;
+import io.clonecloudstore.accessor.model.AccessorMultipartUpload;
+import io.clonecloudstore.common.quarkus.properties.JsonUtil;
+import io.clonecloudstore.common.standard.exception.CcsInvalidArgumentRuntimeException;
+import io.clonecloudstore.common.standard.system.ParametersChecker;
+import io.clonecloudstore.common.standard.system.SystemTools;
+import jakarta.persistence.Column;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Transient;
+
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorMultipartRepository.BUCKET;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorMultipartRepository.CLIENT_ID;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorMultipartRepository.CREATION;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorMultipartRepository.DRIVER_UPLOAD_ID;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorMultipartRepository.NAME;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorMultipartRepository.SITE;
+import static io.clonecloudstore.common.standard.guid.GuidLike.UUID_B32_SIZE;
+import static io.clonecloudstore.common.standard.system.ParametersChecker.BUCKET_LENGTH;
+import static io.clonecloudstore.common.standard.system.ParametersChecker.OBJECT_LENGTH;
+import static io.clonecloudstore.common.standard.system.ParametersChecker.SITE_LENGTH;
+
+/**
+ * Multipart upload DAO (the Id is the upload id)
+ */
+@MappedSuperclass
+public abstract class DaoAccessorMultipart {
+  @Column(name = SITE, nullable = false, length = SITE_LENGTH)
+  private String site;
+  @Column(name = BUCKET, nullable = false, length = BUCKET_LENGTH)
+  private String bucket;
+  @Column(name = NAME, nullable = false, length = OBJECT_LENGTH)
+  private String name;
+  /**
+   * Upload id given by the Driver (opaque)
+   */
+  @Column(name = DRIVER_UPLOAD_ID, nullable = false)
+  private String driverUploadId;
+  @Column(name = CLIENT_ID, length = UUID_B32_SIZE)
+  private String clientId;
+  @Column(name = CREATION, nullable = false)
+  private Instant creation;
+
+  public abstract String getId();
+
+  public abstract DaoAccessorMultipart setId(String id);
+
+  @Transient
+  @JsonIgnore
+  public AccessorMultipartUpload getDto(final List<AccessorMultipartPart> parts) {
+    return new AccessorMultipartUpload(getId(), getBucket(), getName(), getCreation(), parts);
+  }
+
+  public String getSite() {
+    return site;
+  }
+
+  public DaoAccessorMultipart setSite(final String site) {
+    ParametersChecker.checkSanityString(site);
+    this.site = site;
+    return this;
+  }
+
+  public String getBucket() {
+    return bucket;
+  }
+
+  public DaoAccessorMultipart setBucket(final String bucket) {
+    ParametersChecker.checkSanityBucketName(bucket);
+    this.bucket = bucket;
+    return this;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public DaoAccessorMultipart setName(final String name) {
+    ParametersChecker.checkSanityObjectName(name);
+    this.name = name;
+    return this;
+  }
+
+  public String getDriverUploadId() {
+    return driverUploadId;
+  }
+
+  public DaoAccessorMultipart setDriverUploadId(final String driverUploadId) {
+    this.driverUploadId = driverUploadId;
+    return this;
+  }
+
+  public String getClientId() {
+    return clientId;
+  }
+
+  public DaoAccessorMultipart setClientId(final String clientId) {
+    ParametersChecker.checkSanityString(clientId);
+    this.clientId = clientId;
+    return this;
+  }
+
+  public Instant getCreation() {
+    return creation;
+  }
+
+  public DaoAccessorMultipart setCreation(final Instant creation) {
+    this.creation = SystemTools.toMillis(creation);
+    return this;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o instanceof final DaoAccessorMultipart that) {
+      return Objects.equals(getId(), that.getId()) && Objects.equals(site, that.site) &&
+          Objects.equals(bucket, that.bucket) && Objects.equals(name, that.name) &&
+          Objects.equals(driverUploadId, that.driverUploadId) && Objects.equals(creation, that.creation);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(getId(), site, bucket, name, driverUploadId, creation);
+  }
+
+  @Override
+  public String toString() {
+    try {
+      return JsonUtil.getInstance().writeValueAsString(this);
+    } catch (final JsonProcessingException e) {
+      throw new CcsInvalidArgumentRuntimeException(e.getMessage());
+    }
+  }
+}
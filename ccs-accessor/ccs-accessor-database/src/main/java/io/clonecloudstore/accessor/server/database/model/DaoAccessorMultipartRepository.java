@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.database.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.clonecloudstore.common.database.utils.DbQuery;
+import io.clonecloudstore.common.database.utils.RepositoryBaseInterface;
+import io.clonecloudstore.common.database.utils.RestQuery;
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import io.clonecloudstore.common.quarkus.modules.ServiceProperties;
+
+/**
+ * Multipart upload DAO Repository
+ */
+public interface DaoAccessorMultipartRepository extends RepositoryBaseInterface<DaoAccessorMultipart> {
+  String TABLE_NAME = "multiparts";
+  String SITE = "site";
+  String BUCKET = "bucket";
+  String NAME = "name";
+  String DRIVER_UPLOAD_ID = "driverUploadId";
+  String CLIENT_ID = "clientId";
+  String CREATION = "creation";
+
+  /**
+   * Insert a new Multipart upload
+   */
+  default DaoAccessorMultipart insertMultipart(final String uploadId, final String bucket, final String name,
+                                               final String driverUploadId, final String clientId)
+      throws CcsDbException {
+    try {
+      final var dao = this.createEmptyItem();
+      dao.setId(uploadId).setSite(ServiceProperties.getAccessorSite()).setBucket(bucket).setName(name)
+          .setDriverUploadId(driverUploadId).setClientId(clientId).setCreation(Instant.now());
+      this.insert(dao);
+      return dao;
+    } catch (final RuntimeException e) {
+      throw new CcsDbException(e);
+    }
+  }
+
+  /**
+   * @return the Multipart upload or null if it does not exist
+   */
+  default DaoAccessorMultipart getMultipart(final String uploadId) throws CcsDbException {
+    try {
+      return this.findWithPk(uploadId);
+    } catch (final RuntimeException e) {
+      throw new CcsDbException(e);
+    }
+  }
+
+  /**
+   * @param before the creation date before which a Multipart upload of this site is expired
+   * @param limit  the maximum number of uploads returned
+   * @return the expired Multipart uploads, oldest first
+   */
+  default List<DaoAccessorMultipart> getExpiredMultiparts(final Instant before, final int limit)
+      throws CcsDbException {
+    final var query = new DbQuery(RestQuery.CONJUNCTION.AND,
+        new DbQuery(RestQuery.QUERY.EQ, SITE, ServiceProperties.getAccessorSite()),
+        new DbQuery(RestQuery.QUERY.LT, CREATION, before));
+    try (final var iterator = this.findIterator(query, CREATION, limit)) {
+      final var list = new ArrayList<DaoAccessorMultipart>();
+      iterator.forEachRemaining(list::add);
+      return list;
+    } catch (final RuntimeException e) {
+      throw new CcsDbException(e);
+    }
+  }
+}
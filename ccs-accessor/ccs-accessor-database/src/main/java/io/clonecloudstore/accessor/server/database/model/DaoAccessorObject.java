@@ -29,6 +29,8 @@ import io.clonecloudstore.common.standard.exception.CcsInvalidArgumentRuntimeExc
 import io.clonecloudstore.common.standard.system.ParametersChecker;
 import io.clonecloudstore.common.standard.system.SystemTools;
 import jakarta.persistence.Column;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.MappedSuperclass;
 import jakarta.persistence.Transient;
 
@@ -58,9 +60,10 @@ public abstract class DaoAccessorObject {
   private String bucket;
   @Column(name = NAME, nullable = false, length = OBJECT_LENGTH)
   private String name;
-  @Column(name = HASH, nullable = false, length = HASH_LENGTH)
+  @Column(name = HASH, length = HASH_LENGTH)
   private String hash;
   @Column(name = STATUS, nullable = false, length = STATUS_LENGTH)
+  @Enumerated(EnumType.STRING)
   private AccessorStatus status;
   @Column(name = CREATION, nullable = false)
   private Instant creation;
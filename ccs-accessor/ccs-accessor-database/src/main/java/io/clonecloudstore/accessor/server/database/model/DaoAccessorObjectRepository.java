@@ -18,8 +18,11 @@ package io.clonecloudstore.accessor.server.database.model;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import io.clonecloudstore.accessor.model.AccessorObject;
 import io.clonecloudstore.accessor.model.AccessorStatus;
@@ -30,6 +33,7 @@ import io.clonecloudstore.common.database.utils.RestQuery;
 import io.clonecloudstore.common.database.utils.exception.CcsDbException;
 import io.clonecloudstore.common.quarkus.exception.CcsOperationException;
 import io.clonecloudstore.common.quarkus.modules.ServiceProperties;
+import io.clonecloudstore.common.standard.stream.ClosingIterator;
 
 /**
  * Object DAO Repository
@@ -76,25 +80,158 @@ public interface DaoAccessorObjectRepository extends RepositoryBaseInterface<Dao
     }
   }
 
+  /**
+   * Get Objects from a list of names (one query)
+   */
+  default ClosingIterator<DaoAccessorObject> getObjects(final String bucket, final Collection<String> objectNames)
+      throws CcsDbException {
+    try {
+      return this.findIterator(new DbQuery(RestQuery.CONJUNCTION.AND,
+          new DbQuery(RestQuery.QUERY.EQ, SITE, ServiceProperties.getAccessorSite()),
+          new DbQuery(RestQuery.QUERY.EQ, BUCKET, bucket), new DbQuery(RestQuery.QUERY.IN, NAME, objectNames)));
+    } catch (final RuntimeException e) {
+      throw new CcsDbException(e);
+    }
+  }
+
+  /**
+   * Update the status of Objects from a list of names (one query)
+   *
+   * @return the number of updated Objects
+   */
+  default long updateObjectsStatus(final String bucketName, final Collection<String> objectNames,
+                                   final AccessorStatus status) throws CcsDbException {
+    try {
+      final var query = new DbQuery(RestQuery.CONJUNCTION.AND,
+          new DbQuery(RestQuery.QUERY.EQ, SITE, ServiceProperties.getAccessorSite()),
+          new DbQuery(RestQuery.QUERY.EQ, BUCKET, bucketName), new DbQuery(RestQuery.QUERY.IN, NAME, objectNames));
+      return update(query, new DbUpdate().set(STATUS, status));
+    } catch (final RuntimeException e) {
+      throw new CcsDbException(e);
+    }
+  }
+
+  /**
+   * Get one page of Objects ordered by name, starting strictly after startAfterName if not null
+   *
+   * @param filterQuery optional additional query (might be null)
+   * @param pageSize    maximum number of Objects returned
+   */
+  default ClosingIterator<DaoAccessorObject> getObjectsPage(final String bucket, final String startAfterName,
+                                                            final DbQuery filterQuery, final int pageSize)
+      throws CcsDbException {
+    try {
+      final var queries = new ArrayList<>(
+          List.of(new DbQuery(RestQuery.QUERY.EQ, SITE, ServiceProperties.getAccessorSite()),
+              new DbQuery(RestQuery.QUERY.EQ, BUCKET, bucket)));
+      if (startAfterName != null) {
+        queries.add(new DbQuery(RestQuery.QUERY.GT, NAME, startAfterName));
+      }
+      if (filterQuery != null) {
+        queries.add(filterQuery);
+      }
+      return this.findIterator(new DbQuery(RestQuery.CONJUNCTION.AND, queries), NAME, pageSize);
+    } catch (final RuntimeException e) {
+      throw new CcsDbException(e);
+    }
+  }
+
+  /**
+   * Full listing of the Objects of the Bucket of this site, read by pages ordered on name (unique within the Bucket
+   * and supported by the unique index), the next page being read while the current one is consumed
+   *
+   * @param filterQuery optional filter query
+   */
+  default ClosingIterator<DaoAccessorObject> getObjectsPagedIterator(final String bucket, final DbQuery filterQuery)
+      throws CcsDbException {
+    final var queries = new ArrayList<>(
+        List.of(new DbQuery(RestQuery.QUERY.EQ, SITE, ServiceProperties.getAccessorSite()),
+            new DbQuery(RestQuery.QUERY.EQ, BUCKET, bucket)));
+    if (filterQuery != null) {
+      queries.add(filterQuery);
+    }
+    return this.findPagedIterator(new DbQuery(RestQuery.CONJUNCTION.AND, queries), NAME, null);
+  }
+
+  /**
+   * @return the query on Objects of the Bucket of this site using prefix on name and optional status
+   */
+  static DbQuery getPrefixQuery(final String bucket, final String objectNamePrefix, final AccessorStatus status) {
+    final var queries = new ArrayList<>(
+        List.of(new DbQuery(RestQuery.QUERY.EQ, SITE, ServiceProperties.getAccessorSite()),
+            new DbQuery(RestQuery.QUERY.EQ, BUCKET, bucket),
+            new DbQuery(RestQuery.QUERY.START_WITH, NAME, objectNamePrefix)));
+    if (status != null) {
+      queries.add(new DbQuery(RestQuery.QUERY.EQ, STATUS, status.name()));
+    }
+    return new DbQuery(RestQuery.CONJUNCTION.AND, queries);
+  }
+
   /**
    * Get Stream of Objects using prefix on name
    */
   default Iterator<DaoAccessorObject> getObjectPrefix(final String bucket, final String objectNamePrefix,
                                                       final AccessorStatus status) throws CcsDbException {
     try {
-      final var queries = new ArrayList<>(
-          List.of(new DbQuery(RestQuery.QUERY.EQ, SITE, ServiceProperties.getAccessorSite()),
-              new DbQuery(RestQuery.QUERY.EQ, BUCKET, bucket),
-              new DbQuery(RestQuery.QUERY.START_WITH, NAME, objectNamePrefix)));
-      if (status != null) {
-        queries.add(new DbQuery(RestQuery.QUERY.EQ, STATUS, status.name()));
+      return this.findIterator(getPrefixQuery(bucket, objectNamePrefix, status));
+    } catch (final RuntimeException e) {
+      throw new CcsDbException(e);
+    }
+  }
+
+  /**
+   * Get the first Object name (in name order) using prefix on name, only the name being read (query covered by
+   * index on MongoDB)
+   *
+   * @return the first name or null if none
+   */
+  default String getFirstObjectName(final String bucket, final String objectNamePrefix,
+                                    final AccessorStatus status) throws CcsDbException {
+    final var names = getFirstObjectNames(bucket, objectNamePrefix, status, 1);
+    return names.isEmpty() ? null : names.getFirst();
+  }
+
+  /**
+   * Get the first Object names (in name order) using prefix on name, only the name being read (query covered by
+   * index on MongoDB)
+   *
+   * @param limit the maximum number of names
+   * @return the first names (possibly empty)
+   */
+  default List<String> getFirstObjectNames(final String bucket, final String objectNamePrefix,
+                                           final AccessorStatus status, final int limit) throws CcsDbException {
+    try (final var iterator = this.findIterator(getPrefixQuery(bucket, objectNamePrefix, status).setProjection(NAME),
+        NAME, limit)) {
+      final var names = new ArrayList<String>(limit);
+      while (iterator.hasNext()) {
+        names.add(iterator.next().getName());
       }
-      return this.findIterator(new DbQuery(RestQuery.CONJUNCTION.AND, queries));
+      return names;
     } catch (final RuntimeException e) {
       throw new CcsDbException(e);
     }
   }
 
+  /**
+   * List, in name order, the Object names using prefix on name, where names containing the delimiter after the prefix
+   * are rolled up into one common prefix (ending with the delimiter), as a directory listing.
+   * <p>
+   * Default implementation is a skip-scan on the name index (binary order of names).
+   *
+   * @param objectNamePrefix the prefix (possibly empty)
+   * @param delimiter        the delimiter (as "/")
+   * @param status           optional status
+   * @return the Object names and the common prefixes
+   */
+  default ClosingIterator<String> getObjectNamesWithDelimiter(final String bucket, final String objectNamePrefix,
+                                                              final String delimiter, final AccessorStatus status)
+      throws CcsDbException {
+    if (delimiter == null || delimiter.isEmpty()) {
+      throw new CcsDbException(new CcsOperationException("Delimiter cannot be empty"));
+    }
+    return new DelimiterListingIterator(this, bucket, objectNamePrefix, delimiter, status);
+  }
+
   /**
    * Update the Object, creation time might be null to ignore
    */
@@ -140,6 +277,31 @@ public interface DaoAccessorObjectRepository extends RepositoryBaseInterface<Dao
     }
   }
 
+  /**
+   * Update the metadata only of those Objects of the Bucket, if still READY (targeted update, never creating nor
+   * overwriting a concurrent status change), using bulk writes
+   *
+   * @param metadataByName the new metadata by Object name
+   * @return the names of the Objects not updated (not existing or no more READY)
+   */
+  Set<String> updateMetadataBulk(String bucketName, Map<String, Map<String, String>> metadataByName)
+      throws CcsDbException;
+
+  /**
+   * @return True if metadata filters can use the indexed form (see DbQueryAccessorHelper), False while the metadata
+   * migration is not done
+   */
+  default boolean isMetadataIndexed() {
+    return true;
+  }
+
+  /**
+   * Run the one-off migrations not yet done on this repository (called once at startup)
+   */
+  default void migrate() throws CcsDbException {
+    // Nothing by default
+  }
+
   /**
    * Update if needed Object from DTO
    */
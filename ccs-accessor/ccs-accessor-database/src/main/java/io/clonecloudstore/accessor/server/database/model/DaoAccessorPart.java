@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.database.model;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.clonecloudstore.accessor.model.AccessorMultipartPart;
+import io.clonecloudstore.common.quarkus.properties.JsonUtil;
+import io.clonecloudstore.common.standard.exception.CcsInvalidArgumentRuntimeException;
+import io.clonecloudstore.common.standard.system.SystemTools;
+import jakarta.persistence.Column;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Transient;
+
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorPartRepository.CREATION;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorPartRepository.ETAG;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorPartRepository.PART_NUMBER;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorPartRepository.SIZE;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorPartRepository.UPLOAD_ID;
+import static io.clonecloudstore.common.standard.guid.GuidLike.UUID_B32_SIZE;
+
+/**
+ * Multipart upload Part DAO (the Id is the upload id followed by the part number)
+ */
+@MappedSuperclass
+public abstract class DaoAccessorPart {
+  @Column(name = UPLOAD_ID, nullable = false, length = UUID_B32_SIZE)
+  private String uploadId;
+  @Column(name = PART_NUMBER, nullable = false)
+  private int partNumber;
+  /**
+   * Part reference given by the Driver (opaque)
+   */
+  @Column(name = ETAG, nullable = false)
+  private String etag;
+  @Column(name = SIZE, nullable = false)
+  private long size;
+  @Column(name = CREATION, nullable = false)
+  private Instant creation;
+
+  /**
+   * @return the Primary Key of a Part
+   */
+  public static String getPartId(final String uploadId, final int partNumber) {
+    return uploadId + "_" + partNumber;
+  }
+
+  public abstract String getId();
+
+  public abstract DaoAccessorPart setId(String id);
+
+  @Transient
+  @JsonIgnore
+  public AccessorMultipartPart getDto() {
+    return new AccessorMultipartPart(getPartNumber(), getSize(), getCreation());
+  }
+
+  public String getUploadId() {
+    return uploadId;
+  }
+
+  public DaoAccessorPart setUploadId(final String uploadId) {
+    this.uploadId = uploadId;
+    return this;
+  }
+
+  public int getPartNumber() {
+    return partNumber;
+  }
+
+  public DaoAccessorPart setPartNumber(final int partNumber) {
+    this.partNumber = partNumber;
+    return this;
+  }
+
+  public String getEtag() {
+    return etag;
+  }
+
+  public DaoAccessorPart setEtag(final String etag) {
+    this.etag = etag;
+    return this;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  public DaoAccessorPart setSize(final long size) {
+    this.size = size;
+    return this;
+  }
+
+  public Instant getCreation() {
+    return creation;
+  }
+
+  public DaoAccessorPart setCreation(final Instant creation) {
+    this.creation = SystemTools.toMillis(creation);
+    return this;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o instanceof final DaoAccessorPart that) {
+      return partNumber == that.partNumber && size == that.size && Objects.equals(getId(), that.getId()) &&
+          Objects.equals(uploadId, that.uploadId) && Objects.equals(etag, that.etag) &&
+          Objects.equals(creation, that.creation);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(getId(), uploadId, partNumber, etag, size, creation);
+  }
+
+  @Override
+  public String toString() {
+    try {
+      return JsonUtil.getInstance().writeValueAsString(this);
+    } catch (final JsonProcessingException e) {
+      throw new CcsInvalidArgumentRuntimeException(e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.database.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.clonecloudstore.common.database.utils.DbQuery;
+import io.clonecloudstore.common.database.utils.RepositoryBaseInterface;
+import io.clonecloudstore.common.database.utils.RestQuery;
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+
+/**
+ * Multipart upload Part DAO Repository
+ */
+public interface DaoAccessorPartRepository extends RepositoryBaseInterface<DaoAccessorPart> {
+  String TABLE_NAME = "parts";
+  String UPLOAD_ID = "uploadId";
+  String PART_NUMBER = "partNumber";
+  String ETAG = "etag";
+  String SIZE = "size";
+  String CREATION = "creation";
+
+  /**
+   * Insert or replace (if the same part number is uploaded again) the given Part
+   */
+  default DaoAccessorPart savePart(final String uploadId, final int partNumber, final String etag, final long size)
+      throws CcsDbException {
+    try {
+      final var id = DaoAccessorPart.getPartId(uploadId, partNumber);
+      var dao = this.findWithPk(id);
+      final var exists = dao != null;
+      if (!exists) {
+        dao = this.createEmptyItem();
+        dao.setId(id).setUploadId(uploadId).setPartNumber(partNumber);
+      }
+      dao.setEtag(etag).setSize(size).setCreation(Instant.now());
+      if (exists) {
+        this.updateFull(dao);
+      } else {
+        this.insert(dao);
+      }
+      return dao;
+    } catch (final RuntimeException e) {
+      throw new CcsDbException(e);
+    }
+  }
+
+  /**
+   * @return the Parts of this upload sorted by part number
+   */
+  default List<DaoAccessorPart> getParts(final String uploadId) throws CcsDbException {
+    try (final var iterator = this.findIterator(new DbQuery(RestQuery.QUERY.EQ, UPLOAD_ID, uploadId), PART_NUMBER,
+        0)) {
+      final var list = new ArrayList<DaoAccessorPart>();
+      iterator.forEachRemaining(list::add);
+      return list;
+    } catch (final RuntimeException e) {
+      throw new CcsDbException(e);
+    }
+  }
+
+  /**
+   * Delete all Parts of this upload
+   */
+  default long deleteParts(final String uploadId) throws CcsDbException {
+    try {
+      return this.delete(new DbQuery(RestQuery.QUERY.EQ, UPLOAD_ID, uploadId));
+    } catch (final RuntimeException e) {
+      throw new CcsDbException(e);
+    }
+  }
+}
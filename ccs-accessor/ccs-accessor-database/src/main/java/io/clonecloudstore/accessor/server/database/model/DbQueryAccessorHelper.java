@@ -34,6 +34,14 @@ import static io.clonecloudstore.accessor.server.database.model.DaoAccessorObjec
 public class DbQueryAccessorHelper {
 
   public static DbQuery getDbQuery(final AccessorFilter filter) {
+    return getDbQuery(filter, true);
+  }
+
+  /**
+   * @param indexedMetadata if False (metadata attributes not yet migrated), metadata filters use the plain equality
+   *                        on each metadata key instead of the indexed form
+   */
+  public static DbQuery getDbQuery(final AccessorFilter filter, final boolean indexedMetadata) {
     if (filter != null) {
       final List<DbQuery> queryList = new ArrayList<>();
       if (ParametersChecker.isNotEmpty(filter.getNamePrefix())) {
@@ -63,7 +71,9 @@ public class DbQueryAccessorHelper {
       }
       if (filter.getMetadataFilter() != null && !filter.getMetadataFilter().isEmpty()) {
         for (final var entry : filter.getMetadataFilter().entrySet()) {
-          queryList.add(new DbQuery(RestQuery.QUERY.JSON_EQ, entry.getKey(), entry.getValue()));
+          queryList.add(
+              new DbQuery(indexedMetadata ? RestQuery.QUERY.JSON_INDEXED_EQ : RestQuery.QUERY.JSON_EQ, entry.getKey(),
+                  entry.getValue()));
         }
       }
       if (queryList.isEmpty()) {
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.accessor.server.database.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import io.clonecloudstore.accessor.model.AccessorStatus;
+import io.clonecloudstore.common.database.utils.DbQuery;
+import io.clonecloudstore.common.database.utils.RestQuery;
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import io.clonecloudstore.common.quarkus.exception.CcsOperationException;
+import io.clonecloudstore.common.quarkus.modules.ServiceProperties;
+import io.clonecloudstore.common.standard.stream.ClosingIterator;
+
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository.BUCKET;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository.NAME;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository.SITE;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository.STATUS;
+
+/**
+ * Listing with delimiter using a skip-scan on the name index: names are read by pages in name order, and once a
+ * common prefix is found, the listing goes on directly after all names starting with this common prefix.
+ * <p>
+ * Relies on names being ordered in binary order (as in MongoDB).
+ */
+class DelimiterListingIterator implements ClosingIterator<String> {
+  static final int PAGE_SIZE = 1000;
+  private final DaoAccessorObjectRepository repository;
+  private final String bucket;
+  private final String prefix;
+  private final String delimiter;
+  private final AccessorStatus status;
+  private final String upperBound;
+  private String lowerBound;
+  private boolean lowerInclusive = true;
+  private ClosingIterator<DaoAccessorObject> page;
+  private int readInPage;
+  private String next;
+  private boolean done;
+
+  DelimiterListingIterator(final DaoAccessorObjectRepository repository, final String bucket, final String prefix,
+                           final String delimiter, final AccessorStatus status) {
+    this.repository = repository;
+    this.bucket = bucket;
+    this.prefix = prefix == null ? "" : prefix;
+    this.delimiter = delimiter;
+    this.status = status;
+    upperBound = DbQuery.getPrefixUpperBound(this.prefix);
+    lowerBound = this.prefix;
+  }
+
+  private ClosingIterator<DaoAccessorObject> openPage() throws CcsDbException {
+    final List<DbQuery> queries = new ArrayList<>(
+        List.of(new DbQuery(RestQuery.QUERY.EQ, SITE, ServiceProperties.getAccessorSite()),
+            new DbQuery(RestQuery.QUERY.EQ, BUCKET, bucket),
+            new DbQuery(lowerInclusive ? RestQuery.QUERY.GTE : RestQuery.QUERY.GT, NAME, lowerBound)));
+    if (upperBound != null) {
+      queries.add(new DbQuery(RestQuery.QUERY.LT, NAME, upperBound));
+    }
+    if (status != null) {
+      queries.add(new DbQuery(RestQuery.QUERY.EQ, STATUS, status.name()));
+    }
+    return repository.findIterator(new DbQuery(RestQuery.CONJUNCTION.AND, queries).setProjection(NAME), NAME,
+        PAGE_SIZE);
+  }
+
+  private void closePage() {
+    if (page != null) {
+      page.close();
+      page = null;
+    }
+  }
+
+  private void computeNext() throws CcsDbException {
+    while (!done) {
+      if (page == null) {
+        page = openPage();
+        readInPage = 0;
+      }
+      if (!page.hasNext()) {
+        closePage();
+        if (readInPage < PAGE_SIZE) {
+          done = true;
+        }
+        continue;
+      }
+      final var name = page.next().getName();
+      readInPage++;
+      final var pos = name.indexOf(delimiter, prefix.length());
+      if (pos < 0) {
+        next = name;
+        lowerBound = name;
+        lowerInclusive = false;
+        return;
+      }
+      // Common prefix: skip all names starting with it
+      next = name.substring(0, pos + delimiter.length());
+      closePage();
+      lowerBound = DbQuery.getPrefixUpperBound(next);
+      lowerInclusive = true;
+      if (lowerBound == null) {
+        done = true;
+      }
+      return;
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next == null && !done) {
+      try {
+        computeNext();
+      } catch (final CcsDbException e) {
+        close();
+        throw new CcsOperationException(e);
+      }
+    }
+    return next != null;
+  }
+
+  @Override
+  public String next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    final var result = next;
+    next = null;
+    return result;
+  }
+
+  @Override
+  public void close() {
+    closePage();
+    done = true;
+  }
+}
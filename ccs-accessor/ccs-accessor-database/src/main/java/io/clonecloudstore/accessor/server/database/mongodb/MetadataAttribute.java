@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.accessor.server.database.mongodb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helper class for the attribute pattern of the metadata within MongoDB: one item per key and value, allowing one
+ * compound index on all keys
+ */
+public class MetadataAttribute {
+  private String k;
+  private String v;
+
+  public MetadataAttribute() {
+    // Nothing
+  }
+
+  public MetadataAttribute(final String k, final String v) {
+    this.k = k;
+    this.v = v;
+  }
+
+  /**
+   * @return the attributes of the given metadata
+   */
+  public static List<MetadataAttribute> fromMap(final Map<String, String> map) {
+    final List<MetadataAttribute> attributes = new ArrayList<>(map.size());
+    for (final var entry : map.entrySet()) {
+      attributes.add(new MetadataAttribute(entry.getKey(), entry.getValue()));
+    }
+    return attributes;
+  }
+
+  public String getK() {
+    return k;
+  }
+
+  public void setK(final String k) {
+    this.k = k;
+  }
+
+  public String getV() {
+    return v;
+  }
+
+  public void setV(final String v) {
+    this.v = v;
+  }
+
+  @Override
+  public String toString() {
+    return k + "=" + v;
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.database.mongodb;
+
+import java.util.Collection;
+
+/**
+ * Routing of the Objects of a Bucket to a database, such that large tenants could be placed on separate databases
+ * (possibly on separate clusters by the MongoDB configuration).
+ * <p>
+ * The default implementation is MgConfigBucketDatabaseRouter, replaced by declaring another bean implementing this
+ * interface.
+ */
+public interface MgBucketDatabaseRouter {
+  /**
+   * @return True if at least one Bucket is routed to a database other than the default one
+   */
+  boolean isActive();
+
+  /**
+   * @param bucket the Bucket name
+   * @return the database name for the Objects of this Bucket, or null for the default database
+   */
+  String getDatabase(String bucket);
+
+  /**
+   * @return all the databases (other than the default one) Buckets are routed to
+   */
+  Collection<String> getDatabases();
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.database.mongodb;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import io.clonecloudstore.common.quarkus.properties.QuarkusSystemPropertyUtil;
+import io.clonecloudstore.common.standard.exception.CcsInvalidArgumentRuntimeException;
+import io.quarkus.arc.DefaultBean;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Default Bucket to database routing from configuration: ccs.db.mongo.routing as a list of "bucket=database"
+ * separated by ",". Buckets not listed stay on the default database.
+ */
+@DefaultBean
+@ApplicationScoped
+public class MgConfigBucketDatabaseRouter implements MgBucketDatabaseRouter {
+  public static final String CCS_DB_MONGO_ROUTING = "ccs.db.mongo.routing";
+  private final Map<String, String> routes;
+  private final Set<String> databases;
+
+  public MgConfigBucketDatabaseRouter() {
+    this(QuarkusSystemPropertyUtil.getStringConfig(CCS_DB_MONGO_ROUTING, ""));
+  }
+
+  MgConfigBucketDatabaseRouter(final String configuration) {
+    routes = new HashMap<>();
+    for (final var entry : configuration.split(",")) {
+      if (entry.isBlank()) {
+        continue;
+      }
+      final var route = entry.split("=");
+      if (route.length != 2 || route[0].isBlank() || route[1].isBlank()) {
+        throw new CcsInvalidArgumentRuntimeException("Invalid route in " + CCS_DB_MONGO_ROUTING + ": " + entry);
+      }
+      routes.put(route[0].trim(), route[1].trim());
+    }
+    databases = new HashSet<>(routes.values());
+  }
+
+  @Override
+  public boolean isActive() {
+    return !routes.isEmpty();
+  }
+
+  @Override
+  public String getDatabase(final String bucket) {
+    return routes.get(bucket);
+  }
+
+  @Override
+  public Collection<String> getDatabases() {
+    return databases;
+  }
+}
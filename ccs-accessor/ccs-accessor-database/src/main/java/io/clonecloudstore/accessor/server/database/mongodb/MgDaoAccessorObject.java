@@ -16,6 +16,7 @@
 
 package io.clonecloudstore.accessor.server.database.mongodb;
 
+import java.util.List;
 import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -106,4 +107,20 @@ public class MgDaoAccessorObject extends DaoAccessorObject {
     this.metadata.setMap(metadata);
     return this;
   }
+
+  /**
+   * @return the metadata as attributes (computed from the metadata on each write)
+   */
+  @JsonIgnore
+  public List<MetadataAttribute> getAttributes() {
+    return MetadataAttribute.fromMap(metadata.getMap());
+  }
+
+  /**
+   * Ignored since attributes are computed from the metadata
+   */
+  @JsonIgnore
+  public void setAttributes(final List<MetadataAttribute> attributes) {
+    // Nothing
+  }
 }
@@ -16,27 +16,92 @@
 
 package io.clonecloudstore.accessor.server.database.mongodb;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import io.clonecloudstore.accessor.model.AccessorStatus;
 import io.clonecloudstore.accessor.server.database.model.DaoAccessorObject;
 import io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository;
 import io.clonecloudstore.common.database.mongo.ExtendedPanacheMongoRepositoryBase;
+import io.clonecloudstore.common.database.mongo.MongoShardingHelper;
 import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import io.clonecloudstore.common.quarkus.modules.ServiceProperties;
+import io.clonecloudstore.common.standard.exception.CcsInvalidArgumentRuntimeException;
 import io.quarkus.arc.lookup.LookupIfProperty;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.MaxKey;
+import org.bson.types.MinKey;
+import org.jboss.logging.Logger;
 
+import static io.clonecloudstore.common.database.utils.DbQuery.ATTRIBUTE_KEY;
+import static io.clonecloudstore.common.database.utils.DbQuery.ATTRIBUTE_VALUE;
+import static io.clonecloudstore.common.database.utils.DbQuery.METADATA_ATTRIBUTES_MG_FIELD;
 import static io.clonecloudstore.common.database.utils.DbType.CCS_DB_TYPE;
 import static io.clonecloudstore.common.database.utils.DbType.MONGO;
 
 /**
  * MongoDB DAO Object Repository
+ * <p>
+ * Sharding ready: the shard key is (site, bucket, name), the unique key, such that all operations on one Bucket are
+ * targeted; full updates are filtered on the shard key too, and bulk inserts are sorted in shard key order. Objects
+ * of a Bucket could be routed to another database through the MgBucketDatabaseRouter: queries, deletes and updates
+ * are then routed on their Bucket filter, so each of them must filter on the Bucket (even with the id).
  */
 @LookupIfProperty(name = CCS_DB_TYPE, stringValue = MONGO)
 @ApplicationScoped
 public class MgDaoAccessorObjectRepository
     extends ExtendedPanacheMongoRepositoryBase<DaoAccessorObject, MgDaoAccessorObject>
     implements DaoAccessorObjectRepository {
+  private static final Comparator<MgDaoAccessorObject> SHARD_KEY_ORDER =
+      Comparator.comparing(MgDaoAccessorObject::getSite).thenComparing(MgDaoAccessorObject::getBucket)
+          .thenComparing(MgDaoAccessorObject::getName);
+  private static final Logger LOGGER = Logger.getLogger(MgDaoAccessorObjectRepository.class);
+  /**
+   * Collection tracking the migrations done on a database
+   */
+  public static final String MIGRATION_TABLE = "ccs_migration";
+  public static final String METADATA_ATTRIBUTES_MIGRATION = TABLE_NAME + "_metadata_attributes";
+  private static final String MIGRATION_DONE = "done";
+  private static final int MIGRATION_BATCH = 1000;
+  private static final long MIGRATION_CHECK_MS = 60_000;
+  private static final String MG_AND = "$and";
+  private static final String MG_EQ = "$eq";
+  private static final String MG_IN = "$in";
+  private final MongoClient mongoClient;
+  private final MgBucketDatabaseRouter router;
+  private final Map<String, MongoCollection<MgDaoAccessorObject>> collections = new ConcurrentHashMap<>();
+  private volatile boolean metadataIndexed;
+  private volatile long nextMigrationCheck;
+
+  public MgDaoAccessorObjectRepository(final MongoClient mongoClient, final MgBucketDatabaseRouter router) {
+    this.mongoClient = mongoClient;
+    this.router = router;
+  }
+
   @Override
   public String getTable() {
     return TABLE_NAME;
@@ -47,14 +112,309 @@ public class MgDaoAccessorObjectRepository
     return new MgDaoAccessorObject();
   }
 
+  /**
+   * Routed on the equality or IN on Bucket of the filter; a filter on Buckets routed to several databases is
+   * rejected (the caller has to query per Bucket), while a filter without Bucket uses the default database
+   */
+  @Override
+  protected MongoCollection<MgDaoAccessorObject> getCollection(final Bson filter) {
+    if (!router.isActive() || filter == null) {
+      return mongoCollection();
+    }
+    final var buckets = getBuckets(filter.toBsonDocument());
+    if (buckets == null || buckets.isEmpty()) {
+      return mongoCollection();
+    }
+    final var database = router.getDatabase(buckets.getFirst());
+    for (final var bucket : buckets) {
+      if (!Objects.equals(database, router.getDatabase(bucket))) {
+        throw new CcsInvalidArgumentRuntimeException("Buckets routed to several databases: " + buckets);
+      }
+    }
+    return database == null ? mongoCollection() : getDatabaseCollection(database);
+  }
+
+  @Override
+  protected MongoCollection<MgDaoAccessorObject> getItemCollection(final MgDaoAccessorObject item) {
+    if (!router.isActive()) {
+      return mongoCollection();
+    }
+    return getBucketCollection(item.getBucket());
+  }
+
+  /**
+   * The Bucket being unknown, all the databases are searched when routing is active
+   */
+  @Override
+  public DaoAccessorObject findWithPk(final String pk) throws CcsDbException {
+    if (!router.isActive()) {
+      return super.findWithPk(pk);
+    }
+    try {
+      for (final var collection : getAllCollections()) {
+        final var found = collection.find(Filters.eq(ID, pk)).first();
+        if (found != null) {
+          return found;
+        }
+      }
+      return null;
+    } catch (final RuntimeException e) {
+      throw new CcsDbException("FindWitPk in error", e);
+    }
+  }
+
+  /**
+   * The Bucket being unknown, all the databases are searched when routing is active
+   */
+  @Override
+  public void deleteWithPk(final String pk) throws CcsDbException {
+    if (!router.isActive()) {
+      super.deleteWithPk(pk);
+      return;
+    }
+    try {
+      for (final var collection : getAllCollections()) {
+        if (collection.deleteOne(Filters.eq(ID, pk)).getDeletedCount() > 0) {
+          return;
+        }
+      }
+    } catch (final RuntimeException e) {
+      throw new CcsDbException("deleteWithPk in error", e);
+    }
+  }
+
+  /**
+   * @return the collection of the Objects of this Bucket (default one if not routed)
+   */
+  public MongoCollection<MgDaoAccessorObject> getBucketCollection(final String bucket) {
+    final var database = bucket == null ? null : router.getDatabase(bucket);
+    return database == null ? mongoCollection() : getDatabaseCollection(database);
+  }
+
+  private MongoCollection<MgDaoAccessorObject> getDatabaseCollection(final String database) {
+    return collections.computeIfAbsent(database,
+        name -> mongoClient.getDatabase(name).getCollection(TABLE_NAME, MgDaoAccessorObject.class));
+  }
+
+  /**
+   * @return the Buckets from the equality or IN on Bucket of the filter (possibly within an AND), else null
+   */
+  static List<String> getBuckets(final BsonDocument filter) {
+    final var value = filter.get(BUCKET);
+    if (value != null) {
+      return getBuckets(value);
+    }
+    final var and = filter.get(MG_AND);
+    if (and != null && and.isArray()) {
+      for (final var sub : and.asArray()) {
+        final var buckets = sub.isDocument() ? getBuckets(sub.asDocument()) : null;
+        if (buckets != null) {
+          return buckets;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static List<String> getBuckets(final BsonValue value) {
+    if (value.isString()) {
+      return List.of(value.asString().getValue());
+    }
+    if (value.isDocument()) {
+      final var operator = value.asDocument();
+      final var eq = operator.get(MG_EQ);
+      if (eq != null && eq.isString()) {
+        return List.of(eq.asString().getValue());
+      }
+      final var in = operator.get(MG_IN);
+      if (in != null && in.isArray() && in.asArray().stream().allMatch(BsonValue::isString)) {
+        return in.asArray().stream().map(item -> item.asString().getValue()).toList();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * One unordered bulk of $set on metadata and attributes, filtered on the shard key and READY status, without
+   * upsert. The bulk result only gives the total matched count, so on a mismatch the updated Objects are read back
+   * (READY with the new metadata) to find the ones not updated.
+   */
+  @Override
+  public Set<String> updateMetadataBulk(final String bucketName,
+                                        final Map<String, Map<String, String>> metadataByName)
+      throws CcsDbException {
+    if (metadataByName.isEmpty()) {
+      return Set.of();
+    }
+    try {
+      final var site = ServiceProperties.getAccessorSite();
+      final var operations = new ArrayList<UpdateOneModel<MgDaoAccessorObject>>(metadataByName.size());
+      for (final var entry : metadataByName.entrySet()) {
+        final var attributes = new ArrayList<Document>(entry.getValue().size());
+        entry.getValue()
+            .forEach((key, value) -> attributes.add(new Document(ATTRIBUTE_KEY, key).append(ATTRIBUTE_VALUE, value)));
+        operations.add(new UpdateOneModel<>(getReadyFilter(site, bucketName, entry.getKey()),
+            Updates.combine(Updates.set(METADATA, new Document(entry.getValue())),
+                Updates.set(METADATA_ATTRIBUTES_MG_FIELD, attributes))));
+      }
+      final var collection = getBucketCollection(bucketName);
+      final var result = collection.bulkWrite(operations, new BulkWriteOptions().ordered(false));
+      if (result.getMatchedCount() == operations.size()) {
+        return Set.of();
+      }
+      final var notUpdated = new HashSet<>(metadataByName.keySet());
+      try (final var cursor = collection.withDocumentClass(Document.class)
+          .find(Filters.and(Filters.eq(SITE, site), Filters.eq(BUCKET, bucketName),
+              Filters.in(NAME, metadataByName.keySet()), Filters.eq(STATUS, AccessorStatus.READY.name())))
+          .projection(Projections.include(NAME, METADATA)).iterator()) {
+        while (cursor.hasNext()) {
+          final var document = cursor.next();
+          final var name = document.getString(NAME);
+          final var metadata = document.get(METADATA, Document.class);
+          if (new Document(metadataByName.get(name)).equals(metadata == null ? new Document() : metadata)) {
+            notUpdated.remove(name);
+          }
+        }
+      }
+      return notUpdated;
+    } catch (final MongoException e) {
+      throw new CcsDbException("Cannot update metadata", e);
+    }
+  }
+
+  private static Bson getReadyFilter(final String site, final String bucket, final String name) {
+    return Filters.and(Filters.eq(SITE, site), Filters.eq(BUCKET, bucket), Filters.eq(NAME, name),
+        Filters.eq(STATUS, AccessorStatus.READY.name()));
+  }
+
+  @Override
+  protected Bson getItemFilter(final MgDaoAccessorObject item) {
+    return Filters.and(Filters.eq(ID, item.getId()), Filters.eq(SITE, item.getSite()),
+        Filters.eq(BUCKET, item.getBucket()), Filters.eq(NAME, item.getName()));
+  }
+
+  @Override
+  protected Comparator<MgDaoAccessorObject> getInsertOrder() {
+    return SHARD_KEY_ORDER;
+  }
+
+  private List<MongoCollection<MgDaoAccessorObject>> getAllCollections() {
+    final var list = new ArrayList<MongoCollection<MgDaoAccessorObject>>();
+    list.add(mongoCollection());
+    for (final var database : router.getDatabases()) {
+      list.add(getDatabaseCollection(database));
+    }
+    return list;
+  }
+
   public void createIndex() throws CcsDbException {
     try {
-      mongoCollection().createIndex(Indexes.ascending(SITE, BUCKET, NAME),
-          new IndexOptions().name(TABLE_NAME + "_unique_idx").unique(true));
-      mongoCollection().createIndex(Indexes.ascending(SITE, BUCKET, NAME, STATUS),
-          new IndexOptions().name(TABLE_NAME + "_filter_idx"));
+      for (final var collection : getAllCollections()) {
+        collection.createIndex(Indexes.ascending(SITE, BUCKET, NAME),
+            new IndexOptions().name(TABLE_NAME + "_unique_idx").unique(true));
+        collection.createIndex(Indexes.ascending(SITE, BUCKET, NAME, STATUS),
+            new IndexOptions().name(TABLE_NAME + "_filter_idx"));
+        createMetadataIndex(collection);
+      }
     } catch (final MongoException e) {
       throw new CcsDbException("Cannot Create Index", e);
     }
   }
+
+  private static void createMetadataIndex(final MongoCollection<MgDaoAccessorObject> collection) {
+    collection.createIndex(Indexes.ascending(SITE, BUCKET, METADATA_ATTRIBUTES_MG_FIELD + "." + ATTRIBUTE_KEY,
+        METADATA_ATTRIBUTES_MG_FIELD + "." + ATTRIBUTE_VALUE), new IndexOptions().name(TABLE_NAME + "_metadata_idx"));
+  }
+
+  /**
+   * Attributes are only complete, so usable by metadata filters, once the migration is done on all databases
+   * (checked again at most every minute until then)
+   */
+  @Override
+  public boolean isMetadataIndexed() {
+    if (metadataIndexed) {
+      return true;
+    }
+    final var now = System.currentTimeMillis();
+    if (now >= nextMigrationCheck) {
+      nextMigrationCheck = now + MIGRATION_CHECK_MS;
+      try {
+        metadataIndexed = getAllCollections().stream().allMatch(this::isMigrated);
+      } catch (final MongoException e) {
+        LOGGER.warnf("Cannot check migration: %s", e.getMessage());
+      }
+    }
+    return metadataIndexed;
+  }
+
+  /**
+   * One-off migration, tracked per database in the migration collection: fill the metadata attributes of the Objects
+   * written before they were maintained, walking once the Objects in id order (id index) by batches, then create the
+   * metadata index
+   */
+  @Override
+  public void migrate() throws CcsDbException {
+    try {
+      for (final var collection : getAllCollections()) {
+        if (isMigrated(collection)) {
+          continue;
+        }
+        final var documents = collection.withDocumentClass(Document.class);
+        final var missing = Filters.exists(METADATA_ATTRIBUTES_MG_FIELD, false);
+        final var update =
+            List.of(Updates.set(METADATA_ATTRIBUTES_MG_FIELD, new Document("$objectToArray", "$" + METADATA)));
+        long count = 0;
+        Object last = null;
+        while (true) {
+          final var ids = new ArrayList<>(MIGRATION_BATCH);
+          documents.find(last == null ? missing : Filters.and(Filters.gt(ID, last), missing))
+              .projection(Projections.include(ID)).sort(Sorts.ascending(ID)).limit(MIGRATION_BATCH)
+              .forEach(document -> ids.add(document.get(ID)));
+          if (ids.isEmpty()) {
+            break;
+          }
+          count += documents.updateMany(Filters.and(Filters.in(ID, ids), missing), update).getModifiedCount();
+          last = ids.getLast();
+        }
+        createMetadataIndex(collection);
+        getMigrationCollection(collection).replaceOne(Filters.eq(ID, METADATA_ATTRIBUTES_MIGRATION),
+            new Document(ID, METADATA_ATTRIBUTES_MIGRATION).append(MIGRATION_DONE, Date.from(Instant.now())),
+            new ReplaceOptions().upsert(true));
+        LOGGER.infof("Migration %s done on %s with %d Objects", METADATA_ATTRIBUTES_MIGRATION,
+            collection.getNamespace().getDatabaseName(), count);
+      }
+      metadataIndexed = true;
+    } catch (final MongoException e) {
+      throw new CcsDbException("Cannot migrate " + METADATA_ATTRIBUTES_MIGRATION, e);
+    }
+  }
+
+  private boolean isMigrated(final MongoCollection<MgDaoAccessorObject> collection) {
+    return getMigrationCollection(collection).find(Filters.eq(ID, METADATA_ATTRIBUTES_MIGRATION)).first() != null;
+  }
+
+  private MongoCollection<Document> getMigrationCollection(final MongoCollection<MgDaoAccessorObject> collection) {
+    return mongoClient.getDatabase(collection.getNamespace().getDatabaseName()).getCollection(MIGRATION_TABLE);
+  }
+
+  /**
+   * Shard the Object collections (default and routed databases) on (site, bucket, name), once the indexes are
+   * created; ignored if not connected to a sharded cluster
+   */
+  public void shardCollection() throws CcsDbException {
+    for (final var collection : getAllCollections()) {
+      MongoShardingHelper.shardCollection(mongoClient, collection, Indexes.ascending(SITE, BUCKET, NAME));
+    }
+  }
+
+  /**
+   * Assign all the Objects of the Bucket (of the current site) to the zone, such that they are placed (and written)
+   * on the shards of this zone (null zone to remove the assignment); ignored if not connected to a sharded cluster
+   */
+  public void assignBucketToZone(final String bucket, final String zone) throws CcsDbException {
+    final var site = ServiceProperties.getAccessorSite();
+    MongoShardingHelper.updateZoneKeyRange(mongoClient, getBucketCollection(bucket),
+        new Document(SITE, site).append(BUCKET, bucket).append(NAME, new MinKey()),
+        new Document(SITE, site).append(BUCKET, bucket).append(NAME, new MaxKey()), zone);
+  }
 }
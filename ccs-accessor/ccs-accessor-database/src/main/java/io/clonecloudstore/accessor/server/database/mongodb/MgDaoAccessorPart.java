@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.database.mongodb;
+
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorPart;
+import io.quarkus.mongodb.panache.common.MongoEntity;
+import jakarta.persistence.Column;
+import org.bson.codecs.pojo.annotations.BsonId;
+
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorPartRepository.TABLE_NAME;
+import static io.clonecloudstore.common.standard.guid.GuidLike.UUID_B32_SIZE;
+
+/**
+ * MongoDB DAO for Multipart upload Part
+ */
+@MongoEntity(collection = TABLE_NAME)
+public class MgDaoAccessorPart extends DaoAccessorPart {
+  @BsonId
+  @Column(length = UUID_B32_SIZE + 6)
+  private String id;
+
+  public MgDaoAccessorPart() {
+    //Empty
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public MgDaoAccessorPart setId(final String id) {
+    this.id = id;
+    return this;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.accessor.server.database.postgre;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.clonecloudstore.accessor.model.AccessorBucket;
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorBucket;
+import io.clonecloudstore.common.standard.system.ParametersChecker;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorBucketRepository.BUCKET_STATUS;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorBucketRepository.CLIENT_ID;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorBucketRepository.TABLE_NAME;
+import static io.clonecloudstore.common.database.utils.RepositoryBaseInterface.ID_PG;
+import static io.clonecloudstore.common.standard.system.ParametersChecker.BUCKET_LENGTH;
+
+/**
+ * PostgreSQL DAO for Bucket
+ */
+@Entity
+@Table(name = TABLE_NAME, indexes = {
+    @Index(name = TABLE_NAME + "_filter_idx", columnList = CLIENT_ID + ", " + BUCKET_STATUS)})
+public class PgDaoAccessorBucket extends DaoAccessorBucket {
+  @Id
+  @Column(name = ID_PG, nullable = false, length = BUCKET_LENGTH)
+  private String id;
+
+  public PgDaoAccessorBucket() {
+    //Empty
+  }
+
+  public PgDaoAccessorBucket(final AccessorBucket dto) {
+    fromDto(dto);
+  }
+
+  @Transient
+  @JsonIgnore
+  @Override
+  public PgDaoAccessorBucket fromDto(final AccessorBucket dto) {
+    return (PgDaoAccessorBucket) super.fromDto(dto);
+  }
+
+  @Transient
+  @JsonIgnore
+  @Override
+  public AccessorBucket getDto() {
+    return super.getDto();
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public PgDaoAccessorBucket setId(final String bucketId) {
+    ParametersChecker.checkSanityBucketName(bucketId);
+    this.id = bucketId;
+    return this;
+  }
+}
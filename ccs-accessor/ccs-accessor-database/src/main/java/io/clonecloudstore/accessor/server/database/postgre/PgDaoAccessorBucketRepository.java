@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.accessor.server.database.postgre;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.clonecloudstore.accessor.model.AccessorBucket;
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorBucket;
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorBucketRepository;
+import io.clonecloudstore.common.database.postgre.ExtendedPanacheRepositoryBase;
+import io.clonecloudstore.common.database.utils.DbQuery;
+import io.clonecloudstore.common.database.utils.RestQuery;
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import io.quarkus.arc.lookup.LookupIfProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+import static io.clonecloudstore.common.database.utils.DbType.CCS_DB_TYPE;
+import static io.clonecloudstore.common.database.utils.DbType.POSTGRE;
+
+/**
+ * PostgreSQL DAO Bucket Repository
+ */
+@LookupIfProperty(name = CCS_DB_TYPE, stringValue = POSTGRE)
+@ApplicationScoped
+@Transactional
+public class PgDaoAccessorBucketRepository
+    extends ExtendedPanacheRepositoryBase<DaoAccessorBucket, PgDaoAccessorBucket>
+    implements DaoAccessorBucketRepository {
+  public PgDaoAccessorBucketRepository() {
+    super(new PgDaoAccessorBucket());
+  }
+
+  @Override
+  public String getTable() {
+    return TABLE_NAME;
+  }
+
+  @Override
+  public DaoAccessorBucket createEmptyItem() {
+    return new PgDaoAccessorBucket();
+  }
+
+  /**
+   * Filter on clientId within the database (using the filter index)
+   */
+  @Override
+  public List<AccessorBucket> listBuckets(final String clientId) throws CcsDbException {
+    try (final var iterator = findIterator(new DbQuery(RestQuery.QUERY.EQ, CLIENT_ID, clientId))) {
+      final var list = new ArrayList<AccessorBucket>();
+      iterator.forEachRemaining(daoAccessorBucket -> list.add(daoAccessorBucket.getDto()));
+      return list;
+    } catch (final RuntimeException e) {
+      throw new CcsDbException(e);
+    }
+  }
+}
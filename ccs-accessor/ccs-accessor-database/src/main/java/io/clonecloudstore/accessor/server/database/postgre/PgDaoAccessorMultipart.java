@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.accessor.server.database.postgre;
+
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorMultipart;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorMultipartRepository.BUCKET;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorMultipartRepository.CREATION;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorMultipartRepository.NAME;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorMultipartRepository.SITE;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorMultipartRepository.TABLE_NAME;
+import static io.clonecloudstore.common.database.utils.RepositoryBaseInterface.ID_PG;
+import static io.clonecloudstore.common.standard.guid.GuidLike.UUID_B32_SIZE;
+
+/**
+ * PostgreSQL DAO for Multipart upload
+ */
+@Entity
+@Table(name = TABLE_NAME, indexes = {
+    @Index(name = TABLE_NAME + "_filter_idx", columnList = SITE + ", " + BUCKET + ", " + NAME),
+    @Index(name = TABLE_NAME + "_expiry_idx", columnList = SITE + ", " + CREATION)})
+public class PgDaoAccessorMultipart extends DaoAccessorMultipart {
+  @Id
+  @Column(name = ID_PG, nullable = false, length = UUID_B32_SIZE)
+  private String id;
+
+  public PgDaoAccessorMultipart() {
+    //Empty
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public PgDaoAccessorMultipart setId(final String id) {
+    this.id = id;
+    return this;
+  }
+}
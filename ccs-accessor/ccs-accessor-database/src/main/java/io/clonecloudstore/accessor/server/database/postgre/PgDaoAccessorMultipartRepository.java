@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.accessor.server.database.postgre;
+
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorMultipart;
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorMultipartRepository;
+import io.clonecloudstore.common.database.postgre.ExtendedPanacheRepositoryBase;
+import io.quarkus.arc.lookup.LookupIfProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+import static io.clonecloudstore.common.database.utils.DbType.CCS_DB_TYPE;
+import static io.clonecloudstore.common.database.utils.DbType.POSTGRE;
+
+/**
+ * PostgreSQL DAO Multipart upload Repository
+ */
+@LookupIfProperty(name = CCS_DB_TYPE, stringValue = POSTGRE)
+@ApplicationScoped
+@Transactional
+public class PgDaoAccessorMultipartRepository
+    extends ExtendedPanacheRepositoryBase<DaoAccessorMultipart, PgDaoAccessorMultipart>
+    implements DaoAccessorMultipartRepository {
+  public PgDaoAccessorMultipartRepository() {
+    super(new PgDaoAccessorMultipart());
+  }
+
+  @Override
+  public String getTable() {
+    return TABLE_NAME;
+  }
+
+  @Override
+  public DaoAccessorMultipart createEmptyItem() {
+    return new PgDaoAccessorMultipart();
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.accessor.server.database.postgre;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.clonecloudstore.accessor.model.AccessorObject;
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorObject;
+import io.clonecloudstore.common.standard.system.ParametersChecker;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository.BUCKET;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository.METADATA;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository.NAME;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository.SITE;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository.STATUS;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository.TABLE_NAME;
+import static io.clonecloudstore.common.database.postgre.PostgreSqlHelper.JSON_TYPE;
+import static io.clonecloudstore.common.database.utils.RepositoryBaseInterface.ID_PG;
+import static io.clonecloudstore.common.standard.guid.GuidLike.UUID_B32_SIZE;
+
+/**
+ * PostgreSQL DAO for Object
+ */
+@Entity
+@Table(name = TABLE_NAME, indexes = {
+    @Index(name = TABLE_NAME + "_unique_idx", columnList = SITE + ", " + BUCKET + ", " + NAME, unique = true),
+    @Index(name = TABLE_NAME + "_filter_idx", columnList = SITE + ", " + BUCKET + ", " + STATUS + ", " + NAME)})
+public class PgDaoAccessorObject extends DaoAccessorObject {
+  @Id
+  @Column(name = ID_PG, nullable = false, length = UUID_B32_SIZE)
+  private String id;
+  @Column(name = METADATA, columnDefinition = JSON_TYPE)
+  @JdbcTypeCode(SqlTypes.JSON)
+  private final Map<String, String> metadata = new HashMap<>();
+
+  public PgDaoAccessorObject() {
+    // Empty
+  }
+
+  public PgDaoAccessorObject(final AccessorObject dto) {
+    fromDto(dto);
+  }
+
+  @Transient
+  @JsonIgnore
+  @Override
+  public PgDaoAccessorObject fromDto(final AccessorObject dto) {
+    return (PgDaoAccessorObject) super.fromDto(dto);
+  }
+
+  @Transient
+  @JsonIgnore
+  @Override
+  public AccessorObject getDto() {
+    return super.getDto();
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public PgDaoAccessorObject setId(final String id) {
+    ParametersChecker.checkSanityString(id);
+    this.id = id;
+    return this;
+  }
+
+  @Override
+  public Map<String, String> getMetadata() {
+    return metadata;
+  }
+
+  @Transient
+  @JsonIgnore
+  @Override
+  public String getMetadata(final String key) {
+    return metadata.get(key);
+  }
+
+  @Transient
+  @JsonIgnore
+  @Override
+  public PgDaoAccessorObject addMetadata(final String key, final String value) {
+    ParametersChecker.checkSanityString(key, value);
+    ParametersChecker.checkSanityMapKey(key);
+    metadata.put(key, value);
+    return this;
+  }
+
+  @Override
+  public PgDaoAccessorObject setMetadata(final Map<String, String> metadata) {
+    ParametersChecker.checkSanityMap(metadata);
+    this.metadata.clear();
+    if (metadata != null) {
+      this.metadata.putAll(metadata);
+    }
+    return this;
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.accessor.server.database.postgre;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import io.clonecloudstore.accessor.model.AccessorStatus;
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorObject;
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository;
+import io.clonecloudstore.common.database.postgre.ExtendedPanacheRepositoryBase;
+import io.clonecloudstore.common.database.postgre.PostgreSqlHelper;
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import io.clonecloudstore.common.quarkus.exception.CcsOperationException;
+import io.clonecloudstore.common.quarkus.modules.ServiceProperties;
+import io.clonecloudstore.common.quarkus.properties.JsonUtil;
+import io.clonecloudstore.common.standard.stream.ClosingIterator;
+import io.quarkus.arc.lookup.LookupIfProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import org.hibernate.Session;
+
+import static io.clonecloudstore.common.database.utils.DbType.CCS_DB_TYPE;
+import static io.clonecloudstore.common.database.utils.DbType.POSTGRE;
+
+/**
+ * PostgreSQL DAO Object Repository
+ */
+@LookupIfProperty(name = CCS_DB_TYPE, stringValue = POSTGRE)
+@ApplicationScoped
+@Transactional
+public class PgDaoAccessorObjectRepository
+    extends ExtendedPanacheRepositoryBase<DaoAccessorObject, PgDaoAccessorObject>
+    implements DaoAccessorObjectRepository {
+  private static final String UPDATE_METADATA =
+      "UPDATE " + TABLE_NAME + " SET " + METADATA + " = CAST(? AS jsonb) WHERE " + SITE + " = ? AND " + BUCKET +
+          " = ? AND " + NAME + " = ? AND " + STATUS + " = ?";
+
+  public PgDaoAccessorObjectRepository() {
+    super(new PgDaoAccessorObject());
+  }
+
+  @Override
+  public String getTable() {
+    return TABLE_NAME;
+  }
+
+  @Override
+  public DaoAccessorObject createEmptyItem() {
+    return new PgDaoAccessorObject();
+  }
+
+  /**
+   * One JDBC batch of targeted UPDATE (no merge of a previously read entity), giving the updated count of each item
+   */
+  @Override
+  public Set<String> updateMetadataBulk(final String bucketName,
+                                        final Map<String, Map<String, String>> metadataByName)
+      throws CcsDbException {
+    if (metadataByName.isEmpty()) {
+      return Set.of();
+    }
+    try {
+      final var site = ServiceProperties.getAccessorSite();
+      final var names = new ArrayList<>(metadataByName.keySet());
+      final var jsons = new ArrayList<String>(names.size());
+      for (final var name : names) {
+        jsons.add(JsonUtil.getInstance().writeValueAsString(metadataByName.get(name)));
+      }
+      final var notUpdated = new HashSet<String>();
+      getEntityManager().unwrap(Session.class).doWork(connection -> {
+        try (final var statement = connection.prepareStatement(UPDATE_METADATA)) {
+          for (var i = 0; i < names.size(); i++) {
+            statement.setString(1, jsons.get(i));
+            statement.setString(2, site);
+            statement.setString(3, bucketName);
+            statement.setString(4, names.get(i));
+            statement.setString(5, AccessorStatus.READY.name());
+            statement.addBatch();
+          }
+          final var counts = statement.executeBatch();
+          for (var i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+              notUpdated.add(names.get(i));
+            }
+          }
+        }
+      });
+      return notUpdated;
+    } catch (final JsonProcessingException | RuntimeException e) {
+      throw new CcsDbException("Cannot update metadata", e);
+    }
+  }
+
+  /**
+   * Aggregation done by PostgreSQL (DISTINCT on the name truncated after the first delimiter), since a skip-scan on
+   * names is not valid for non "C" collations. The entries are read at once, sorted in binary ("C") order as for
+   * MongoDB.
+   */
+  @Override
+  public ClosingIterator<String> getObjectNamesWithDelimiter(final String bucket, final String objectNamePrefix,
+                                                              final String delimiter, final AccessorStatus status)
+      throws CcsDbException {
+    if (delimiter == null || delimiter.isEmpty()) {
+      throw new CcsDbException(new CcsOperationException("Delimiter cannot be empty"));
+    }
+    try {
+      final var prefix = objectNamePrefix == null ? "" : objectNamePrefix;
+      final var query = DaoAccessorObjectRepository.getPrefixQuery(bucket, prefix, status);
+      final var params = query.getSqlParams();
+      final var rest = "substr(" + NAME + ", ?" + (params.size() + 1) + ")";
+      final var delim = "?" + (params.size() + 2);
+      final var sql = "SELECT DISTINCT CASE WHEN strpos(" + rest + ", " + delim + ") > 0 THEN ?" + (params.size() + 3) +
+          " || split_part(" + rest + ", " + delim + ", 1) || " + delim + " ELSE " + NAME + " END AS entry FROM " +
+          TABLE_NAME + " WHERE " + PostgreSqlHelper.query(query) + " ORDER BY entry COLLATE \"C\"";
+      final var nativeQuery = getEntityManager().createNativeQuery(sql, String.class);
+      int pos = 1;
+      for (final var param : params) {
+        nativeQuery.setParameter(pos, param);
+        pos++;
+      }
+      nativeQuery.setParameter(pos++, prefix.codePointCount(0, prefix.length()) + 1);
+      nativeQuery.setParameter(pos++, delimiter);
+      nativeQuery.setParameter(pos, prefix);
+      final List<String> entries = nativeQuery.getResultList();
+      return new NamesIterator(entries.iterator());
+    } catch (final RuntimeException e) {
+      throw new CcsDbException(e);
+    }
+  }
+
+  private record NamesIterator(Iterator<String> iterator) implements ClosingIterator<String> {
+    @Override
+    public boolean hasNext() {
+      return iterator.hasNext();
+    }
+
+    @Override
+    public String next() {
+      return iterator.next();
+    }
+
+    @Override
+    public void close() {
+      // Nothing
+    }
+  }
+
+  /**
+   * Create the GIN index on the Jsonb metadata (not expressible through JPA), used by metadata filters
+   */
+  public void createIndex() throws CcsDbException {
+    try {
+      getEntityManager().createNativeQuery(
+          "CREATE INDEX IF NOT EXISTS " + TABLE_NAME + "_metadata_idx ON " + TABLE_NAME + " USING GIN (" + METADATA +
+              " jsonb_path_ops)").executeUpdate();
+    } catch (final RuntimeException e) {
+      throw new CcsDbException("Cannot Create Index", e);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.accessor.server.database.postgre;
+
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorPart;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorPartRepository.PART_NUMBER;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorPartRepository.TABLE_NAME;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorPartRepository.UPLOAD_ID;
+import static io.clonecloudstore.common.database.utils.RepositoryBaseInterface.ID_PG;
+import static io.clonecloudstore.common.standard.guid.GuidLike.UUID_B32_SIZE;
+
+/**
+ * PostgreSQL DAO for Multipart upload Part
+ */
+@Entity
+@Table(name = TABLE_NAME, indexes = {
+    @Index(name = TABLE_NAME + "_upload_idx", columnList = UPLOAD_ID + ", " + PART_NUMBER, unique = true)})
+public class PgDaoAccessorPart extends DaoAccessorPart {
+  @Id
+  @Column(name = ID_PG, nullable = false, length = UUID_B32_SIZE + 6)
+  private String id;
+
+  public PgDaoAccessorPart() {
+    //Empty
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public PgDaoAccessorPart setId(final String id) {
+    this.id = id;
+    return this;
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.accessor.server.database.postgre;
+
+import java.time.Instant;
+
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorPart;
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorPartRepository;
+import io.clonecloudstore.common.database.postgre.ExtendedPanacheRepositoryBase;
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import io.quarkus.arc.lookup.LookupIfProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+import static io.clonecloudstore.common.database.utils.DbType.CCS_DB_TYPE;
+import static io.clonecloudstore.common.database.utils.DbType.POSTGRE;
+
+/**
+ * PostgreSQL DAO Multipart upload Part Repository
+ */
+@LookupIfProperty(name = CCS_DB_TYPE, stringValue = POSTGRE)
+@ApplicationScoped
+@Transactional
+public class PgDaoAccessorPartRepository
+    extends ExtendedPanacheRepositoryBase<DaoAccessorPart, PgDaoAccessorPart>
+    implements DaoAccessorPartRepository {
+  private static final String UPSERT =
+      "INSERT INTO " + TABLE_NAME + " (" + ID_PG + ", " + UPLOAD_ID + ", " + PART_NUMBER + ", " + ETAG + ", " + SIZE +
+          ", " + CREATION + ") VALUES (?1, ?2, ?3, ?4, ?5, ?6) ON CONFLICT (" + ID_PG + ") DO UPDATE SET " + ETAG +
+          " = EXCLUDED." + ETAG + ", " + SIZE + " = EXCLUDED." + SIZE + ", " + CREATION + " = EXCLUDED." + CREATION;
+
+  public PgDaoAccessorPartRepository() {
+    super(new PgDaoAccessorPart());
+  }
+
+  @Override
+  public String getTable() {
+    return TABLE_NAME;
+  }
+
+  @Override
+  public DaoAccessorPart createEmptyItem() {
+    return new PgDaoAccessorPart();
+  }
+
+  /**
+   * One statement (INSERT ... ON CONFLICT) instead of a read followed by an insert or an update
+   */
+  @Override
+  public DaoAccessorPart savePart(final String uploadId, final int partNumber, final String etag, final long size)
+      throws CcsDbException {
+    try {
+      final var dao = createEmptyItem();
+      dao.setId(DaoAccessorPart.getPartId(uploadId, partNumber)).setUploadId(uploadId).setPartNumber(partNumber)
+          .setEtag(etag).setSize(size).setCreation(Instant.now());
+      getEntityManager().createNativeQuery(UPSERT).setParameter(1, dao.getId()).setParameter(2, uploadId)
+          .setParameter(3, partNumber).setParameter(4, etag).setParameter(5, size).setParameter(6, dao.getCreation())
+          .executeUpdate();
+      return dao;
+    } catch (final RuntimeException e) {
+      throw new CcsDbException("savePart in error", e);
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.database.mongodb;
+
+import java.util.List;
+import java.util.Set;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.model.Filters;
+import io.clonecloudstore.common.database.utils.DbQuery;
+import io.clonecloudstore.common.standard.exception.CcsInvalidArgumentRuntimeException;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository.BUCKET;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository.NAME;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository.SITE;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository.TABLE_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+
+class MgConfigBucketDatabaseRouterTest {
+  @Test
+  void routes() {
+    var router = new MgConfigBucketDatabaseRouter("");
+    assertFalse(router.isActive());
+    assertNull(router.getDatabase("bucket1"));
+    assertTrue(router.getDatabases().isEmpty());
+    router = new MgConfigBucketDatabaseRouter("bucket1=db1, bucket2 = db2,bucket3=db1");
+    assertTrue(router.isActive());
+    assertEquals("db1", router.getDatabase("bucket1"));
+    assertEquals("db2", router.getDatabase("bucket2"));
+    assertEquals("db1", router.getDatabase("bucket3"));
+    assertNull(router.getDatabase("bucket4"));
+    assertEquals(Set.of("db1", "db2"), router.getDatabases());
+    assertThrows(CcsInvalidArgumentRuntimeException.class, () -> new MgConfigBucketDatabaseRouter("bucket1"));
+    assertThrows(CcsInvalidArgumentRuntimeException.class, () -> new MgConfigBucketDatabaseRouter("bucket1=db1=db2"));
+    assertThrows(CcsInvalidArgumentRuntimeException.class, () -> new MgConfigBucketDatabaseRouter("=db1"));
+  }
+
+  @Test
+  void bucketsFromFilter() {
+    assertEquals(List.of("bucket1"),
+        MgDaoAccessorObjectRepository.getBuckets(Filters.eq(BUCKET, "bucket1").toBsonDocument()));
+    assertEquals(List.of("bucket1"), MgDaoAccessorObjectRepository.getBuckets(
+        Filters.and(Filters.eq(SITE, "site"), Filters.eq(BUCKET, "bucket1"), Filters.gte(NAME, "a"))
+            .toBsonDocument()));
+    assertEquals(List.of("bucket1"), MgDaoAccessorObjectRepository.getBuckets(
+        Filters.and(Filters.eq(SITE, "site"), Filters.and(Filters.eq(BUCKET, "bucket1"), Filters.eq(NAME, "a")))
+            .toBsonDocument()));
+    assertEquals(List.of("bucket1"), MgDaoAccessorObjectRepository.getBuckets(
+        new Document(SITE, "site").append(BUCKET, "bucket1").append(NAME, "a").toBsonDocument()));
+    assertEquals(List.of("bucket1"), MgDaoAccessorObjectRepository.getBuckets(
+        new Document(BUCKET, new Document("$eq", "bucket1")).toBsonDocument()));
+    assertNull(MgDaoAccessorObjectRepository.getBuckets(Filters.eq(SITE, "site").toBsonDocument()));
+    assertEquals(List.of("bucket1", "bucket2"), MgDaoAccessorObjectRepository.getBuckets(
+        Filters.and(Filters.eq(SITE, "site"), Filters.in(BUCKET, List.of("bucket1", "bucket2"))).toBsonDocument()));
+    assertNull(MgDaoAccessorObjectRepository.getBuckets(
+        Filters.or(Filters.eq(BUCKET, "bucket1"), Filters.eq(BUCKET, "bucket2")).toBsonDocument()));
+  }
+
+  @Test
+  void collectionFromFilter() {
+    final var mongoClient = mock(MongoClient.class, RETURNS_DEEP_STUBS);
+    final var db1 = mongoClient.getDatabase("db1").getCollection(TABLE_NAME, MgDaoAccessorObject.class);
+    final var router = new MgConfigBucketDatabaseRouter("bucket1=db1,bucket2=db2,bucket3=db1");
+    final var repository = new MgDaoAccessorObjectRepository(mongoClient, router);
+    assertSame(db1, repository.getCollection(Filters.eq(BUCKET, "bucket1")));
+    assertSame(db1, repository.getCollection(
+        Filters.and(DbQuery.idEquals("id").getBson(), Filters.in(BUCKET, List.of("bucket1", "bucket3")))));
+    assertThrows(CcsInvalidArgumentRuntimeException.class,
+        () -> repository.getCollection(Filters.in(BUCKET, List.of("bucket1", "bucket2"))));
+  }
+}
@@ -18,20 +18,32 @@ package io.clonecloudstore.accessor.server.database.mongodb;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import com.mongodb.client.MongoClient;
+import io.clonecloudstore.accessor.model.AccessorFilter;
 import io.clonecloudstore.accessor.model.AccessorStatus;
 import io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository;
+import io.clonecloudstore.accessor.server.database.model.DbQueryAccessorHelper;
+import io.clonecloudstore.common.database.mongo.MongoShardingHelper;
 import io.clonecloudstore.common.database.utils.DbQuery;
 import io.clonecloudstore.common.database.utils.DbType;
+import io.clonecloudstore.common.database.utils.RestQuery;
 import io.clonecloudstore.common.database.utils.exception.CcsDbException;
 import io.clonecloudstore.common.quarkus.modules.AccessorProperties;
 import io.clonecloudstore.common.standard.guid.GuidLike;
+import io.clonecloudstore.common.standard.system.SystemTools;
 import io.clonecloudstore.test.resource.mongodb.MongoDbProfile;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
+import org.bson.Document;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
@@ -41,6 +53,7 @@ import org.junit.jupiter.api.TestMethodOrder;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -51,6 +64,8 @@ class MgDaoAccessorObjectDbTest {
 
   @Inject
   Instance<DaoAccessorObjectRepository> repositoryInstance;
+  @Inject
+  MongoClient mongoClient;
   MgDaoAccessorObjectRepository repository;
 
   @BeforeEach
@@ -94,6 +109,13 @@ class MgDaoAccessorObjectDbTest {
     iterator.hasNext();
     object3 = iterator.next();
     assertEquals(object2, object3);
+    assertEquals(object.getName(), repository.getFirstObjectName(object.getBucket(), "dir/", AccessorStatus.READY));
+    assertNull(repository.getFirstObjectName(object.getBucket(), "dir/", AccessorStatus.DELETED));
+    assertEquals(List.of(object.getName()),
+        repository.getFirstObjectNames(object.getBucket(), "dir/", AccessorStatus.READY, 2));
+    assertTrue(repository.exists(new DbQuery(RestQuery.QUERY.EQ, DaoAccessorObjectRepository.BUCKET,
+        object.getBucket())));
+    assertFalse(repository.exists(new DbQuery(RestQuery.QUERY.EQ, DaoAccessorObjectRepository.BUCKET, "none")));
     try {
       repository.updateObjectStatusHashLen(object.getBucket(), object.getName(), AccessorStatus.UPLOAD, "hash2", 110);
     } catch (final CcsDbException e) {
@@ -137,4 +159,174 @@ class MgDaoAccessorObjectDbTest {
     repository.deleteAllDb();
   }
 
+  @Test
+  void metadataFilter() throws CcsDbException {
+    repository.createIndex();
+    repository.migrate();
+    assertTrue(repository.isMetadataIndexed());
+    final var site = AccessorProperties.getAccessorSite();
+    final var bucket = "md-bucket";
+    final var object1 =
+        new MgDaoAccessorObject().setId(GuidLike.getGuid()).setSite(site).setBucket(bucket).setName("object1")
+            .setStatus(AccessorStatus.READY).setCreation(Instant.now()).addMetadata("key1", "a")
+            .addMetadata("key2", "b");
+    final var object2 =
+        new MgDaoAccessorObject().setId(GuidLike.getGuid()).setSite(site).setBucket(bucket).setName("object2")
+            .setStatus(AccessorStatus.READY).setCreation(Instant.now()).addMetadata("key1", "a");
+    final var object3 =
+        new MgDaoAccessorObject().setId(GuidLike.getGuid()).setSite(site).setBucket(bucket).setName("object3")
+            .setStatus(AccessorStatus.READY).setCreation(Instant.now()).addMetadata("key1", "c");
+    repository.insert((MgDaoAccessorObject) object1);
+    repository.insert((MgDaoAccessorObject) object2);
+    repository.insert((MgDaoAccessorObject) object3);
+    repository.flushAll();
+    assertEquals(2, countMetadataFilter(site, bucket, new AccessorFilter().addMetadata("key1", "a")));
+    assertEquals(1,
+        countMetadataFilter(site, bucket, new AccessorFilter().addMetadata("key1", "a").addMetadata("key2", "b")));
+    assertEquals(1, countMetadataFilter(site, bucket, new AccessorFilter().addMetadata("key1", "c")));
+    assertEquals(0, countMetadataFilter(site, bucket, new AccessorFilter().addMetadata("key2", "a")));
+    // Attributes follow the metadata on update
+    object3.addMetadata("key1", "a");
+    repository.updateFull((MgDaoAccessorObject) object3);
+    assertEquals(3, countMetadataFilter(site, bucket, new AccessorFilter().addMetadata("key1", "a")));
+    assertEquals(0, countMetadataFilter(site, bucket, new AccessorFilter().addMetadata("key1", "c")));
+    // Same through bulk metadata update, only on READY Objects
+    assertEquals(Set.of(), repository.updateMetadataBulk(bucket,
+        Map.of("object1", Map.of("key1", "d", "key2", "b"), "object2", Map.of("key1", "d"))));
+    assertEquals(1, countMetadataFilter(site, bucket, new AccessorFilter().addMetadata("key1", "a")));
+    assertEquals(2, countMetadataFilter(site, bucket, new AccessorFilter().addMetadata("key1", "d")));
+    assertEquals("d", repository.getObject(bucket, "object1").getMetadata("key1"));
+    repository.updateObjectStatus(bucket, "object2", AccessorStatus.DELETED, null);
+    assertEquals(Set.of("object2", "unknown"), repository.updateMetadataBulk(bucket,
+        Map.of("object1", Map.of("key1", "e"), "object2", Map.of("key1", "e"), "unknown", Map.of("key1", "e"))));
+    assertEquals("e", repository.getObject(bucket, "object1").getMetadata("key1"));
+    assertEquals("d", repository.getObject(bucket, "object2").getMetadata("key1"));
+    assertEquals(AccessorStatus.DELETED, repository.getObject(bucket, "object2").getStatus());
+    assertEquals(1, countMetadataFilter(site, bucket, new AccessorFilter().addMetadata("key1", "e")));
+    final var query = getMetadataQuery(site, bucket, new AccessorFilter().addMetadata("key1", "a"), true);
+    assertTrue(repository.explain(query, null).contains(DaoAccessorObjectRepository.TABLE_NAME + "_metadata_idx"));
+    repository.deleteAllDb();
+  }
+
+  @Test
+  void metadataMigration() throws CcsDbException {
+    repository.createIndex();
+    final var notMigrated = new MgDaoAccessorObjectRepository(mongoClient, new MgConfigBucketDatabaseRouter(""));
+    final var database = mongoClient.getDatabase(repository.mongoCollection().getNamespace().getDatabaseName());
+    database.getCollection(MgDaoAccessorObjectRepository.MIGRATION_TABLE).deleteMany(new Document());
+    final var site = AccessorProperties.getAccessorSite();
+    final var bucket = "migration-bucket";
+    // Object written before the metadata attributes were maintained
+    database.getCollection(DaoAccessorObjectRepository.TABLE_NAME).insertOne(
+        new Document(DaoAccessorObjectRepository.ID, GuidLike.getGuid()).append(DaoAccessorObjectRepository.SITE, site)
+            .append(DaoAccessorObjectRepository.BUCKET, bucket).append(DaoAccessorObjectRepository.NAME, "object1")
+            .append(DaoAccessorObjectRepository.STATUS, AccessorStatus.READY.name())
+            .append(DaoAccessorObjectRepository.CREATION, new Date())
+            .append(DaoAccessorObjectRepository.METADATA, new Document("key1", "a")));
+    final var filter = new AccessorFilter().addMetadata("key1", "a");
+    assertFalse(notMigrated.isMetadataIndexed());
+    assertEquals(1, countMetadataFilter(site, bucket, filter, false));
+    assertEquals(0, countMetadataFilter(site, bucket, filter, true));
+    notMigrated.migrate();
+    assertTrue(notMigrated.isMetadataIndexed());
+    assertEquals(1, countMetadataFilter(site, bucket, filter, true));
+    assertEquals(1, database.getCollection(MgDaoAccessorObjectRepository.MIGRATION_TABLE)
+        .countDocuments(new Document(DaoAccessorObjectRepository.ID,
+            MgDaoAccessorObjectRepository.METADATA_ATTRIBUTES_MIGRATION)));
+    // Once done, never run again
+    notMigrated.migrate();
+    assertTrue(new MgDaoAccessorObjectRepository(mongoClient, new MgConfigBucketDatabaseRouter(""))
+        .isMetadataIndexed());
+    repository.deleteAllDb();
+  }
+
+  @Test
+  void delimiterListing() throws CcsDbException {
+    repository.createIndex();
+    final var site = AccessorProperties.getAccessorSite();
+    final var bucket = "delimiter-bucket";
+    for (final var name : List.of("a/1", "a/2", "b", "c/d/e", "c/d/f", "c/g", "c%")) {
+      final var object = new MgDaoAccessorObject().setId(GuidLike.getGuid()).setSite(site).setBucket(bucket)
+          .setName(name).setStatus(AccessorStatus.READY).setCreation(Instant.now());
+      repository.insert((MgDaoAccessorObject) object);
+    }
+    repository.flushAll();
+    assertEquals(List.of("a/", "b", "c%", "c/"), listWithDelimiter(bucket, "", null));
+    assertEquals(List.of("c/d/", "c/g"), listWithDelimiter(bucket, "c/", null));
+    assertEquals(List.of("c/d/e", "c/d/f"), listWithDelimiter(bucket, "c/d/", AccessorStatus.READY));
+    assertEquals(List.of(), listWithDelimiter(bucket, "c/", AccessorStatus.DELETED));
+    assertThrows(CcsDbException.class, () -> repository.getObjectNamesWithDelimiter(bucket, "", "", null));
+    repository.deleteAllDb();
+  }
+
+  private List<String> listWithDelimiter(final String bucket, final String prefix, final AccessorStatus status)
+      throws CcsDbException {
+    final var list = new ArrayList<String>();
+    try (final var iterator = repository.getObjectNamesWithDelimiter(bucket, prefix, "/", status)) {
+      iterator.forEachRemaining(list::add);
+    }
+    return list;
+  }
+
+  @Test
+  void routingAndSharding() throws CcsDbException {
+    final var routedDatabase = "ccs-routed";
+    final var routed = new MgDaoAccessorObjectRepository(mongoClient,
+        new MgConfigBucketDatabaseRouter("routed-bucket=" + routedDatabase));
+    routed.createIndex();
+    final var site = AccessorProperties.getAccessorSite();
+    final var object1 =
+        new MgDaoAccessorObject().setId(GuidLike.getGuid()).setSite(site).setBucket("routed-bucket").setName("object1")
+            .setStatus(AccessorStatus.READY).setCreation(Instant.now());
+    final var object2 =
+        new MgDaoAccessorObject().setId(GuidLike.getGuid()).setSite(site).setBucket("routed-bucket").setName("object2")
+            .setStatus(AccessorStatus.READY).setCreation(Instant.now());
+    final var object3 =
+        new MgDaoAccessorObject().setId(GuidLike.getGuid()).setSite(site).setBucket("other-bucket").setName("object3")
+            .setStatus(AccessorStatus.READY).setCreation(Instant.now());
+    routed.addToInsertBulk((MgDaoAccessorObject) object2);
+    routed.addToInsertBulk((MgDaoAccessorObject) object1);
+    routed.addToInsertBulk((MgDaoAccessorObject) object3);
+    routed.flushAll();
+    final var routedQuery = new DbQuery(RestQuery.CONJUNCTION.AND,
+        new DbQuery(RestQuery.QUERY.EQ, DaoAccessorObjectRepository.SITE, site),
+        new DbQuery(RestQuery.QUERY.EQ, DaoAccessorObjectRepository.BUCKET, "routed-bucket"));
+    assertEquals(2, routed.count(routedQuery));
+    assertEquals(0, repository.count(routedQuery));
+    assertEquals(2, mongoClient.getDatabase(routedDatabase).getCollection(DaoAccessorObjectRepository.TABLE_NAME)
+        .countDocuments());
+    assertEquals("object3", repository.getObject("other-bucket", "object3").getName());
+    // Full update filtered on the shard key
+    object1.setStatus(AccessorStatus.DELETED);
+    routed.updateFull((MgDaoAccessorObject) object1);
+    assertEquals(AccessorStatus.DELETED, routed.getObject("routed-bucket", "object1").getStatus());
+    assertNull(repository.getObject("routed-bucket", "object1"));
+    // Not a sharded cluster: ignored
+    assertFalse(MongoShardingHelper.isShardedCluster(mongoClient));
+    routed.shardCollection();
+    routed.assignBucketToZone("routed-bucket", "zone1");
+    assertEquals(2, routed.delete(routedQuery));
+    mongoClient.getDatabase(routedDatabase).drop();
+    repository.deleteAllDb();
+  }
+
+  private DbQuery getMetadataQuery(final String site, final String bucket, final AccessorFilter filter,
+                                   final boolean indexed) {
+    return new DbQuery(RestQuery.CONJUNCTION.AND,
+        new DbQuery(RestQuery.QUERY.EQ, DaoAccessorObjectRepository.SITE, site),
+        new DbQuery(RestQuery.QUERY.EQ, DaoAccessorObjectRepository.BUCKET, bucket),
+        DbQueryAccessorHelper.getDbQuery(filter, indexed));
+  }
+
+  private long countMetadataFilter(final String site, final String bucket, final AccessorFilter filter)
+      throws CcsDbException {
+    return countMetadataFilter(site, bucket, filter, true);
+  }
+
+  private long countMetadataFilter(final String site, final String bucket, final AccessorFilter filter,
+                                   final boolean indexed) throws CcsDbException {
+    try (final var iterator = repository.findIterator(getMetadataQuery(site, bucket, filter, indexed))) {
+      return SystemTools.consumeAll(iterator);
+    }
+  }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.database.mongodb;
+
+import java.time.Instant;
+import java.util.regex.Pattern;
+
+import com.mongodb.client.model.Filters;
+import io.clonecloudstore.accessor.model.AccessorStatus;
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository;
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import io.clonecloudstore.common.quarkus.modules.AccessorProperties;
+import io.clonecloudstore.common.standard.guid.GuidLike;
+import io.clonecloudstore.common.standard.system.SystemTools;
+import io.clonecloudstore.test.resource.mongodb.MongoDbProfile;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository.BUCKET;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository.NAME;
+import static io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository.SITE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Prefix (anchored regex against index range) and delimiter listings on 10M Objects
+ */
+@QuarkusTest
+@TestProfile(MongoDbProfile.class)
+@Disabled("Bench only")
+class MgDaoAccessorObjectPrefixBenchTest {
+  private static final Logger LOG = Logger.getLogger(MgDaoAccessorObjectPrefixBenchTest.class);
+  private static final int MAX_OBJECTS = 10_000_000;
+  private static final int DIRECTORIES = 1000;
+  private static final int SUB_DIRECTORIES = 100;
+  private static final int LOOPS = 100;
+  private static final String BUCKET_NAME = "bench-bucket";
+  @Inject
+  Instance<DaoAccessorObjectRepository> repositoryInstance;
+
+  @Test
+  void benchPrefixListing() throws CcsDbException {
+    final var repository = (MgDaoAccessorObjectRepository) repositoryInstance.get();
+    repository.deleteAllDb();
+    repository.createIndex();
+    final var site = AccessorProperties.getAccessorSite();
+    final var creation = Instant.now();
+    final var perSubDirectory = MAX_OBJECTS / DIRECTORIES / SUB_DIRECTORIES;
+    var start = System.nanoTime();
+    for (var i = 0; i < DIRECTORIES; i++) {
+      for (var j = 0; j < SUB_DIRECTORIES; j++) {
+        for (var k = 0; k < perSubDirectory; k++) {
+          repository.addToInsertBulk(
+              (MgDaoAccessorObject) new MgDaoAccessorObject().setId(GuidLike.getGuid()).setSite(site)
+                  .setBucket(BUCKET_NAME).setName(String.format("dir%04d/sub%03d/object%d", i, j, k))
+                  .setStatus(AccessorStatus.READY).setCreation(creation));
+        }
+      }
+    }
+    repository.flushAll();
+    LOG.infof("Insert %d Objects: %d ms", MAX_OBJECTS, (System.nanoTime() - start) / 1000000);
+    assertEquals(MAX_OBJECTS, repository.countAll());
+
+    final var prefix = "dir0500/";
+    final var regex = Filters.and(Filters.eq(SITE, site), Filters.eq(BUCKET, BUCKET_NAME),
+        Filters.regex(NAME, "^" + Pattern.quote(prefix)));
+    start = System.nanoTime();
+    for (var i = 0; i < LOOPS; i++) {
+      assertEquals(SUB_DIRECTORIES * perSubDirectory, repository.mongoCollection().countDocuments(regex));
+    }
+    LOG.infof("Regex prefix count: %d ms per query", (System.nanoTime() - start) / 1000000 / LOOPS);
+    start = System.nanoTime();
+    for (var i = 0; i < LOOPS; i++) {
+      assertEquals(SUB_DIRECTORIES * perSubDirectory,
+          repository.count(DaoAccessorObjectRepository.getPrefixQuery(BUCKET_NAME, prefix, null)));
+    }
+    LOG.infof("Range prefix count: %d ms per query", (System.nanoTime() - start) / 1000000 / LOOPS);
+    start = System.nanoTime();
+    for (var i = 0; i < LOOPS; i++) {
+      assertEquals(prefix + "sub000/object0", repository.getFirstObjectName(BUCKET_NAME, prefix, null));
+    }
+    LOG.infof("Range first name: %d ms per query", (System.nanoTime() - start) / 1000000 / LOOPS);
+
+    start = System.nanoTime();
+    try (final var iterator = repository.getObjectNamesWithDelimiter(BUCKET_NAME, "", "/", null)) {
+      assertEquals(DIRECTORIES, SystemTools.consumeAll(iterator));
+    }
+    LOG.infof("Delimiter listing of %d directories: %d ms", DIRECTORIES, (System.nanoTime() - start) / 1000000);
+    start = System.nanoTime();
+    try (final var iterator = repository.getObjectNamesWithDelimiter(BUCKET_NAME, prefix, "/", null)) {
+      assertEquals(SUB_DIRECTORIES, SystemTools.consumeAll(iterator));
+    }
+    LOG.infof("Delimiter listing of %d sub directories: %d ms", SUB_DIRECTORIES,
+        (System.nanoTime() - start) / 1000000);
+    repository.deleteAllDb();
+  }
+}
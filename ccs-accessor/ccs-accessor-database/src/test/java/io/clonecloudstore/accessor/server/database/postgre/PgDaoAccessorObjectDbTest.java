@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.accessor.server.database.postgre;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.clonecloudstore.accessor.model.AccessorFilter;
+import io.clonecloudstore.accessor.model.AccessorStatus;
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository;
+import io.clonecloudstore.accessor.server.database.model.DbQueryAccessorHelper;
+import io.clonecloudstore.common.database.utils.DbQuery;
+import io.clonecloudstore.common.database.utils.DbType;
+import io.clonecloudstore.common.database.utils.RestQuery;
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import io.clonecloudstore.common.quarkus.modules.AccessorProperties;
+import io.clonecloudstore.common.standard.guid.GuidLike;
+import io.clonecloudstore.common.standard.system.SystemTools;
+import io.clonecloudstore.test.resource.postgres.PostgresProfile;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+@QuarkusTest
+@TestProfile(PostgresProfile.class)
+class PgDaoAccessorObjectDbTest {
+
+  @Inject
+  Instance<DaoAccessorObjectRepository> repositoryInstance;
+  PgDaoAccessorObjectRepository repository;
+
+  @BeforeEach
+  void beforeEach() {
+    repository = (PgDaoAccessorObjectRepository) repositoryInstance.get();
+    assertFalse(DbType.getInstance().isMongoDbType());
+  }
+
+  @Test
+  void validDbModel() throws CcsDbException {
+    // GIVEN
+    final var creationDate = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    final var metadata = new HashMap<String, String>();
+    metadata.put("HEAD1", "Value 1");
+    metadata.put("HEAD2", "Value 2");
+    final var object = new PgDaoAccessorObject().setId(GuidLike.getGuid()).setSite(AccessorProperties.getAccessorSite())
+        .setBucket("test-bucket").setName("dir/TestObject").setHash("aaaqqqzzzwww").setStatus(AccessorStatus.UPLOAD)
+        .setCreation(creationDate).setSize(42).setMetadata(metadata);
+    repository.insert((PgDaoAccessorObject) object);
+    repository.flushAll();
+    var object2 = repository.findWithPk(object.getId());
+    assertEquals(object, object2);
+    assertEquals("Value 1", object2.getMetadata("HEAD1"));
+    try {
+      repository.updateObjectStatus(object.getBucket(), object.getName(), AccessorStatus.READY, null);
+    } catch (final CcsDbException e) {
+      Assertions.fail(e);
+    }
+    object2 = repository.getObject(object.getBucket(), object.getName());
+    assertNotEquals(object, object2);
+    assertEquals(AccessorStatus.READY, object2.getStatus());
+    var object3 = repository.getObject(object.getBucket(), object.getName(), AccessorStatus.READY);
+    assertEquals(object2, object3);
+    // Iterators are used outside any transaction
+    var iterator = repository.getObjectPrefix(object.getBucket(), object.getName(), AccessorStatus.READY);
+    assertTrue(iterator.hasNext());
+    object3 = iterator.next();
+    assertEquals(object2, object3);
+    iterator = repository.getObjectPrefix(object.getBucket(), "dir/", AccessorStatus.READY);
+    assertTrue(iterator.hasNext());
+    object3 = iterator.next();
+    assertEquals(object2, object3);
+    assertFalse(iterator.hasNext());
+    assertEquals(object.getName(), repository.getFirstObjectName(object.getBucket(), "dir/", AccessorStatus.READY));
+    assertNull(repository.getFirstObjectName(object.getBucket(), "dir/", AccessorStatus.DELETED));
+    assertEquals(List.of(object.getName()),
+        repository.getFirstObjectNames(object.getBucket(), "dir/", AccessorStatus.READY, 2));
+    assertTrue(repository.exists(new DbQuery(RestQuery.QUERY.EQ, DaoAccessorObjectRepository.BUCKET,
+        object.getBucket())));
+    assertFalse(repository.exists(new DbQuery(RestQuery.QUERY.EQ, DaoAccessorObjectRepository.BUCKET, "none")));
+    try {
+      repository.updateObjectStatusHashLen(object.getBucket(), object.getName(), AccessorStatus.UPLOAD, "hash2", 110);
+    } catch (final CcsDbException e) {
+      Assertions.fail(e);
+    }
+    object3 = repository.getObject(object.getBucket(), object.getName());
+    assertNotEquals(object2, object3);
+    assertEquals(110, object3.getSize());
+    assertEquals("hash2", object3.getHash());
+    assertEquals(AccessorStatus.UPLOAD, object3.getStatus());
+    iterator = repository.getObjectPrefix(object.getBucket(), object.getName(), AccessorStatus.READY);
+    assertFalse(iterator.hasNext());
+    iterator = repository.getObjectPrefix(object.getBucket(), object.getName(), AccessorStatus.UPLOAD);
+    assertTrue(iterator.hasNext());
+    object3.addMetadata("HEAD3", "Value3");
+    repository.updateFull((PgDaoAccessorObject) object3);
+    final var object4 = repository.getObject(object.getBucket(), object.getName());
+    assertEquals(object3, object4);
+    assertEquals("Value3", object4.getMetadata("HEAD3"));
+
+    // WHEN inserting twice, get DbException
+    final var twice = repository.createEmptyItem().fromDto(object4.getDto());
+    assertThrows(CcsDbException.class, () -> {
+      repository.insert((PgDaoAccessorObject) twice);
+      repository.flushAll();
+    });
+    repository.deleteAllDb();
+  }
+
+  @Test
+  void pagedPrefixListing() throws CcsDbException {
+    final var site = AccessorProperties.getAccessorSite();
+    final var nb = 2500;
+    for (int i = 0; i < nb; i++) {
+      repository.insert(new PgDaoAccessorObject().setId(GuidLike.getGuid()).setSite(site).setBucket("paged-bucket")
+          .setName("dir/Object" + i).setStatus(AccessorStatus.READY).setCreation(Instant.now()).setSize(i));
+    }
+    repository.flushAll();
+    final var iterator = repository.getObjectPrefix("paged-bucket", "dir/", AccessorStatus.READY);
+    var count = 0;
+    while (iterator.hasNext()) {
+      assertEquals("paged-bucket", iterator.next().getBucket());
+      count++;
+    }
+    assertEquals(nb, count);
+    repository.deleteAllDb();
+  }
+
+  @Test
+  void metadataFilter() throws CcsDbException {
+    repository.createIndex();
+    final var site = AccessorProperties.getAccessorSite();
+    final var bucket = "md-bucket";
+    final var object1 =
+        new PgDaoAccessorObject().setId(GuidLike.getGuid()).setSite(site).setBucket(bucket).setName("object1")
+            .setStatus(AccessorStatus.READY).setCreation(Instant.now()).addMetadata("key1", "a")
+            .addMetadata("key2", "b");
+    final var object2 =
+        new PgDaoAccessorObject().setId(GuidLike.getGuid()).setSite(site).setBucket(bucket).setName("object2")
+            .setStatus(AccessorStatus.READY).setCreation(Instant.now()).addMetadata("key1", "a");
+    final var object3 =
+        new PgDaoAccessorObject().setId(GuidLike.getGuid()).setSite(site).setBucket(bucket).setName("object3")
+            .setStatus(AccessorStatus.READY).setCreation(Instant.now()).addMetadata("key1", "c");
+    repository.insert((PgDaoAccessorObject) object1);
+    repository.insert((PgDaoAccessorObject) object2);
+    repository.insert((PgDaoAccessorObject) object3);
+    repository.flushAll();
+    assertEquals(2, countMetadataFilter(site, bucket, new AccessorFilter().addMetadata("key1", "a")));
+    assertEquals(1,
+        countMetadataFilter(site, bucket, new AccessorFilter().addMetadata("key1", "a").addMetadata("key2", "b")));
+    assertEquals(1, countMetadataFilter(site, bucket, new AccessorFilter().addMetadata("key1", "c")));
+    assertEquals(0, countMetadataFilter(site, bucket, new AccessorFilter().addMetadata("key2", "a")));
+    // Attributes follow the metadata on update
+    object3.addMetadata("key1", "a");
+    repository.updateFull((PgDaoAccessorObject) object3);
+    assertEquals(3, countMetadataFilter(site, bucket, new AccessorFilter().addMetadata("key1", "a")));
+    assertEquals(0, countMetadataFilter(site, bucket, new AccessorFilter().addMetadata("key1", "c")));
+    // Same through bulk metadata update, only on READY Objects
+    assertEquals(Set.of(), repository.updateMetadataBulk(bucket,
+        Map.of("object1", Map.of("key1", "d", "key2", "b"), "object2", Map.of("key1", "d"))));
+    assertEquals(1, countMetadataFilter(site, bucket, new AccessorFilter().addMetadata("key1", "a")));
+    assertEquals(2, countMetadataFilter(site, bucket, new AccessorFilter().addMetadata("key1", "d")));
+    assertEquals("d", repository.getObject(bucket, "object1").getMetadata("key1"));
+    repository.updateObjectStatus(bucket, "object2", AccessorStatus.DELETED, null);
+    assertEquals(Set.of("object2", "unknown"), repository.updateMetadataBulk(bucket,
+        Map.of("object1", Map.of("key1", "e"), "object2", Map.of("key1", "e"), "unknown", Map.of("key1", "e"))));
+    assertEquals("e", repository.getObject(bucket, "object1").getMetadata("key1"));
+    assertEquals("d", repository.getObject(bucket, "object2").getMetadata("key1"));
+    assertEquals(AccessorStatus.DELETED, repository.getObject(bucket, "object2").getStatus());
+    assertEquals(1, countMetadataFilter(site, bucket, new AccessorFilter().addMetadata("key1", "e")));
+    final var query = getMetadataQuery(site, bucket, new AccessorFilter().addMetadata("key1", "a"));
+    repository.deleteAllDb();
+  }
+
+  @Test
+  void delimiterListing() throws CcsDbException {
+    repository.createIndex();
+    final var site = AccessorProperties.getAccessorSite();
+    final var bucket = "delimiter-bucket";
+    for (final var name : List.of("a/1", "a/2", "b", "c/d/e", "c/d/f", "c/g", "c%")) {
+      final var object = new PgDaoAccessorObject().setId(GuidLike.getGuid()).setSite(site).setBucket(bucket)
+          .setName(name).setStatus(AccessorStatus.READY).setCreation(Instant.now());
+      repository.insert((PgDaoAccessorObject) object);
+    }
+    repository.flushAll();
+    assertEquals(List.of("a/", "b", "c%", "c/"), listWithDelimiter(bucket, "", null));
+    assertEquals(List.of("c/d/", "c/g"), listWithDelimiter(bucket, "c/", null));
+    assertEquals(List.of("c/d/e", "c/d/f"), listWithDelimiter(bucket, "c/d/", AccessorStatus.READY));
+    assertEquals(List.of(), listWithDelimiter(bucket, "c/", AccessorStatus.DELETED));
+    assertThrows(CcsDbException.class, () -> repository.getObjectNamesWithDelimiter(bucket, "", "", null));
+    repository.deleteAllDb();
+  }
+
+  private List<String> listWithDelimiter(final String bucket, final String prefix, final AccessorStatus status)
+      throws CcsDbException {
+    final var list = new ArrayList<String>();
+    try (final var iterator = repository.getObjectNamesWithDelimiter(bucket, prefix, "/", status)) {
+      iterator.forEachRemaining(list::add);
+    }
+    return list;
+  }
+
+  private DbQuery getMetadataQuery(final String site, final String bucket, final AccessorFilter filter) {
+    return new DbQuery(RestQuery.CONJUNCTION.AND,
+        new DbQuery(RestQuery.QUERY.EQ, DaoAccessorObjectRepository.SITE, site),
+        new DbQuery(RestQuery.QUERY.EQ, DaoAccessorObjectRepository.BUCKET, bucket),
+        DbQueryAccessorHelper.getDbQuery(filter));
+  }
+
+  private long countMetadataFilter(final String site, final String bucket, final AccessorFilter filter)
+      throws CcsDbException {
+    try (final var iterator = repository.findIterator(getMetadataQuery(site, bucket, filter))) {
+      return SystemTools.consumeAll(iterator);
+    }
+  }
+}
@@ -56,6 +56,14 @@ public class AccessorConstants {
     public static final String COLL_LOCAL = "/local";
     public static final String COLL_CENTRAL = "/central";
     public static final String SUB_COLL_LISTING = "/listing";
+    /**
+     * Sub path for Multipart upload (cannot collide with a Bucket name)
+     */
+    public static final String COLL_MULTIPART = "/_multipart";
+    /**
+     * Sub path for Diagnostics (cannot collide with a Bucket name)
+     */
+    public static final String COLL_DIAGNOSTICS = "/_diagnostics";
 
     /**
      * Tags
@@ -69,6 +77,7 @@ public class AccessorConstants {
     public static final String TAG_OBJECT = "Directory or Object";
     public static final String TAG_OWNERSHIP = "Ownership";
     public static final String TAG_TOPOLOGY = "Topology";
+    public static final String TAG_DIAGNOSTICS = "Diagnostics";
     /**
      * Type of Exists: StorageType as Bucket, Directory or Object
      */
@@ -96,6 +105,10 @@ public class AccessorConstants {
      * Specific Header for Archival from Reconciliator Purge process
      */
     public static final String X_EXPIRED_SECONDS = "x-clonecloudstore-expired-seconds";
+    /**
+     * Specific Header for Batch action on Objects
+     */
+    public static final String X_BATCH_ACTION = "x-clonecloudstore-batch-action";
 
     private Api() {
       // Empty
@@ -135,12 +148,30 @@ public class AccessorConstants {
     public static final String FILTER_SIZE_LT = "x-clonecloudstore-sizeLT";
     public static final String FILTER_SIZE_GT = "x-clonecloudstore-sizeGT";
     public static final String FILTER_METADATA_EQ = "x-clonecloudstore-metadataEq";
+    public static final String FILTER_PAGE_SIZE = "x-clonecloudstore-pageSize";
+    public static final String FILTER_CONTINUATION_TOKEN = "x-clonecloudstore-continuationToken";
+    /**
+     * Response Header for a paginated listing, given only if a next page exists
+     */
+    public static final String FILTER_NEXT_CONTINUATION_TOKEN = "x-clonecloudstore-nextContinuationToken";
 
     private HeaderFilterObject() {
       // Empty
     }
   }
 
+  /**
+   * Topics (channels) between Accessor instances
+   */
+  public static final class Topic {
+    public static final String ACCESSOR_INVALIDATION_IN = "accessor-invalidation-in";
+    public static final String ACCESSOR_INVALIDATION_OUT = "accessor-invalidation-out";
+
+    private Topic() {
+      // Empty
+    }
+  }
+
   private AccessorConstants() {
     // Empty
   }
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.model;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Action applied to all Objects of a batch request
+ */
+@RegisterForReflection
+public enum AccessorBatchAction {
+  /**
+   * Get Object information (existence included)
+   */
+  INFO,
+  /**
+   * Delete Objects
+   */
+  DELETE,
+  /**
+   * Update (replace) Object metadata
+   */
+  UPDATE_METADATA
+}
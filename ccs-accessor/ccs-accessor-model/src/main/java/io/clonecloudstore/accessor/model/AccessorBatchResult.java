@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.model;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Result (one Json line) of a batch request for one item
+ *
+ * @param name   the Object name
+ * @param status the Http status equivalent to the single Object request
+ * @param object the Object if any
+ * @param error  the error message if any
+ */
+@RegisterForReflection
+public record AccessorBatchResult(String name, int status, AccessorObject object, String error) {
+  public AccessorBatchResult(final String name, final int status, final AccessorObject object) {
+    this(name, status, object, null);
+  }
+
+  public AccessorBatchResult(final String name, final int status, final String error) {
+    this(name, status, null, error);
+  }
+}
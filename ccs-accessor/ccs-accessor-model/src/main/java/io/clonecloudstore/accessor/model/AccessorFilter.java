@@ -16,8 +16,10 @@
 
 package io.clonecloudstore.accessor.model;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -72,6 +74,14 @@ public class AccessorFilter {
    * Optional metadata filter based on equality
    */
   private final Map<String, String> metadataFilter = new HashMap<>();
+  /**
+   * Optional maximum number of Objects returned (one page), ordered by name
+   */
+  private int pageSize;
+  /**
+   * Optional opaque token to get the page following the one it was computed from
+   */
+  private String continuationToken;
 
   public AccessorFilter() {
     // Empty
@@ -160,6 +170,48 @@ public class AccessorFilter {
     return this;
   }
 
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  public AccessorFilter setPageSize(final int pageSize) {
+    this.pageSize = Math.max(pageSize, 0);
+    return this;
+  }
+
+  public String getContinuationToken() {
+    return continuationToken;
+  }
+
+  public AccessorFilter setContinuationToken(final String continuationToken) {
+    ParametersChecker.checkSanityString(continuationToken);
+    this.continuationToken = continuationToken;
+    return this;
+  }
+
+  /**
+   * @param lastObjectName the name of the last Object of a full page
+   * @return the continuation token to get the next page
+   */
+  public static String getContinuationTokenAfter(final String lastObjectName) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(lastObjectName.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @param continuationToken the continuation token
+   * @return the name of the last Object of the previous page
+   * @throws CcsInvalidArgumentRuntimeException if the token is invalid
+   */
+  public static String getNameFromContinuationToken(final String continuationToken) {
+    try {
+      final var name = new String(Base64.getUrlDecoder().decode(continuationToken), StandardCharsets.UTF_8);
+      ParametersChecker.checkSanityObjectName(name);
+      return name;
+    } catch (final IllegalArgumentException e) {
+      throw new CcsInvalidArgumentRuntimeException("Invalid continuation token", e);
+    }
+  }
+
   @Transient
   @JsonIgnore
   public AccessorFilter addMetadata(final String key, final String value) {
@@ -188,7 +240,8 @@ public class AccessorFilter {
           Objects.equals(namePrefix, that.namePrefix) && Objects.deepEquals(statuses, that.statuses) &&
           Objects.equals(creationAfter, that.creationAfter) && Objects.equals(creationBefore, that.creationBefore) &&
           Objects.equals(expiresAfter, that.expiresAfter) && Objects.equals(expiresBefore, that.expiresBefore) &&
-          Objects.deepEquals(metadataFilter, that.metadataFilter);
+          Objects.deepEquals(metadataFilter, that.metadataFilter) && pageSize == that.pageSize &&
+          Objects.equals(continuationToken, that.continuationToken);
     }
     return false;
   }
@@ -196,6 +249,6 @@ public class AccessorFilter {
   @Override
   public int hashCode() {
     return Objects.hash(sizeGreaterThan, sizeLessThan, namePrefix, Arrays.hashCode(statuses), creationAfter,
-        creationBefore, expiresAfter, expiresBefore, metadataFilter);
+        creationBefore, expiresAfter, expiresBefore, metadataFilter, pageSize, continuationToken);
   }
 }
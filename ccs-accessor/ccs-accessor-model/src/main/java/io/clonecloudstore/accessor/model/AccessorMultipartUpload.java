@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * A multipart upload in progress
+ *
+ * @param uploadId the upload id to use for parts, completion or abort
+ * @param bucket   the Bucket name
+ * @param name     the Object name
+ * @param creation the start date of the upload
+ * @param parts    the already uploaded parts, ordered by part number (empty on initiation)
+ */
+@RegisterForReflection
+public record AccessorMultipartUpload(String uploadId, String bucket, String name, Instant creation,
+                                      List<AccessorMultipartPart> parts) {
+}
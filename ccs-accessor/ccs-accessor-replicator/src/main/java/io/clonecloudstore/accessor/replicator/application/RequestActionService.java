@@ -217,10 +217,9 @@ public class RequestActionService {
         if (!bucket.getClientId().equals(replicatorOrder.clientId())) {
           throw new CcsNotAllowedException(replicatorOrder.bucketName() + " is not owned by current client");
         }
-        final var count = objectRepository.count(new DbQuery(RestQuery.CONJUNCTION.AND,
+        if (objectRepository.exists(new DbQuery(RestQuery.CONJUNCTION.AND,
             new DbQuery(RestQuery.QUERY.EQ, DaoAccessorObjectRepository.BUCKET, bucket.getId()),
-            new DbQuery(RestQuery.QUERY.EQ, DaoAccessorObjectRepository.STATUS, AccessorStatus.READY)));
-        if (count > 0) {
+            new DbQuery(RestQuery.QUERY.EQ, DaoAccessorObjectRepository.STATUS, AccessorStatus.READY)))) {
           throw new CcsNotAcceptableException("Bucket is not empty");
         }
         bucketRepository.updateBucketStatus(bucket, AccessorStatus.DELETING, null);
@@ -73,7 +73,10 @@ public abstract class AbstractAccessorPrivateObjectResource<H extends StreamHand
   @APIResponse(responseCode = "200", description = "OK", content = @Content(mediaType =
       MediaType.APPLICATION_OCTET_STREAM, schema = @Schema(type = SchemaType.STRING, format = "binary")), headers = {
       @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
-      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING))})
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = AccessorConstants.HeaderFilterObject.FILTER_NEXT_CONTINUATION_TOKEN, description =
+          "Continuation token of the next page, if any (paginated listing)", schema = @Schema(type =
+          SchemaType.STRING))})
   @APIResponse(responseCode = "400", description = "Bad Request", headers = {
       @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
       @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
@@ -116,6 +119,12 @@ public abstract class AbstractAccessorPrivateObjectResource<H extends StreamHand
           " size greater than", in = ParameterIn.HEADER, schema = @Schema(type = SchemaType.INTEGER), required = false),
       @Parameter(name = AccessorConstants.HeaderFilterObject.FILTER_METADATA_EQ, description = "Filter based on " +
           "metadatata containing", in = ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING), required =
+          false),
+      @Parameter(name = AccessorConstants.HeaderFilterObject.FILTER_PAGE_SIZE, description = "Maximum number of " +
+          "objects (one page ordered by name)", in = ParameterIn.HEADER, schema = @Schema(type = SchemaType.INTEGER),
+          required = false),
+      @Parameter(name = AccessorConstants.HeaderFilterObject.FILTER_CONTINUATION_TOKEN, description = "Continuation " +
+          "token from previous page", in = ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING), required =
           false)})
   @Override
   @Blocking
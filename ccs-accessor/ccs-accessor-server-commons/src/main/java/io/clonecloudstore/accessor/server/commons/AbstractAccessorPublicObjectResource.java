@@ -19,6 +19,9 @@ package io.clonecloudstore.accessor.server.commons;
 import java.io.InputStream;
 
 import io.clonecloudstore.accessor.config.AccessorConstants;
+import io.clonecloudstore.accessor.model.AccessorBatchAction;
+import io.clonecloudstore.accessor.model.AccessorMultipartPart;
+import io.clonecloudstore.accessor.model.AccessorMultipartUpload;
 import io.clonecloudstore.accessor.model.AccessorObject;
 import io.clonecloudstore.common.quarkus.server.service.StreamHandlerAbstract;
 import io.quarkus.resteasy.reactive.server.Closer;
@@ -31,6 +34,7 @@ import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.HEAD;
 import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.PATCH;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
@@ -59,6 +63,11 @@ import static jakarta.ws.rs.core.HttpHeaders.ACCEPT;
 import static jakarta.ws.rs.core.HttpHeaders.ACCEPT_ENCODING;
 import static jakarta.ws.rs.core.HttpHeaders.CONTENT_ENCODING;
 import static jakarta.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+import static jakarta.ws.rs.core.HttpHeaders.ETAG;
+import static jakarta.ws.rs.core.HttpHeaders.IF_MATCH;
+import static jakarta.ws.rs.core.HttpHeaders.IF_MODIFIED_SINCE;
+import static jakarta.ws.rs.core.HttpHeaders.IF_NONE_MATCH;
+import static jakarta.ws.rs.core.HttpHeaders.LAST_MODIFIED;
 
 public abstract class AbstractAccessorPublicObjectResource<H extends StreamHandlerAbstract<AccessorObject,
     AccessorObject>>
@@ -77,7 +86,10 @@ public abstract class AbstractAccessorPublicObjectResource<H extends StreamHandl
   @APIResponse(responseCode = "200", description = "OK", content = @Content(mediaType =
       MediaType.APPLICATION_OCTET_STREAM, schema = @Schema(type = SchemaType.STRING, format = "binary")), headers = {
       @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
-      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING))})
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = AccessorConstants.HeaderFilterObject.FILTER_NEXT_CONTINUATION_TOKEN, description =
+          "Continuation token of the next page, if any (paginated listing)", schema = @Schema(type =
+          SchemaType.STRING))})
   @APIResponse(responseCode = "400", description = "Bad Request", headers = {
       @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
       @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
@@ -120,6 +132,12 @@ public abstract class AbstractAccessorPublicObjectResource<H extends StreamHandl
           " size greater than", in = ParameterIn.HEADER, schema = @Schema(type = SchemaType.INTEGER), required = false),
       @Parameter(name = AccessorConstants.HeaderFilterObject.FILTER_METADATA_EQ, description = "Filter based on " +
           "metadatata containing", in = ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING), required =
+          false),
+      @Parameter(name = AccessorConstants.HeaderFilterObject.FILTER_PAGE_SIZE, description = "Maximum number of " +
+          "objects (one page ordered by name)", in = ParameterIn.HEADER, schema = @Schema(type = SchemaType.INTEGER),
+          required = false),
+      @Parameter(name = AccessorConstants.HeaderFilterObject.FILTER_CONTINUATION_TOKEN, description = "Continuation " +
+          "token from previous page", in = ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING), required =
           false)})
   @Blocking
   @Override
@@ -155,6 +173,9 @@ public abstract class AbstractAccessorPublicObjectResource<H extends StreamHandl
           "NONE", "BUCKET", "DIRECTORY", "OBJECT"})),
       @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
       @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "304", description = "Not Modified", headers = {
+      @Header(name = ETAG, description = "Entity Tag", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = LAST_MODIFIED, description = "Last Modified", schema = @Schema(type = SchemaType.STRING))})
   @APIResponse(responseCode = "400", description = "Bad Request", headers = {
       @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
       @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
@@ -180,8 +201,11 @@ public abstract class AbstractAccessorPublicObjectResource<H extends StreamHandl
                                                   SchemaType.STRING), required = true) @HeaderParam(AccessorConstants.Api.X_CLIENT_ID) String clientId,
                                               @Parameter(name = X_OP_ID, description = "Operation ID", in =
                                                   ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING),
-                                                  required = false) @HeaderParam(X_OP_ID) final String opId) {
-    return super.checkObjectOrDirectory(bucketName, pathDirectoryOrObject, clientId, opId);
+                                                  required = false) @HeaderParam(X_OP_ID) final String opId,
+                                              @HeaderParam(IF_NONE_MATCH) final String ifNoneMatch,
+                                              @HeaderParam(IF_MODIFIED_SINCE) final String ifModifiedSince) {
+    return super.checkObjectOrDirectory(bucketName, pathDirectoryOrObject, clientId, opId, ifNoneMatch,
+        ifModifiedSince);
   }
 
   @Tag(name = TAG_PUBLIC + AccessorConstants.Api.TAG_OBJECT)
@@ -194,6 +218,9 @@ public abstract class AbstractAccessorPublicObjectResource<H extends StreamHandl
       schema = @Schema(implementation = AccessorObject.class)), headers = {
       @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
       @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "304", description = "Not Modified", headers = {
+      @Header(name = ETAG, description = "Entity Tag", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = LAST_MODIFIED, description = "Last Modified", schema = @Schema(type = SchemaType.STRING))})
   @APIResponse(responseCode = "400", description = "Bad Request", headers = {
       @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
       @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
@@ -216,15 +243,16 @@ public abstract class AbstractAccessorPublicObjectResource<H extends StreamHandl
       @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
   @Blocking
   @Override
-  public Uni<AccessorObject> getObjectInfo(@PathParam("bucketName") final String bucketName,
-                                           @PathParam("objectName") final String objectName,
-                                           @Parameter(name = AccessorConstants.Api.X_CLIENT_ID, description = "Client" +
-                                               " ID", in = ParameterIn.HEADER, schema = @Schema(type =
-                                               SchemaType.STRING), required = true) @HeaderParam(AccessorConstants.Api.X_CLIENT_ID) String clientId,
-                                           @Parameter(name = X_OP_ID, description = "Operation ID", in =
-                                               ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING),
-                                               required = false) @HeaderParam(X_OP_ID) final String opId) {
-    return super.getObjectInfo(bucketName, objectName, clientId, opId);
+  public Uni<Response> getObjectInfo(@PathParam("bucketName") final String bucketName,
+                                     @PathParam("objectName") final String objectName,
+                                     @Parameter(name = AccessorConstants.Api.X_CLIENT_ID, description = "Client ID",
+                                         in = ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING),
+                                         required = true) @HeaderParam(AccessorConstants.Api.X_CLIENT_ID) String clientId,
+                                     @Parameter(name = X_OP_ID, description = "Operation ID", in = ParameterIn.HEADER,
+                                         schema = @Schema(type = SchemaType.STRING), required = false) @HeaderParam(X_OP_ID) final String opId,
+                                     @HeaderParam(IF_NONE_MATCH) final String ifNoneMatch,
+                                     @HeaderParam(IF_MODIFIED_SINCE) final String ifModifiedSince) {
+    return super.getObjectInfo(bucketName, objectName, clientId, opId, ifNoneMatch, ifModifiedSince);
   }
 
   /**
@@ -270,6 +298,9 @@ public abstract class AbstractAccessorPublicObjectResource<H extends StreamHandl
       @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING))}, content =
   @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM, schema = @Schema(type = SchemaType.STRING, format =
       "binary")))
+  @APIResponse(responseCode = "304", description = "Not Modified", headers = {
+      @Header(name = ETAG, description = "Entity Tag", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = LAST_MODIFIED, description = "Last Modified", schema = @Schema(type = SchemaType.STRING))})
   @APIResponse(responseCode = "400", description = "Bad Request", headers = {
       @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
       @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
@@ -360,6 +391,10 @@ public abstract class AbstractAccessorPublicObjectResource<H extends StreamHandl
       @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
       @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
       @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "412", description = "Precondition Failed", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
   @APIResponse(responseCode = "500", description = "Internal Error", headers = {
       @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
       @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
@@ -424,6 +459,10 @@ public abstract class AbstractAccessorPublicObjectResource<H extends StreamHandl
       @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
       @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
       @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "412", description = "Precondition Failed", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
   @APIResponse(responseCode = "500", description = "Internal Error", headers = {
       @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
       @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
@@ -436,7 +475,267 @@ public abstract class AbstractAccessorPublicObjectResource<H extends StreamHandl
                                         in = ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING),
                                         required = true) @HeaderParam(AccessorConstants.Api.X_CLIENT_ID) String clientId,
                                     @Parameter(name = X_OP_ID, description = "Operation ID", in = ParameterIn.HEADER,
-                                        schema = @Schema(type = SchemaType.STRING), required = false) @HeaderParam(X_OP_ID) final String opId) {
-    return super.deleteObject(bucketName, objectName, clientId, opId);
+                                        schema = @Schema(type = SchemaType.STRING), required = false) @HeaderParam(X_OP_ID) final String opId,
+                                    @HeaderParam(IF_MATCH) final String ifMatch) {
+    return super.deleteObject(bucketName, objectName, clientId, opId, ifMatch);
+  }
+
+  @Tag(name = TAG_PUBLIC + AccessorConstants.Api.TAG_OBJECT)
+  @Path("{bucketName}")
+  @PATCH
+  @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+  @Produces(MediaType.APPLICATION_OCTET_STREAM)
+  @Operation(summary = "Batch action on objects", description = "Apply one action (INFO, DELETE, UPDATE_METADATA) " +
+      "on several objects given as a Stream of Json lines, returning per object results as a Stream of Json lines")
+  @RequestBody(required = true, content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM), description =
+      "Stream of Json lines of AccessorBatchItem")
+  @APIResponse(responseCode = "200", description = "OK", content = @Content(mediaType =
+      MediaType.APPLICATION_OCTET_STREAM, schema = @Schema(type = SchemaType.STRING, format = "binary")), headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "400", description = "Bad Request", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "401", description = "Unauthorized", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "403", description = "Forbidden", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "404", description = "Bucket not found", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "500", description = "Internal Error", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @Blocking
+  @Override
+  public Uni<Response> batchObjects(@PathParam("bucketName") final String bucketName,
+                                    @Parameter(name = AccessorConstants.Api.X_BATCH_ACTION, description = "Batch " +
+                                        "action", in = ParameterIn.HEADER, schema = @Schema(implementation =
+                                        AccessorBatchAction.class), required = true) @HeaderParam(AccessorConstants.Api.X_BATCH_ACTION) final AccessorBatchAction action,
+                                    @Parameter(name = AccessorConstants.Api.X_CLIENT_ID, description = "Client ID",
+                                        in = ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING),
+                                        required = true) @HeaderParam(AccessorConstants.Api.X_CLIENT_ID) final String clientId,
+                                    @Parameter(name = X_OP_ID, description = "Operation ID", in = ParameterIn.HEADER,
+                                        schema = @Schema(type = SchemaType.STRING), required = false) @HeaderParam(X_OP_ID) final String opId,
+                                    final InputStream inputStream) {
+    return super.batchObjects(bucketName, action, clientId, opId, inputStream);
+  }
+
+  @Tag(name = TAG_PUBLIC + AccessorConstants.Api.TAG_OBJECT)
+  @Path(AccessorConstants.Api.COLL_MULTIPART + "/{bucketName}/{objectName:.+}")
+  @POST
+  @Produces(MediaType.APPLICATION_JSON)
+  @Operation(summary = "Start a multipart upload", description = "Start a resumable multipart upload of the object," +
+      " parts being uploaded independently (possibly concurrently) then assembled on completion")
+  @Parameters({
+      @Parameter(name = AccessorConstants.HeaderObject.X_OBJECT_METADATA, description = "Object Metadata as Json from" +
+          " Map<String,String>", in = ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING), required = false),
+      @Parameter(name = AccessorConstants.HeaderObject.X_OBJECT_EXPIRES, description = "Expiration Date", in =
+          ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING), required = false)})
+  @RequestBody(required = false, content = {}, description = "No content")
+  @APIResponse(responseCode = "201", description = "OK", content = @Content(mediaType = MediaType.APPLICATION_JSON,
+      schema = @Schema(implementation = AccessorMultipartUpload.class)), headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "400", description = "Bad Request", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "401", description = "Unauthorized", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "403", description = "Forbidden", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "404", description = "Bucket not found", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "406", description = "Object already in creation or multipart not supported", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "409", description = "Conflict since Object already exist or invalid", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "500", description = "Internal Error", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @Blocking
+  @Override
+  public Uni<Response> initiateMultipartUpload(final HttpServerRequest request,
+                                               @PathParam("bucketName") final String bucketName,
+                                               @PathParam("objectName") final String objectName,
+                                               @Parameter(name = AccessorConstants.Api.X_CLIENT_ID, description =
+                                                   "Client ID", in = ParameterIn.HEADER, schema = @Schema(type =
+                                                   SchemaType.STRING), required = true) @HeaderParam(AccessorConstants.Api.X_CLIENT_ID) final String clientId,
+                                               @Parameter(name = X_OP_ID, description = "Operation ID", in =
+                                                   ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING),
+                                                   required = false) @HeaderParam(X_OP_ID) final String opId) {
+    return super.initiateMultipartUpload(request, bucketName, objectName, clientId, opId);
+  }
+
+  @Tag(name = TAG_PUBLIC + AccessorConstants.Api.TAG_OBJECT)
+  @Path(AccessorConstants.Api.COLL_MULTIPART + "/{uploadId}/{partNumber}")
+  @PUT
+  @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+  @Produces(MediaType.APPLICATION_JSON)
+  @Operation(summary = "Upload one part of a multipart upload", description = "Upload one part (1 to 10000) of a " +
+      "multipart upload, replacing the previous one with the same part number if any")
+  @RequestBody(required = true, content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM), description =
+      "InputStream as content")
+  @APIResponse(responseCode = "200", description = "OK", content = @Content(mediaType = MediaType.APPLICATION_JSON,
+      schema = @Schema(implementation = AccessorMultipartPart.class)), headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "400", description = "Bad Request", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "404", description = "Multipart upload not found", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "406", description = "Invalid part number or size, or multipart not supported",
+      headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "500", description = "Internal Error", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @Blocking
+  @Override
+  public Uni<Response> uploadMultipartPart(final HttpServerRequest request,
+                                           @PathParam("uploadId") final String uploadId,
+                                           @PathParam("partNumber") final int partNumber,
+                                           @Parameter(name = AccessorConstants.Api.X_CLIENT_ID, description =
+                                               "Client ID", in = ParameterIn.HEADER, schema = @Schema(type =
+                                               SchemaType.STRING), required = true) @HeaderParam(AccessorConstants.Api.X_CLIENT_ID) final String clientId,
+                                           @Parameter(name = X_OP_ID, description = "Operation ID", in =
+                                               ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING),
+                                               required = false) @HeaderParam(X_OP_ID) final String opId,
+                                           @Parameter(name = AccessorConstants.HeaderObject.X_OBJECT_SIZE,
+                                               description = "Part Size", in = ParameterIn.HEADER, schema =
+                                               @Schema(type = SchemaType.INTEGER), required = false) @DefaultValue("0") @HeaderParam(AccessorConstants.HeaderObject.X_OBJECT_SIZE) final long xObjectSize,
+                                           final InputStream inputStream) {
+    return super.uploadMultipartPart(request, uploadId, partNumber, clientId, opId, xObjectSize, inputStream);
+  }
+
+  @Tag(name = TAG_PUBLIC + AccessorConstants.Api.TAG_OBJECT)
+  @Path(AccessorConstants.Api.COLL_MULTIPART + "/{uploadId}")
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  @Operation(summary = "List parts of a multipart upload", description = "List already uploaded parts of a " +
+      "multipart upload, allowing to resume it")
+  @APIResponse(responseCode = "200", description = "OK", content = @Content(mediaType = MediaType.APPLICATION_JSON,
+      schema = @Schema(implementation = AccessorMultipartUpload.class)), headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "400", description = "Bad Request", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "404", description = "Multipart upload not found", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "500", description = "Internal Error", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @Blocking
+  @Override
+  public Uni<Response> listMultipartParts(@PathParam("uploadId") final String uploadId,
+                                          @Parameter(name = AccessorConstants.Api.X_CLIENT_ID, description =
+                                              "Client ID", in = ParameterIn.HEADER, schema = @Schema(type =
+                                              SchemaType.STRING), required = true) @HeaderParam(AccessorConstants.Api.X_CLIENT_ID) final String clientId,
+                                          @Parameter(name = X_OP_ID, description = "Operation ID", in =
+                                              ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING),
+                                              required = false) @HeaderParam(X_OP_ID) final String opId) {
+    return super.listMultipartParts(uploadId, clientId, opId);
+  }
+
+  @Tag(name = TAG_PUBLIC + AccessorConstants.Api.TAG_OBJECT)
+  @Path(AccessorConstants.Api.COLL_MULTIPART + "/{uploadId}")
+  @POST
+  @Produces(MediaType.APPLICATION_JSON)
+  @Operation(summary = "Complete a multipart upload", description = "Assemble all uploaded parts into the final " +
+      "object")
+  @RequestBody(required = false, content = {}, description = "No content")
+  @APIResponse(responseCode = "201", description = "OK", content = @Content(mediaType = MediaType.APPLICATION_JSON,
+      schema = @Schema(implementation = AccessorObject.class)), headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "400", description = "Bad Request", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "404", description = "Multipart upload not found", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "406", description = "No part uploaded or multipart not supported", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "500", description = "Internal Error", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @Blocking
+  @Override
+  public Uni<Response> completeMultipartUpload(@PathParam("uploadId") final String uploadId,
+                                               @Parameter(name = AccessorConstants.Api.X_CLIENT_ID, description =
+                                                   "Client ID", in = ParameterIn.HEADER, schema = @Schema(type =
+                                                   SchemaType.STRING), required = true) @HeaderParam(AccessorConstants.Api.X_CLIENT_ID) final String clientId,
+                                               @Parameter(name = X_OP_ID, description = "Operation ID", in =
+                                                   ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING),
+                                                   required = false) @HeaderParam(X_OP_ID) final String opId) {
+    return super.completeMultipartUpload(uploadId, clientId, opId);
+  }
+
+  @Tag(name = TAG_PUBLIC + AccessorConstants.Api.TAG_OBJECT)
+  @Path(AccessorConstants.Api.COLL_MULTIPART + "/{uploadId}")
+  @DELETE
+  @Operation(summary = "Abort a multipart upload", description = "Abort a multipart upload, removing all uploaded " +
+      "parts")
+  @APIResponse(responseCode = "204", description = "OK", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "400", description = "Bad Request", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "404", description = "Multipart upload not found", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @APIResponse(responseCode = "500", description = "Internal Error", headers = {
+      @Header(name = X_OP_ID, description = "Operation ID", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_MODULE, description = "Module Id", schema = @Schema(type = SchemaType.STRING)),
+      @Header(name = X_ERROR, description = "Error Message", schema = @Schema(type = SchemaType.STRING))})
+  @Blocking
+  @Override
+  public Uni<Response> abortMultipartUpload(@PathParam("uploadId") final String uploadId,
+                                            @Parameter(name = AccessorConstants.Api.X_CLIENT_ID, description =
+                                                "Client ID", in = ParameterIn.HEADER, schema = @Schema(type =
+                                                SchemaType.STRING), required = true) @HeaderParam(AccessorConstants.Api.X_CLIENT_ID) final String clientId,
+                                            @Parameter(name = X_OP_ID, description = "Operation ID", in =
+                                                ParameterIn.HEADER, schema = @Schema(type = SchemaType.STRING),
+                                                required = false) @HeaderParam(X_OP_ID) final String opId) {
+    return super.abortMultipartUpload(uploadId, clientId, opId);
   }
 }
@@ -23,9 +23,11 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
+import io.clonecloudstore.accessor.config.AccessorConstants;
 import io.clonecloudstore.accessor.client.model.AccessorHeaderDtoConverter;
 import io.clonecloudstore.accessor.model.AccessorFilter;
 import io.clonecloudstore.accessor.model.AccessorObject;
+import io.clonecloudstore.accessor.server.commons.buffer.BufferTeeInputStream;
 import io.clonecloudstore.accessor.server.commons.buffer.FilesystemHandler;
 import io.clonecloudstore.common.quarkus.exception.CcsAlreadyExistException;
 import io.clonecloudstore.common.quarkus.exception.CcsClientGenericException;
@@ -37,6 +39,7 @@ import io.clonecloudstore.common.quarkus.modules.ServiceProperties;
 import io.clonecloudstore.common.quarkus.properties.QuarkusProperties;
 import io.clonecloudstore.common.quarkus.server.service.ServerStreamHandlerResponseException;
 import io.clonecloudstore.common.quarkus.server.service.StreamHandlerAbstract;
+import io.clonecloudstore.common.standard.exception.CcsInvalidArgumentRuntimeException;
 import io.clonecloudstore.common.standard.inputstream.MultipleActionsInputStream;
 import io.clonecloudstore.common.standard.system.ParametersChecker;
 import io.clonecloudstore.driver.api.DriverApi;
@@ -47,6 +50,8 @@ import io.clonecloudstore.driver.api.exception.DriverNotFoundException;
 import io.clonecloudstore.driver.api.model.StorageObject;
 import jakarta.enterprise.context.Dependent;
 import jakarta.enterprise.inject.spi.CDI;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import org.jboss.logging.Logger;
 
@@ -63,7 +68,9 @@ public abstract class AbstractObjectStreamHandler extends StreamHandlerAbstract<
   protected String clientId;
   protected boolean external;
   protected AtomicReference<AccessorObject> checked;
+  protected String nextContinuationToken;
   protected FilesystemHandler filesystemHandler;
+  protected BufferTeeInputStream teeInputStream;
 
   protected AbstractObjectStreamHandler(final AccessorObjectServiceInterface service) {
     this.service = service;
@@ -93,6 +100,8 @@ public abstract class AbstractObjectStreamHandler extends StreamHandlerAbstract<
     LOGGER.debugf("Object to create/return: %s", getBusinessIn());
     isListing = false;
     filter = null;
+    nextContinuationToken = null;
+    teeInputStream = null;
   }
 
   private void setDriverApi() {
@@ -105,6 +114,7 @@ public abstract class AbstractObjectStreamHandler extends StreamHandlerAbstract<
   @Override
   protected void checkPushAble(final AccessorObject object, final MultipleActionsInputStream inputStream) {
     try {
+      checkPushPreconditions(object);
       // Size may differ on Object and InputStream if compression
       final var accessorObject = service.createObject(object, object.getHash(), object.getSize(), clientId);
       final var objectStorage =
@@ -112,35 +122,93 @@ public abstract class AbstractObjectStreamHandler extends StreamHandlerAbstract<
               accessorObject.getSize(), accessorObject.getCreation(), accessorObject.getExpires(),
               accessorObject.getMetadata());
       LOGGER.debugf("Debug Log Creation: %s %s from %s", object.getBucket(), objectStorage, accessorObject);
-      var newInputStream = (InputStream) inputStream;
-      newInputStream = getInputStreamFromLocalStorage(object, inputStream, newInputStream);
+      final var newInputStream = getInputStreamThroughLocalStorage(object, inputStream);
       driverApi.objectPrepareCreateInBucket(objectStorage, newInputStream);
     } catch (final DriverNotFoundException e) {
+      abortLocalStorage();
       throw new CcsNotExistException(e.getMessage(), e);
     } catch (final DriverAlreadyExistException e) {
+      abortLocalStorage();
       throw new CcsAlreadyExistException(e.getMessage(), e);
     } catch (final DriverException e) {
-      if (AccessorProperties.isStoreActive() && filesystemHandler.check(object.getBucket(), object.getName())) {
+      if (teeInputStream != null && teeInputStream.drain()) {
         return;
       }
       throw new CcsOperationException(e.getMessage(), e);
     }
   }
 
-  private InputStream getInputStreamFromLocalStorage(final AccessorObject object,
-                                                     final MultipleActionsInputStream inputStream,
-                                                     InputStream newInputStream) {
+  /**
+   * When local storage is active, the content is saved locally while it is sent to the Driver (tee), the local copy
+   * being kept only if the Driver fails
+   */
+  private InputStream getInputStreamThroughLocalStorage(final AccessorObject object,
+                                                        final MultipleActionsInputStream inputStream) {
     if (AccessorProperties.isStoreActive()) {
       try {
         filesystemHandler.checkFreeSpaceGb(object.getSize());
-        filesystemHandler.save(object.getBucket(), object.getName(), inputStream, object.getMetadata(),
-            object.getExpires());
-        newInputStream = filesystemHandler.readContent(object.getBucket(), object.getName()); // NOSONAR intentional
+        teeInputStream = filesystemHandler.saveThrough(object.getBucket(), object.getName(), inputStream,
+            object.getMetadata(), object.getExpires());
+        return teeInputStream;
       } catch (final IOException e) {
         LOGGER.warnf("Cannot save locally. Could lead to other errors (%s)", e);
       }
     }
-    return newInputStream;
+    return inputStream;
+  }
+
+  private void abortLocalStorage() {
+    if (teeInputStream != null) {
+      teeInputStream.abort();
+    }
+  }
+
+  /**
+   * If-Match / If-None-Match on PUT, checked against Database metadata only
+   */
+  private void checkPushPreconditions(final AccessorObject object) {
+    final var headers = getRequest().headers();
+    final var ifMatch = headers.get(HttpHeaders.IF_MATCH);
+    final var ifNoneMatch = headers.get(HttpHeaders.IF_NONE_MATCH);
+    if (!ConditionalRequestHelper.hasCondition(ifMatch, ifNoneMatch)) {
+      return;
+    }
+    AccessorObject current;
+    try {
+      current = service.getObjectInfo(object.getBucket(), object.getName(), clientId);
+    } catch (final CcsNotExistException e) {
+      current = null;
+    }
+    if (ConditionalRequestHelper.isPreconditionFailed(current, ifMatch, ifNoneMatch)) {
+      throw new CcsClientGenericException("Precondition failed for " + object.getBucket() + "/" + object.getName(),
+          Response.Status.PRECONDITION_FAILED);
+    }
+  }
+
+  /**
+   * If-None-Match / If-Modified-Since on GET, answering 304 from Database metadata only (no Driver access)
+   */
+  @Override
+  protected void preparePull() throws ServerStreamHandlerResponseException {
+    final var headers = getRequest().headers();
+    final var ifNoneMatch = headers.get(HttpHeaders.IF_NONE_MATCH);
+    final var ifModifiedSince = headers.get(HttpHeaders.IF_MODIFIED_SINCE);
+    if (!isListing && ConditionalRequestHelper.hasCondition(ifNoneMatch, ifModifiedSince)) {
+      AccessorObject current = null;
+      try {
+        current = service.getObjectInfo(getBusinessIn().getBucket(), getBusinessIn().getName(), clientId);
+      } catch (final CcsNotExistException ignore) {
+        // Will be handled by standard check
+      }
+      if (ConditionalRequestHelper.isNotModified(current, ifNoneMatch, ifModifiedSince)) {
+        LOGGER.debugf("Not modified: %s", current);
+        setResultFromRemote(null);
+        endPush();
+        final var response = ConditionalRequestHelper.addHeaders(current, Response.notModified()).build();
+        throw new ServerStreamHandlerResponseException(response, new WebApplicationException(response));
+      }
+    }
+    super.preparePull();
   }
 
   @Override
@@ -159,7 +227,8 @@ public abstract class AbstractObjectStreamHandler extends StreamHandlerAbstract<
       final var storage = driverApi.objectFinalizeCreateInBucket(object.getBucket(), object.getName(), size, hash);
       completed = true;
       final var accessorObject =
-          object.cloneInstance().setHash(hash).setCreation(storage.creationDate()).setExpires(storage.expiresDate())
+          object.cloneInstance().setHash(hash).setCreation(storage.creationDate())
+              .setExpires(storage.expiresDate() != null ? storage.expiresDate() : object.getExpires())
               .setSite(ServiceProperties.getAccessorSite()).setSize(size);
       return service.createObjectFinalize(accessorObject, hash, size, clientId, external);
     } catch (final DriverNotFoundException e) {
@@ -169,7 +238,7 @@ public abstract class AbstractObjectStreamHandler extends StreamHandlerAbstract<
       completed = true;
       throw new CcsAlreadyExistException(e.getMessage(), e);
     } catch (final DriverException e) {
-      if (AccessorProperties.isStoreActive()) {
+      if (teeInputStream != null && teeInputStream.drain()) {
         try {
           if (!QuarkusProperties.hasDatabase()) {
             filesystemHandler.update(object.getBucket(), object.getName(), object.getMetadata(), hash);
@@ -186,7 +255,8 @@ public abstract class AbstractObjectStreamHandler extends StreamHandlerAbstract<
       throw new CcsOperationException(e.getMessage(), e);
     } finally {
       if (AccessorProperties.isStoreActive() && completed) {
-        // Unregister
+        // Unregister and discard local copy
+        abortLocalStorage();
         filesystemHandler.unregisterItem(object.getBucket(), object.getName());
       }
     }
@@ -206,6 +276,10 @@ public abstract class AbstractObjectStreamHandler extends StreamHandlerAbstract<
       final var foundFilter = AccessorHeaderDtoConverter.filterFromMap(accessorFilter, this.getRequest().headers());
       if (foundFilter) {
         filter = accessorFilter;
+        if (accessorFilter.getContinuationToken() != null) {
+          // Early check of the token validity
+          AccessorFilter.getNameFromContinuationToken(accessorFilter.getContinuationToken());
+        }
       } else {
         filter = new AccessorFilter();
       }
@@ -215,6 +289,8 @@ public abstract class AbstractObjectStreamHandler extends StreamHandlerAbstract<
     } catch (final CcsClientGenericException | CcsServerGenericException e) {
       // Change to create an exception with response that will be used in case of error
       sendError(e.getStatus(), e);
+    } catch (final CcsInvalidArgumentRuntimeException e) {
+      sendError(Response.Status.BAD_REQUEST, e);
     } catch (final ServerStreamHandlerResponseException e) {
       throw e;
     } catch (final Exception e) {
@@ -229,10 +305,14 @@ public abstract class AbstractObjectStreamHandler extends StreamHandlerAbstract<
   protected Map<String, String> getHeaderPullInputStream(final AccessorObject objectIn) {
     final Map<String, String> map = new HashMap<>();
     if (isListing) {
+      if (nextContinuationToken != null) {
+        map.put(AccessorConstants.HeaderFilterObject.FILTER_NEXT_CONTINUATION_TOKEN, nextContinuationToken);
+      }
       return map;
     }
     if (checked.get() != null) {
       AccessorHeaderDtoConverter.objectToMap(checked.get(), map);
+      ConditionalRequestHelper.addHeaders(checked.get(), map);
       return map;
     }
     AccessorHeaderDtoConverter.objectToMap(objectIn, map);
@@ -16,17 +16,26 @@
 
 package io.clonecloudstore.accessor.server.commons;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.Iterator;
 
+import io.clonecloudstore.accessor.client.model.AccessorHeaderDtoConverter;
 import io.clonecloudstore.accessor.config.AccessorConstants;
+import io.clonecloudstore.accessor.model.AccessorBatchAction;
+import io.clonecloudstore.accessor.model.AccessorBatchItem;
+import io.clonecloudstore.accessor.model.AccessorBatchResult;
 import io.clonecloudstore.accessor.model.AccessorObject;
 import io.clonecloudstore.accessor.model.AccessorStatus;
+import io.clonecloudstore.common.quarkus.exception.CcsClientGenericException;
 import io.clonecloudstore.common.quarkus.exception.CcsDeletedException;
+import io.clonecloudstore.common.quarkus.exception.CcsNotExistException;
 import io.clonecloudstore.common.quarkus.modules.ServiceProperties;
 import io.clonecloudstore.common.quarkus.server.service.ServerResponseFilter;
 import io.clonecloudstore.common.quarkus.server.service.ServerStreamHandlerResponseException;
 import io.clonecloudstore.common.quarkus.server.service.StreamHandlerAbstract;
 import io.clonecloudstore.common.quarkus.server.service.StreamServiceAbstract;
+import io.clonecloudstore.common.standard.stream.StreamIteratorUtils;
 import io.clonecloudstore.common.standard.system.ParametersChecker;
 import io.clonecloudstore.driver.api.StorageType;
 import io.clonecloudstore.driver.api.model.StorageObject;
@@ -42,6 +51,7 @@ public abstract class AbstractPublicObjectHelper<H extends StreamHandlerAbstract
     extends StreamServiceAbstract<AccessorObject, AccessorObject, H> {
   private static final Logger LOGGER = Logger.getLogger(AbstractPublicObjectHelper.class);
   private static final String BUCKETNAME_OBJECT = "BucketName: %s Directory or Object ID: %s";
+  private static final String UPLOAD_PART = "UploadId: %s Part: %d";
 
   private final AccessorObjectServiceInterface service;
 
@@ -72,7 +82,8 @@ public abstract class AbstractPublicObjectHelper<H extends StreamHandlerAbstract
   }
 
   public Uni<Response> checkObjectOrDirectory(final String bucketName, final String pathDirectoryOrObject,
-                                              final String clientId, final String opId) {
+                                              final String clientId, final String opId, final String ifNoneMatch,
+                                              final String ifModifiedSince) {
     return Uni.createFrom().emitter(em -> {
       final var decodedBucket = ParametersChecker.getSanitizedBucketName(bucketName);
       final var finalObjectName = ParametersChecker.getSanitizedObjectName(pathDirectoryOrObject);
@@ -83,6 +94,12 @@ public abstract class AbstractPublicObjectHelper<H extends StreamHandlerAbstract
         if (storageType.equals(StorageType.NONE)) {
           em.complete(Response.status(Response.Status.NOT_FOUND).header(AccessorConstants.Api.X_TYPE, StorageType.NONE)
               .build());
+        } else if (storageType.equals(StorageType.OBJECT)) {
+          final var object = service.getObjectInfo(decodedBucket, finalObjectName, clientId);
+          final var builder = ConditionalRequestHelper.isNotModified(object, ifNoneMatch, ifModifiedSince) ?
+              Response.notModified() : Response.ok();
+          em.complete(ConditionalRequestHelper.addHeaders(object, builder.header(AccessorConstants.Api.X_TYPE,
+              storageType)).build());
         } else {
           em.complete(Response.ok().header(AccessorConstants.Api.X_TYPE, storageType).build());
         }
@@ -92,15 +109,22 @@ public abstract class AbstractPublicObjectHelper<H extends StreamHandlerAbstract
     });
   }
 
-  public Uni<AccessorObject> getObjectInfo(final String bucketName, final String objectName, final String clientId,
-                                           final String opId) {
+  /**
+   * Returns the DTO with ETag and Last-Modified headers, or 304 if the conditions show no modification
+   */
+  public Uni<Response> getObjectInfo(final String bucketName, final String objectName, final String clientId,
+                                     final String opId, final String ifNoneMatch, final String ifModifiedSince) {
     return Uni.createFrom().emitter(em -> {
       final var decodedBucket = ParametersChecker.getSanitizedBucketName(bucketName);
       final var finalObjectName = ParametersChecker.getSanitizedObjectName(objectName);
       LOGGER.debugf(BUCKETNAME_OBJECT, decodedBucket, finalObjectName);
       try {
         final var object = service.getObjectInfo(decodedBucket, finalObjectName, clientId);
-        em.complete(object);
+        if (ConditionalRequestHelper.isNotModified(object, ifNoneMatch, ifModifiedSince)) {
+          em.complete(ConditionalRequestHelper.addHeaders(object, Response.notModified()).build());
+        } else {
+          em.complete(ConditionalRequestHelper.addHeaders(object, Response.ok(object)).build());
+        }
       } catch (final RuntimeException e) {
         ServerResponseFilter.handleExceptionFail(em, e);
       }
@@ -145,12 +169,24 @@ public abstract class AbstractPublicObjectHelper<H extends StreamHandlerAbstract
   }
 
   public Uni<Response> deleteObject(final String bucketName, final String objectName, final String clientId,
-                                    final String opId) {
+                                    final String opId, final String ifMatch) {
     return Uni.createFrom().emitter(em -> {
       final var decodedBucket = ParametersChecker.getSanitizedBucketName(bucketName);
       final var finalObjectName = ParametersChecker.getSanitizedObjectName(objectName);
       LOGGER.debugf(BUCKETNAME_OBJECT, decodedBucket, finalObjectName);
       try {
+        if (ConditionalRequestHelper.hasCondition(ifMatch)) {
+          AccessorObject current;
+          try {
+            current = service.getObjectInfo(decodedBucket, finalObjectName, clientId);
+          } catch (final CcsNotExistException e) {
+            current = null;
+          }
+          if (ConditionalRequestHelper.isPreconditionFailed(current, ifMatch, null)) {
+            throw new CcsClientGenericException("Precondition failed for " + decodedBucket + "/" + finalObjectName,
+                Response.Status.PRECONDITION_FAILED);
+          }
+        }
         service.deleteObject(decodedBucket, finalObjectName, clientId, true);
         em.complete(Response.noContent().build());
       } catch (final CcsDeletedException e) {
@@ -161,6 +197,135 @@ public abstract class AbstractPublicObjectHelper<H extends StreamHandlerAbstract
     });
   }
 
+  /**
+   * Apply one action on several Objects of the Bucket
+   *
+   * @param inputStream the items (AccessorBatchItem) line by line (newline separated)
+   * @return a stream (InputStream) of AccessorBatchResult line by line (newline separated)
+   */
+  public Uni<Response> batchObjects(final String bucketName, final AccessorBatchAction action, final String clientId,
+                                    final String opId, final InputStream inputStream) {
+    return Uni.createFrom().emitter(em -> {
+      final var decodedBucket = ParametersChecker.getSanitizedBucketName(bucketName);
+      LOGGER.debugf(BUCKETNAME_OBJECT, decodedBucket, action);
+      try {
+        ParametersChecker.checkParameter("Batch action cannot be null", action);
+        // Items are read lazily, while results are sent
+        final var iterator = StreamIteratorUtils.getIteratorFromInputStream(inputStream, AccessorBatchItem.class);
+        final var items = new Iterator<AccessorBatchItem>() {
+          @Override
+          public boolean hasNext() {
+            return iterator.hasNext();
+          }
+
+          @Override
+          public AccessorBatchItem next() {
+            final var item = iterator.next();
+            return new AccessorBatchItem(ParametersChecker.getSanitizedObjectName(item.name()), item.metadata());
+          }
+        };
+        final var results = service.batchObjects(decodedBucket, action, items, clientId, true);
+        // First chunk handled before answering, such that a global error is still reported as the response status
+        results.hasNext();
+        em.complete(Response.ok(StreamIteratorUtils.getInputStreamFromIterator(results, AccessorBatchResult.class))
+            .build());
+      } catch (final RuntimeException | IOException e) {
+        ServerResponseFilter.handleException(em, e);
+      }
+    });
+  }
+
+  /**
+   * Start a Multipart upload of the Object (metadata and expiration date given through Headers)
+   */
+  public Uni<Response> initiateMultipartUpload(final HttpServerRequest request, final String bucketName,
+                                               final String objectName, final String clientId, final String opId) {
+    return Uni.createFrom().emitter(em -> {
+      final var decodedBucket = ParametersChecker.getSanitizedBucketName(bucketName);
+      final var finalObjectName = ParametersChecker.getSanitizedObjectName(objectName);
+      LOGGER.debugf(BUCKETNAME_OBJECT, decodedBucket, finalObjectName);
+      try {
+        final var object = new AccessorObject();
+        AccessorHeaderDtoConverter.objectFromMap(object, request.headers());
+        object.setBucket(decodedBucket).setName(finalObjectName).setHash(null).setSize(0);
+        final var upload = service.initiateMultipartUpload(object, clientId);
+        em.complete(Response.status(Response.Status.CREATED).entity(upload).build());
+      } catch (final RuntimeException e) {
+        ServerResponseFilter.handleException(em, e);
+      }
+    });
+  }
+
+  /**
+   * Upload one Part of a Multipart upload (its size must be given either through Header or Content-Length)
+   */
+  public Uni<Response> uploadMultipartPart(final HttpServerRequest request, final String uploadId,
+                                           final int partNumber, final String clientId, final String opId,
+                                           final long xObjectSize, final InputStream inputStream) {
+    return Uni.createFrom().emitter(em -> {
+      LOGGER.debugf(UPLOAD_PART, uploadId, partNumber);
+      try {
+        ParametersChecker.checkSanityString(uploadId);
+        var len = xObjectSize;
+        if (len <= 0) {
+          final var length = request.headers().get(CONTENT_LENGTH);
+          len = ParametersChecker.isNotEmpty(length) ? Long.parseLong(length) : 0;
+        }
+        final var part = service.uploadMultipartPart(uploadId, partNumber, inputStream, len, clientId);
+        em.complete(Response.ok(part).build());
+      } catch (final RuntimeException e) {
+        ServerResponseFilter.handleException(em, e);
+      }
+    });
+  }
+
+  /**
+   * List the already uploaded Parts of a Multipart upload
+   */
+  public Uni<Response> listMultipartParts(final String uploadId, final String clientId, final String opId) {
+    return Uni.createFrom().emitter(em -> {
+      LOGGER.debugf(UPLOAD_PART, uploadId, 0);
+      try {
+        ParametersChecker.checkSanityString(uploadId);
+        em.complete(Response.ok(service.listMultipartParts(uploadId, clientId)).build());
+      } catch (final RuntimeException e) {
+        ServerResponseFilter.handleException(em, e);
+      }
+    });
+  }
+
+  /**
+   * Complete a Multipart upload, returning the final Object (without hash)
+   */
+  public Uni<Response> completeMultipartUpload(final String uploadId, final String clientId, final String opId) {
+    return Uni.createFrom().emitter(em -> {
+      LOGGER.debugf(UPLOAD_PART, uploadId, 0);
+      try {
+        ParametersChecker.checkSanityString(uploadId);
+        final var object = service.completeMultipartUpload(uploadId, clientId, true);
+        em.complete(Response.status(Response.Status.CREATED).entity(object).build());
+      } catch (final RuntimeException e) {
+        ServerResponseFilter.handleException(em, e);
+      }
+    });
+  }
+
+  /**
+   * Abort a Multipart upload
+   */
+  public Uni<Response> abortMultipartUpload(final String uploadId, final String clientId, final String opId) {
+    return Uni.createFrom().emitter(em -> {
+      LOGGER.debugf(UPLOAD_PART, uploadId, 0);
+      try {
+        ParametersChecker.checkSanityString(uploadId);
+        service.abortMultipartUpload(uploadId, clientId);
+        em.complete(Response.noContent().build());
+      } catch (final RuntimeException e) {
+        ServerResponseFilter.handleException(em, e);
+      }
+    });
+  }
+
   /**
    * Listing of Objects
    *
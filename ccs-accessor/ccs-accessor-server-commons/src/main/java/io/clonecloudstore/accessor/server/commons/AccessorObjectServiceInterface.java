@@ -17,17 +17,30 @@
 package io.clonecloudstore.accessor.server.commons;
 
 import java.io.InputStream;
+import java.util.Iterator;
+import java.util.List;
 
+import io.clonecloudstore.accessor.model.AccessorBatchAction;
+import io.clonecloudstore.accessor.model.AccessorBatchItem;
+import io.clonecloudstore.accessor.model.AccessorBatchResult;
 import io.clonecloudstore.accessor.model.AccessorFilter;
+import io.clonecloudstore.accessor.model.AccessorMultipartPart;
+import io.clonecloudstore.accessor.model.AccessorMultipartUpload;
 import io.clonecloudstore.accessor.model.AccessorObject;
 import io.clonecloudstore.common.quarkus.exception.CcsAlreadyExistException;
+import io.clonecloudstore.common.quarkus.exception.CcsClientGenericException;
 import io.clonecloudstore.common.quarkus.exception.CcsDeletedException;
 import io.clonecloudstore.common.quarkus.exception.CcsNotAcceptableException;
 import io.clonecloudstore.common.quarkus.exception.CcsNotExistException;
 import io.clonecloudstore.common.quarkus.exception.CcsOperationException;
+import io.clonecloudstore.common.quarkus.exception.CcsServerGenericException;
+import io.clonecloudstore.common.quarkus.modules.AccessorProperties;
 import io.clonecloudstore.driver.api.StorageType;
+import jakarta.ws.rs.core.Response;
 
 public interface AccessorObjectServiceInterface {
+  String MULTIPART_NOT_SUPPORTED = "Multipart upload not supported";
+
   /**
    * Check if object or directory exists (internal)
    *
@@ -81,4 +94,85 @@ public interface AccessorObjectServiceInterface {
    */
   void deleteObject(final String bucketName, final String objectName, final String clientId, final boolean external)
       throws CcsDeletedException, CcsNotExistException, CcsOperationException;
+
+  /**
+   * Apply one action on several Objects of the same Bucket. By default, items are handled one by one through the
+   * single Object methods; implementations should override it to resolve ownership once and use bulk operations.
+   *
+   * @param items the items, read lazily while results are consumed
+   * @return the per item results, in the same order as the items
+   */
+  default Iterator<AccessorBatchResult> batchObjects(final String bucketName, final AccessorBatchAction action,
+                                                     final Iterator<AccessorBatchItem> items, final String clientId,
+                                                     final boolean external) throws CcsOperationException {
+    return new BatchResultIterator(items, 1, AccessorProperties.getBatchMaxItems(),
+        chunk -> List.of(batchObject(bucketName, action, chunk.getFirst(), clientId, external)));
+  }
+
+  private AccessorBatchResult batchObject(final String bucketName, final AccessorBatchAction action,
+                                          final AccessorBatchItem item, final String clientId,
+                                          final boolean external) {
+    try {
+      return switch (action) {
+        case INFO -> new AccessorBatchResult(item.name(), Response.Status.OK.getStatusCode(),
+            getObjectInfo(bucketName, item.name(), clientId));
+        case DELETE -> {
+          deleteObject(bucketName, item.name(), clientId, external);
+          yield new AccessorBatchResult(item.name(), Response.Status.NO_CONTENT.getStatusCode(),
+              (AccessorObject) null);
+        }
+        default -> new AccessorBatchResult(item.name(), Response.Status.NOT_IMPLEMENTED.getStatusCode(),
+            action.name() + " not supported");
+      };
+    } catch (final CcsClientGenericException e) {
+      return new AccessorBatchResult(item.name(), e.getStatus(), e.getMessage());
+    } catch (final CcsServerGenericException e) {
+      return new AccessorBatchResult(item.name(), e.getStatus(), e.getMessage());
+    }
+  }
+
+  /**
+   * Start a Multipart upload: the Object is created in DB in status UPLOAD until completion or abort
+   *
+   * @return the Multipart upload with its upload id
+   */
+  default AccessorMultipartUpload initiateMultipartUpload(final AccessorObject accessorObject, final String clientId)
+      throws CcsOperationException, CcsAlreadyExistException, CcsNotExistException, CcsNotAcceptableException {
+    throw new CcsNotAcceptableException(MULTIPART_NOT_SUPPORTED);
+  }
+
+  /**
+   * Upload one Part (1 to 10000) of known size; uploading again the same part number replaces it
+   */
+  default AccessorMultipartPart uploadMultipartPart(final String uploadId, final int partNumber,
+                                                    final InputStream inputStream, final long len,
+                                                    final String clientId)
+      throws CcsOperationException, CcsNotExistException, CcsNotAcceptableException {
+    throw new CcsNotAcceptableException(MULTIPART_NOT_SUPPORTED);
+  }
+
+  /**
+   * @return the Multipart upload with its already uploaded Parts, allowing a client to resume it
+   */
+  default AccessorMultipartUpload listMultipartParts(final String uploadId, final String clientId)
+      throws CcsOperationException, CcsNotExistException, CcsNotAcceptableException {
+    throw new CcsNotAcceptableException(MULTIPART_NOT_SUPPORTED);
+  }
+
+  /**
+   * Assemble all uploaded Parts into the final Object, then finalize it as for a simple creation, without hash since
+   * the whole content is not digested
+   */
+  default AccessorObject completeMultipartUpload(final String uploadId, final String clientId, final boolean external)
+      throws CcsOperationException, CcsNotExistException, CcsNotAcceptableException {
+    throw new CcsNotAcceptableException(MULTIPART_NOT_SUPPORTED);
+  }
+
+  /**
+   * Abort the Multipart upload, removing all uploaded Parts
+   */
+  default void abortMultipartUpload(final String uploadId, final String clientId)
+      throws CcsOperationException, CcsNotExistException, CcsNotAcceptableException {
+    throw new CcsNotAcceptableException(MULTIPART_NOT_SUPPORTED);
+  }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.commons;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import io.clonecloudstore.accessor.model.AccessorBatchItem;
+import io.clonecloudstore.accessor.model.AccessorBatchResult;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Lazy iterator of batch results: items are read and handled one chunk at a time while results are consumed, such
+ * that neither all items nor all results are held in memory. Items beyond the maximum allowed are not handled and
+ * get a REQUEST_ENTITY_TOO_LARGE result.
+ */
+public class BatchResultIterator implements Iterator<AccessorBatchResult> {
+  private final Iterator<AccessorBatchItem> items;
+  private final int chunkSize;
+  private final long maxItems;
+  private final Function<List<AccessorBatchItem>, List<AccessorBatchResult>> chunkHandler;
+  private Iterator<AccessorBatchResult> current = null;
+  private long read = 0;
+
+  /**
+   * @param items        the items, read lazily
+   * @param chunkSize    the number of items handled at once
+   * @param maxItems     the maximum number of items handled for one request
+   * @param chunkHandler the handler of one chunk, returning the results in the same order as the items
+   */
+  public BatchResultIterator(final Iterator<AccessorBatchItem> items, final int chunkSize, final long maxItems,
+                             final Function<List<AccessorBatchItem>, List<AccessorBatchResult>> chunkHandler) {
+    this.items = items;
+    this.chunkSize = chunkSize;
+    this.maxItems = maxItems;
+    this.chunkHandler = chunkHandler;
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (current == null || !current.hasNext()) {
+      if (!items.hasNext()) {
+        return false;
+      }
+      if (read >= maxItems) {
+        final var item = items.next();
+        current = List.of(new AccessorBatchResult(item.name(), Response.Status.REQUEST_ENTITY_TOO_LARGE.getStatusCode(),
+            "Too many items in one batch request (max " + maxItems + ")")).iterator();
+        return true;
+      }
+      final var chunk = new ArrayList<AccessorBatchItem>(chunkSize);
+      while (chunk.size() < chunkSize && read < maxItems && items.hasNext()) {
+        chunk.add(items.next());
+        read++;
+      }
+      current = chunkHandler.apply(chunk).iterator();
+    }
+    return true;
+  }
+
+  @Override
+  public AccessorBatchResult next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return current.next();
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.commons;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+import io.clonecloudstore.accessor.model.AccessorObject;
+import io.clonecloudstore.accessor.model.AccessorStatus;
+import io.clonecloudstore.common.standard.system.ParametersChecker;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * HTTP conditional requests support (ETag, Last-Modified, If-None-Match, If-Modified-Since, If-Match) based only on
+ * the Object metadata (from Database or cache), such that no Driver access is needed to answer.
+ */
+public final class ConditionalRequestHelper {
+  private static final String ANY = "*";
+  private static final String WEAK_PREFIX = "W/";
+  private static final String QUOTE = "\"";
+
+  private ConditionalRequestHelper() {
+    // Empty
+  }
+
+  /**
+   * @return the strong ETag (quoted hash) of the Object or null if no hash is known
+   */
+  public static String getETag(final AccessorObject object) {
+    if (object == null || ParametersChecker.isEmpty(object.getHash())) {
+      return null;
+    }
+    return QUOTE + object.getHash() + QUOTE;
+  }
+
+  /**
+   * @return the Last-Modified value (RFC 1123) of the Object or null if no creation date is known
+   */
+  public static String getLastModified(final AccessorObject object) {
+    if (object == null || object.getCreation() == null) {
+      return null;
+    }
+    return DateTimeFormatter.RFC_1123_DATE_TIME.format(object.getCreation().atOffset(ZoneOffset.UTC));
+  }
+
+  /**
+   * Add ETag and Last-Modified headers into the map if possible
+   */
+  public static void addHeaders(final AccessorObject object, final Map<String, String> map) {
+    final var eTag = getETag(object);
+    if (eTag != null) {
+      map.put(HttpHeaders.ETAG, eTag);
+    }
+    final var lastModified = getLastModified(object);
+    if (lastModified != null) {
+      map.put(HttpHeaders.LAST_MODIFIED, lastModified);
+    }
+  }
+
+  /**
+   * Add ETag and Last-Modified headers into the Response if possible
+   */
+  public static Response.ResponseBuilder addHeaders(final AccessorObject object,
+                                                    final Response.ResponseBuilder builder) {
+    final var eTag = getETag(object);
+    if (eTag != null) {
+      builder.header(HttpHeaders.ETAG, eTag);
+    }
+    final var lastModified = getLastModified(object);
+    if (lastModified != null) {
+      builder.header(HttpHeaders.LAST_MODIFIED, lastModified);
+    }
+    return builder;
+  }
+
+  /**
+   * @return True if any of the given headers is specified
+   */
+  public static boolean hasCondition(final String... headers) {
+    for (final var header : headers) {
+      if (ParametersChecker.isNotEmpty(header)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Read conditions (GET/HEAD): If-None-Match takes precedence over If-Modified-Since (RFC 9110)
+   *
+   * @param current the current Object (from Database), might be null
+   * @return True if the answer shall be 304 Not Modified
+   */
+  public static boolean isNotModified(final AccessorObject current, final String ifNoneMatch,
+                                      final String ifModifiedSince) {
+    if (!isAvailable(current)) {
+      return false;
+    }
+    if (ParametersChecker.isNotEmpty(ifNoneMatch)) {
+      return matches(getETag(current), ifNoneMatch, false);
+    }
+    if (ParametersChecker.isNotEmpty(ifModifiedSince) && current.getCreation() != null) {
+      final var since = parseDate(ifModifiedSince);
+      return since != null && !current.getCreation().truncatedTo(ChronoUnit.SECONDS).isAfter(since);
+    }
+    return false;
+  }
+
+  /**
+   * Write conditions (PUT/DELETE), using strong comparison
+   *
+   * @param current the current Object (from Database), might be null
+   * @return True if the answer shall be 412 Precondition Failed
+   */
+  public static boolean isPreconditionFailed(final AccessorObject current, final String ifMatch,
+                                             final String ifNoneMatch) {
+    final var available = isAvailable(current);
+    if (ParametersChecker.isNotEmpty(ifMatch) && (!available || !matches(getETag(current), ifMatch, true))) {
+      return true;
+    }
+    return ParametersChecker.isNotEmpty(ifNoneMatch) && available && matches(getETag(current), ifNoneMatch, false);
+  }
+
+  private static boolean isAvailable(final AccessorObject current) {
+    return current != null && AccessorStatus.READY.equals(current.getStatus());
+  }
+
+  private static boolean matches(final String eTag, final String header, final boolean strong) {
+    for (final var value : header.split(",")) {
+      var candidate = value.trim();
+      if (ANY.equals(candidate)) {
+        return true;
+      }
+      if (candidate.startsWith(WEAK_PREFIX)) {
+        if (strong) {
+          continue;
+        }
+        candidate = candidate.substring(WEAK_PREFIX.length());
+      }
+      if (candidate.equals(eTag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Instant parseDate(final String date) {
+    try {
+      return ZonedDateTime.parse(date.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+    } catch (final DateTimeParseException e) {
+      // Invalid date shall be ignored
+      return null;
+    }
+  }
+}
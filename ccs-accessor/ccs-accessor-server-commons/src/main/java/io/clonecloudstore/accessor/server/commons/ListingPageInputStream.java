@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.commons;
+
+import java.io.FilterInputStream;
+import java.io.InputStream;
+
+/**
+ * One page of a paginated listing, carrying the continuation token of the next page, null if this page is the last
+ * one. The token is returned to the client as a response header.
+ */
+public class ListingPageInputStream extends FilterInputStream {
+  private final String nextContinuationToken;
+
+  public ListingPageInputStream(final InputStream inputStream, final String nextContinuationToken) {
+    super(inputStream);
+    this.nextContinuationToken = nextContinuationToken;
+  }
+
+  /**
+   * @return the continuation token of the next page, or null if the listing is complete
+   */
+  public String getNextContinuationToken() {
+    return nextContinuationToken;
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.accessor.server.commons.buffer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits concurrency and shared bandwidth of the imports of buffered items into one Driver
+ */
+class BufferImportLimiter {
+  private final Semaphore semaphore;
+  private final int parallel;
+  private final long bytesPerSecond;
+  private long nextFreeNanos = System.nanoTime();
+
+  /**
+   * @param parallel       maximum number of concurrent imports
+   * @param bytesPerSecond shared bandwidth, 0 meaning unlimited
+   */
+  BufferImportLimiter(final int parallel, final long bytesPerSecond) {
+    this.parallel = Math.max(1, parallel);
+    this.semaphore = new Semaphore(this.parallel);
+    this.bytesPerSecond = bytesPerSecond;
+  }
+
+  /**
+   * Wait for one import slot
+   */
+  void acquire() throws InterruptedException {
+    semaphore.acquire();
+  }
+
+  void release() {
+    semaphore.release();
+  }
+
+  /**
+   * Wait for all running imports to end
+   */
+  void awaitAll() throws InterruptedException {
+    semaphore.acquire(parallel);
+    semaphore.release(parallel);
+  }
+
+  /**
+   * @return the given InputStream, throttled according to the shared bandwidth if any
+   */
+  InputStream throttle(final InputStream inputStream) {
+    if (bytesPerSecond <= 0) {
+      return inputStream;
+    }
+    return new ThrottledInputStream(inputStream);
+  }
+
+  /**
+   * Reserve the transfer of the given bytes on the shared bandwidth, waiting as needed
+   */
+  private void consume(final long bytes) throws IOException {
+    if (bytes <= 0) {
+      return;
+    }
+    final long waitNanos;
+    synchronized (this) {
+      final var now = System.nanoTime();
+      nextFreeNanos = Math.max(nextFreeNanos, now) + (long) (bytes * 1_000_000_000.0 / bytesPerSecond);
+      waitNanos = nextFreeNanos - now;
+    }
+    final var waitMs = waitNanos / 1_000_000L;
+    if (waitMs > 0) {
+      try {
+        Thread.sleep(waitMs);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      }
+    }
+  }
+
+  private class ThrottledInputStream extends FilterInputStream {
+    private ThrottledInputStream(final InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      final var read = super.read();
+      consume(read < 0 ? 0 : 1);
+      return read;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+      final var read = super.read(b, off, len);
+      consume(read);
+      return read;
+    }
+  }
+}
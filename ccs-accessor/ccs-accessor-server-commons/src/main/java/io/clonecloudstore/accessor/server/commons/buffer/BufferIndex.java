@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.commons.buffer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In memory index of the buffered items, ordered by age, with running byte total, such that purge and space
+ * accounting do not need to walk the whole buffer tree
+ */
+class BufferIndex {
+  private static final Comparator<IndexKey> COMPARATOR =
+      Comparator.comparingLong(IndexKey::time).thenComparing(key -> key.item().bucket())
+          .thenComparing(key -> key.item().object());
+  private final ConcurrentSkipListMap<IndexKey, AtomicLong> byAge = new ConcurrentSkipListMap<>(COMPARATOR);
+  private final Map<BufferedItem, IndexKey> byItem = new ConcurrentHashMap<>();
+  private final AtomicLong totalSize = new AtomicLong();
+
+  private record IndexKey(long time, BufferedItem item) {
+  }
+
+  /**
+   * Add (or replace) one item
+   *
+   * @param time creation time in ms
+   */
+  void add(final BufferedItem item, final long time, final long size) {
+    remove(item);
+    final var key = new IndexKey(time, item);
+    byAge.put(key, new AtomicLong(size));
+    byItem.put(item, key);
+    totalSize.addAndGet(size);
+  }
+
+  /**
+   * Add size to one item (while it is written)
+   */
+  void addSize(final BufferedItem item, final long size) {
+    final var key = byItem.get(item);
+    if (key != null) {
+      final var current = byAge.get(key);
+      if (current != null) {
+        current.addAndGet(size);
+        totalSize.addAndGet(size);
+      }
+    }
+  }
+
+  /**
+   * Remove one item
+   *
+   * @return True if the item was indexed
+   */
+  boolean remove(final BufferedItem item) {
+    final var key = byItem.remove(item);
+    if (key == null) {
+      return false;
+    }
+    final var size = byAge.remove(key);
+    if (size != null) {
+      totalSize.addAndGet(-size.get());
+    }
+    return true;
+  }
+
+  /**
+   * @param time creation time in ms
+   * @return True if the item is indexed with a creation time strictly before the given time
+   */
+  boolean isOlderThan(final BufferedItem item, final long time) {
+    final var key = byItem.get(item);
+    return key != null && key.time() < time;
+  }
+
+  /**
+   * @param time creation time in ms
+   * @return the items created strictly before the given time, oldest first
+   */
+  List<BufferedItem> getOlderThan(final long time) {
+    final var list = new ArrayList<BufferedItem>();
+    for (final var key : byAge.keySet()) {
+      if (key.time() >= time) {
+        break;
+      }
+      list.add(key.item());
+    }
+    return list;
+  }
+
+  /**
+   * @return all items, oldest first
+   */
+  List<BufferedItem> getAll() {
+    return new ArrayList<>(byAge.keySet().stream().map(IndexKey::item).toList());
+  }
+
+  /**
+   * @return the creation time in ms of the item, or Long.MAX_VALUE if not indexed
+   */
+  long getTime(final BufferedItem item) {
+    final var key = byItem.get(item);
+    return key != null ? key.time() : Long.MAX_VALUE;
+  }
+
+  /**
+   * @return the current size of the item, or Long.MAX_VALUE if not indexed
+   */
+  long getSize(final BufferedItem item) {
+    final var key = byItem.get(item);
+    final var size = key != null ? byAge.get(key) : null;
+    return size != null ? size.get() : Long.MAX_VALUE;
+  }
+
+  long count() {
+    return byItem.size();
+  }
+
+  long size() {
+    return totalSize.get();
+  }
+
+  void clear() {
+    byAge.clear();
+    byItem.clear();
+    totalSize.set(0);
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.commons.buffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import io.clonecloudstore.common.standard.exception.CcsInvalidArgumentRuntimeException;
+import io.clonecloudstore.common.standard.properties.StandardProperties;
+import io.clonecloudstore.common.standard.system.SystemTools;
+import org.jboss.logging.Logger;
+
+/**
+ * InputStream forwarding the content (to the Driver) while writing it into the local buffer file, such that the
+ * content is written only once on disk and never read back unless the Driver fails.
+ * <p>
+ * If the reader stops before the end (Driver in error), {@link #drain()} or {@link #close()} continue to write the
+ * remaining content locally, so that the buffered copy is complete for a later import. If the local write fails, the
+ * content is still forwarded but the local copy is discarded.
+ */
+public class BufferTeeInputStream extends InputStream {
+  private static final Logger LOGGER = Logger.getLogger(BufferTeeInputStream.class);
+  private final InputStream inputStream;
+  private final FilesystemHandler filesystemHandler;
+  private final String bucket;
+  private final String object;
+  private OutputStream outputStream;
+  private long written = 0;
+  private boolean localValid = true;
+  private boolean eof = false;
+  private boolean closed = false;
+
+  BufferTeeInputStream(final InputStream inputStream, final OutputStream outputStream,
+                       final FilesystemHandler filesystemHandler, final String bucket, final String object) {
+    this.inputStream = inputStream;
+    this.outputStream = outputStream;
+    this.filesystemHandler = filesystemHandler;
+    this.bucket = bucket;
+    this.object = object;
+  }
+
+  @Override
+  public synchronized int read() throws IOException {
+    final var read = inputStream.read();
+    if (read >= 0) {
+      if (outputStream != null) {
+        try {
+          outputStream.write(read);
+          written++;
+        } catch (final IOException e) {
+          invalidateLocal(e);
+        }
+      }
+    } else {
+      endOfStream();
+    }
+    return read;
+  }
+
+  @Override
+  public int read(final byte[] b) throws IOException {
+    if (b == null) {
+      throw new CcsInvalidArgumentRuntimeException("buffer cannot be null");
+    }
+    return read(b, 0, b.length);
+  }
+
+  @Override
+  public synchronized int read(final byte[] b, final int off, final int len) throws IOException {
+    if (b == null || off + len > b.length) {
+      throw new CcsInvalidArgumentRuntimeException("buffer cannot be null");
+    }
+    final var read = inputStream.read(b, off, len);
+    if (read > 0) {
+      writeLocal(b, off, read);
+    } else if (read < 0) {
+      endOfStream();
+    }
+    return read;
+  }
+
+  @Override
+  public int available() throws IOException {
+    return inputStream.available();
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  private void writeLocal(final byte[] b, final int off, final int len) {
+    if (outputStream != null) {
+      try {
+        outputStream.write(b, off, len);
+        written += len;
+      } catch (final IOException e) {
+        invalidateLocal(e);
+      }
+    }
+  }
+
+  private void invalidateLocal(final Exception e) {
+    LOGGER.warnf("Cannot save locally. Could lead to other errors (%s)", e);
+    localValid = false;
+    closeLocal();
+  }
+
+  private void closeLocal() {
+    if (outputStream != null) {
+      try {
+        outputStream.flush();
+      } catch (final IOException e) {
+        localValid = false;
+      }
+      SystemTools.silentlyCloseNoException(outputStream);
+      outputStream = null;
+      filesystemHandler.countWritten(bucket, object, written);
+      if (!localValid) {
+        filesystemHandler.delete(bucket, object);
+      }
+    }
+  }
+
+  private void endOfStream() {
+    eof = true;
+    closeLocal();
+  }
+
+  /**
+   * Read the remaining content (not forwarded) such that the local copy is complete
+   *
+   * @return True if the local copy is complete and valid
+   */
+  public synchronized boolean drain() {
+    if (!eof && localValid) {
+      final var buf = new byte[StandardProperties.getBufSize()];
+      try {
+        int read;
+        while ((read = inputStream.read(buf, 0, buf.length)) >= 0) {
+          writeLocal(buf, 0, read);
+        }
+        endOfStream();
+      } catch (final IOException e) {
+        invalidateLocal(e);
+      }
+    }
+    return isLocalComplete();
+  }
+
+  /**
+   * Stop writing the local copy and discard it (the content is still forwarded)
+   */
+  public synchronized void abort() {
+    localValid = false;
+    closeLocal();
+  }
+
+  /**
+   * @return True if the local copy is fully written
+   */
+  public synchronized boolean isLocalComplete() {
+    return eof && localValid;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    drain();
+    closeLocal();
+    inputStream.close();
+  }
+}
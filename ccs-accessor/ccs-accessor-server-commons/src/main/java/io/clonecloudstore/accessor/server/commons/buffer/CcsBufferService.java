@@ -20,8 +20,12 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.clonecloudstore.accessor.model.AccessorObject;
 import io.clonecloudstore.accessor.model.AccessorStatus;
@@ -38,18 +42,35 @@ import jakarta.enterprise.context.Dependent;
 import jakarta.enterprise.inject.spi.CDI;
 import org.jboss.logging.Logger;
 
+import static io.clonecloudstore.common.standard.system.SystemTools.VIRTUAL_EXECUTOR_SERVICE;
+
 @Dependent
 public abstract class CcsBufferService {
   private static final Logger LOGGER = Logger.getLogger(CcsBufferService.class);
   public static final String BUFFERED_IMPORT = "buffered_import";
+  public static final String BUFFERED_IMPORT_BACKLOG = "buffered_import_backlog";
+  private static final long BACKOFF_MIN_MS = 1000;
+  private static final long BACKOFF_MAX_MS = 300_000;
   protected final DriverApiFactory driverApiFactory;
   private final FilesystemHandler filesystemHandler;
   private final BulkMetrics bulkMetrics;
+  private final Map<BufferedItem, Backoff> backoffs = new ConcurrentHashMap<>();
+
+  /**
+   * Backoff of one failing item
+   *
+   * @param failures number of consecutive failures
+   * @param nextTry  time in ms before which the item is not retried
+   */
+  private record Backoff(int failures, long nextTry) {
+  }
 
   protected CcsBufferService() {
     this.driverApiFactory = DriverApiRegistry.getDriverApiFactory();
     this.filesystemHandler = CDI.current().select(FilesystemHandler.class).get();
     this.bulkMetrics = CDI.current().select(BulkMetrics.class).get();
+    bulkMetrics.registerGauge(BUFFERED_IMPORT_BACKLOG, filesystemHandler::getCurrentRegisteredTasksCount,
+        BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_COUNT);
   }
 
   /**
@@ -64,19 +85,14 @@ public abstract class CcsBufferService {
 
   public void asyncJobRetryImport() {
     try {
-      List<BufferedItem> toActOn;
-      synchronized (this) {
-        toActOn = new ArrayList<>(filesystemHandler.getCurrentRegisteredTasks());
-      }
-      final AtomicInteger count = new AtomicInteger();
-      final AtomicInteger countError = new AtomicInteger();
-      final var validItems = executeRegisteredImportsFromLocalBuffer(toActOn, count, countError);
+      final var toActOn =
+          filesystemHandler.getCurrentRegisteredTasks(AccessorProperties.isStoreImportSmallestFirst());
+      final var current = new HashSet<>(toActOn);
+      backoffs.keySet().removeIf(item -> !current.contains(item));
+      final var validItems = executeRegisteredImportsFromLocalBuffer(toActOn);
       filesystemHandler.removedValidatedTasks(validItems);
       bulkMetrics.incrementCounter(validItems.size(), BUFFERED_IMPORT, BulkMetrics.KEY_OBJECT,
           BulkMetrics.TAG_UNREGISTER);
-      bulkMetrics.incrementCounter(count.get(), BUFFERED_IMPORT, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_COPY);
-      bulkMetrics.incrementCounter(countError.get(), BUFFERED_IMPORT, BulkMetrics.KEY_OBJECT,
-          BulkMetrics.TAG_ERROR_WRITE);
     } catch (final RuntimeException e) {
       LOGGER.warnf("Error during retry of buffered items (%s)", e);
     }
@@ -93,29 +109,68 @@ public abstract class CcsBufferService {
   }
 
   /**
+   * Import items in priority order, with bounded concurrency and shared bandwidth, skipping items in backoff and
+   * stopping as soon as the Driver service is unavailable
+   *
    * @param items the items to try to import
    * @return the list of valid items, i.e. items successfully imported
    */
-  private List<BufferedItem> executeRegisteredImportsFromLocalBuffer(final List<BufferedItem> items,
-                                                                     final AtomicInteger count,
-                                                                     final AtomicInteger countError) {
-    final var valid = new ArrayList<BufferedItem>();
-    try (final var driver = driverApiFactory.getInstance()) {
+  private List<BufferedItem> executeRegisteredImportsFromLocalBuffer(final List<BufferedItem> items) {
+    final var valid = new ConcurrentLinkedQueue<BufferedItem>();
+    final var limiter = new BufferImportLimiter(AccessorProperties.getStoreImportParallel(),
+        AccessorProperties.getStoreImportBandwidth());
+    final var unavailable = new AtomicBoolean(false);
+    final var now = System.currentTimeMillis();
+    try {
       for (final var bufferedItem : items) {
-        if (tryReimport(bufferedItem, driver, count, countError)) {
-          valid.add(bufferedItem);
-          filesystemHandler.delete(bufferedItem.bucket(), bufferedItem.object());
+        final var backoff = backoffs.get(bufferedItem);
+        if (backoff != null && backoff.nextTry() > now) {
+          continue;
         }
+        limiter.acquire();
+        if (unavailable.get()) {
+          limiter.release();
+          break;
+        }
+        VIRTUAL_EXECUTOR_SERVICE.execute(() -> {
+          try {
+            importItem(bufferedItem, limiter, unavailable, valid);
+          } finally {
+            limiter.release();
+          }
+        });
+      }
+      limiter.awaitAll();
+    } catch (final InterruptedException e) { // NOSONAR intentional
+      LOGGER.warnf("Interrupted while importing buffered items (%s)", e);
+      Thread.currentThread().interrupt();
+    }
+    return new ArrayList<>(valid);
+  }
+
+  private void importItem(final BufferedItem bufferedItem, final BufferImportLimiter limiter,
+                          final AtomicBoolean unavailable, final ConcurrentLinkedQueue<BufferedItem> valid) {
+    try (final var driver = driverApiFactory.getInstance()) {
+      if (tryReimport(bufferedItem, driver, limiter)) {
+        backoffs.remove(bufferedItem);
+        valid.add(bufferedItem);
+        filesystemHandler.delete(bufferedItem.bucket(), bufferedItem.object());
+      } else {
+        backoffs.compute(bufferedItem, (item, previous) -> {
+          final var failures = previous == null ? 1 : previous.failures() + 1;
+          final var delay = Math.min(BACKOFF_MAX_MS, BACKOFF_MIN_MS << Math.min(failures - 1, 20));
+          return new Backoff(failures, System.currentTimeMillis() + delay);
+        });
+      }
+    } catch (final DriverServiceNotAvailable e) {
+      if (unavailable.compareAndSet(false, true)) {
+        LOGGER.warnf("Driver service unavailable (%s)", e);
       }
-      return valid;
-    } catch (DriverServiceNotAvailable e) {
-      LOGGER.warnf("Driver service unavailable (%s)", e);
-      return valid;
     }
   }
 
-  private boolean tryReimport(final BufferedItem item, final DriverApi driverApi, final AtomicInteger count,
-                              final AtomicInteger countError) throws DriverServiceNotAvailable {
+  private boolean tryReimport(final BufferedItem item, final DriverApi driverApi, final BufferImportLimiter limiter)
+      throws DriverServiceNotAvailable {
     final var accessorObject = getAccessorObjectFromDb(item.bucket(), item.object());
     if (accessorObject == null || !AccessorStatus.READY.equals(accessorObject.getStatus())) {
       // No more in Database so abort item
@@ -124,7 +179,7 @@ public abstract class CcsBufferService {
     try {
       if (!driverApi.bucketExists(item.bucket())) {
         // Bucket does not exist, so abort item
-        countError.incrementAndGet();
+        bulkMetrics.incrementCounter(1, BUFFERED_IMPORT, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_ERROR_WRITE);
         updateStatusAccessorObject(accessorObject, AccessorStatus.ERR_UPL);
         return true;
       }
@@ -136,11 +191,13 @@ public abstract class CcsBufferService {
           new StorageObject(accessorObject.getBucket(), accessorObject.getName(), accessorObject.getHash(),
               accessorObject.getSize(), accessorObject.getCreation(), accessorObject.getExpires(),
               accessorObject.getMetadata()) : filesystemHandler.readStorageObject(item.bucket(), item.object());
-      final var inputStream = filesystemHandler.readContent(item.bucket(), item.object());
+      final var inputStream = limiter.throttle(filesystemHandler.readContent(item.bucket(), item.object()));
       driverApi.objectPrepareCreateInBucket(storageObject, inputStream);
       driverApi.objectFinalizeCreateInBucket(storageObject.bucket(), storageObject.name(), storageObject.size(),
           storageObject.hash());
-      count.incrementAndGet();
+      bulkMetrics.incrementCounter(1, BUFFERED_IMPORT, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_COPY);
+      bulkMetrics.incrementCounter(storageObject.size(), BUFFERED_IMPORT, BulkMetrics.KEY_OBJECT,
+          BulkMetrics.TAG_BYTES_COPIED);
       return true;
     } catch (final DriverException e) {
       // Driver service not accessible, fully retry later on
@@ -149,7 +206,7 @@ public abstract class CcsBufferService {
     } catch (final FileNotFoundException e) {
       // Buffered item no more available, so abort item
       LOGGER.debugf("Error while checking buffer (%s)", e);
-      countError.incrementAndGet();
+      bulkMetrics.incrementCounter(1, BUFFERED_IMPORT, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_ERROR_WRITE);
       updateStatusAccessorObject(accessorObject, AccessorStatus.ERR_UPL);
       return true;
     } catch (final RuntimeException | IOException e) {
@@ -26,10 +26,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
@@ -58,14 +60,77 @@ public class FilesystemHandler {
   private static final String EXT_METADATA = ".md";
   private static final String EXT_CONTENT = ".bin";
   private static final double GB = 1024.0 * 1024 * 1024;
-  private final List<BufferedItem> activeJobs = Collections.synchronizedList(new ArrayList<>());
-  private final File root = new File(AccessorProperties.getStorePath());
-  private boolean hasDatabase = QuarkusProperties.hasDatabase();
+  /**
+   * Number of lock stripes (power of 2): independent objects are handled in parallel
+   */
+  private static final int LOCK_STRIPES = 64;
+  /**
+   * Free space from filesystem is refreshed at most every second, in between written bytes are deduced
+   */
+  private static final long FREE_SPACE_REFRESH_MS = 1000;
+  private final Set<BufferedItem> activeJobs = ConcurrentHashMap.newKeySet();
+  private final Object[] locks = new Object[LOCK_STRIPES];
+  private final BufferIndex index = new BufferIndex();
+  private final AtomicLong writtenSinceFreeSpace = new AtomicLong();
+  private final File root;
+  private boolean hasDatabase;
   private final BulkMetrics bulkMetrics;
+  private volatile long freeSpace;
+  private volatile long freeSpaceTime = 0;
 
   protected FilesystemHandler() {
+    this(new File(AccessorProperties.getStorePath()), CDI.current().select(BulkMetrics.class).get(),
+        QuarkusProperties.hasDatabase());
+  }
+
+  FilesystemHandler(final File root, final BulkMetrics bulkMetrics, final boolean hasDatabase) {
+    this.root = root;
+    this.bulkMetrics = bulkMetrics;
+    this.hasDatabase = hasDatabase;
     root.mkdirs(); // NOSONAR intentional
-    bulkMetrics = CDI.current().select(BulkMetrics.class).get();
+    for (var i = 0; i < LOCK_STRIPES; i++) {
+      locks[i] = new Object();
+    }
+    try {
+      // Recover from previous run: any remaining item is registered again for import (or cleanup)
+      reloadIndex();
+      activeJobs.addAll(index.getAll());
+    } catch (final IOException e) {
+      LOGGER.warnf("Cannot reload buffer index (%s)", e);
+    }
+  }
+
+  /**
+   * Rebuild the index from the buffer tree (startup only, O(all files))
+   */
+  void reloadIndex() throws IOException {
+    index.clear();
+    try (final Stream<Path> stream = Files.walk(root.toPath())) {
+      stream.filter(path -> Files.isRegularFile(path) && path.toString().endsWith(EXT_CONTENT) &&
+          !path.getParent().equals(root.toPath())).forEach(path -> {
+        try {
+          index.add(getItemFromPath(path), Files.getLastModifiedTime(path).toMillis(), Files.size(path));
+        } catch (final IOException ignore) {
+          // Ignore
+        }
+      });
+    }
+    LOGGER.infof("Buffer index loaded: %d items for %d bytes", index.count(), index.size());
+  }
+
+  private BufferedItem getItemFromPath(final Path path) {
+    final var filename = path.getFileName().toString();
+    final var pos = filename.lastIndexOf('.');
+    final var object = (pos > 0 ? filename.substring(0, pos) : filename).replace('#', '/');
+    return new BufferedItem(path.getParent().getFileName().toString(), object);
+  }
+
+  /**
+   * @return the lock associated with this object (striped)
+   */
+  private Object getLock(final String bucket, final String object) {
+    final var hash = 31 * bucket.hashCode() + object.hashCode();
+    return locks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
   }
 
   void changeHasDatabase(final boolean hasDatabase) {
@@ -76,20 +141,58 @@ public class FilesystemHandler {
     return object.replace('/', '#');
   }
 
-  public synchronized long save(final String bucket, final String object, final InputStream inputStream,
-                                final Map<String, String> metadata, final Instant expires) throws IOException {
-    if (check(bucket, object)) {
-      throw new IOException("Already exist");
+  public long save(final String bucket, final String object, final InputStream inputStream,
+                   final Map<String, String> metadata, final Instant expires) throws IOException {
+    final long size;
+    synchronized (getLock(bucket, object)) {
+      if (check(bucket, object)) {
+        throw new IOException("Already exist");
+      }
+      final var filename = getBaseFilename(object);
+      final var fileDir = new File(root, bucket);
+      fileDir.mkdir();
+      final var filebin = new File(fileDir, filename + EXT_CONTENT);
+      try (final var outputStream = new FileOutputStream(filebin)) {
+        size = SystemTools.transferTo(inputStream, outputStream);
+        outputStream.flush();
+      }
+      saveMetadata(fileDir, filename, metadata, expires);
+      index.add(new BufferedItem(bucket, object), System.currentTimeMillis(), size);
     }
+    countWritten(size);
+    bulkMetrics.incrementCounter(1, BUFFERED_IMPORT, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_CREATE);
+    LOGGER.infof("Save one object into buffer: %s %s", bucket, object);
+    return size;
+  }
+
+  /**
+   * Save the object into the buffer while it is read from the returned InputStream (tee), avoiding to write it fully
+   * before reading it back
+   *
+   * @return the InputStream to give to the Driver
+   */
+  public BufferTeeInputStream saveThrough(final String bucket, final String object, final InputStream inputStream,
+                                          final Map<String, String> metadata, final Instant expires)
+      throws IOException {
     final var filename = getBaseFilename(object);
     final var fileDir = new File(root, bucket);
-    fileDir.mkdir();
-    final var filebin = new File(fileDir, filename + EXT_CONTENT);
-    long size;
-    try (final var outputStream = new FileOutputStream(filebin)) {
-      size = SystemTools.transferTo(inputStream, outputStream);
-      outputStream.flush();
+    final FileOutputStream outputStream;
+    synchronized (getLock(bucket, object)) {
+      if (check(bucket, object)) {
+        throw new IOException("Already exist");
+      }
+      fileDir.mkdir();
+      outputStream = new FileOutputStream(new File(fileDir, filename + EXT_CONTENT)); // NOSONAR closed by tee
+      saveMetadata(fileDir, filename, metadata, expires);
+      index.add(new BufferedItem(bucket, object), System.currentTimeMillis(), 0);
     }
+    bulkMetrics.incrementCounter(1, BUFFERED_IMPORT, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_CREATE);
+    LOGGER.infof("Save through one object into buffer: %s %s", bucket, object);
+    return new BufferTeeInputStream(inputStream, outputStream, this, bucket, object);
+  }
+
+  private void saveMetadata(final File fileDir, final String filename, final Map<String, String> metadata,
+                            final Instant expires) throws IOException {
     if (!hasDatabase) {
       final var filemd = new File(fileDir, filename + EXT_METADATA);
       try (final var outputStream = new FileOutputStream(filemd)) {
@@ -104,32 +207,39 @@ public class FilesystemHandler {
         outputStream.flush();
       }
     }
-    bulkMetrics.incrementCounter(1, BUFFERED_IMPORT, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_CREATE);
-    LOGGER.infof("Save one object into buffer: %s %s", bucket, object);
-    return size;
   }
 
-  public synchronized void update(final String bucket, final String object, final Map<String, String> metadata,
-                                  final String hash) throws IOException {
+  /**
+   * Account the bytes written into the buffer (disk write amplification)
+   */
+  void countWritten(final long size) {
+    writtenSinceFreeSpace.addAndGet(size);
+    bulkMetrics.incrementCounter(size, BUFFERED_IMPORT, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_BYTES_WRITTEN);
+  }
+
+  public void update(final String bucket, final String object, final Map<String, String> metadata,
+                     final String hash) throws IOException {
     if (hasDatabase) {
       throw new IOException("No Metadata as file");
     }
-    if (!check(bucket, object)) {
-      throw new FileNotFoundException("Does not exist");
-    }
-    final var filename = getBaseFilename(object);
-    final var fileDir = new File(root, bucket);
-    final var filemd = new File(fileDir, filename + EXT_METADATA);
-    var map = readMetadata(bucket, object);
-    try (final var outputStream = new FileOutputStream(filemd)) {
-      if (metadata != null) {
-        map.putAll(metadata);
+    synchronized (getLock(bucket, object)) {
+      if (!check(bucket, object)) {
+        throw new FileNotFoundException("Does not exist");
       }
-      if (hash != null) {
-        map.put(X_HASH, hash);
+      final var filename = getBaseFilename(object);
+      final var fileDir = new File(root, bucket);
+      final var filemd = new File(fileDir, filename + EXT_METADATA);
+      var map = readMetadata(bucket, object);
+      try (final var outputStream = new FileOutputStream(filemd)) {
+        if (metadata != null) {
+          map.putAll(metadata);
+        }
+        if (hash != null) {
+          map.put(X_HASH, hash);
+        }
+        outputStream.write(JsonUtil.getInstance().writeValueAsBytes(map));
+        outputStream.flush();
       }
-      outputStream.write(JsonUtil.getInstance().writeValueAsBytes(map));
-      outputStream.flush();
     }
     LOGGER.infof("Update one object into buffer: %s %s", bucket, object);
   }
@@ -178,10 +288,14 @@ public class FilesystemHandler {
     final var filename = getBaseFilename(object);
     final var fileDir = new File(root, bucket);
     final var filebin = new File(fileDir, filename + EXT_CONTENT);
-    var deleted = internalDelete(filebin.toPath());
-    if (!hasDatabase) {
-      final var filemd = new File(fileDir, filename + EXT_METADATA);
-      internalDelete(filemd.toPath());
+    final boolean deleted;
+    synchronized (getLock(bucket, object)) {
+      deleted = internalDelete(filebin.toPath());
+      index.remove(new BufferedItem(bucket, object));
+      if (!hasDatabase) {
+        final var filemd = new File(fileDir, filename + EXT_METADATA);
+        internalDelete(filemd.toPath());
+      }
     }
     if (deleted) {
       LOGGER.infof("Delete one object into buffer: %s %s", bucket, object);
@@ -211,13 +325,13 @@ public class FilesystemHandler {
     return filebin.isFile();
   }
 
-  public synchronized void registerItem(final String bucket, final String object) {
+  public void registerItem(final String bucket, final String object) {
     bulkMetrics.incrementCounter(1, BUFFERED_IMPORT, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_REGISTER);
     activeJobs.add(new BufferedItem(bucket, object));
     LOGGER.infof("Register one object into buffer: %s %s", bucket, object);
   }
 
-  public synchronized boolean unregisterItem(final String bucket, final String object) {
+  public boolean unregisterItem(final String bucket, final String object) {
     var removed = activeJobs.remove(new BufferedItem(bucket, object));
     if (removed) {
       bulkMetrics.incrementCounter(1, BUFFERED_IMPORT, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_UNREGISTER);
@@ -226,67 +340,91 @@ public class FilesystemHandler {
     return delete(bucket, object);
   }
 
-  public synchronized List<BufferedItem> getCurrentRegisteredTasks() {
+  public List<BufferedItem> getCurrentRegisteredTasks() {
     return new ArrayList<>(activeJobs);
   }
 
-  public synchronized void removedValidatedTasks(final List<BufferedItem> validated) {
-    activeJobs.removeAll(validated);
+  /**
+   * @param smallestFirst if True, ordered by size, else by age
+   * @return the current registered tasks, ordered according to import priority
+   */
+  public List<BufferedItem> getCurrentRegisteredTasks(final boolean smallestFirst) {
+    // Snapshot the sort keys first since sizes might change concurrently
+    final var keys = new HashMap<BufferedItem, Long>(activeJobs.size());
+    for (final var item : activeJobs) {
+      keys.put(item, smallestFirst ? index.getSize(item) : index.getTime(item));
+    }
+    final var list = new ArrayList<>(keys.keySet());
+    list.sort(Comparator.comparingLong(keys::get));
+    return list;
+  }
+
+  public int getCurrentRegisteredTasksCount() {
+    return activeJobs.size();
+  }
+
+  public void removedValidatedTasks(final List<BufferedItem> validated) {
+    validated.forEach(activeJobs::remove);
+  }
+
+  /**
+   * Add the bytes written through a tee to the given indexed item
+   */
+  void countWritten(final String bucket, final String object, final long size) {
+    index.addSize(new BufferedItem(bucket, object), size);
+    countWritten(size);
+  }
+
+  /**
+   * @return the estimated free space, the filesystem being queried at most every second
+   */
+  private long getFreeSpace() {
+    final var now = System.currentTimeMillis();
+    if (now - freeSpaceTime > FREE_SPACE_REFRESH_MS) {
+      freeSpace = root.getFreeSpace();
+      writtenSinceFreeSpace.set(0);
+      freeSpaceTime = now;
+    }
+    return freeSpace - writtenSinceFreeSpace.get();
   }
 
   public void checkFreeSpaceGb(final long size) throws IOException {
-    final double freeSpace = root.getFreeSpace();
-    if (freeSpace < size || freeSpace / GB < AccessorProperties.getStoreMinSpaceGb()) {
+    final double currentFreeSpace = getFreeSpace();
+    if (currentFreeSpace < size || currentFreeSpace / GB < AccessorProperties.getStoreMinSpaceGb()) {
       throw new IOException("Not enough space on device");
     }
   }
 
-  public synchronized long deleteOlderThan(final Instant limitDate) throws IOException {
-    final AtomicLong count = new AtomicLong();
-    try (final Stream<Path> stream = Files.walk(root.toPath())) {
-      stream.filter(path -> {
-        try {
-          return Files.isRegularFile(path) && Files.getLastModifiedTime(path).toInstant().isBefore(limitDate);
-        } catch (final IOException e) {
-          return false;
-        }
-      }).forEach(path -> {
-        try {
-          Files.delete(path);
-          count.incrementAndGet();
-        } catch (final IOException ignore) {
-          // Ignore
+  /**
+   * Purge items older than the limit date, using the index (O(expired items))
+   *
+   * @return the number of purged items
+   */
+  public long deleteOlderThan(final Instant limitDate) throws IOException {
+    final var limit = limitDate.toEpochMilli();
+    var count = 0L;
+    for (final var item : index.getOlderThan(limit)) {
+      synchronized (getLock(item.bucket(), item.object())) {
+        // Check again under lock since it might have been recreated
+        if (index.isOlderThan(item, limit) && delete(item.bucket(), item.object())) {
+          count++;
         }
-      });
-      if (!hasDatabase) {
-        return count.get() / 2;
       }
-      return count.get();
     }
+    return count;
   }
 
+  /**
+   * @return the number of buffered items (from index)
+   */
   public long count() throws IOException {
-    try (final Stream<Path> stream = Files.walk(root.toPath())) {
-      if (!hasDatabase) {
-        return stream.filter(Files::isRegularFile).count() / 2;
-      }
-      return stream.filter(Files::isRegularFile).count();
-    }
+    return index.count();
   }
 
+  /**
+   * @return the total size of buffered items (from index)
+   */
   public long size() throws IOException {
-    final AtomicLong size = new AtomicLong();
-    try (final Stream<Path> stream = Files.walk(root.toPath())) {
-      stream.forEach(path -> {
-        try {
-          if (Files.isRegularFile(path) && !path.toString().endsWith(EXT_METADATA)) {
-            size.addAndGet(Files.size(path));
-          }
-        } catch (final IOException ignore) {
-          // Ignore
-        }
-      });
-      return size.get();
-    }
+    return index.size();
   }
 }
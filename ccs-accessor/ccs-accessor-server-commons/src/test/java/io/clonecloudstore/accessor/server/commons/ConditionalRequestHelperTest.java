@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.commons;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+
+import io.clonecloudstore.accessor.model.AccessorObject;
+import io.clonecloudstore.accessor.model.AccessorStatus;
+import jakarta.ws.rs.core.HttpHeaders;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConditionalRequestHelperTest {
+  @Test
+  void checkHeaders() {
+    final var creation = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    final var object =
+        new AccessorObject().setBucket("bucket").setName("name").setHash("hash").setCreation(creation)
+            .setStatus(AccessorStatus.READY);
+    assertEquals("\"hash\"", ConditionalRequestHelper.getETag(object));
+    assertNull(ConditionalRequestHelper.getETag(new AccessorObject()));
+    assertNull(ConditionalRequestHelper.getLastModified(new AccessorObject()));
+    final var map = new HashMap<String, String>();
+    ConditionalRequestHelper.addHeaders(object, map);
+    assertEquals("\"hash\"", map.get(HttpHeaders.ETAG));
+    assertEquals(ConditionalRequestHelper.getLastModified(object), map.get(HttpHeaders.LAST_MODIFIED));
+  }
+
+  @Test
+  void checkNotModified() {
+    final var creation = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    final var object =
+        new AccessorObject().setBucket("bucket").setName("name").setHash("hash").setCreation(creation)
+            .setStatus(AccessorStatus.READY);
+    final var lastModified = ConditionalRequestHelper.getLastModified(object);
+    assertFalse(ConditionalRequestHelper.isNotModified(object, null, null));
+    assertTrue(ConditionalRequestHelper.isNotModified(object, "\"hash\"", null));
+    assertTrue(ConditionalRequestHelper.isNotModified(object, "\"other\", W/\"hash\"", null));
+    assertTrue(ConditionalRequestHelper.isNotModified(object, "*", null));
+    assertFalse(ConditionalRequestHelper.isNotModified(object, "\"other\"", null));
+    // If-None-Match takes precedence
+    assertFalse(ConditionalRequestHelper.isNotModified(object, "\"other\"", lastModified));
+    assertTrue(ConditionalRequestHelper.isNotModified(object, null, lastModified));
+    assertFalse(ConditionalRequestHelper.isNotModified(object, null,
+        ConditionalRequestHelper.getLastModified(new AccessorObject().setCreation(creation.minusSeconds(10)))));
+    assertFalse(ConditionalRequestHelper.isNotModified(object, null, "invalid date"));
+    // Not available
+    assertFalse(ConditionalRequestHelper.isNotModified(null, "*", null));
+    object.setStatus(AccessorStatus.UPLOAD);
+    assertFalse(ConditionalRequestHelper.isNotModified(object, "\"hash\"", null));
+  }
+
+  @Test
+  void checkPreconditionFailed() {
+    final var object =
+        new AccessorObject().setBucket("bucket").setName("name").setHash("hash").setCreation(Instant.now())
+            .setStatus(AccessorStatus.READY);
+    assertFalse(ConditionalRequestHelper.isPreconditionFailed(object, null, null));
+    assertFalse(ConditionalRequestHelper.isPreconditionFailed(object, "\"hash\"", null));
+    assertFalse(ConditionalRequestHelper.isPreconditionFailed(object, "*", null));
+    assertTrue(ConditionalRequestHelper.isPreconditionFailed(object, "\"other\"", null));
+    // Strong comparison only
+    assertTrue(ConditionalRequestHelper.isPreconditionFailed(object, "W/\"hash\"", null));
+    assertTrue(ConditionalRequestHelper.isPreconditionFailed(object, null, "*"));
+    assertFalse(ConditionalRequestHelper.isPreconditionFailed(object, null, "\"other\""));
+    // Not existing
+    assertTrue(ConditionalRequestHelper.isPreconditionFailed(null, "*", null));
+    assertFalse(ConditionalRequestHelper.isPreconditionFailed(null, null, "*"));
+    object.setStatus(AccessorStatus.DELETED);
+    assertTrue(ConditionalRequestHelper.isPreconditionFailed(object, "\"hash\"", null));
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.accessor.server.commons.buffer;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.clonecloudstore.test.stream.FakeInputStream;
+import org.junit.jupiter.api.Test;
+
+import static io.clonecloudstore.common.standard.system.SystemTools.VIRTUAL_EXECUTOR_SERVICE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BufferImportLimiterTest {
+  @Test
+  void checkUnlimitedBandwidth() throws IOException {
+    final var limiter = new BufferImportLimiter(2, 0);
+    final var inputStream = new FakeInputStream(1000);
+    assertSame(inputStream, limiter.throttle(inputStream));
+  }
+
+  @Test
+  void checkSharedBandwidth() throws IOException {
+    final var limiter = new BufferImportLimiter(2, 10000);
+    final var start = System.nanoTime();
+    assertEquals(2000, FakeInputStream.consumeAll(limiter.throttle(new FakeInputStream(1000))) +
+        FakeInputStream.consumeAll(limiter.throttle(new FakeInputStream(1000))));
+    // 2000 bytes at 10000 bytes/s shall take at least 200 ms
+    assertTrue((System.nanoTime() - start) / 1_000_000 >= 190);
+  }
+
+  @Test
+  void checkConcurrency() throws InterruptedException {
+    final var limiter = new BufferImportLimiter(2, 0);
+    final var running = new AtomicInteger();
+    final var maxRunning = new AtomicInteger();
+    for (var i = 0; i < 10; i++) {
+      limiter.acquire();
+      VIRTUAL_EXECUTOR_SERVICE.execute(() -> {
+        try {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          Thread.sleep(10);
+          running.decrementAndGet();
+        } catch (final InterruptedException ignore) {
+          Thread.currentThread().interrupt();
+        } finally {
+          limiter.release();
+        }
+      });
+    }
+    limiter.awaitAll();
+    assertEquals(0, running.get());
+    assertTrue(maxRunning.get() <= 2);
+  }
+}
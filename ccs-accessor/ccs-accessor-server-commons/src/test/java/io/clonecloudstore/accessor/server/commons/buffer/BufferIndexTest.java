@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.accessor.server.commons.buffer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BufferIndexTest {
+  @Test
+  void checkOrderAndTotals() {
+    final var index = new BufferIndex();
+    final var item1 = new BufferedItem("bucket", "object1");
+    final var item2 = new BufferedItem("bucket", "object2");
+    final var item3 = new BufferedItem("bucket", "object3");
+    index.add(item2, 20, 200);
+    index.add(item1, 10, 100);
+    index.add(item3, 30, 0);
+    index.addSize(item3, 300);
+    assertEquals(3, index.count());
+    assertEquals(600, index.size());
+    assertEquals(2, index.getOlderThan(30).size());
+    assertEquals(item1, index.getOlderThan(30).get(0));
+    assertTrue(index.isOlderThan(item1, 15));
+    assertFalse(index.isOlderThan(item2, 15));
+
+    // Replace an existing item
+    index.add(item1, 40, 50);
+    assertEquals(3, index.count());
+    assertEquals(550, index.size());
+    assertEquals(item2, index.getOlderThan(35).get(0));
+
+    assertTrue(index.remove(item2));
+    assertFalse(index.remove(item2));
+    assertEquals(2, index.count());
+    assertEquals(350, index.size());
+    index.clear();
+    assertEquals(0, index.count());
+    assertEquals(0, index.size());
+  }
+}
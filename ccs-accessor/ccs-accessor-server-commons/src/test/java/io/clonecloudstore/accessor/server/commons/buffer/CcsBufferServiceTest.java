@@ -67,6 +67,7 @@ class CcsBufferServiceTest {
         bulkMetrics.getCounter(CcsBufferService.BUFFERED_IMPORT, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_ERROR_WRITE);
     FakeDriverFactory.cleanUp();
     FsTestUtil.cleanUp();
+    filesystemHandler.reloadIndex();
     filesystemHandler.changeHasDatabase(false);
     FakeDriver.shallRaiseAnException = false;
   }
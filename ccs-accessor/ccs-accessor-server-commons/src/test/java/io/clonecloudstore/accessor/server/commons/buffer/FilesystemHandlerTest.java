@@ -46,6 +46,7 @@ class FilesystemHandlerTest {
   @BeforeEach
   void cleanUp() throws IOException {
     FsTestUtil.cleanUp();
+    inputStreamHandler.reloadIndex();
     inputStreamHandler.changeHasDatabase(false);
   }
 
@@ -270,4 +271,40 @@ class FilesystemHandlerTest {
     assertEquals(0, assertDoesNotThrow(() -> inputStreamHandler.getCurrentRegisteredTasks()).size());
     assertDoesNotThrow(() -> inputStreamHandler.unregisterItem("name", "dir/object"));
   }
+
+  @Test
+  void checkUsingFsInputHandlerSaveThrough() throws IOException {
+    final var bucket = "name";
+    final var object = "dir/object";
+    final var map = Map.of("key1", "value1");
+    // Fully read through: local copy complete
+    try (final var tee = inputStreamHandler.saveThrough(bucket, object, new FakeInputStream(1000), map, null)) {
+      assertThrows(IOException.class,
+          () -> inputStreamHandler.saveThrough(bucket, object, new FakeInputStream(1000), map, null));
+      assertEquals(1000, FakeInputStream.consumeAll(tee));
+      assertTrue(tee.isLocalComplete());
+    }
+    assertTrue(inputStreamHandler.check(bucket, object));
+    assertEquals(1000, assertDoesNotThrow(() -> inputStreamHandler.size()));
+    assertEquals(map, assertDoesNotThrow(() -> inputStreamHandler.readMetadata(bucket, object)));
+    assertTrue(assertDoesNotThrow(() -> inputStreamHandler.delete(bucket, object)));
+
+    // Partially read (Driver in error): drain completes the local copy
+    try (final var tee = inputStreamHandler.saveThrough(bucket, object, new FakeInputStream(1000), map, null)) {
+      assertEquals(100, tee.read(new byte[100], 0, 100));
+      assertFalse(tee.isLocalComplete());
+      assertTrue(tee.drain());
+    }
+    assertEquals(1000, assertDoesNotThrow(() -> inputStreamHandler.size()));
+    assertTrue(assertDoesNotThrow(() -> inputStreamHandler.delete(bucket, object)));
+
+    // Aborted: content still forwarded but no local copy
+    try (final var tee = inputStreamHandler.saveThrough(bucket, object, new FakeInputStream(1000), map, null)) {
+      tee.abort();
+      assertEquals(1000, FakeInputStream.consumeAll(tee));
+      assertFalse(tee.drain());
+    }
+    assertFalse(inputStreamHandler.check(bucket, object));
+    checkUsingFsInputHandlerEmpty();
+  }
 }
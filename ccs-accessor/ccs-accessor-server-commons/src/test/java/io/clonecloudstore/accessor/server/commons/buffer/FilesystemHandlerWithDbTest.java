@@ -41,6 +41,7 @@ class FilesystemHandlerWithDbTest {
   @BeforeEach
   void cleanUp() throws IOException {
     FsTestUtil.cleanUp();
+    inputStreamHandler.reloadIndex();
     inputStreamHandler.changeHasDatabase(true);
   }
 
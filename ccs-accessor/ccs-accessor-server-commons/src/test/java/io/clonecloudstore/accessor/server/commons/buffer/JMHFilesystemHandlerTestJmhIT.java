@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.commons.buffer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.clonecloudstore.common.quarkus.metrics.BulkMetrics;
+import io.clonecloudstore.test.stream.FakeInputStream;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Concurrent save throughput on the local buffer (independent objects)
+ */
+@QuarkusTest
+@Warmup(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@BenchmarkMode(Mode.Throughput)
+@Threads(8)
+@Disabled("Bench only")
+public class JMHFilesystemHandlerTestJmhIT {
+  private static final int OBJECT_SIZE = 64 * 1024;
+
+  @State(Scope.Benchmark)
+  public static class MyState {
+    public File root;
+    public FilesystemHandler filesystemHandler;
+    public final AtomicLong counter = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+      root = Files.createTempDirectory("ccs-buffer-bench").toFile();
+      filesystemHandler = new FilesystemHandler(root, new BulkMetrics(), true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+      try (final var stream = Files.walk(root.toPath())) {
+        stream.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+      }
+    }
+  }
+
+  @Benchmark
+  public void testSaveConcurrent(final Blackhole blackhole, final MyState myState) throws IOException {
+    final var object = "dir/object" + myState.counter.incrementAndGet();
+    blackhole.consume(
+        myState.filesystemHandler.save("bucket", object, new FakeInputStream(OBJECT_SIZE), null, null));
+    myState.filesystemHandler.delete("bucket", object);
+  }
+
+  @Benchmark
+  public void testSaveThroughConcurrent(final Blackhole blackhole, final MyState myState) throws IOException {
+    final var object = "dir/through" + myState.counter.incrementAndGet();
+    try (final var tee = myState.filesystemHandler.saveThrough("bucket", object, new FakeInputStream(OBJECT_SIZE),
+        null, null)) {
+      blackhole.consume(FakeInputStream.consumeAll(tee));
+    }
+    myState.filesystemHandler.delete("bucket", object);
+  }
+
+  public static void main(String[] args) throws Exception {
+    Options opt = new OptionsBuilder().include(JMHFilesystemHandlerTestJmhIT.class.getSimpleName())
+        .addProfiler(GCProfiler.class).build();
+    new Runner(opt).run();
+  }
+
+  @Test
+  void runBenchmark() throws Exception {
+    final var optionsBuilder = new OptionsBuilder().include(this.getClass().getName() + ".*").mode(Mode.Throughput)
+        .warmupTime(TimeValue.seconds(1)).warmupIterations(3).threads(8).measurementIterations(3)
+        .result("target/jmh-filesystem-handler-result.csv").measurementTime(TimeValue.seconds(1))
+        .timeUnit(TimeUnit.SECONDS).forks(1).shouldFailOnError(true).resultFormat(ResultFormatType.CSV)
+        .shouldDoGC(true);
+    final var options = optionsBuilder.build();
+    new Runner(options).run();
+  }
+}
@@ -332,10 +332,9 @@ public class AccessorBucketService implements AccessorBucketServiceInterface {
         if (!bucket.getClientId().equals(clientId)) {
           throw new CcsNotAllowedException(BUCKET_STRING + bucketName + " is not owned by current client");
         }
-        final var count = objectRepository.count(
+        if (objectRepository.exists(
             new DbQuery(RestQuery.CONJUNCTION.AND, new DbQuery(RestQuery.QUERY.EQ, BUCKET, bucket.getId()),
-                new DbQuery(RestQuery.QUERY.EQ, STATUS, AccessorStatus.READY)));
-        if (count > 0) {
+                new DbQuery(RestQuery.QUERY.EQ, STATUS, AccessorStatus.READY)))) {
           throw new CcsNotAcceptableException("Bucket is not empty");
         }
         bucketRepository.updateBucketStatus(bucket, AccessorStatus.DELETING, null);
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.application;
+
+import io.quarkus.arc.Unremovable;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.spi.CDI;
+
+/**
+ * Periodically aborts the Multipart uploads never completed nor aborted by their client
+ */
+@ApplicationScoped
+@Unremovable
+public class AccessorMultipartCleanupJob {
+  private final AccessorObjectService service;
+
+  public AccessorMultipartCleanupJob() {
+    this.service = CDI.current().select(AccessorObjectService.class).get();
+  }
+
+  @Scheduled(every = "${ccs.accessor.multipart.cleanup.delay:1h}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void multipartCleanupJob() {
+    service.cleanExpiredMultipartUploads();
+  }
+}
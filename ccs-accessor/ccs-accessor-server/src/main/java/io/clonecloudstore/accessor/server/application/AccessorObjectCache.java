@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.application;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.clonecloudstore.accessor.model.AccessorObject;
+import io.clonecloudstore.accessor.model.AccessorObjectInvalidation;
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import io.clonecloudstore.common.quarkus.metrics.BulkMetrics;
+import io.clonecloudstore.common.quarkus.modules.AccessorProperties;
+import io.clonecloudstore.common.standard.guid.GuidLike;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.quarkus.arc.Unremovable;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jboss.logging.Logger;
+
+/**
+ * Bounded cache of Object metadata keyed by (bucket, object), including absence of Object (negative entries).
+ * Entries are invalidated locally on each change and remotely through a broadcast to other Accessor instances;
+ * time to live bounds the staleness if an invalidation is lost.
+ */
+@ApplicationScoped
+@Unremovable
+public class AccessorObjectCache {
+  private static final Logger LOGGER = Logger.getLogger(AccessorObjectCache.class);
+  /**
+   * Unique id of this instance, to ignore its own invalidation messages
+   */
+  static final String INSTANCE_ID = GuidLike.getGuid();
+  private final Cache<String, CachedObject> cache;
+  private final AtomicLong invalidations = new AtomicLong();
+  private final AccessorObjectInvalidationEmitter invalidationEmitter;
+  private final BulkMetrics bulkMetrics;
+
+  /**
+   * Cached Object, null meaning the Object does not exist
+   */
+  record CachedObject(AccessorObject accessorObject) {
+  }
+
+  /**
+   * Loader of the Object from database
+   */
+  @FunctionalInterface
+  public interface ObjectLoader {
+    AccessorObject load() throws CcsDbException;
+  }
+
+  public AccessorObjectCache(final AccessorObjectInvalidationEmitter invalidationEmitter,
+                             final BulkMetrics bulkMetrics) {
+    this.invalidationEmitter = invalidationEmitter;
+    this.bulkMetrics = bulkMetrics;
+    cache = Caffeine.newBuilder().maximumSize(AccessorProperties.getCacheMaxEntries())
+        .expireAfter(new CachedObjectExpiry()).recordStats().build();
+    CaffeineCacheMetrics.monitor(Metrics.globalRegistry, cache,
+        BulkMetrics.PREFIX_NAME + AccessorObjectCache.class.getSimpleName().toLowerCase());
+  }
+
+  /**
+   * Positive and negative entries have their own time to live, read at each write to follow dynamic changes
+   */
+  private static class CachedObjectExpiry implements Expiry<String, CachedObject> {
+    @Override
+    public long expireAfterCreate(final String key, final CachedObject value, final long currentTime) {
+      final var ttl = value.accessorObject() == null ? AccessorProperties.getCacheNegativeTtlMs() :
+          AccessorProperties.getCacheTtlMs();
+      return TimeUnit.MILLISECONDS.toNanos(ttl);
+    }
+
+    @Override
+    public long expireAfterUpdate(final String key, final CachedObject value, final long currentTime,
+                                  final long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(final String key, final CachedObject value, final long currentTime,
+                                final long currentDuration) {
+      return currentDuration;
+    }
+  }
+
+  private static String getKey(final String bucketName, final String objectName) {
+    return bucketName + '/' + objectName;
+  }
+
+  /**
+   * @param bucketName the bucket name
+   * @param objectName the object name
+   * @param loader     the database loader used if not in cache
+   * @return the Object (a copy) or null if it does not exist
+   */
+  public AccessorObject get(final String bucketName, final String objectName, final ObjectLoader loader)
+      throws CcsDbException {
+    if (!AccessorProperties.isCacheActive()) {
+      return loader.load();
+    }
+    final var key = getKey(bucketName, objectName);
+    final var cachedObject = cache.getIfPresent(key);
+    if (cachedObject != null) {
+      bulkMetrics.incrementCounter(1, AccessorObjectCache.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_CACHE_HIT);
+      return cachedObject.accessorObject() != null ? cachedObject.accessorObject().cloneInstance() : null;
+    }
+    bulkMetrics.incrementCounter(1, AccessorObjectCache.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_CACHE_MISS);
+    final var before = invalidations.get();
+    final var accessorObject = loader.load();
+    // Do not cache a value that an invalidation may have made obsolete during the load
+    if (before == invalidations.get()) {
+      cache.put(key, new CachedObject(accessorObject != null ? accessorObject.cloneInstance() : null));
+    }
+    return accessorObject;
+  }
+
+  /**
+   * Invalidate locally and on all other Accessor instances
+   */
+  public void invalidate(final String bucketName, final String objectName) {
+    if (!AccessorProperties.isCacheActive()) {
+      return;
+    }
+    invalidateLocally(bucketName, objectName);
+    try {
+      invalidationEmitter.generate(new AccessorObjectInvalidation(INSTANCE_ID, bucketName, objectName));
+    } catch (final RuntimeException e) {
+      // Staleness on other instances is still bounded by time to live
+      LOGGER.warnf("Cannot broadcast invalidation of %s: %s", getKey(bucketName, objectName), e.getMessage());
+    }
+  }
+
+  /**
+   * Invalidate only locally
+   */
+  public void invalidateLocally(final String bucketName, final String objectName) {
+    invalidations.incrementAndGet();
+    cache.invalidate(getKey(bucketName, objectName));
+  }
+}
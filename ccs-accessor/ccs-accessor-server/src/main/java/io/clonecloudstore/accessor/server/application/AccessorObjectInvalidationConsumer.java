@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.application;
+
+import io.clonecloudstore.accessor.model.AccessorObjectInvalidation;
+import io.clonecloudstore.common.quarkus.modules.AccessorProperties;
+import io.quarkus.arc.Unremovable;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.reactive.messaging.Incoming;
+import org.jboss.logging.Logger;
+
+import static io.clonecloudstore.accessor.config.AccessorConstants.Topic.ACCESSOR_INVALIDATION_IN;
+
+/**
+ * Consumer of Object cache invalidations emitted by other Accessor instances
+ */
+@ApplicationScoped
+@Unremovable
+public class AccessorObjectInvalidationConsumer {
+  private static final Logger LOGGER = Logger.getLogger(AccessorObjectInvalidationConsumer.class);
+  private final AccessorObjectCache accessorObjectCache;
+
+  public AccessorObjectInvalidationConsumer(final AccessorObjectCache accessorObjectCache) {
+    this.accessorObjectCache = accessorObjectCache;
+  }
+
+  @Incoming(ACCESSOR_INVALIDATION_IN)
+  public void consumeInvalidation(final AccessorObjectInvalidation invalidation) {
+    if (!AccessorProperties.isCacheActive() || AccessorObjectCache.INSTANCE_ID.equals(invalidation.origin())) {
+      return;
+    }
+    LOGGER.debugf("Recv Invalidation %s", invalidation);
+    accessorObjectCache.invalidateLocally(invalidation.bucketName(), invalidation.objectName());
+  }
+}
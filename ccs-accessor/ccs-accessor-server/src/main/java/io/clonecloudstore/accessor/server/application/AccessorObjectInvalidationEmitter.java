@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.accessor.server.application;
+
+import io.clonecloudstore.accessor.model.AccessorObjectInvalidation;
+import io.quarkus.arc.Unremovable;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.reactive.messaging.Channel;
+import org.eclipse.microprofile.reactive.messaging.Emitter;
+
+import static io.clonecloudstore.accessor.config.AccessorConstants.Topic.ACCESSOR_INVALIDATION_OUT;
+
+/**
+ * Emitter of Object cache invalidations to other Accessor instances. The channel is only enabled when the Object
+ * cache is active: being ApplicationScoped, this bean (and its Emitter) is only instantiated on first invalidation.
+ */
+@ApplicationScoped
+@Unremovable
+public class AccessorObjectInvalidationEmitter {
+  private final Emitter<AccessorObjectInvalidation> invalidationEmitter;
+
+  public AccessorObjectInvalidationEmitter(
+      @Channel(ACCESSOR_INVALIDATION_OUT) Emitter<AccessorObjectInvalidation> invalidationEmitter) {
+    this.invalidationEmitter = invalidationEmitter;
+  }
+
+  public void generate(final AccessorObjectInvalidation invalidation) {
+    invalidationEmitter.send(invalidation);
+  }
+}
@@ -0,0 +1,546 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.accessor.server.application;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.clonecloudstore.accessor.model.AccessorStatus;
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorObject;
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository;
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import io.clonecloudstore.common.quarkus.exception.CcsOperationException;
+import io.clonecloudstore.common.quarkus.metrics.BulkMetrics;
+import io.clonecloudstore.common.quarkus.modules.AccessorProperties;
+import io.clonecloudstore.common.standard.properties.StandardProperties;
+import io.quarkus.arc.Unremovable;
+import io.quarkus.runtime.Startup;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import org.jboss.logging.Logger;
+
+/**
+ * Optional write-behind journal of Object status updates: each update is appended to a local durable log and
+ * visible at once through an in memory overlay, while a background worker writes them into the database in groups.
+ * Once written into the database, a release marker is appended to the log so that, at startup, only updates remaining
+ * pending (crash or stop before flush) are written again into the database: an already written update replayed would
+ * otherwise restore an old state over later direct database updates (delete, replicator, other instances).
+ * <br>
+ * When inactive, all calls are directly done on the database.
+ */
+@ApplicationScoped
+@Startup
+@Unremovable
+public class AccessorObjectJournal {
+  private static final Logger LOGGER = Logger.getLogger(AccessorObjectJournal.class);
+  static final String JOURNAL_FILENAME = "accessor-object-status.journal";
+  /**
+   * Size of the log above which it is rewritten with only the pending updates
+   */
+  private static final long COMPACT_SIZE = 64L * 1024 * 1024;
+  private static final long RETRY_DELAY_MS = 1000;
+  private static final int MAX_FLUSH = 1000;
+  private final DaoAccessorObjectRepository objectRepository;
+  private final BulkMetrics bulkMetrics;
+  private final AccessorObjectCache accessorObjectCache;
+  private final boolean active;
+  private final File file;
+  private final Map<ObjectKey, JournalEntry> overlay = new ConcurrentHashMap<>();
+  private final BlockingQueue<ObjectKey> pending = new LinkedBlockingQueue<>();
+  private final Object logLock = new Object();
+  private final Object syncLock = new Object();
+  private FileChannel channel;
+  private long sequence;
+  private volatile long writtenSequence;
+  private volatile long syncedSequence;
+  private volatile boolean running;
+  private Thread worker;
+
+  record ObjectKey(String bucket, String name) {
+  }
+
+  /**
+   * Grouping of status only updates into one database update
+   */
+  private record StatusGroup(String bucket, AccessorStatus status) {
+  }
+
+  /**
+   * One status update; hash null, size negative or creation null meaning unchanged. A null status is a release
+   * marker: all updates of this Object up to this sequence are written into the database.
+   */
+  record JournalEntry(long seq, String bucket, String name, AccessorStatus status, String hash, long size,
+                      Instant creation) {
+    @JsonIgnore
+    ObjectKey key() {
+      return new ObjectKey(bucket, name);
+    }
+
+    static JournalEntry released(final JournalEntry entry) {
+      return new JournalEntry(entry.seq, entry.bucket, entry.name, null, null, -1, null);
+    }
+
+    @JsonIgnore
+    boolean isRelease() {
+      return status == null;
+    }
+
+    @JsonIgnore
+    boolean isStatusOnly() {
+      return hash == null && size < 0 && creation == null;
+    }
+
+    /**
+     * @return the merge of this previous entry with the next one
+     */
+    JournalEntry merge(final JournalEntry next) {
+      return new JournalEntry(next.seq, bucket, name, next.status, next.hash != null ? next.hash : hash,
+          next.size >= 0 ? next.size : size, next.creation != null ? next.creation : creation);
+    }
+  }
+
+  public AccessorObjectJournal(final Instance<DaoAccessorObjectRepository> objectRepositoryInstance,
+                               final BulkMetrics bulkMetrics, final AccessorObjectCache accessorObjectCache) {
+    this(objectRepositoryInstance.get(), bulkMetrics, accessorObjectCache, AccessorProperties.isJournalActive(),
+        new File(AccessorProperties.getJournalPath()));
+  }
+
+  AccessorObjectJournal(final DaoAccessorObjectRepository objectRepository, final BulkMetrics bulkMetrics,
+                        final AccessorObjectCache accessorObjectCache, final boolean active, final File directory) {
+    this.objectRepository = objectRepository;
+    this.bulkMetrics = bulkMetrics;
+    this.accessorObjectCache = accessorObjectCache;
+    this.active = active;
+    this.file = new File(directory, JOURNAL_FILENAME);
+    if (active) {
+      try {
+        Files.createDirectories(directory.toPath());
+        replay();
+        channel = openChannel();
+      } catch (final IOException e) {
+        throw new CcsOperationException("Cannot open journal " + file, e);
+      }
+      running = true;
+      worker = Thread.ofVirtual().name("accessor-journal").start(this::runWorker);
+    }
+  }
+
+  public boolean isActive() {
+    return active;
+  }
+
+  /**
+   * @return the number of Objects with updates not yet written into the database
+   */
+  public int getPendingCount() {
+    return overlay.size();
+  }
+
+  /**
+   * @return the pending status of this Object, not yet written into the database, or null if none
+   */
+  public AccessorStatus getPendingStatus(final String bucket, final String objectName) {
+    if (overlay.isEmpty()) {
+      return null;
+    }
+    final var entry = overlay.get(new ObjectKey(bucket, objectName));
+    return entry != null ? entry.status() : null;
+  }
+
+  /**
+   * Get the Object from database, updated with its pending status if any
+   */
+  public DaoAccessorObject getObject(final String bucket, final String objectName) throws CcsDbException {
+    return apply(objectRepository.getObject(bucket, objectName));
+  }
+
+  /**
+   * Apply the pending status, if any, to this Object read from database
+   *
+   * @return the same Object
+   */
+  public DaoAccessorObject apply(final DaoAccessorObject daoAccessorObject) {
+    if (daoAccessorObject == null || overlay.isEmpty()) {
+      return daoAccessorObject;
+    }
+    final var entry = overlay.get(new ObjectKey(daoAccessorObject.getBucket(), daoAccessorObject.getName()));
+    if (entry != null) {
+      daoAccessorObject.setStatus(entry.status());
+      if (entry.hash() != null) {
+        daoAccessorObject.setHash(entry.hash());
+      }
+      if (entry.size() >= 0) {
+        daoAccessorObject.setSize(entry.size());
+      }
+      if (entry.creation() != null) {
+        daoAccessorObject.setCreation(entry.creation());
+      }
+    }
+    return daoAccessorObject;
+  }
+
+  /**
+   * Same as DaoAccessorObjectRepository.updateObjectStatus, creation time might be null to ignore
+   */
+  public void updateObjectStatus(final String bucketName, final String objectName, final AccessorStatus status,
+                                 final Instant creation) throws CcsDbException {
+    if (!active) {
+      objectRepository.updateObjectStatus(bucketName, objectName, status, creation);
+      return;
+    }
+    append(bucketName, objectName, status, null, -1, creation);
+  }
+
+  /**
+   * Same as DaoAccessorObjectRepository.updateObjectStatusHashLen
+   */
+  public void updateObjectStatusHashLen(final String bucketName, final String objectName,
+                                        final AccessorStatus status, final String hash, final long len)
+      throws CcsDbException {
+    if (!active) {
+      objectRepository.updateObjectStatusHashLen(bucketName, objectName, status, hash, len);
+      return;
+    }
+    append(bucketName, objectName, status, hash, Math.max(len, 0), null);
+  }
+
+  /**
+   * Write now into the database the pending updates of those Objects, to be called before any direct database
+   * update of them
+   */
+  public void flush(final String bucketName, final Collection<String> objectNames) throws CcsDbException {
+    if (!active || overlay.isEmpty()) {
+      return;
+    }
+    final var keys = new ArrayList<ObjectKey>(objectNames.size());
+    for (final var name : objectNames) {
+      final var key = new ObjectKey(bucketName, name);
+      if (overlay.containsKey(key)) {
+        keys.add(key);
+      }
+    }
+    if (!keys.isEmpty()) {
+      write(keys);
+    }
+  }
+
+  /**
+   * Write now into the database all pending updates
+   */
+  public void flushAll() throws CcsDbException {
+    if (active && !overlay.isEmpty()) {
+      write(new ArrayList<>(overlay.keySet()));
+    }
+  }
+
+  private void append(final String bucketName, final String objectName, final AccessorStatus status,
+                      final String hash, final long size, final Instant creation) throws CcsDbException {
+    final JournalEntry entry;
+    try {
+      synchronized (logLock) {
+        entry = new JournalEntry(++sequence, bucketName, objectName, status, hash, size, creation);
+        final var line = StandardProperties.getObjectMapper().writeValueAsString(entry) + "\n";
+        channel.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+        overlay.merge(entry.key(), entry, JournalEntry::merge);
+        writtenSequence = entry.seq();
+      }
+      sync(entry.seq());
+    } catch (final IOException e) {
+      throw new CcsDbException("Cannot append to journal " + file, e);
+    }
+    pending.add(entry.key());
+    bulkMetrics.incrementCounter(1, AccessorObjectJournal.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_REGISTER);
+  }
+
+  /**
+   * Group commit: one force covers all entries written so far, concurrent appenders waiting for it
+   */
+  private void sync(final long seq) throws IOException {
+    if (syncedSequence >= seq) {
+      return;
+    }
+    synchronized (syncLock) {
+      if (syncedSequence >= seq) {
+        return;
+      }
+      final var target = writtenSequence;
+      channel.force(false);
+      syncedSequence = target;
+    }
+  }
+
+  private FileChannel openChannel() throws IOException {
+    return FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.APPEND);
+  }
+
+  /**
+   * Reload pending updates from the log, skipping the released ones, a partially written last line (crash) being
+   * ignored
+   */
+  private void replay() throws IOException {
+    if (!file.exists()) {
+      return;
+    }
+    final var mapper = StandardProperties.getObjectMapper();
+    try (final BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.isBlank()) {
+          continue;
+        }
+        final JournalEntry entry;
+        try {
+          entry = mapper.readValue(line, JournalEntry.class);
+        } catch (final JsonProcessingException e) {
+          LOGGER.warnf("Journal %s truncated: %s", file, e.getMessage());
+          break;
+        }
+        if (entry.isRelease()) {
+          overlay.computeIfPresent(entry.key(), (k, v) -> v.seq() <= entry.seq() ? null : v);
+          continue;
+        }
+        overlay.merge(entry.key(), entry, JournalEntry::merge);
+        sequence = Math.max(sequence, entry.seq());
+      }
+    }
+    writtenSequence = sequence;
+    syncedSequence = sequence;
+    pending.addAll(overlay.keySet());
+    LOGGER.infof("Journal %s replayed with %d pending Objects", file, overlay.size());
+  }
+
+  private void runWorker() {
+    while (running || !pending.isEmpty()) {
+      try {
+        final var delay = AccessorProperties.getJournalFlushDelayMs();
+        final var first = pending.poll(delay, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        if (running && pending.size() < MAX_FLUSH) {
+          // Let following updates join this group
+          Thread.sleep(delay); // NOSONAR intentional
+        }
+        final var keys = new LinkedHashSet<ObjectKey>();
+        keys.add(first);
+        pending.drainTo(keys, MAX_FLUSH - 1);
+        try {
+          write(keys);
+        } catch (final CcsDbException e) {
+          LOGGER.warnf("Journal flush in error, will retry: %s", e.getMessage());
+          pending.addAll(keys);
+          if (!running) {
+            return;
+          }
+          Thread.sleep(RETRY_DELAY_MS); // NOSONAR intentional
+          continue;
+        }
+        compact();
+      } catch (final InterruptedException e) { // NOSONAR intentional
+        LOGGER.debug("Journal worker interrupted");
+        return;
+      }
+    }
+  }
+
+  /**
+   * Write the current pending state of those Objects: status only updates are grouped per bucket and status into
+   * one database update, others are written one by one
+   */
+  private void write(final Collection<ObjectKey> keys) throws CcsDbException {
+    final var groups = new HashMap<StatusGroup, List<JournalEntry>>();
+    final var released = new ArrayList<JournalEntry>(keys.size());
+    try {
+      for (final var key : keys) {
+        final var entry = overlay.get(key);
+        if (entry == null) {
+          continue;
+        }
+        if (entry.isStatusOnly()) {
+          groups.computeIfAbsent(new StatusGroup(entry.bucket(), entry.status()), k -> new ArrayList<>()).add(entry);
+        } else {
+          writeOne(entry);
+          released.add(entry);
+        }
+      }
+      for (final var group : groups.entrySet()) {
+        final var entries = group.getValue();
+        if (entries.size() == 1) {
+          writeOne(entries.getFirst());
+          released.add(entries.getFirst());
+          continue;
+        }
+        final var names = entries.stream().map(JournalEntry::name).toList();
+        final var count =
+            objectRepository.updateObjectsStatus(group.getKey().bucket(), names, group.getKey().status());
+        if (count != names.size()) {
+          LOGGER.warnf("Journal updated %d Objects out of %d in %s", count, names.size(), group.getKey().bucket());
+        }
+        entries.forEach(this::release);
+        released.addAll(entries);
+      }
+    } finally {
+      logReleased(released);
+    }
+  }
+
+  private void writeOne(final JournalEntry entry) throws CcsDbException {
+    try {
+      if (entry.hash() != null || entry.size() >= 0) {
+        objectRepository.updateObjectStatusHashLen(entry.bucket(), entry.name(), entry.status(), entry.hash(),
+            Math.max(entry.size(), 0));
+        if (entry.creation() != null) {
+          objectRepository.updateObjectStatus(entry.bucket(), entry.name(), entry.status(), entry.creation());
+        }
+      } else {
+        objectRepository.updateObjectStatus(entry.bucket(), entry.name(), entry.status(), entry.creation());
+      }
+    } catch (final CcsDbException e) {
+      if (!(e.getCause() instanceof CcsOperationException)) {
+        throw e;
+      }
+      // Object no more existing: nothing to update
+      LOGGER.warnf("Journal ignores update of missing %s:%s", entry.bucket(), entry.name());
+    }
+    release(entry);
+  }
+
+  /**
+   * Append and force the release markers of those entries written into the database, so that they are not replayed
+   */
+  private void logReleased(final List<JournalEntry> released) {
+    if (released.isEmpty()) {
+      return;
+    }
+    final var mapper = StandardProperties.getObjectMapper();
+    final var builder = new StringBuilder();
+    try {
+      for (final var entry : released) {
+        builder.append(mapper.writeValueAsString(JournalEntry.released(entry))).append('\n');
+      }
+      synchronized (logLock) {
+        channel.write(ByteBuffer.wrap(builder.toString().getBytes(StandardCharsets.UTF_8)));
+        synchronized (syncLock) {
+          channel.force(false);
+        }
+      }
+    } catch (final IOException e) {
+      LOGGER.warnf("Journal %s release in error: %s", file, e.getMessage());
+    }
+  }
+
+  /**
+   * Remove the entry from the overlay, unless updated since it was read, once written into the database; the cache
+   * is invalidated again (locally and on other instances) since they could have loaded the Object from the database
+   * before this write
+   */
+  private void release(final JournalEntry entry) {
+    overlay.computeIfPresent(entry.key(), (k, v) -> v.seq() <= entry.seq() ? null : v);
+    accessorObjectCache.invalidate(entry.bucket(), entry.name());
+    bulkMetrics.incrementCounter(1, AccessorObjectJournal.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_UNREGISTER);
+  }
+
+  /**
+   * Empty the log when nothing is pending, or rewrite it with only pending updates when too large (released ones
+   * being already skipped at replay)
+   */
+  private void compact() {
+    synchronized (logLock) {
+      try {
+        if (overlay.isEmpty()) {
+          synchronized (syncLock) {
+            channel.truncate(0);
+            channel.force(false);
+            syncedSequence = writtenSequence;
+          }
+        } else if (channel.size() > COMPACT_SIZE) {
+          rewrite();
+        }
+      } catch (final IOException e) {
+        LOGGER.warnf("Journal %s compaction in error: %s", file, e.getMessage());
+      }
+    }
+  }
+
+  private void rewrite() throws IOException {
+    final var mapper = StandardProperties.getObjectMapper();
+    final var temp = new File(file.getParentFile(), JOURNAL_FILENAME + ".tmp");
+    try (final var tempChannel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      for (final var entry : overlay.values()) {
+        final var line = mapper.writeValueAsString(entry) + "\n";
+        tempChannel.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+      }
+      tempChannel.force(false);
+    }
+    synchronized (syncLock) {
+      channel.close();
+      Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      channel = openChannel();
+      syncedSequence = writtenSequence;
+    }
+  }
+
+  /**
+   * Stop the worker once all pending updates are written (or kept in the log for next startup)
+   */
+  @PreDestroy
+  void close() {
+    if (!active || !running) {
+      return;
+    }
+    running = false;
+    try {
+      worker.join(Math.max(RETRY_DELAY_MS, AccessorProperties.getJournalFlushDelayMs()) * 10);
+    } catch (final InterruptedException e) { // NOSONAR intentional
+      LOGGER.debug("Journal close interrupted");
+    }
+    worker.interrupt();
+    synchronized (logLock) {
+      synchronized (syncLock) {
+        try {
+          channel.close();
+        } catch (final IOException e) {
+          LOGGER.warnf("Journal %s close in error: %s", file, e.getMessage());
+        }
+      }
+    }
+  }
+}
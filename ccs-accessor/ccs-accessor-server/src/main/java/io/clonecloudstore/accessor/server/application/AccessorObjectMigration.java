@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.accessor.server.application;
+
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository;
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import io.quarkus.arc.Unremovable;
+import io.quarkus.runtime.Startup;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import org.jboss.logging.Logger;
+
+/**
+ * Runs at startup, in background, the one-off migrations of the Object repository not yet done (tracked by the
+ * repository itself). Until done, metadata filters fall back to their non indexed form.
+ */
+@ApplicationScoped
+@Startup
+@Unremovable
+public class AccessorObjectMigration {
+  private static final Logger LOGGER = Logger.getLogger(AccessorObjectMigration.class);
+
+  public AccessorObjectMigration(final Instance<DaoAccessorObjectRepository> objectRepositoryInstance) {
+    final var objectRepository = objectRepositoryInstance.get();
+    Thread.ofVirtual().name("accessor-migration").start(() -> {
+      try {
+        objectRepository.migrate();
+      } catch (final CcsDbException | RuntimeException e) {
+        LOGGER.errorf("Migration of Objects failed, metadata filters stay not indexed: %s", e.getMessage());
+      }
+    });
+  }
+}
@@ -19,20 +19,36 @@ package io.clonecloudstore.accessor.server.application;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
+import io.clonecloudstore.accessor.model.AccessorBatchAction;
+import io.clonecloudstore.accessor.model.AccessorBatchItem;
+import io.clonecloudstore.accessor.model.AccessorBatchResult;
 import io.clonecloudstore.accessor.model.AccessorFilter;
+import io.clonecloudstore.accessor.model.AccessorMultipartPart;
+import io.clonecloudstore.accessor.model.AccessorMultipartUpload;
 import io.clonecloudstore.accessor.model.AccessorObject;
 import io.clonecloudstore.accessor.model.AccessorStatus;
 import io.clonecloudstore.accessor.server.commons.AccessorObjectServiceInterface;
+import io.clonecloudstore.accessor.server.commons.BatchResultIterator;
+import io.clonecloudstore.accessor.server.commons.ListingPageInputStream;
 import io.clonecloudstore.accessor.server.commons.buffer.FilesystemHandler;
 import io.clonecloudstore.accessor.server.database.model.DaoAccessorBucketRepository;
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorMultipart;
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorMultipartRepository;
 import io.clonecloudstore.accessor.server.database.model.DaoAccessorObject;
 import io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository;
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorPart;
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorPartRepository;
 import io.clonecloudstore.accessor.server.database.model.DbQueryAccessorHelper;
 import io.clonecloudstore.administration.client.OwnershipApiClientFactory;
 import io.clonecloudstore.administration.model.ClientOwnership;
-import io.clonecloudstore.common.database.utils.DbQuery;
-import io.clonecloudstore.common.database.utils.RestQuery;
 import io.clonecloudstore.common.database.utils.exception.CcsDbException;
 import io.clonecloudstore.common.quarkus.client.InputStreamBusinessOut;
 import io.clonecloudstore.common.quarkus.exception.CcsAlreadyExistException;
@@ -44,6 +60,7 @@ import io.clonecloudstore.common.quarkus.exception.CcsOperationException;
 import io.clonecloudstore.common.quarkus.exception.CcsServerExceptionMapper;
 import io.clonecloudstore.common.quarkus.modules.AccessorProperties;
 import io.clonecloudstore.common.quarkus.modules.ServiceProperties;
+import io.clonecloudstore.common.standard.exception.CcsInvalidArgumentRuntimeException;
 import io.clonecloudstore.common.standard.exception.CcsWithStatusException;
 import io.clonecloudstore.common.standard.guid.GuidLike;
 import io.clonecloudstore.common.standard.stream.StreamIteratorUtils;
@@ -51,10 +68,12 @@ import io.clonecloudstore.common.standard.system.ParametersChecker;
 import io.clonecloudstore.common.standard.system.SystemTools;
 import io.clonecloudstore.driver.api.DriverApiFactory;
 import io.clonecloudstore.driver.api.DriverApiRegistry;
+import io.clonecloudstore.driver.api.DriverAsyncApi;
 import io.clonecloudstore.driver.api.StorageType;
 import io.clonecloudstore.driver.api.exception.DriverException;
 import io.clonecloudstore.driver.api.exception.DriverNotFoundException;
 import io.clonecloudstore.driver.api.model.StorageObject;
+import io.clonecloudstore.driver.api.model.StoragePart;
 import io.clonecloudstore.replicator.config.ReplicatorConstants;
 import io.clonecloudstore.replicator.model.ReplicatorOrder;
 import io.clonecloudstore.replicator.model.ReplicatorResponse;
@@ -64,8 +83,6 @@ import jakarta.enterprise.inject.Instance;
 import jakarta.ws.rs.core.Response;
 import org.jboss.logging.Logger;
 
-import static io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository.BUCKET;
-
 /**
  * Accessor Object Service
  */
@@ -76,25 +93,47 @@ public class AccessorObjectService implements AccessorObjectServiceInterface {
   private static final String STATUS_STRING = " Status: ";
   private static final String ISSUE_STRING = " issue: ";
   private static final String NOT_ALLOWED = " not allowed";
+  /**
+   * Number of Objects handled per database query within a batch request (also the S3 DeleteObjects limit)
+   */
+  private static final int BATCH_CHUNK_SIZE = 1000;
+  /**
+   * Maximum part number of a Multipart upload (as S3)
+   */
+  private static final int MAX_PART_NUMBER = 10000;
+  private static final int MAX_MULTIPART_CLEANUP = 1000;
+  private static final String UPLOAD_ID = "UploadId: ";
   private final LocalReplicatorService localReplicatorService;
   private final DaoAccessorBucketRepository bucketRepository;
   private final DaoAccessorObjectRepository objectRepository;
+  private final DaoAccessorMultipartRepository multipartRepository;
+  private final DaoAccessorPartRepository partRepository;
   private final DriverApiFactory storageDriverFactory;
   private final OwnershipApiClientFactory ownershipApiClientFactory;
   private final FilesystemHandler filesystemHandler;
+  private final AccessorObjectCache accessorObjectCache;
+  private final AccessorObjectJournal accessorObjectJournal;
 
   public AccessorObjectService(final LocalReplicatorService localReplicatorService,
                                final Instance<DaoAccessorBucketRepository> bucketRepositoryInstance,
                                final Instance<DaoAccessorObjectRepository> objectRepositoryInstance,
+                               final Instance<DaoAccessorMultipartRepository> multipartRepositoryInstance,
+                               final Instance<DaoAccessorPartRepository> partRepositoryInstance,
                                final OwnershipApiClientFactory ownershipApiClientFactory,
-                               final FilesystemHandler filesystemHandler) {
+                               final FilesystemHandler filesystemHandler,
+                               final AccessorObjectCache accessorObjectCache,
+                               final AccessorObjectJournal accessorObjectJournal) {
     this.localReplicatorService = localReplicatorService;
     // Normal injection does not work, probably due to test only dependency
     this.bucketRepository = bucketRepositoryInstance.get();
     this.objectRepository = objectRepositoryInstance.get();
+    this.multipartRepository = multipartRepositoryInstance.get();
+    this.partRepository = partRepositoryInstance.get();
     this.storageDriverFactory = DriverApiRegistry.getDriverApiFactory();
     this.ownershipApiClientFactory = ownershipApiClientFactory;
     this.filesystemHandler = filesystemHandler;
+    this.accessorObjectCache = accessorObjectCache;
+    this.accessorObjectJournal = accessorObjectJournal;
   }
 
   private String mesg(final String bucketName, final String objectName) {
@@ -121,6 +160,28 @@ public class AccessorObjectService implements AccessorObjectServiceInterface {
     }
   }
 
+  /**
+   * @return the Object from cache or database, or null if it does not exist
+   */
+  private AccessorObject getCachedObject(final String bucketName, final String objectName) throws CcsDbException {
+    return accessorObjectCache.get(bucketName, objectName, () -> {
+      final var daoAccessorObject = accessorObjectJournal.getObject(bucketName, objectName);
+      return daoAccessorObject != null ? daoAccessorObject.getDto() : null;
+    });
+  }
+
+  /**
+   * @return the Object from cache or database if in status READY, else null
+   */
+  private AccessorObject getCachedReadyObject(final String bucketName, final String objectName)
+      throws CcsDbException {
+    final var accessorObject = getCachedObject(bucketName, objectName);
+    if (accessorObject != null && AccessorStatus.READY.equals(accessorObject.getStatus())) {
+      return accessorObject;
+    }
+    return null;
+  }
+
   /**
    * Check if object or directory exists (internal)
    *
@@ -146,22 +207,22 @@ public class AccessorObjectService implements AccessorObjectServiceInterface {
     try {
       // Check in DB and associated status
       var found = false;
-      var dao = objectRepository.getObject(bucketName, objectOrDirectoryName, AccessorStatus.READY);
-      found = dao != null;
+      found = getCachedReadyObject(bucketName, objectOrDirectoryName) != null;
       if (!found) {
-        final var daoAccessorObjectIterator =
-            objectRepository.getObjectPrefix(bucketName, objectOrDirectoryName, AccessorStatus.READY);
-        try {
-          if (daoAccessorObjectIterator != null && (daoAccessorObjectIterator.hasNext())) {
-            found = true;
-            checkOwnership(clientId, bucketName, ClientOwnership.READ, true);
-            final var daoAccessorObject = daoAccessorObjectIterator.next();
-            if (!daoAccessorObject.getName().equals(objectOrDirectoryName)) {
-              return StorageType.DIRECTORY;
-            }
+        // First name only in name order: the Object itself comes first if it exists, unless its pending status
+        // (journal not yet written into database) is no more READY, the next name being then checked as directory
+        final var pendingStatus = accessorObjectJournal.getPendingStatus(bucketName, objectOrDirectoryName);
+        final var masked = pendingStatus != null && !AccessorStatus.READY.equals(pendingStatus);
+        final var names = objectRepository.getFirstObjectNames(bucketName, objectOrDirectoryName,
+            AccessorStatus.READY, masked ? 2 : 1);
+        final var firstName = names.stream().filter(name -> !masked || !name.equals(objectOrDirectoryName))
+            .findFirst().orElse(null);
+        if (firstName != null) {
+          found = true;
+          checkOwnership(clientId, bucketName, ClientOwnership.READ, true);
+          if (!firstName.equals(objectOrDirectoryName)) {
+            return StorageType.DIRECTORY;
           }
-        } finally {
-          SystemTools.consumeAll(daoAccessorObjectIterator);
         }
       }
       if (!found) {
@@ -229,14 +290,13 @@ public class AccessorObjectService implements AccessorObjectServiceInterface {
                                    final boolean external) throws CcsOperationException {
     try {
       checkOwnership(clientId, bucketName, ClientOwnership.READ, false);
-      DbQuery query = new DbQuery(RestQuery.QUERY.EQ, BUCKET, bucketName);
-      if (filter != null) {
-        final var subQuery = DbQueryAccessorHelper.getDbQuery(filter);
-        if (subQuery != null) {
-          query = new DbQuery(RestQuery.CONJUNCTION.AND, query, subQuery);
-        }
+      if (filter != null && (filter.getPageSize() > 0 || filter.getContinuationToken() != null)) {
+        return filterObjectsPage(bucketName, filter);
       }
-      final var iterator = objectRepository.findIterator(query);
+      // Full listing by pages on the name, next page being read while the current one is sent
+      final var filterQuery =
+          filter != null ? DbQueryAccessorHelper.getDbQuery(filter, objectRepository.isMetadataIndexed()) : null;
+      final var iterator = objectRepository.getObjectsPagedIterator(bucketName, filterQuery);
       return StreamIteratorUtils.getInputStreamFromIterator(iterator, source -> ((DaoAccessorObject) source).getDto(),
           AccessorObject.class);
     } catch (final CcsDbException | IOException e) {
@@ -245,6 +305,35 @@ public class AccessorObjectService implements AccessorObjectServiceInterface {
     }
   }
 
+  /**
+   * One page of Objects ordered by name, resuming after the Object encoded in the continuation token if any.
+   * One more Object than the page size is read such that the next continuation token is only given when another
+   * page exists; the page is therefore held in memory (bounded by the maximum page size).
+   */
+  private InputStream filterObjectsPage(final String bucketName, final AccessorFilter filter)
+      throws CcsDbException, IOException {
+    var pageSize = filter.getPageSize();
+    if (pageSize <= 0 || pageSize > AccessorProperties.getListMaxPageSize()) {
+      pageSize = AccessorProperties.getListMaxPageSize();
+    }
+    final var startAfter = filter.getContinuationToken() != null ?
+        AccessorFilter.getNameFromContinuationToken(filter.getContinuationToken()) : null;
+    final var page = new ArrayList<AccessorObject>(pageSize + 1);
+    try (final var iterator = objectRepository.getObjectsPage(bucketName, startAfter,
+        DbQueryAccessorHelper.getDbQuery(filter, objectRepository.isMetadataIndexed()), pageSize + 1)) {
+      while (iterator.hasNext()) {
+        page.add(iterator.next().getDto());
+      }
+    }
+    String nextContinuationToken = null;
+    if (page.size() > pageSize) {
+      page.removeLast();
+      nextContinuationToken = AccessorFilter.getContinuationTokenAfter(page.getLast().getName());
+    }
+    return new ListingPageInputStream(
+        StreamIteratorUtils.getInputStreamFromIterator(page.iterator(), AccessorObject.class), nextContinuationToken);
+  }
+
   /**
    * Check from DB if Object is pullable
    */
@@ -253,13 +342,24 @@ public class AccessorObjectService implements AccessorObjectServiceInterface {
                                                           final String opId)
       throws CcsNotExistException, CcsOperationException {
     try {
-      // Search objectName in database and check status
-      final var daoAccessorObject = objectRepository.getObject(bucketName, objectName, AccessorStatus.READY);
+      if (AccessorProperties.isReadSingleCall()) {
+        // No Driver check and no status check: the read itself will report absence,
+        // cached or database metadata (if any) being kept for the response headers
+        checkOwnership(clientId, bucketName, ClientOwnership.READ, true);
+        final var accessorObject = getCachedObject(bucketName, objectName);
+        return new ReplicatorResponse<>(accessorObject != null ? accessorObject :
+            new AccessorObject().setBucket(bucketName).setName(objectName), null);
+      }
+      final AccessorObject accessorObject;
+      if (AccessorProperties.isReadTrustDatabase()) {
+        // Database is authoritative: the read itself will report absence from Driver
+        accessorObject = getCachedReadyObject(bucketName, objectName);
+      } else {
+        accessorObject = getReadyAndDriverExistingObject(bucketName, objectName);
+      }
       // If not found or not Ready or not in driver
-      var driverExists = isDriverExists(bucketName, objectName);
-      if (daoAccessorObject == null || !AccessorStatus.READY.equals(daoAccessorObject.getStatus()) || !driverExists) {
+      if (accessorObject == null) {
         // Remote check but no checkOwnership locally
-        // Else use remote check.
         final var storageType = remoteCheckObject(external, bucketName, objectName, clientId, opId);
         if (StorageType.OBJECT.equals(storageType.response())) {
           return new ReplicatorResponse<>(new AccessorObject().setBucket(bucketName).setName(objectName),
@@ -268,17 +368,45 @@ public class AccessorObjectService implements AccessorObjectServiceInterface {
         throw new CcsNotExistException("Object not found");
       }
       checkOwnership(clientId, bucketName, ClientOwnership.READ, true);
-      return new ReplicatorResponse<>(daoAccessorObject.getDto(), null);
+      return new ReplicatorResponse<>(accessorObject, null);
     } catch (final CcsDbException e) {
       throw new CcsOperationException("Database error on check pullable : " + bucketName + " - " + objectName, e);
     }
   }
 
-  private boolean isDriverExists(final String bucketName, final String objectName) {
+  private AccessorObject getReadyAndDriverExistingObject(final String bucketName, final String objectName)
+      throws CcsDbException {
     try (final var driver = storageDriverFactory.getInstance()) {
-      var result = StorageType.OBJECT.equals(driver.directoryOrObjectExistsInBucket(bucketName, objectName));
-      if (result) {
-        return result;
+      // Driver check is started first so that it runs concurrently with the database lookup
+      final var driverCheck = driver.async().directoryOrObjectExistsInBucket(bucketName, objectName);
+      // Search objectName in database and check status
+      final var accessorObject = getCachedReadyObject(bucketName, objectName);
+      if (accessorObject != null && isDriverExists(driverCheck, bucketName, objectName)) {
+        return accessorObject;
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Remote check but no checkOwnership locally, used when the local read reports absence while not checked before
+   *
+   * @return the remote target id if the Object is available remotely, else null
+   */
+  public String getRemoteTargetId(final boolean external, final String bucketName, final String objectName,
+                                  final String clientId, final String opId) {
+    final var storageType = remoteCheckObject(external, bucketName, objectName, clientId, opId);
+    if (StorageType.OBJECT.equals(storageType.response())) {
+      return storageType.targetId();
+    }
+    return null;
+  }
+
+  private boolean isDriverExists(final CompletionStage<StorageType> driverCheck, final String bucketName,
+                                 final String objectName) {
+    try {
+      if (StorageType.OBJECT.equals(DriverAsyncApi.await(driverCheck))) {
+        return true;
       }
     } catch (final DriverException ignore) {
       // Ignore exception
@@ -324,12 +452,12 @@ public class AccessorObjectService implements AccessorObjectServiceInterface {
   public AccessorObject getObjectInfo(final String bucketName, final String objectName, final String clientId)
       throws CcsNotExistException, CcsOperationException {
     try {
-      final var daoObject = objectRepository.getObject(bucketName, objectName);
-      if (daoObject == null) {
+      final var accessorObject = getCachedObject(bucketName, objectName);
+      if (accessorObject == null) {
         throw new CcsNotExistException(mesg(bucketName, objectName) + " not found");
       }
       checkOwnership(clientId, bucketName, ClientOwnership.READ, true);
-      return daoObject.getDto();
+      return accessorObject;
     } catch (final CcsDbException e) {
       throw new CcsOperationException("Database error on get object info : " + bucketName + " - " + objectName, e);
     }
@@ -353,7 +481,7 @@ public class AccessorObjectService implements AccessorObjectServiceInterface {
       }
       checkOwnership(clientId, accessorObject.getBucket(), ClientOwnership.WRITE, false);
       // Now Object check
-      var daoAccessorObject = objectRepository.getObject(accessorObject.getBucket(), accessorObject.getName());
+      var daoAccessorObject = accessorObjectJournal.getObject(accessorObject.getBucket(), accessorObject.getName());
       if (daoAccessorObject != null) {
         if (daoAccessorObject.getStatus() != AccessorStatus.DELETED) {
           if (daoAccessorObject.getStatus() == AccessorStatus.UPLOAD) {
@@ -365,11 +493,14 @@ public class AccessorObjectService implements AccessorObjectServiceInterface {
               mesg(accessorObject.getBucket(), accessorObject.getName()) + STATUS_STRING +
                   daoAccessorObject.getStatus());
         }
+        // Previous hash of the deleted Object must not remain
+        final var previousHash = daoAccessorObject.getHash();
         daoAccessorObject.setStatus(AccessorStatus.UPLOAD).setHash(hash).setSize(len).setCreation(Instant.now());
-        if (ParametersChecker.isNotEmpty(hash) || len > 0) {
+        if (ParametersChecker.isNotEmpty(hash) || len > 0 || ParametersChecker.isNotEmpty(previousHash)) {
+          accessorObjectJournal.flush(accessorObject.getBucket(), List.of(accessorObject.getName()));
           objectRepository.updateFull(daoAccessorObject);
         } else {
-          objectRepository.updateObjectStatus(accessorObject.getBucket(), accessorObject.getName(),
+          accessorObjectJournal.updateObjectStatus(accessorObject.getBucket(), accessorObject.getName(),
               AccessorStatus.UPLOAD, daoAccessorObject.getCreation());
         }
       } else {
@@ -380,6 +511,7 @@ public class AccessorObjectService implements AccessorObjectServiceInterface {
             .setCreation(Instant.now()).setStatus(AccessorStatus.UPLOAD);
         objectRepository.insert(daoAccessorObject);
       }
+      accessorObjectCache.invalidate(accessorObject.getBucket(), accessorObject.getName());
       return daoAccessorObject.getDto();
     } catch (final CcsDbException e) {
       throw new CcsOperationException(
@@ -396,13 +528,14 @@ public class AccessorObjectService implements AccessorObjectServiceInterface {
       throws CcsOperationException {
     try {
       // Update Database with status Ready and metadata from ObjectStorage
-      objectRepository.updateObjectStatusHashLen(accessorObject.getBucket(), accessorObject.getName(),
+      accessorObjectJournal.updateObjectStatusHashLen(accessorObject.getBucket(), accessorObject.getName(),
           AccessorStatus.READY, hash, len);
+      accessorObjectCache.invalidate(accessorObject.getBucket(), accessorObject.getName());
       if (external) {
         // Send message to replicator topic.
         localReplicatorService.create(accessorObject.getBucket(), accessorObject.getName(), clientId, len, hash);
       }
-      var temp = objectRepository.getObject(accessorObject.getBucket(), accessorObject.getName());
+      var temp = accessorObjectJournal.getObject(accessorObject.getBucket(), accessorObject.getName());
       return temp.getDto();
     } catch (final CcsDbException e) {
       throw new CcsOperationException(
@@ -420,7 +553,7 @@ public class AccessorObjectService implements AccessorObjectServiceInterface {
       throws CcsDeletedException, CcsNotExistException, CcsOperationException {
     try {
       // Check existence first in DB
-      final var daoAccessorObject = objectRepository.getObject(bucketName, objectName);
+      final var daoAccessorObject = accessorObjectJournal.getObject(bucketName, objectName);
       if (daoAccessorObject != null) {
         checkOwnership(clientId, bucketName, ClientOwnership.DELETE, false);
         LOGGER.debugf("Dao: %s", daoAccessorObject);
@@ -430,14 +563,16 @@ public class AccessorObjectService implements AccessorObjectServiceInterface {
           }
           throw new CcsOperationException(mesg(bucketName, objectName) + STATUS_STRING + daoAccessorObject.getStatus());
         }
-        objectRepository.updateObjectStatus(bucketName, objectName, AccessorStatus.DELETING, null);
+        accessorObjectJournal.updateObjectStatus(bucketName, objectName, AccessorStatus.DELETING, null);
+        accessorObjectCache.invalidate(bucketName, objectName);
       } else {
         throw new CcsNotExistException(mesg(bucketName, objectName) + STATUS_STRING + AccessorStatus.UNKNOWN);
       }
       // Delete in S3
       deleteObjectOnStorage(bucketName, objectName, daoAccessorObject);
       // Update status in DB to Deleted
-      objectRepository.updateObjectStatus(bucketName, objectName, AccessorStatus.DELETED, null);
+      accessorObjectJournal.updateObjectStatus(bucketName, objectName, AccessorStatus.DELETED, null);
+      accessorObjectCache.invalidate(bucketName, objectName);
       if (external) {
         // Send message to replicator topic
         localReplicatorService.delete(bucketName, objectName, clientId);
@@ -459,19 +594,395 @@ public class AccessorObjectService implements AccessorObjectServiceInterface {
     } catch (final DriverException e) {
       // If locally deleted, might be OK, else in error
       if (!fsDeleted) {
-        objectRepository.updateObjectStatus(bucketName, objectName, AccessorStatus.ERR_DEL, null);
+        accessorObjectJournal.updateObjectStatus(bucketName, objectName, AccessorStatus.ERR_DEL, null);
+        accessorObjectCache.invalidate(bucketName, objectName);
         throw new CcsOperationException(mesg(bucketName, objectName) + STATUS_STRING + daoAccessorObject.getStatus(),
             e);
       }
     }
   }
 
+  /**
+   * Apply one action on several Objects of the same Bucket: ownership is checked once, items are read and Objects
+   * are fetched and updated in database one chunk at a time while results are consumed, and deleted on Driver
+   * Storage using its batch deletion.
+   *
+   * @param items the items, read lazily while results are consumed
+   * @return the per item results, in the same order as the items
+   */
+  @Override
+  public Iterator<AccessorBatchResult> batchObjects(final String bucketName, final AccessorBatchAction action,
+                                                    final Iterator<AccessorBatchItem> items, final String clientId,
+                                                    final boolean external) throws CcsOperationException {
+    final var ownership = switch (action) {
+      case INFO -> ClientOwnership.READ;
+      case DELETE -> ClientOwnership.DELETE;
+      case UPDATE_METADATA -> ClientOwnership.WRITE;
+    };
+    checkOwnership(clientId, bucketName, ownership, AccessorBatchAction.INFO.equals(action));
+    return new BatchResultIterator(items, BATCH_CHUNK_SIZE, AccessorProperties.getBatchMaxItems(),
+        chunk -> batchChunk(bucketName, action, chunk, clientId, external));
+  }
+
+  private List<AccessorBatchResult> batchChunk(final String bucketName, final AccessorBatchAction action,
+                                               final List<AccessorBatchItem> chunk, final String clientId,
+                                               final boolean external) {
+    final var results = new ArrayList<AccessorBatchResult>(chunk.size());
+    try {
+      final var found = getObjects(bucketName, chunk);
+      switch (action) {
+        case INFO -> batchInfo(chunk, found, results);
+        case DELETE -> batchDelete(bucketName, chunk, found, clientId, external, results);
+        case UPDATE_METADATA -> batchUpdateMetadata(bucketName, chunk, found, results);
+      }
+    } catch (final CcsDbException e) {
+      throw new CcsOperationException("Database error on batch " + action + " : " + bucketName, e);
+    }
+    return results;
+  }
+
+  private Map<String, DaoAccessorObject> getObjects(final String bucketName, final List<AccessorBatchItem> chunk)
+      throws CcsDbException {
+    final var found = new HashMap<String, DaoAccessorObject>(chunk.size());
+    final var names = chunk.stream().map(AccessorBatchItem::name).toList();
+    // Batch actions read and update the database directly
+    accessorObjectJournal.flush(bucketName, names);
+    try (final var iterator = objectRepository.getObjects(bucketName, names)) {
+      iterator.forEachRemaining(daoAccessorObject -> found.put(daoAccessorObject.getName(), daoAccessorObject));
+    }
+    return found;
+  }
+
+  private static AccessorBatchResult notFound(final String objectName) {
+    return new AccessorBatchResult(objectName, Response.Status.NOT_FOUND.getStatusCode(),
+        AccessorStatus.UNKNOWN.name());
+  }
+
+  private void batchInfo(final List<AccessorBatchItem> chunk, final Map<String, DaoAccessorObject> found,
+                         final List<AccessorBatchResult> results) {
+    for (final var item : chunk) {
+      final var daoAccessorObject = found.get(item.name());
+      if (daoAccessorObject == null) {
+        results.add(notFound(item.name()));
+      } else {
+        results.add(
+            new AccessorBatchResult(item.name(), Response.Status.OK.getStatusCode(), daoAccessorObject.getDto()));
+      }
+    }
+  }
+
+  private void batchDelete(final String bucketName, final List<AccessorBatchItem> chunk,
+                           final Map<String, DaoAccessorObject> found, final String clientId, final boolean external,
+                           final List<AccessorBatchResult> results) throws CcsDbException {
+    final var deletable = new HashSet<String>(chunk.size());
+    for (final var daoAccessorObject : found.values()) {
+      if (AccessorStatus.READY.equals(daoAccessorObject.getStatus())) {
+        deletable.add(daoAccessorObject.getName());
+      }
+    }
+    Map<String, DriverException> errors = Map.of();
+    final var inError = new HashSet<String>();
+    if (!deletable.isEmpty()) {
+      objectRepository.updateObjectsStatus(bucketName, deletable, AccessorStatus.DELETING);
+      deletable.forEach(objectName -> accessorObjectCache.invalidate(bucketName, objectName));
+      final var fsDeleted = new HashMap<String, Boolean>(deletable.size());
+      if (AccessorProperties.isStoreActive()) {
+        deletable.forEach(
+            objectName -> fsDeleted.put(objectName, filesystemHandler.unregisterItem(bucketName, objectName)));
+      }
+      try (final var driver = storageDriverFactory.getInstance()) {
+        errors = driver.objectsDeleteInBucket(bucketName, deletable);
+      }
+      final var deleted = new ArrayList<String>(deletable.size());
+      for (final var objectName : deletable) {
+        final var error = errors.get(objectName);
+        // Not found in Driver Storage or locally deleted is considered as deleted
+        if (error == null || error instanceof DriverNotFoundException ||
+            Boolean.TRUE.equals(fsDeleted.get(objectName))) {
+          deleted.add(objectName);
+        } else {
+          inError.add(objectName);
+        }
+      }
+      if (!deleted.isEmpty()) {
+        objectRepository.updateObjectsStatus(bucketName, deleted, AccessorStatus.DELETED);
+      }
+      if (!inError.isEmpty()) {
+        objectRepository.updateObjectsStatus(bucketName, inError, AccessorStatus.ERR_DEL);
+      }
+      deletable.forEach(objectName -> accessorObjectCache.invalidate(bucketName, objectName));
+    }
+    for (final var item : chunk) {
+      final var daoAccessorObject = found.get(item.name());
+      if (daoAccessorObject == null) {
+        results.add(notFound(item.name()));
+      } else if (inError.contains(item.name())) {
+        results.add(new AccessorBatchResult(item.name(), Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+            AccessorStatus.ERR_DEL.name() + ISSUE_STRING + errors.get(item.name()).getMessage()));
+      } else if (deletable.contains(item.name())) {
+        results.add(new AccessorBatchResult(item.name(), Response.Status.NO_CONTENT.getStatusCode(),
+            (AccessorObject) null));
+        if (external) {
+          // Send message to replicator topic
+          localReplicatorService.delete(bucketName, item.name(), clientId);
+        }
+      } else if (AccessorStatus.DELETED.equals(daoAccessorObject.getStatus())) {
+        results.add(new AccessorBatchResult(item.name(), Response.Status.GONE.getStatusCode(),
+            daoAccessorObject.getStatus().name()));
+      } else {
+        results.add(new AccessorBatchResult(item.name(), Response.Status.CONFLICT.getStatusCode(),
+            daoAccessorObject.getStatus().name()));
+      }
+    }
+  }
+
+  private void batchUpdateMetadata(final String bucketName, final List<AccessorBatchItem> chunk,
+                                   final Map<String, DaoAccessorObject> found,
+                                   final List<AccessorBatchResult> results) throws CcsDbException {
+    // Results are added in order, the updated ones being completed once written in one bulk for the chunk
+    final var chunkResults = new ArrayList<AccessorBatchResult>(chunk.size());
+    final var updated = new HashMap<String, Map<String, String>>(chunk.size());
+    for (final var item : chunk) {
+      final var daoAccessorObject = found.get(item.name());
+      if (daoAccessorObject == null) {
+        chunkResults.add(notFound(item.name()));
+      } else if (!AccessorStatus.READY.equals(daoAccessorObject.getStatus())) {
+        chunkResults.add(new AccessorBatchResult(item.name(), Response.Status.CONFLICT.getStatusCode(),
+            daoAccessorObject.getStatus().name()));
+      } else {
+        try {
+          final var metadata = item.metadata() != null ? item.metadata() : Map.<String, String>of();
+          ParametersChecker.checkSanityMap(metadata);
+          updated.put(item.name(), metadata);
+          chunkResults.add(null);
+        } catch (final CcsInvalidArgumentRuntimeException e) {
+          chunkResults.add(new AccessorBatchResult(item.name(), Response.Status.BAD_REQUEST.getStatusCode(),
+              e.getMessage()));
+        }
+      }
+    }
+    // Targeted update of the metadata of still READY Objects, such that a concurrent change is never overwritten
+    final var notUpdated = objectRepository.updateMetadataBulk(bucketName, updated);
+    updated.keySet().forEach(objectName -> accessorObjectCache.invalidate(bucketName, objectName));
+    for (var i = 0; i < chunk.size(); i++) {
+      final var result = chunkResults.get(i);
+      if (result != null) {
+        results.add(result);
+        continue;
+      }
+      final var name = chunk.get(i).name();
+      if (notUpdated.contains(name)) {
+        // Deleted or changed since read
+        results.add(new AccessorBatchResult(name, Response.Status.CONFLICT.getStatusCode(),
+            "Object changed concurrently"));
+      } else {
+        final var dto = found.get(name).getDto();
+        dto.setMetadata(updated.get(name));
+        results.add(new AccessorBatchResult(name, Response.Status.OK.getStatusCode(), dto));
+      }
+    }
+  }
+
+  /**
+   * Start a Multipart upload: the Object is created in DB in status UPLOAD (same checks than a simple creation) and
+   * the upload is started on Driver Storage. The hash of the whole Object is never known (no server side digest of
+   * the assembled Object), so none is kept, a declared one being not verifiable.
+   */
+  @Override
+  public AccessorMultipartUpload initiateMultipartUpload(final AccessorObject accessorObject, final String clientId)
+      throws CcsOperationException, CcsAlreadyExistException, CcsNotExistException, CcsNotAcceptableException {
+    final var created = createObject(accessorObject.setHash(null), null, 0, clientId);
+    try (final var driver = storageDriverFactory.getInstance()) {
+      final var driverUploadId = driver.objectMultipartInitiateInBucket(getStorageObject(created));
+      final var dao =
+          multipartRepository.insertMultipart(GuidLike.getGuid(), created.getBucket(), created.getName(),
+              driverUploadId, clientId);
+      return dao.getDto(List.of());
+    } catch (final DriverNotFoundException e) {
+      inError(created.getBucket(), created.getName());
+      throw new CcsNotExistException(mesg(created.getBucket(), created.getName()) + ISSUE_STRING + e.getMessage(), e);
+    } catch (final DriverException | CcsDbException e) {
+      inError(created.getBucket(), created.getName());
+      throw new CcsOperationException(mesg(created.getBucket(), created.getName()) + ISSUE_STRING + e.getMessage(),
+          e);
+    }
+  }
+
+  private static StorageObject getStorageObject(final AccessorObject accessorObject) {
+    return new StorageObject(accessorObject.getBucket(), accessorObject.getName(), accessorObject.getHash(),
+        accessorObject.getSize(), accessorObject.getCreation(), accessorObject.getExpires(),
+        accessorObject.getMetadata());
+  }
+
+  /**
+   * @return the Multipart upload if it exists and belongs to this client
+   */
+  private DaoAccessorMultipart getMultipart(final String uploadId, final String clientId)
+      throws CcsNotExistException, CcsOperationException {
+    try {
+      final var dao = multipartRepository.getMultipart(uploadId);
+      if (dao == null || !dao.getClientId().equals(clientId)) {
+        throw new CcsNotExistException(UPLOAD_ID + uploadId + STATUS_STRING + AccessorStatus.UNKNOWN);
+      }
+      return dao;
+    } catch (final CcsDbException e) {
+      throw new CcsOperationException("Database error on multipart upload : " + uploadId, e);
+    }
+  }
+
+  /**
+   * Upload one Part (1 to 10000) of known size; uploading again the same part number replaces it
+   */
+  @Override
+  public AccessorMultipartPart uploadMultipartPart(final String uploadId, final int partNumber,
+                                                   final InputStream inputStream, final long len,
+                                                   final String clientId)
+      throws CcsOperationException, CcsNotExistException, CcsNotAcceptableException {
+    if (partNumber < 1 || partNumber > MAX_PART_NUMBER || len <= 0) {
+      SystemTools.consumeWhileErrorInputStream(inputStream);
+      throw new CcsNotAcceptableException(
+          UPLOAD_ID + uploadId + " invalid part number or unknown size: " + partNumber + " - " + len);
+    }
+    final DaoAccessorMultipart dao;
+    try {
+      dao = getMultipart(uploadId, clientId);
+    } catch (final RuntimeException e) {
+      SystemTools.consumeWhileErrorInputStream(inputStream);
+      throw e;
+    }
+    try (final var driver = storageDriverFactory.getInstance()) {
+      final var part = driver.objectMultipartUploadPartInBucket(
+          new StorageObject(dao.getBucket(), dao.getName(), null, 0, null), dao.getDriverUploadId(), partNumber,
+          inputStream, len);
+      return partRepository.savePart(uploadId, partNumber, part.etag(), part.size()).getDto();
+    } catch (final DriverNotFoundException e) {
+      throw new CcsNotExistException(mesg(dao.getBucket(), dao.getName()) + ISSUE_STRING + e.getMessage(), e);
+    } catch (final DriverException | CcsDbException e) {
+      throw new CcsOperationException(mesg(dao.getBucket(), dao.getName()) + ISSUE_STRING + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * @return the Multipart upload with its already uploaded Parts, allowing a client to resume it
+   */
+  @Override
+  public AccessorMultipartUpload listMultipartParts(final String uploadId, final String clientId)
+      throws CcsOperationException, CcsNotExistException {
+    final var dao = getMultipart(uploadId, clientId);
+    try {
+      return dao.getDto(partRepository.getParts(uploadId).stream().map(DaoAccessorPart::getDto).toList());
+    } catch (final CcsDbException e) {
+      throw new CcsOperationException("Database error on multipart upload : " + uploadId, e);
+    }
+  }
+
+  /**
+   * Assemble all uploaded Parts into the final Object on Driver Storage, then finalize it as for a simple creation,
+   * without hash (so without strong ETag)
+   */
+  @Override
+  public AccessorObject completeMultipartUpload(final String uploadId, final String clientId, final boolean external)
+      throws CcsOperationException, CcsNotExistException, CcsNotAcceptableException {
+    final var dao = getMultipart(uploadId, clientId);
+    try (final var driver = storageDriverFactory.getInstance()) {
+      final var parts = partRepository.getParts(uploadId);
+      if (parts.isEmpty()) {
+        throw new CcsNotAcceptableException(UPLOAD_ID + uploadId + " has no part");
+      }
+      final var daoAccessorObject = accessorObjectJournal.getObject(dao.getBucket(), dao.getName());
+      if (daoAccessorObject == null || daoAccessorObject.getStatus() != AccessorStatus.UPLOAD) {
+        throw new CcsNotExistException(mesg(dao.getBucket(), dao.getName()) + STATUS_STRING +
+            (daoAccessorObject == null ? AccessorStatus.UNKNOWN : daoAccessorObject.getStatus()));
+      }
+      final var accessorObject = daoAccessorObject.getDto().setHash(null);
+      final var storageObject = driver.objectMultipartCompleteInBucket(getStorageObject(accessorObject),
+          dao.getDriverUploadId(),
+          parts.stream().map(part -> new StoragePart(part.getPartNumber(), part.getEtag(), part.getSize())).toList());
+      final var result = createObjectFinalize(accessorObject, null, storageObject.size(), clientId, external);
+      partRepository.deleteParts(uploadId);
+      multipartRepository.deleteWithPk(uploadId);
+      return result;
+    } catch (final DriverNotFoundException e) {
+      throw new CcsNotExistException(mesg(dao.getBucket(), dao.getName()) + ISSUE_STRING + e.getMessage(), e);
+    } catch (final DriverException | CcsDbException e) {
+      throw new CcsOperationException(mesg(dao.getBucket(), dao.getName()) + ISSUE_STRING + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Abort the Multipart upload: Parts are removed and the Object is marked as DELETED, so it can be created again
+   */
+  @Override
+  public void abortMultipartUpload(final String uploadId, final String clientId)
+      throws CcsOperationException, CcsNotExistException {
+    abortMultipart(getMultipart(uploadId, clientId));
+  }
+
+  private void abortMultipart(final DaoAccessorMultipart dao) throws CcsOperationException {
+    final var uploadId = dao.getId();
+    try (final var driver = storageDriverFactory.getInstance()) {
+      driver.objectMultipartAbortInBucket(new StorageObject(dao.getBucket(), dao.getName(), null, 0, null),
+          dao.getDriverUploadId());
+    } catch (final DriverNotFoundException e) {
+      // Ignore
+      LOGGER.debugf("Try to abort but not found: %s", dao);
+    } catch (final DriverException e) {
+      throw new CcsOperationException(mesg(dao.getBucket(), dao.getName()) + ISSUE_STRING + e.getMessage(), e);
+    }
+    try {
+      partRepository.deleteParts(uploadId);
+      multipartRepository.deleteWithPk(uploadId);
+      final var daoAccessorObject = accessorObjectJournal.getObject(dao.getBucket(), dao.getName());
+      if (daoAccessorObject != null && daoAccessorObject.getStatus() == AccessorStatus.UPLOAD) {
+        accessorObjectJournal.updateObjectStatus(dao.getBucket(), dao.getName(), AccessorStatus.DELETED, null);
+        accessorObjectCache.invalidate(dao.getBucket(), dao.getName());
+      }
+    } catch (final CcsDbException e) {
+      throw new CcsOperationException("Database error on multipart upload abort : " + uploadId, e);
+    }
+  }
+
+  /**
+   * Abort all Multipart uploads of this site older than the configured expiry (parts, driver side and DB)
+   *
+   * @return the number of aborted uploads
+   */
+  public int cleanExpiredMultipartUploads() {
+    final var before = Instant.now().minusSeconds(AccessorProperties.getMultipartExpirySeconds());
+    var count = 0;
+    try {
+      List<DaoAccessorMultipart> expired;
+      var aborted = 0;
+      do {
+        expired = multipartRepository.getExpiredMultiparts(before, MAX_MULTIPART_CLEANUP);
+        aborted = 0;
+        for (final var dao : expired) {
+          try {
+            abortMultipart(dao);
+            aborted++;
+          } catch (final CcsOperationException e) {
+            LOGGER.warnf("Cannot abort expired multipart upload %s: %s", dao.getId(), e.getMessage());
+          }
+        }
+        count += aborted;
+        // Stop if nothing could be aborted to prevent looping on the same failing uploads
+      } while (expired.size() == MAX_MULTIPART_CLEANUP && aborted > 0);
+    } catch (final CcsDbException e) {
+      LOGGER.warnf("Cannot list expired multipart uploads: %s", e.getMessage());
+    }
+    if (count > 0) {
+      LOGGER.infof("Aborted %d expired multipart uploads", count);
+    }
+    return count;
+  }
+
   /**
    * Called only when QuarkusStreamHandler is in Error and Object in status UPLOAD or UNKNOWN
    */
   public void inError(final String bucketName, final String objectName) {
     try {
-      objectRepository.updateObjectStatus(bucketName, objectName, AccessorStatus.ERR_UPL, null);
+      accessorObjectJournal.updateObjectStatus(bucketName, objectName, AccessorStatus.ERR_UPL, null);
+      accessorObjectCache.invalidate(bucketName, objectName);
     } catch (final CcsDbException ignore) {
       // Ignore
     }
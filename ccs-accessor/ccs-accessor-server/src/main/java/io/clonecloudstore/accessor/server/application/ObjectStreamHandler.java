@@ -26,6 +26,7 @@ import io.clonecloudstore.accessor.client.model.AccessorHeaderDtoConverter;
 import io.clonecloudstore.accessor.model.AccessorObject;
 import io.clonecloudstore.accessor.model.AccessorStatus;
 import io.clonecloudstore.accessor.server.commons.AbstractObjectStreamHandler;
+import io.clonecloudstore.accessor.server.commons.ListingPageInputStream;
 import io.clonecloudstore.common.quarkus.client.InputStreamBusinessOut;
 import io.clonecloudstore.common.quarkus.exception.CcsNotExistException;
 import io.clonecloudstore.common.quarkus.exception.CcsOperationException;
@@ -85,7 +86,11 @@ public class ObjectStreamHandler extends AbstractObjectStreamHandler {
   protected InputStream getPullInputStream(final AccessorObject object) {
     try {
       if (isListing) {
-        return service.filterObjects(object.getBucket(), filter, clientId, external);
+        final var inputStream = service.filterObjects(object.getBucket(), filter, clientId, external);
+        if (inputStream instanceof ListingPageInputStream page) {
+          nextContinuationToken = page.getNextContinuationToken();
+        }
+        return inputStream;
       }
       LOGGER.debugf("Debug Log Read: %s %s", object.getBucket(), object.getName());
       return driverApi.objectGetInputStreamInBucket(object.getBucket(), object.getName());
@@ -94,6 +99,12 @@ public class ObjectStreamHandler extends AbstractObjectStreamHandler {
       if (inputStream != null) {
         return inputStream;
       }
+      if (external && AccessorProperties.isRemoteRead() && remoteTargetId.get() == null &&
+          (AccessorProperties.isReadTrustDatabase() || AccessorProperties.isReadSingleCall())) {
+        // Absence was not checked before reading, so remote check now
+        remoteTargetId.set(((AccessorObjectService) service).getRemoteTargetId(external, object.getBucket(),
+            object.getName(), clientId, getOpId()));
+      }
       if (external && AccessorProperties.isRemoteRead() && remoteTargetId.get() != null) {
         //Else use remote read.
         // Replicator client to remote read (which will raised NOT_FOUND if necessary)
@@ -20,27 +20,30 @@ import java.time.Instant;
 
 import io.clonecloudstore.accessor.model.AccessorObject;
 import io.clonecloudstore.accessor.model.AccessorStatus;
+import io.clonecloudstore.accessor.server.application.AccessorObjectCache;
+import io.clonecloudstore.accessor.server.application.AccessorObjectJournal;
 import io.clonecloudstore.accessor.server.commons.buffer.CcsBufferService;
-import io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository;
 import io.clonecloudstore.common.database.utils.exception.CcsDbException;
 import io.quarkus.arc.Unremovable;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.enterprise.inject.Instance;
 
 @ApplicationScoped
 @Unremovable
 public class CcsBufferAccessorService extends CcsBufferService {
-  private final DaoAccessorObjectRepository objectRepository;
+  private final AccessorObjectJournal accessorObjectJournal;
+  private final AccessorObjectCache accessorObjectCache;
 
-  public CcsBufferAccessorService(final Instance<DaoAccessorObjectRepository> objectRepositoryInstance) {
-    this.objectRepository = objectRepositoryInstance.get();
+  public CcsBufferAccessorService(final AccessorObjectJournal accessorObjectJournal,
+                                  final AccessorObjectCache accessorObjectCache) {
+    this.accessorObjectJournal = accessorObjectJournal;
+    this.accessorObjectCache = accessorObjectCache;
   }
 
 
   @Override
   protected AccessorObject getAccessorObjectFromDb(final String bucket, final String object) {
     try {
-      final var dao = objectRepository.getObject(bucket, object);
+      final var dao = accessorObjectJournal.getObject(bucket, object);
       if (dao != null) {
         return dao.getDto();
       }
@@ -53,7 +56,8 @@ public class CcsBufferAccessorService extends CcsBufferService {
   @Override
   protected void updateStatusAccessorObject(final AccessorObject object, final AccessorStatus status) {
     try {
-      objectRepository.updateObjectStatus(object.getBucket(), object.getName(), status, Instant.now());
+      accessorObjectJournal.updateObjectStatus(object.getBucket(), object.getName(), status, Instant.now());
+      accessorObjectCache.invalidate(object.getBucket(), object.getName());
     } catch (CcsDbException ignore) {
       // ignore
     }
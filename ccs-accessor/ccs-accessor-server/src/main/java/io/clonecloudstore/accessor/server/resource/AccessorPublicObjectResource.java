@@ -19,7 +19,6 @@ package io.clonecloudstore.accessor.server.resource;
 import java.io.InputStream;
 
 import io.clonecloudstore.accessor.config.AccessorConstants;
-import io.clonecloudstore.accessor.model.AccessorObject;
 import io.clonecloudstore.accessor.server.application.AccessorObjectService;
 import io.clonecloudstore.accessor.server.application.ObjectStreamHandler;
 import io.clonecloudstore.accessor.server.commons.AbstractAccessorPublicObjectResource;
@@ -54,15 +53,17 @@ public class AccessorPublicObjectResource extends AbstractAccessorPublicObjectRe
   @Override
   @Blocking
   public Uni<Response> checkObjectOrDirectory(final String bucketName, final String pathDirectoryOrObject,
-                                              final String clientId, final String opId) {
-    return super.checkObjectOrDirectory(bucketName, pathDirectoryOrObject, clientId, opId);
+                                              final String clientId, final String opId, final String ifNoneMatch,
+                                              final String ifModifiedSince) {
+    return super.checkObjectOrDirectory(bucketName, pathDirectoryOrObject, clientId, opId, ifNoneMatch,
+        ifModifiedSince);
   }
 
   @Override
   @Blocking
-  public Uni<AccessorObject> getObjectInfo(final String bucketName, final String objectName, final String clientId,
-                                           final String opId) {
-    return super.getObjectInfo(bucketName, objectName, clientId, opId);
+  public Uni<Response> getObjectInfo(final String bucketName, final String objectName, final String clientId,
+                                     final String opId, final String ifNoneMatch, final String ifModifiedSince) {
+    return super.getObjectInfo(bucketName, objectName, clientId, opId, ifNoneMatch, ifModifiedSince);
   }
 
   @Override
@@ -90,7 +91,7 @@ public class AccessorPublicObjectResource extends AbstractAccessorPublicObjectRe
   @Override
   @Blocking
   public Uni<Response> deleteObject(final String bucketName, final String objectName, final String clientId,
-                                    final String opId) {
-    return super.deleteObject(bucketName, objectName, clientId, opId);
+                                    final String opId, final String ifMatch) {
+    return super.deleteObject(bucketName, objectName, clientId, opId, ifMatch);
   }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.accessor.server.resource.internal;
+
+import io.clonecloudstore.common.database.utils.DbQueryProfiler;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.resteasy.reactive.NoCache;
+
+import static io.clonecloudstore.accessor.config.AccessorConstants.Api.COLL_DIAGNOSTICS;
+import static io.clonecloudstore.accessor.config.AccessorConstants.Api.INTERNAL_ROOT;
+import static io.clonecloudstore.accessor.config.AccessorConstants.Api.TAG_DIAGNOSTICS;
+import static io.clonecloudstore.accessor.config.AccessorConstants.Api.TAG_INTERNAL;
+
+/**
+ * Diagnostics API Resource: Database query profiling and index recommendations
+ */
+@Path(INTERNAL_ROOT + COLL_DIAGNOSTICS)
+@NoCache
+public class AccessorDiagnosticsResource {
+  public static final String SUB_COLL_DB = "/db";
+
+  @Tag(name = TAG_INTERNAL + TAG_DIAGNOSTICS)
+  @Path(SUB_COLL_DB)
+  @Operation(summary = "Database query profiling report", description =
+      "Get the statistics per query shape, the last slow queries and the recommended indexes")
+  @GET
+  @Produces(MediaType.APPLICATION_JSON)
+  @APIResponse(responseCode = "200", description = "OK", content = @Content(mediaType = MediaType.APPLICATION_JSON,
+      schema = @Schema(implementation = DbQueryProfiler.Report.class)))
+  @Blocking
+  public Uni<DbQueryProfiler.Report> getDbReport() {
+    return Uni.createFrom().item(DbQueryProfiler.getInstance().getReport());
+  }
+
+  @Tag(name = TAG_INTERNAL + TAG_DIAGNOSTICS)
+  @Path(SUB_COLL_DB)
+  @Operation(summary = "Reset database query profiling", description = "Reset the statistics of the query profiler")
+  @DELETE
+  @APIResponse(responseCode = "204", description = "OK")
+  @Blocking
+  public Uni<Response> resetDbReport() {
+    DbQueryProfiler.getInstance().reset();
+    return Uni.createFrom().item(Response.noContent().build());
+  }
+}
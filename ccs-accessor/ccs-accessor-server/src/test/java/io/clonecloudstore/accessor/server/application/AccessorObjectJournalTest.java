@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.accessor.server.application;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.clonecloudstore.accessor.model.AccessorStatus;
+import io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository;
+import io.clonecloudstore.accessor.server.database.mongodb.MgDaoAccessorObject;
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import io.clonecloudstore.common.quarkus.exception.CcsOperationException;
+import io.clonecloudstore.common.quarkus.metrics.BulkMetrics;
+import io.clonecloudstore.common.quarkus.modules.AccessorProperties;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AccessorObjectJournalTest {
+  private static final String BUCKET = "bucket";
+  private File directory;
+  private long flushDelay;
+  private AccessorObjectCache cache;
+
+  @BeforeEach
+  void beforeEach() throws Exception {
+    directory = Files.createTempDirectory("journal").toFile();
+    cache = mock(AccessorObjectCache.class);
+    flushDelay = AccessorProperties.getJournalFlushDelayMs();
+    AccessorProperties.setJournalFlushDelayMs(200);
+  }
+
+  @AfterEach
+  void afterEach() throws Exception {
+    AccessorProperties.setJournalFlushDelayMs(flushDelay);
+    FileUtils.deleteDirectory(directory);
+  }
+
+  @Test
+  void inactiveJournalWritesDirectly() throws CcsDbException {
+    final var repository = mock(DaoAccessorObjectRepository.class);
+    final var journal = new AccessorObjectJournal(repository, new BulkMetrics(), cache, false, directory);
+    assertFalse(journal.isActive());
+    journal.updateObjectStatus(BUCKET, "a", AccessorStatus.DELETED, null);
+    journal.updateObjectStatusHashLen(BUCKET, "b", AccessorStatus.READY, "hash", 10);
+    verify(repository).updateObjectStatus(BUCKET, "a", AccessorStatus.DELETED, null);
+    verify(repository).updateObjectStatusHashLen(BUCKET, "b", AccessorStatus.READY, "hash", 10);
+    assertEquals(0, journal.getPendingCount());
+    assertFalse(new File(directory, AccessorObjectJournal.JOURNAL_FILENAME).exists());
+    journal.close();
+  }
+
+  @Test
+  void activeJournalGroupsUpdates() throws CcsDbException {
+    final var repository = mock(DaoAccessorObjectRepository.class);
+    when(repository.updateObjectsStatus(anyString(), any(), any())).thenReturn(3L);
+    final var journal = new AccessorObjectJournal(repository, new BulkMetrics(), cache, true, directory);
+    try {
+      assertTrue(journal.isActive());
+      for (final var name : List.of("a", "b", "c")) {
+        journal.updateObjectStatus(BUCKET, name, AccessorStatus.DELETING, null);
+        journal.updateObjectStatus(BUCKET, name, AccessorStatus.DELETED, null);
+      }
+      journal.updateObjectStatusHashLen(BUCKET, "d", AccessorStatus.READY, "hash", 10);
+      verifyNoInteractions(repository);
+      verifyNoInteractions(cache);
+      assertEquals(4, journal.getPendingCount());
+      assertEquals(AccessorStatus.DELETED, journal.getPendingStatus(BUCKET, "a"));
+      assertNull(journal.getPendingStatus(BUCKET, "unknown"));
+
+      // Read your writes
+      final var dao = new MgDaoAccessorObject();
+      dao.setBucket(BUCKET).setName("d").setStatus(AccessorStatus.UPLOAD);
+      when(repository.getObject(BUCKET, "d")).thenReturn(dao);
+      final var read = journal.getObject(BUCKET, "d");
+      assertEquals(AccessorStatus.READY, read.getStatus());
+      assertEquals("hash", read.getHash());
+      assertEquals(10, read.getSize());
+
+      // Explicit flush before direct update
+      journal.flush(BUCKET, List.of("d", "unknown"));
+      verify(repository).updateObjectStatusHashLen(BUCKET, "d", AccessorStatus.READY, "hash", 10);
+      verify(cache).invalidate(BUCKET, "d");
+      assertEquals(3, journal.getPendingCount());
+
+      // Background grouped flush of last status only
+      await().atMost(5, TimeUnit.SECONDS).until(() -> journal.getPendingCount() == 0);
+      assertNull(journal.getPendingStatus(BUCKET, "a"));
+      verify(repository).updateObjectsStatus(eq(BUCKET),
+          argThat((Collection<String> names) -> names.size() == 3 && names.containsAll(List.of("a", "b", "c"))),
+          eq(AccessorStatus.DELETED));
+      verify(repository, never()).updateObjectStatus(anyString(), anyString(), any(), any());
+      // Invalidated again once written into the database
+      for (final var name : List.of("a", "b", "c")) {
+        verify(cache).invalidate(BUCKET, name);
+      }
+      await().atMost(5, TimeUnit.SECONDS)
+          .until(() -> new File(directory, AccessorObjectJournal.JOURNAL_FILENAME).length() == 0);
+    } finally {
+      journal.close();
+    }
+  }
+
+  @Test
+  void journalReplayedAfterFailure() throws CcsDbException {
+    final var failing = mock(DaoAccessorObjectRepository.class);
+    doThrow(new CcsDbException(new IOException("Database down"))).when(failing)
+        .updateObjectStatus(anyString(), anyString(), any(), any());
+    final var journal = new AccessorObjectJournal(failing, new BulkMetrics(), cache, true, directory);
+    final var creation = Instant.now();
+    journal.updateObjectStatus(BUCKET, "a", AccessorStatus.READY, creation);
+    journal.updateObjectStatus(BUCKET, "missing", AccessorStatus.READY, creation);
+    await().atMost(5, TimeUnit.SECONDS)
+        .untilAsserted(() -> verify(failing, times(2)).updateObjectStatus(anyString(), anyString(), any(), any()));
+    journal.close();
+    assertEquals(2, journal.getPendingCount());
+
+    // Restart: pending updates are written again, missing Object being ignored
+    final var repository = mock(DaoAccessorObjectRepository.class);
+    doThrow(new CcsDbException("Not found", new CcsOperationException("Not found"))).when(repository)
+        .updateObjectStatus(eq(BUCKET), eq("missing"), any(), any());
+    final var replayed = new AccessorObjectJournal(repository, new BulkMetrics(), cache, true, directory);
+    try {
+      await().atMost(5, TimeUnit.SECONDS).until(() -> replayed.getPendingCount() == 0);
+      verify(repository).updateObjectStatus(BUCKET, "a", AccessorStatus.READY, creation);
+      verify(repository, never()).updateObjectStatusHashLen(anyString(), anyString(), any(), isNull(), anyLong());
+    } finally {
+      replayed.close();
+    }
+  }
+
+  @Test
+  void journalDoesNotReplayReleasedUpdates() throws CcsDbException {
+    final Map<String, AccessorStatus> database = new ConcurrentHashMap<>();
+    final var failing = mock(DaoAccessorObjectRepository.class);
+    doAnswer(invocation -> {
+      final String name = invocation.getArgument(1);
+      if ("b".equals(name)) {
+        throw new CcsDbException(new IOException("Database down"));
+      }
+      database.put(name, invocation.getArgument(2));
+      return null;
+    }).when(failing).updateObjectStatusHashLen(anyString(), anyString(), any(), any(), anyLong());
+    final var journal = new AccessorObjectJournal(failing, new BulkMetrics(), cache, true, directory);
+    journal.updateObjectStatusHashLen(BUCKET, "a", AccessorStatus.READY, "hash", 10);
+    journal.updateObjectStatusHashLen(BUCKET, "b", AccessorStatus.READY, "hash", 10);
+    journal.flush(BUCKET, List.of("a"));
+    assertEquals(AccessorStatus.READY, database.get("a"));
+    // Direct database delete, bypassing the journal, while "b" keeps the log not empty
+    database.put("a", AccessorStatus.DELETED);
+    await().atMost(5, TimeUnit.SECONDS).untilAsserted(
+        () -> verify(failing, times(2)).updateObjectStatusHashLen(eq(BUCKET), eq("b"), any(), any(), anyLong()));
+    journal.close();
+    assertEquals(1, journal.getPendingCount());
+
+    // Restart: only "b" is still pending, "a" stays deleted
+    final var repository = mock(DaoAccessorObjectRepository.class);
+    doAnswer(invocation -> database.put(invocation.getArgument(1), invocation.getArgument(2))).when(repository)
+        .updateObjectStatusHashLen(anyString(), anyString(), any(), any(), anyLong());
+    final var replayed = new AccessorObjectJournal(repository, new BulkMetrics(), cache, true, directory);
+    try {
+      assertNull(replayed.getPendingStatus(BUCKET, "a"));
+      await().atMost(5, TimeUnit.SECONDS).until(() -> replayed.getPendingCount() == 0);
+      verify(repository, never()).updateObjectStatusHashLen(eq(BUCKET), eq("a"), any(), any(), anyLong());
+      assertEquals(AccessorStatus.DELETED, database.get("a"));
+      assertEquals(AccessorStatus.READY, database.get("b"));
+    } finally {
+      replayed.close();
+    }
+  }
+}
@@ -18,14 +18,23 @@ package io.clonecloudstore.accessor.server.application;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import io.clonecloudstore.accessor.model.AccessorBatchAction;
+import io.clonecloudstore.accessor.model.AccessorBatchItem;
+import io.clonecloudstore.accessor.model.AccessorBatchResult;
 import io.clonecloudstore.accessor.model.AccessorBucket;
 import io.clonecloudstore.accessor.model.AccessorFilter;
 import io.clonecloudstore.accessor.model.AccessorObject;
+import io.clonecloudstore.accessor.model.AccessorObjectInvalidation;
 import io.clonecloudstore.accessor.model.AccessorStatus;
+import io.clonecloudstore.accessor.server.commons.ListingPageInputStream;
 import io.clonecloudstore.accessor.server.database.model.DaoAccessorBucketRepository;
 import io.clonecloudstore.accessor.server.database.model.DaoAccessorObjectRepository;
 import io.clonecloudstore.common.database.utils.exception.CcsDbException;
@@ -35,11 +44,14 @@ import io.clonecloudstore.common.quarkus.exception.CcsNotAcceptableException;
 import io.clonecloudstore.common.quarkus.exception.CcsNotExistException;
 import io.clonecloudstore.common.quarkus.exception.CcsOperationException;
 import io.clonecloudstore.common.quarkus.exception.CcsServerGenericException;
+import io.clonecloudstore.common.quarkus.metrics.BulkMetrics;
+import io.clonecloudstore.common.quarkus.modules.AccessorProperties;
 import io.clonecloudstore.common.standard.exception.CcsWithStatusException;
 import io.clonecloudstore.common.standard.guid.GuidLike;
 import io.clonecloudstore.common.standard.stream.StreamIteratorUtils;
 import io.clonecloudstore.common.standard.system.SystemTools;
 import io.clonecloudstore.driver.api.CleanupTestUtil;
+import io.clonecloudstore.driver.api.DriverApiRegistry;
 import io.clonecloudstore.driver.api.StorageType;
 import io.clonecloudstore.driver.azure.DriverAzureProperties;
 import io.clonecloudstore.test.resource.AzureMongoKafkaProfile;
@@ -58,6 +70,7 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -70,6 +83,10 @@ class AccessorObjectServiceInternalTest {
   @Inject
   AccessorObjectService serviceObject;
   @Inject
+  AccessorObjectInvalidationConsumer invalidationConsumer;
+  @Inject
+  BulkMetrics bulkMetrics;
+  @Inject
   Instance<DaoAccessorBucketRepository> bucketRepositoryInstance;
   DaoAccessorBucketRepository bucketRepository;
   @Inject
@@ -458,4 +475,261 @@ class AccessorObjectServiceInternalTest {
     assertThrows(CcsNotExistException.class, () -> serviceObject.deleteObject(bucketName, objectName, clientId, false));
     assertThrows(CcsNotExistException.class, () -> serviceObject.getObjectMetadata(bucketName, objectName));
   }
+
+  @Test
+  void checkObjectCacheCoherency() throws CcsDbException {
+    final var bucketName = "bucketcached";
+    final var objectName = "dir/objectName";
+    final var hit =
+        bulkMetrics.getCounter(AccessorObjectCache.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_CACHE_HIT);
+    AccessorProperties.setCacheActive(true);
+    try {
+      service.createBucket(bucketName, clientId, false);
+      // Negative entry
+      assertThrows(CcsNotExistException.class, () -> serviceObject.getObjectInfo(bucketName, objectName, clientId));
+      final var hitCount = hit.count();
+      assertThrows(CcsNotExistException.class, () -> serviceObject.getObjectInfo(bucketName, objectName, clientId));
+      assertEquals(hitCount + 1, hit.count());
+      // Local invalidations on create and finalize
+      final var create = new AccessorObject().setBucket(bucketName).setName(objectName);
+      serviceObject.createObject(create, "hash", 100, clientId);
+      assertEquals(AccessorStatus.UPLOAD, serviceObject.getObjectInfo(bucketName, objectName, clientId).getStatus());
+      assertEquals(StorageType.NONE, serviceObject.objectOrDirectoryExists(bucketName, objectName, false, clientId));
+      serviceObject.createObjectFinalize(create, "hash", 100, clientId, false);
+      assertEquals(AccessorStatus.READY, serviceObject.getObjectInfo(bucketName, objectName, clientId).getStatus());
+      assertEquals(StorageType.OBJECT, serviceObject.objectOrDirectoryExists(bucketName, objectName, false, clientId));
+      // Cached copy is not shared with the caller
+      serviceObject.getObjectInfo(bucketName, objectName, clientId).setStatus(AccessorStatus.UNKNOWN);
+      assertEquals(AccessorStatus.READY, serviceObject.getObjectInfo(bucketName, objectName, clientId).getStatus());
+      // Change done by another instance: stale until its invalidation is received
+      objectRepository.updateObjectStatus(bucketName, objectName, AccessorStatus.DELETED, null);
+      assertEquals(AccessorStatus.READY, serviceObject.getObjectInfo(bucketName, objectName, clientId).getStatus());
+      // Own invalidation is ignored
+      invalidationConsumer.consumeInvalidation(
+          new AccessorObjectInvalidation(AccessorObjectCache.INSTANCE_ID, bucketName, objectName));
+      assertEquals(AccessorStatus.READY, serviceObject.getObjectInfo(bucketName, objectName, clientId).getStatus());
+      invalidationConsumer.consumeInvalidation(
+          new AccessorObjectInvalidation(GuidLike.getGuid(), bucketName, objectName));
+      assertEquals(AccessorStatus.DELETED, serviceObject.getObjectInfo(bucketName, objectName, clientId).getStatus());
+      assertThrows(CcsDeletedException.class,
+          () -> serviceObject.deleteObject(bucketName, objectName, clientId, false));
+    } finally {
+      AccessorProperties.setCacheActive(false);
+    }
+  }
+
+  @Test
+  void checkPullableWithoutDriverCheck() throws CcsDbException {
+    final var bucketName = "bucketpullable";
+    final var objectName = "dir/objectName";
+    service.createBucket(bucketName, clientId, false);
+    final var create = new AccessorObject().setBucket(bucketName).setName(objectName);
+    serviceObject.createObject(create, "hash", 100, clientId);
+    // Not READY
+    AccessorProperties.setReadTrustDatabase(true);
+    try {
+      assertThrows(CcsNotExistException.class,
+          () -> serviceObject.checkPullable(bucketName, objectName, false, clientId, opId));
+      serviceObject.createObjectFinalize(create, "hash", 100, clientId, false);
+      // READY in database but not in Driver: read will report absence
+      final var response = serviceObject.checkPullable(bucketName, objectName, false, clientId, opId);
+      assertEquals(AccessorStatus.READY, response.response().getStatus());
+      assertEquals("hash", response.response().getHash());
+      assertThrows(CcsNotExistException.class,
+          () -> serviceObject.checkPullable(bucketName, "dir/unknown", false, clientId, opId));
+    } finally {
+      AccessorProperties.setReadTrustDatabase(false);
+    }
+    assertThrows(CcsNotExistException.class,
+        () -> serviceObject.checkPullable(bucketName, objectName, false, clientId, opId));
+    AccessorProperties.setReadSingleCall(true);
+    try {
+      // No status check, metadata kept from database
+      var response = serviceObject.checkPullable(bucketName, objectName, false, clientId, opId);
+      assertEquals(AccessorStatus.READY, response.response().getStatus());
+      assertEquals("hash", response.response().getHash());
+      assertEquals(100, response.response().getSize());
+      // Unknown in database: the read itself will report absence
+      response = serviceObject.checkPullable(bucketName, "dir/unknown", false, clientId, opId);
+      assertEquals(bucketName, response.response().getBucket());
+      assertEquals("dir/unknown", response.response().getName());
+      assertNull(response.response().getHash());
+    } finally {
+      AccessorProperties.setReadSingleCall(false);
+    }
+  }
+
+  @Test
+  void checkBatchObjects() throws CcsDbException {
+    final var bucketName = "bucketbatch";
+    service.createBucket(bucketName, clientId, false);
+    final var items = new ArrayList<AccessorBatchItem>();
+    for (var i = 0; i < 5; i++) {
+      final var create = new AccessorObject().setBucket(bucketName).setName("dir/object" + i);
+      serviceObject.createObject(create, "hash", 100, clientId);
+      if (i > 0) {
+        serviceObject.createObjectFinalize(create, "hash", 100, clientId, false);
+      }
+      items.add(new AccessorBatchItem(create.getName(), Map.of("key", "value" + i)));
+    }
+    items.add(new AccessorBatchItem("dir/unknown"));
+    // Info keeps the items order
+    var results =
+        toList(serviceObject.batchObjects(bucketName, AccessorBatchAction.INFO, items.iterator(), clientId, false));
+    assertEquals(items.size(), results.size());
+    for (var i = 0; i < 5; i++) {
+      assertEquals(items.get(i).name(), results.get(i).name());
+      assertEquals(200, results.get(i).status());
+    }
+    assertEquals(AccessorStatus.UPLOAD, results.getFirst().object().getStatus());
+    assertEquals(404, results.getLast().status());
+    // Metadata only on READY objects
+    results =
+        toList(serviceObject.batchObjects(bucketName, AccessorBatchAction.UPDATE_METADATA, items.iterator(), clientId,
+            false));
+    assertEquals(409, results.getFirst().status());
+    assertEquals(200, results.get(1).status());
+    assertEquals("value1", serviceObject.getObjectInfo(bucketName, "dir/object1", clientId).getMetadata("key"));
+    assertEquals(404, results.getLast().status());
+    // Delete: READY objects are deleted (even if absent from Driver)
+    results =
+        toList(serviceObject.batchObjects(bucketName, AccessorBatchAction.DELETE, items.iterator(), clientId, false));
+    assertEquals(409, results.getFirst().status());
+    for (var i = 1; i < 5; i++) {
+      assertEquals(204, results.get(i).status());
+      assertEquals(AccessorStatus.DELETED,
+          serviceObject.getObjectInfo(bucketName, items.get(i).name(), clientId).getStatus());
+    }
+    assertEquals(404, results.getLast().status());
+    results =
+        toList(serviceObject.batchObjects(bucketName, AccessorBatchAction.DELETE, items.iterator(), clientId, false));
+    assertEquals(410, results.get(1).status());
+    // Items beyond the maximum are not handled
+    final var maxItems = AccessorProperties.getBatchMaxItems();
+    try {
+      AccessorProperties.setBatchMaxItems(2);
+      results = toList(serviceObject.batchObjects(bucketName, AccessorBatchAction.INFO, items.iterator(), clientId,
+          false));
+    } finally {
+      AccessorProperties.setBatchMaxItems(maxItems);
+    }
+    assertEquals(items.size(), results.size());
+    assertEquals(200, results.get(1).status());
+    assertEquals(413, results.get(2).status());
+    assertEquals(413, results.getLast().status());
+  }
+
+  @Test
+  void checkPaginatedListing() throws IOException {
+    final var bucketName = "bucketpage";
+    service.createBucket(bucketName, clientId, false);
+    for (var i = 0; i < 7; i++) {
+      final var create = new AccessorObject().setBucket(bucketName).setName("dir/object" + i);
+      serviceObject.createObject(create, "hash", 100, clientId);
+    }
+    final var names = new ArrayList<String>();
+    final var filter = new AccessorFilter().setPageSize(3);
+    var pages = 0;
+    do {
+      final var inputStream = serviceObject.filterObjects(bucketName, filter, clientId, false);
+      final var page = StreamIteratorUtils.getListFromIterator(
+          StreamIteratorUtils.getIteratorFromInputStream(inputStream, AccessorObject.class));
+      pages++;
+      page.forEach(accessorObject -> names.add(accessorObject.getName()));
+      // Next token only given when another page exists
+      final var next = ((ListingPageInputStream) inputStream).getNextContinuationToken();
+      if (next != null) {
+        assertEquals(AccessorFilter.getContinuationTokenAfter(page.getLast().getName()), next);
+      }
+      filter.setContinuationToken(next);
+    } while (filter.getContinuationToken() != null);
+    assertEquals(3, pages);
+    assertEquals(7, names.size());
+    for (var i = 0; i < 7; i++) {
+      assertEquals("dir/object" + i, names.get(i));
+    }
+    // A full last page gives no next token
+    final var lastPage = serviceObject.filterObjects(bucketName, new AccessorFilter().setPageSize(7), clientId, false);
+    assertEquals(7, StreamIteratorUtils.getListFromIterator(
+        StreamIteratorUtils.getIteratorFromInputStream(lastPage, AccessorObject.class)).size());
+    assertNull(((ListingPageInputStream) lastPage).getNextContinuationToken());
+    // Token combined with prefix and without page size
+    final var page = StreamIteratorUtils.getListFromIterator(StreamIteratorUtils.getIteratorFromInputStream(
+        serviceObject.filterObjects(bucketName, new AccessorFilter().setNamePrefix("dir/")
+                .setContinuationToken(AccessorFilter.getContinuationTokenAfter("dir/object4")), clientId, false),
+        AccessorObject.class));
+    assertEquals(2, page.size());
+    assertEquals("dir/object5", page.getFirst().getName());
+    // Full listing is ordered by name too
+    final var all = StreamIteratorUtils.getListFromIterator(StreamIteratorUtils.getIteratorFromInputStream(
+        serviceObject.filterObjects(bucketName, null, clientId, false), AccessorObject.class));
+    assertEquals(names, all.stream().map(AccessorObject::getName).toList());
+  }
+
+  @Test
+  void checkMultipartUpload() throws Exception {
+    final var bucketName = "bucketmultipart";
+    service.createBucket(bucketName, clientId, false);
+    final var create = new AccessorObject().setBucket(bucketName).setName("dir/multipart").setHash("declared")
+        .setMetadata(Map.of("key", "value"));
+    final var upload = serviceObject.initiateMultipartUpload(create, clientId);
+    assertEquals(AccessorStatus.UPLOAD, objectRepository.getObject(bucketName, "dir/multipart").getStatus());
+    // Not a second creation at the same time
+    assertThrows(CcsNotAcceptableException.class, () -> serviceObject.initiateMultipartUpload(create, clientId));
+    // Parts in any order, one uploaded twice
+    serviceObject.uploadMultipartPart(upload.uploadId(), 2, new FakeInputStream(50), 50, clientId);
+    serviceObject.uploadMultipartPart(upload.uploadId(), 1, new FakeInputStream(10), 10, clientId);
+    serviceObject.uploadMultipartPart(upload.uploadId(), 1, new FakeInputStream(100), 100, clientId);
+    assertThrows(CcsNotAcceptableException.class,
+        () -> serviceObject.uploadMultipartPart(upload.uploadId(), 0, new FakeInputStream(10), 10, clientId));
+    assertThrows(CcsNotExistException.class,
+        () -> serviceObject.uploadMultipartPart(upload.uploadId(), 3, new FakeInputStream(10), 10, "other"));
+    // Resume
+    final var listed = serviceObject.listMultipartParts(upload.uploadId(), clientId);
+    assertEquals(2, listed.parts().size());
+    assertEquals(1, listed.parts().getFirst().partNumber());
+    assertEquals(100, listed.parts().getFirst().size());
+    final var object = serviceObject.completeMultipartUpload(upload.uploadId(), clientId, false);
+    assertEquals(AccessorStatus.READY, object.getStatus());
+    assertEquals(150, object.getSize());
+    // Declared hash is not verifiable, so not kept
+    assertNull(object.getHash());
+    assertEquals("value", object.getMetadata().get("key"));
+    try (final var driver = DriverApiRegistry.getDriverApiFactory().getInstance();
+         final var inputStream = driver.objectGetInputStreamInBucket(bucketName, "dir/multipart")) {
+      assertEquals(150, FakeInputStream.consumeAll(inputStream));
+    }
+    assertThrows(CcsNotExistException.class, () -> serviceObject.listMultipartParts(upload.uploadId(), clientId));
+
+    // Abort allows to create it again
+    final var createAbort = new AccessorObject().setBucket(bucketName).setName("dir/aborted");
+    final var aborted = serviceObject.initiateMultipartUpload(createAbort, clientId);
+    serviceObject.uploadMultipartPart(aborted.uploadId(), 1, new FakeInputStream(10), 10, clientId);
+    serviceObject.abortMultipartUpload(aborted.uploadId(), clientId);
+    assertEquals(AccessorStatus.DELETED, objectRepository.getObject(bucketName, "dir/aborted").getStatus());
+    assertThrows(CcsNotExistException.class,
+        () -> serviceObject.completeMultipartUpload(aborted.uploadId(), clientId, false));
+    assertDoesNotThrow(() -> serviceObject.initiateMultipartUpload(createAbort, clientId));
+
+    // Stale uploads are aborted once expired
+    final var createExpired = new AccessorObject().setBucket(bucketName).setName("dir/expired");
+    final var expired = serviceObject.initiateMultipartUpload(createExpired, clientId);
+    serviceObject.uploadMultipartPart(expired.uploadId(), 1, new FakeInputStream(10), 10, clientId);
+    assertEquals(0, serviceObject.cleanExpiredMultipartUploads());
+    final var expiry = AccessorProperties.getMultipartExpirySeconds();
+    try {
+      AccessorProperties.setMultipartExpirySeconds(0);
+      assertEquals(2, serviceObject.cleanExpiredMultipartUploads());
+    } finally {
+      AccessorProperties.setMultipartExpirySeconds(expiry);
+    }
+    assertThrows(CcsNotExistException.class, () -> serviceObject.listMultipartParts(expired.uploadId(), clientId));
+    assertEquals(AccessorStatus.DELETED, objectRepository.getObject(bucketName, "dir/expired").getStatus());
+  }
+
+  private static List<AccessorBatchResult> toList(final Iterator<AccessorBatchResult> iterator) {
+    final var list = new ArrayList<AccessorBatchResult>();
+    iterator.forEachRemaining(list::add);
+    return list;
+  }
 }
@@ -17,7 +17,10 @@
 package io.clonecloudstore.accessor.server.resource;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
@@ -65,6 +68,7 @@ import static io.restassured.RestAssured.given;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -146,6 +150,62 @@ class AccessorObjectResourceTest {
     }
   }
 
+  @Test
+  void listObjectsPaginated() throws CcsWithStatusException {
+    try (final var client = factoryBucket.newClient()) {
+      assertEquals(BUCKET_NAME, client.createBucket(BUCKET_NAME, clientId).getId());
+    }
+    try (final var client = factory.newClient()) {
+      for (var i = 0; i < 7; i++) {
+        client.createObject(new AccessorObject().setBucket(BUCKET_NAME).setName(OBJECT + i).setSize(10), clientId,
+            new FakeInputStream(10));
+      }
+    }
+    // Public client: pages of 3, 3 and 1 following the received continuation tokens
+    final var filter = new AccessorFilter().setNamePrefix(DIR_NAME).setPageSize(3);
+    final var pages = new ArrayList<Long>();
+    do {
+      try (final var client = factory.newClient()) {
+        pages.add(countIterator(client.listObjects(BUCKET_NAME, clientId, filter)));
+      }
+    } while (filter.getContinuationToken() != null);
+    assertEquals(List.of(3L, 3L, 1L), pages);
+    // Internal client from the middle of the listing
+    final var internalFilter = new AccessorFilter().setNamePrefix(DIR_NAME).setPageSize(4)
+        .setContinuationToken(AccessorFilter.getContinuationTokenAfter(OBJECT + 1));
+    try (final var client = internalApiFactory.newClient()) {
+      assertEquals(4, countIterator(client.listObjects(BUCKET_NAME, clientId, internalFilter)));
+      assertEquals(AccessorFilter.getContinuationTokenAfter(OBJECT + 5), internalFilter.getContinuationToken());
+    }
+    try (final var client = internalApiFactory.newClient()) {
+      assertEquals(1, countIterator(client.listObjects(BUCKET_NAME, clientId, internalFilter)));
+      assertNull(internalFilter.getContinuationToken());
+    }
+    // Not paginated listing keeps the filter untouched
+    final var fullFilter = new AccessorFilter().setNamePrefix(DIR_NAME);
+    try (final var client = factory.newClient()) {
+      assertEquals(7, countIterator(client.listObjects(BUCKET_NAME, clientId, fullFilter)));
+      assertNull(fullFilter.getContinuationToken());
+    }
+    try (final var client = factory.newClient()) {
+      for (var i = 0; i < 7; i++) {
+        assertTrue(client.deleteObject(BUCKET_NAME, OBJECT + i, clientId));
+      }
+    }
+    try (final var client = factoryBucket.newClient()) {
+      assertTrue(client.deleteBucket(BUCKET_NAME, clientId));
+    }
+  }
+
+  private static long countIterator(final Iterator<AccessorObject> iterator) {
+    var cpt = 0L;
+    while (iterator.hasNext()) {
+      LOG.debugf("List: %s", iterator.next());
+      cpt++;
+    }
+    return cpt;
+  }
+
   void createBucketAndObject(final String bucketName, final String objectName) throws CcsWithStatusException {
     // Create Bucket
     try (final var client = factoryBucket.newClient()) {
@@ -40,6 +40,7 @@ import io.clonecloudstore.common.standard.system.ParametersChecker;
 import io.clonecloudstore.driver.api.DriverApi;
 import io.clonecloudstore.driver.api.DriverApiFactory;
 import io.clonecloudstore.driver.api.DriverApiRegistry;
+import io.clonecloudstore.driver.api.DriverAsyncApi;
 import io.clonecloudstore.driver.api.StorageType;
 import io.clonecloudstore.driver.api.exception.DriverException;
 import io.clonecloudstore.driver.api.exception.DriverNotAcceptableException;
@@ -142,11 +143,15 @@ public class AccessorObjectService implements AccessorObjectServiceInterface {
     try {
       // Check non-existence in S3
       try (final var client = storageDriverFactory.getInstance()) {
-        // First Bucket check
-        if (!client.bucketExists(accessorObject.getBucket())) {
+        // Bucket and Object checks are issued concurrently
+        final var async = client.async();
+        final var bucketCheck = async.bucketExists(accessorObject.getBucket());
+        final var objectCheck =
+            async.directoryOrObjectExistsInBucket(accessorObject.getBucket(), accessorObject.getName());
+        if (!DriverAsyncApi.await(bucketCheck)) {
           throw new CcsNotExistException(mesg(accessorObject.getBucket(), accessorObject.getName()));
         }
-        final var type = client.directoryOrObjectExistsInBucket(accessorObject.getBucket(), accessorObject.getName());
+        final var type = DriverAsyncApi.await(objectCheck);
         if (type.equals(StorageType.NONE)) {
           return createNewAccessorObject(accessorObject, hash, len);
         }
@@ -16,10 +16,16 @@
 
 package io.clonecloudstore.common.database.mongo;
 
+import java.util.Comparator;
 import java.util.stream.Stream;
 
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
 import io.clonecloudstore.common.database.utils.DbQuery;
+import io.clonecloudstore.common.database.utils.DbQueryProfiler;
 import io.clonecloudstore.common.database.utils.DbUpdate;
 import io.clonecloudstore.common.database.utils.RepositoryBaseInterface;
 import io.clonecloudstore.common.database.utils.exception.CcsDbException;
@@ -31,9 +37,14 @@ import org.bson.BsonWriter;
 import org.bson.Document;
 import org.bson.codecs.Codec;
 import org.bson.codecs.EncoderContext;
+import org.bson.conversions.Bson;
 
 /**
  * The base Mongo implementation of the RepositoryBaseInterface
+ * <p>
+ * Operations use the collection of the entity, unless getCollection and getItemCollection are overridden to route
+ * them to other databases (from their filter or item). Operations on primary key only, countAll and deleteAllDb
+ * always use the collection of the entity.
  *
  * @param <E> the type for the DTO to use
  */
@@ -52,7 +63,7 @@ public abstract class ExtendedPanacheMongoRepositoryBase<F, E extends F>
   @Override
   public ExtendedPanacheMongoRepositoryBase<F, E> addToInsertBulk(final F so) throws CcsDbException {
     if (helper.addToInsertBulk((E) so)) {
-      flushAll();
+      helper.flushCurrentThread();
     }
     return this;
   }
@@ -72,7 +83,7 @@ public abstract class ExtendedPanacheMongoRepositoryBase<F, E extends F>
       throws CcsDbException {
     try {
       if (helper.addToUpsertBulk(find, (E) update)) {
-        flushAll();
+        helper.flushCurrentThread();
       }
     } catch (final RuntimeException e) {
       throw new CcsDbException(ISSUE_WITH_SERIALIZATION, e);
@@ -84,7 +95,7 @@ public abstract class ExtendedPanacheMongoRepositoryBase<F, E extends F>
       throws CcsDbException {
     try {
       if (helper.addToUpdateBulk(find, update)) {
-        flushAll();
+        helper.flushCurrentThread();
       }
     } catch (final RuntimeException e) {
       throw new CcsDbException(ISSUE_WITH_SERIALIZATION, e);
@@ -101,15 +112,37 @@ public abstract class ExtendedPanacheMongoRepositoryBase<F, E extends F>
   @Override
   public F findOne(final DbQuery query) throws CcsDbException {
     try {
-      if (query.isEmpty()) {
-        return mongoCollection().find().first();
+      final var start = DbQueryProfiler.getInstance().start();
+      final var collection = getQueryCollection(query);
+      final var find = query.isEmpty() ? collection.find() : collection.find(query.getBson());
+      final var projection = query.getBsonProjection();
+      if (projection != null) {
+        find.projection(projection);
       }
-      return mongoCollection().find(query.getBson()).first();
+      final var result = find.first();
+      profile(DbQueryProfiler.OP_FIND_ONE, query, null, start);
+      return result;
     } catch (final RuntimeException e) {
       throw new CcsDbException("FindOne in error", e);
     }
   }
 
+  @Override
+  public boolean exists(final DbQuery query) throws CcsDbException {
+    try {
+      final var start = DbQueryProfiler.getInstance().start();
+      final var collection = getQueryCollection(query);
+      final var find = query.isEmpty() ? collection.find() : collection.find(query.getBson());
+      final var projection = query.getBsonProjection();
+      final var result =
+          find.projection(projection != null ? projection : Projections.include(ID)).limit(1).first() != null;
+      profile(DbQueryProfiler.OP_EXISTS, query, null, start);
+      return result;
+    } catch (final RuntimeException e) {
+      throw new CcsDbException("exists in error", e);
+    }
+  }
+
   @Override
   public F findWithPk(final String pk) throws CcsDbException {
     try {
@@ -140,12 +173,40 @@ public abstract class ExtendedPanacheMongoRepositoryBase<F, E extends F>
   @Override
   public ClosingIterator<F> findIterator(final DbQuery query) throws CcsDbException {
     try {
-      return (ClosingIterator<F>) streamHelper.findIterator((RepositoryBaseInterface<E>) this, query);
+      final var start = DbQueryProfiler.getInstance().start();
+      final var iterator = (ClosingIterator<F>) streamHelper.findIterator((RepositoryBaseInterface<E>) this, query);
+      profile(DbQueryProfiler.OP_ITERATOR, query, null, start);
+      return iterator;
+    } catch (final RuntimeException e) {
+      throw new CcsDbException("findIterator in error", e);
+    }
+  }
+
+  @Override
+  public ClosingIterator<F> findIterator(final DbQuery query, final String sortField, final int limit)
+      throws CcsDbException {
+    try {
+      final var start = DbQueryProfiler.getInstance().start();
+      final var iterator =
+          (ClosingIterator<F>) streamHelper.findIterator((RepositoryBaseInterface<E>) this, query, sortField, limit);
+      profile(DbQueryProfiler.OP_ITERATOR, query, sortField, start);
+      return iterator;
     } catch (final RuntimeException e) {
       throw new CcsDbException("findIterator in error", e);
     }
   }
 
+  @Override
+  public ClosingIterator<F> findPagedIterator(final DbQuery query, final String keyField, final Object startAfter)
+      throws CcsDbException {
+    final var start = DbQueryProfiler.getInstance().start();
+    final var iterator =
+        (ClosingIterator<F>) streamHelper.findPagedIterator((RepositoryBaseInterface<E>) this, query, keyField,
+            startAfter);
+    profile(DbQueryProfiler.OP_PAGED, query, keyField, start);
+    return iterator;
+  }
+
   public ClosingIterator<F> findIterator(final Document query) throws CcsDbException {
     try {
       return (ClosingIterator<F>) streamHelper.findIterator(this, query);
@@ -160,7 +221,10 @@ public abstract class ExtendedPanacheMongoRepositoryBase<F, E extends F>
       if (query.isEmpty()) {
         return count();
       }
-      return count(query.getBson().toBsonDocument().toJson());
+      final var start = DbQueryProfiler.getInstance().start();
+      final var result = getQueryCollection(query).countDocuments(query.getBson());
+      profile(DbQueryProfiler.OP_COUNT, query, null, start);
+      return result;
     } catch (final RuntimeException e) {
       throw new CcsDbException("count in error", e);
     }
@@ -190,7 +254,10 @@ public abstract class ExtendedPanacheMongoRepositoryBase<F, E extends F>
       if (query.isEmpty()) {
         return deleteAll();
       }
-      return delete(query.getBson().toBsonDocument().toJson());
+      final var start = DbQueryProfiler.getInstance().start();
+      final var result = getQueryCollection(query).deleteMany(query.getBson()).getDeletedCount();
+      profile(DbQueryProfiler.OP_DELETE, query, null, start);
+      return result;
     } catch (final RuntimeException e) {
       throw new CcsDbException("delete in error", e);
     }
@@ -202,16 +269,82 @@ public abstract class ExtendedPanacheMongoRepositoryBase<F, E extends F>
       if (query.isEmpty()) {
         return mongoCollection().updateMany(Filters.empty(), update.getBson()).getMatchedCount();
       }
-      return mongoCollection().updateMany(query.getBson(), update.getBson()).getMatchedCount();
+      final var start = DbQueryProfiler.getInstance().start();
+      final var result =
+          getQueryCollection(query).updateMany(query.getBson(), update.getBson()).getMatchedCount();
+      profile(DbQueryProfiler.OP_UPDATE, query, null, start);
+      return result;
     } catch (final RuntimeException e) {
       throw new CcsDbException("update in error", e);
     }
   }
 
+  private void profile(final String operation, final DbQuery query, final String sortField, final long start) {
+    if (start != 0) {
+      DbQueryProfiler.getInstance()
+          .record(getTable(), operation, query, sortField, start, () -> explain(query, sortField));
+    }
+  }
+
+  /**
+   * @return the Json plan (query planner only, the query is not executed) of the find of this query (used by the
+   * DbQueryProfiler)
+   */
+  public String explain(final DbQuery query, final String sortField) {
+    final var collection = getQueryCollection(query);
+    final var find = query.isEmpty() ? collection.find() : collection.find(query.getBson());
+    if (sortField != null) {
+      find.sort(Sorts.ascending(sortField));
+    }
+    return find.explain(ExplainVerbosity.QUERY_PLANNER).toJson();
+  }
+
+  /**
+   * @param filter the filter of the operation (null for all)
+   * @return the collection to use: the one of the entity by default
+   */
+  protected MongoCollection<E> getCollection(final Bson filter) {
+    return mongoCollection();
+  }
+
+  /**
+   * @param item the item to write
+   * @return the collection to use: the one of the entity by default
+   */
+  protected MongoCollection<E> getItemCollection(final E item) {
+    return mongoCollection();
+  }
+
+  MongoCollection<E> getQueryCollection(final DbQuery query) {
+    return getCollection(query.isEmpty() ? null : query.getBson());
+  }
+
+  /**
+   * @param item the item to update
+   * @return the filter to find this item (its primary key with the shard key, such that a full update is targeted on
+   * a sharded cluster), or null to use the primary key only
+   */
+  protected Bson getItemFilter(final E item) {
+    return null;
+  }
+
+  /**
+   * @return the order of the inserts within a bulk operation (as the shard key order, such that each shard receives
+   * grouped inserts), or null to keep the order of addition
+   */
+  protected Comparator<E> getInsertOrder() {
+    return null;
+  }
+
   @Override
   public boolean updateFull(final F item) throws CcsDbException {
     try {
-      PanacheMongoRepositoryBase.super.update((E) item);
+      final var filter = getItemFilter((E) item);
+      if (filter == null) {
+        PanacheMongoRepositoryBase.super.update((E) item);
+      } else {
+        getItemCollection((E) item).replaceOne(filter, (E) item);
+      }
       return true;
     } catch (final RuntimeException e) {
       throw new CcsDbException("updateFull in error", e);
@@ -221,7 +354,7 @@ public abstract class ExtendedPanacheMongoRepositoryBase<F, E extends F>
   @Override
   public void insert(final F item) throws CcsDbException {
     try {
-      persist((E) item);
+      getItemCollection((E) item).insertOne((E) item);
     } catch (final RuntimeException e) {
       throw new CcsDbException("insert in error", e);
     }
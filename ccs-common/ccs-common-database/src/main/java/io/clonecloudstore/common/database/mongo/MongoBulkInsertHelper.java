@@ -17,33 +17,71 @@
 package io.clonecloudstore.common.database.mongo;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
-import com.mongodb.client.model.InsertOneModel;
-import com.mongodb.client.model.Projections;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertManyOptions;
 import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.model.WriteModel;
 import io.clonecloudstore.common.database.utils.RepositoryBaseInterface;
 import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import io.clonecloudstore.common.quarkus.properties.QuarkusSystemPropertyUtil;
 import io.clonecloudstore.common.standard.guid.GuidLike;
 import org.bson.Document;
 import org.jboss.logging.Logger;
 
 /**
- * Mongo implementation of the BulkHelper
+ * Mongo implementation of the BulkHelper.
+ * <p>
+ * Each thread fills its own batch, such that concurrent callers do not contend on shared lists; the order of the
+ * operations of one thread is kept. A full batch is flushed by its own thread, while a global flush handles all the
+ * batches.
+ * <p>
+ * Operations are written per collection of the repository (when routed to several databases), inserts being sorted
+ * in the insert order of the repository if any (as the shard key order).
  *
  * @param <E> the DTO type to use
  */
 public class MongoBulkInsertHelper<F, E extends F> {
   private static final Logger LOGGER = Logger.getLogger(MongoBulkInsertHelper.class);
   public static final int MAX_BATCH = 1000;
+  public static final String CCS_DB_MONGO_BULK_SIZE = "ccs.db.mongo.bulk_size";
+  private static final InsertManyOptions INSERT_UNORDERED = new InsertManyOptions().ordered(false);
+  private static final BulkWriteOptions WRITE_ORDERED = new BulkWriteOptions().ordered(true);
+  private static final BulkWriteOptions WRITE_UNORDERED = new BulkWriteOptions().ordered(false);
+  private static final UpdateOptions UPSERT_OPTIONS = new UpdateOptions().upsert(true);
+  private static final String MG_SET = "$set";
+  private static final String MG_SET_ON_INSERT = "$setOnInsert";
+  private final int maxBatch = QuarkusSystemPropertyUtil.getIntegerConfig(CCS_DB_MONGO_BULK_SIZE, MAX_BATCH);
   protected final ExtendedPanacheMongoRepositoryBase<F, E> repositoryBase;
-  protected final List<E> listInsert = new ArrayList<>();
-  protected final List<Document> listFindQuery = new ArrayList<>();
-  protected final List<Document> listUpdate = new ArrayList<>();
-  protected final List<E> listInsertForUpdate = new ArrayList<>();
+  private final Map<Thread, Batch<E>> batches = new ConcurrentHashMap<>();
+
+  /**
+   * One pending Upsert or Update
+   *
+   * @param findQuery the find query
+   * @param update    the update part (null for an Upsert)
+   * @param original  the original one for Upsert (null for an Update)
+   */
+  protected record UpsertItem<E>(Document findQuery, Document update, E original) {
+  }
+
+  /**
+   * Batch of one thread
+   */
+  private static final class Batch<E> {
+    private final List<E> inserts = new ArrayList<>();
+    private final List<UpsertItem<E>> upserts = new ArrayList<>();
+    private boolean removed;
+  }
 
   /**
    * Constructor
@@ -52,61 +90,194 @@ public class MongoBulkInsertHelper<F, E extends F> {
     this.repositoryBase = repositoryBase;
   }
 
+  /**
+   * @return the current max batch value (from ccs.db.mongo.bulk_size, default 1000)
+   */
+  protected int getMaxBatch() {
+    return maxBatch;
+  }
+
+  /**
+   * Add to the batch of the current thread, taking care of a batch concurrently released
+   */
+  private boolean addToBatch(final Predicate<Batch<E>> adder) {
+    while (true) {
+      final var batch = batches.computeIfAbsent(Thread.currentThread(), thread -> new Batch<>());
+      synchronized (batch) {
+        if (!batch.removed) {
+          return adder.test(batch);
+        }
+      }
+    }
+  }
+
   /**
    * @param object the element to persist within a bulk operation
-   * @return True if bulk operation reaches the limit
+   * @return True if bulk operation reaches the limit for the current thread
    */
-  public synchronized boolean addToInsertBulk(final E object) {
-    listInsert.add(object);
-    return listInsert.size() >= getMaxBatch();
+  public boolean addToInsertBulk(final E object) {
+    return addToBatch(batch -> {
+      batch.inserts.add(object);
+      return batch.inserts.size() >= getMaxBatch();
+    });
   }
 
   /**
-   * @return the current max batch value
+   * @param findQuery the find query associated in order with Upsert
+   * @param original  the original one for insert (null means update only)
+   * @return True if bulk operation reaches the limit for the current thread
    */
-  protected int getMaxBatch() {
-    return MAX_BATCH;
+  public boolean addToUpsertBulk(final Document findQuery, final E original) {
+    return addToBatch(batch -> {
+      batch.upserts.add(new UpsertItem<>(findQuery, null, original));
+      return batch.upserts.size() >= getMaxBatch();
+    });
+  }
+
+  /**
+   * @param findQuery the find query associated in order with Upsert
+   * @param update    the update part
+   * @return True if bulk operation reaches the limit for the current thread
+   */
+  public boolean addToUpdateBulk(final Document findQuery, final Document update) {
+    return addToBatch(batch -> {
+      batch.upserts.add(new UpsertItem<>(findQuery, update, null));
+      return batch.upserts.size() >= getMaxBatch();
+    });
   }
 
   /**
-   * Persist all elements using bulk operation
+   * Persist all elements of all threads using bulk operation
    *
    * @return this
    */
-  public synchronized MongoBulkInsertHelper<F, E> bulkPersist() throws CcsDbException {
-    try {
-      if (!listInsert.isEmpty()) {
-        this.repositoryBase.mongoCollection().insertMany(listInsert);
-        listInsert.clear();
+  public MongoBulkInsertHelper<F, E> bulkPersist() throws CcsDbException {
+    for (final var batch : batches.values()) {
+      persist(batch);
+    }
+    return this;
+  }
+
+  /**
+   * Upsert Persist all elements of all threads using bulk operation
+   *
+   * @return this
+   */
+  public MongoBulkInsertHelper<F, E> bulkUpsert() throws CcsDbException {
+    for (final var entry : batches.entrySet()) {
+      upsert(entry.getValue());
+      release(entry.getKey(), entry.getValue());
+    }
+    return this;
+  }
+
+  /**
+   * Persist then Upsert all elements of the current thread only
+   */
+  public void flushCurrentThread() throws CcsDbException {
+    final var thread = Thread.currentThread();
+    final var batch = batches.get(thread);
+    if (batch != null) {
+      persist(batch);
+      upsert(batch);
+      release(thread, batch);
+    }
+  }
+
+  /**
+   * Release an empty batch, such that batches of ended threads do not accumulate
+   */
+  private void release(final Thread thread, final Batch<E> batch) {
+    synchronized (batch) {
+      if (batch.inserts.isEmpty() && batch.upserts.isEmpty()) {
+        batch.removed = true;
+        batches.remove(thread, batch);
+      }
+    }
+  }
+
+  private void persist(final Batch<E> batch) throws CcsDbException {
+    synchronized (batch) {
+      if (batch.inserts.isEmpty()) {
+        return;
+      }
+      try {
+        writeInserts(batch.inserts);
+        batch.inserts.clear();
+      } catch (final RuntimeException e) {
+        throw new CcsDbException("bulkPersist in error", e);
+      }
+    }
+  }
+
+  private void upsert(final Batch<E> batch) throws CcsDbException {
+    synchronized (batch) {
+      if (batch.upserts.isEmpty()) {
+        return;
+      }
+      try {
+        writeUpserts(batch.upserts);
+        batch.upserts.clear();
+      } catch (final RuntimeException e) {
+        throw new CcsDbException("bulkUpsert in error", e);
       }
-      return this;
-    } catch (final RuntimeException e) {
-      throw new CcsDbException("bulkPersist in error", e);
     }
   }
 
   /**
-   * @param findQuery the find query associated in order with Upsert
-   * @param original  the original one for insert (null means update only)
-   * @return True if bulk operation reaches the limit
+   * Write inserts (unordered)
    */
-  public synchronized boolean addToUpsertBulk(final Document findQuery, final E original) {
-    listFindQuery.add(findQuery);
-    listUpdate.add(null);
-    listInsertForUpdate.add(original);
-    return listUpdate.size() >= getMaxBatch();
+  protected void writeInserts(final List<E> inserts) {
+    final var order = repositoryBase.getInsertOrder();
+    final var perCollection = new LinkedHashMap<MongoCollection<E>, List<E>>();
+    for (final var item : inserts) {
+      perCollection.computeIfAbsent(repositoryBase.getItemCollection(item), k -> new ArrayList<>()).add(item);
+    }
+    for (final var entry : perCollection.entrySet()) {
+      final var list = entry.getValue();
+      if (order != null) {
+        list.sort(order);
+      }
+      entry.getKey().insertMany(list, INSERT_UNORDERED);
+    }
   }
 
   /**
-   * @param findQuery the find query associated in order with Upsert
-   * @param update    the update part
-   * @return True if bulk operation reaches the limit
+   * Write upserts and updates in one bulk operation: Upserts are deduplicated on their find query (last one wins)
+   * and written without prior find; the bulk is unordered unless it contains updates (whose order matters).
    */
-  public synchronized boolean addToUpdateBulk(final Document findQuery, final Document update) {
-    listFindQuery.add(findQuery);
-    listUpdate.add(update);
-    listInsertForUpdate.add(null);
-    return listUpdate.size() >= getMaxBatch();
+  protected void writeUpserts(final List<UpsertItem<E>> upserts) {
+    final var perCollection = new LinkedHashMap<MongoCollection<E>, List<UpsertItem<E>>>();
+    for (final var item : upserts) {
+      perCollection.computeIfAbsent(repositoryBase.getCollection(item.findQuery()), k -> new ArrayList<>()).add(item);
+    }
+    for (final var entry : perCollection.entrySet()) {
+      writeUpserts(entry.getKey(), entry.getValue());
+    }
+  }
+
+  private void writeUpserts(final MongoCollection<E> collection, final List<UpsertItem<E>> upserts) {
+    final var operations = new ArrayList<WriteModel<E>>(upserts.size());
+    final var upsertPositions = new HashMap<Document, Integer>();
+    var ordered = false;
+    for (final var item : upserts) {
+      if (item.update() != null) {
+        operations.add(new UpdateOneModel<>(item.findQuery(), item.update(), UPSERT_OPTIONS));
+        ordered = true;
+        continue;
+      }
+      final var document = repositoryBase.getDocumentFromObject(item.original());
+      final var id = getId(item.findQuery(), document);
+      final var upsertItem =
+          new Document(MG_SET, document).append(MG_SET_ON_INSERT, new Document(RepositoryBaseInterface.ID, id));
+      final var previous = upsertPositions.put(item.findQuery(), operations.size());
+      if (previous != null) {
+        operations.set(previous, null);
+      }
+      operations.add(new UpdateOneModel<>(item.findQuery(), upsertItem, UPSERT_OPTIONS));
+    }
+    operations.removeIf(Objects::isNull);
+    collection.bulkWrite(operations, ordered ? WRITE_ORDERED : WRITE_UNORDERED);
   }
 
   private String getId(final Document findQuery, final Document update) {
@@ -127,59 +298,4 @@ public class MongoBulkInsertHelper<F, E extends F> {
     }
     return id;
   }
-
-  /**
-   * Upsert Persist all elements using bulk operation
-   *
-   * @return this
-   */
-  public synchronized MongoBulkInsertHelper<F, E> bulkUpsert() throws CcsDbException {
-    try {
-      if (!listUpdate.isEmpty()) {
-        final var updateOptions = new UpdateOptions().upsert(true);
-        final var finds = new Document("$or", listFindQuery);
-        final var projection = Projections.fields(Projections.include(RepositoryBaseInterface.ID));
-        final var founds = new ArrayList<String>(listFindQuery.size());
-        repositoryBase.mongoCollection().find(finds).projection(projection).batchSize(listFindQuery.size())
-            .forEach(e -> {
-              var doc = repositoryBase.getDocumentFromObject(e);
-              var id = doc.getString(RepositoryBaseInterface.ID);
-              founds.add(id);
-            });
-        final Iterator<Document> iterator = listUpdate.iterator();
-        final Iterator<Document> iteratorFindQuery = listFindQuery.iterator();
-        final Iterator<E> iteratorInsertForUpdate = listInsertForUpdate.iterator();
-        final var operations = new ArrayList<WriteModel<E>>();
-        while (iteratorFindQuery.hasNext() && iterator.hasNext() && iteratorInsertForUpdate.hasNext()) {
-          final var find = iteratorFindQuery.next();
-          Document update = iterator.next();
-          final E item = iteratorInsertForUpdate.next();
-          if (update != null) {
-            final var upsert = new UpdateOneModel<E>(find, update, updateOptions);
-            operations.add(upsert);
-          } else {
-            final var document = repositoryBase.getDocumentFromObject(item);
-            final String id = getId(find, document);
-            if (founds.contains(id)) {
-              final var upsertIem =
-                  new Document("$set", document).append("$setOnInsert", new Document(RepositoryBaseInterface.ID, id));
-              final var upsert = new UpdateOneModel<E>(find, upsertIem, updateOptions);
-              operations.add(upsert);
-            } else {
-              final var insert = new InsertOneModel<E>(item);
-              operations.add(insert);
-            }
-          }
-        }
-        repositoryBase.mongoCollection().bulkWrite(operations);
-        operations.clear();
-        listFindQuery.clear();
-        listUpdate.clear();
-        listInsertForUpdate.clear();
-      }
-      return this;
-    } catch (final RuntimeException e) {
-      throw new CcsDbException("bulkUpsert in error", e);
-    }
-  }
 }
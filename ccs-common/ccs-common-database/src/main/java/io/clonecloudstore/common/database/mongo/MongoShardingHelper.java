@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.common.database.mongo;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.jboss.logging.Logger;
+
+/**
+ * Mongo Sharding Helper: sharding of collections and zones, only applied when connected to a sharded cluster
+ * (mongos), ignored otherwise.
+ * <p>
+ * Shard keys are ranged keys, prefix of the unique index of the collection, such that uniqueness is still enforced
+ * by the cluster and the key ranges can be assigned to zones.
+ */
+public final class MongoShardingHelper {
+  private static final Logger LOGGER = Logger.getLogger(MongoShardingHelper.class);
+  private static final String ADMIN = "admin";
+  private static final String ISDBGRID = "isdbgrid";
+
+  private MongoShardingHelper() {
+    // Empty
+  }
+
+  /**
+   * @return True if the client is connected to a sharded cluster (mongos)
+   */
+  public static boolean isShardedCluster(final MongoClient mongoClient) {
+    final var hello = mongoClient.getDatabase(ADMIN).runCommand(new Document("hello", 1));
+    return ISDBGRID.equals(hello.getString("msg"));
+  }
+
+  /**
+   * Shard the collection on the given key (ranged), the collection being expected to own a unique index on this key
+   *
+   * @return True if done, False if not connected to a sharded cluster
+   */
+  public static boolean shardCollection(final MongoClient mongoClient, final MongoCollection<?> collection,
+                                        final Bson shardKey) throws CcsDbException {
+    try {
+      if (!isShardedCluster(mongoClient)) {
+        LOGGER.infof("Not a sharded cluster, %s not sharded", collection.getNamespace());
+        return false;
+      }
+      mongoClient.getDatabase(ADMIN).runCommand(
+          new Document("shardCollection", collection.getNamespace().getFullName()).append("key", shardKey)
+              .append("unique", true));
+      return true;
+    } catch (final MongoException e) {
+      throw new CcsDbException("Cannot Shard Collection", e);
+    }
+  }
+
+  /**
+   * Assign the range of shard key [min, max[ to the zone (the zone being associated with shards by the
+   * administrator), such that the related documents and their writes go to the shards of this zone
+   *
+   * @return True if done, False if not connected to a sharded cluster
+   */
+  public static boolean updateZoneKeyRange(final MongoClient mongoClient, final MongoCollection<?> collection,
+                                           final Bson min, final Bson max, final String zone)
+      throws CcsDbException {
+    try {
+      if (!isShardedCluster(mongoClient)) {
+        LOGGER.infof("Not a sharded cluster, no zone %s for %s", zone, collection.getNamespace());
+        return false;
+      }
+      mongoClient.getDatabase(ADMIN).runCommand(
+          new Document("updateZoneKeyRange", collection.getNamespace().getFullName()).append("min", min)
+              .append("max", max).append("zone", zone));
+      return true;
+    } catch (final MongoException e) {
+      throw new CcsDbException("Cannot Update Zone", e);
+    }
+  }
+}
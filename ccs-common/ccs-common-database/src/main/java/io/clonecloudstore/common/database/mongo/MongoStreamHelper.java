@@ -16,25 +16,45 @@
 
 package io.clonecloudstore.common.database.mongo;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Stream;
 
+import com.mongodb.MongoException;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
 import io.clonecloudstore.common.database.utils.DbQuery;
 import io.clonecloudstore.common.database.utils.RepositoryBaseInterface;
 import io.clonecloudstore.common.database.utils.StreamHelperInterface;
 import io.clonecloudstore.common.database.utils.exception.CcsDbException;
 import io.clonecloudstore.common.standard.stream.ClosingIterator;
 import io.clonecloudstore.common.standard.stream.StreamIteratorUtils;
+import io.clonecloudstore.common.standard.system.SystemTools;
 import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.jboss.logging.Logger;
 
 /**
- * Mongo implementation of the StreamHelper
+ * Mongo implementation of the StreamHelper.
+ * <p>
+ * Paged iterators read by pages on a key field (keyset, no skip), the next page being read asynchronously while the
+ * current one is consumed, such that no cursor stays open during a long listing and database reads overlap with the
+ * consumer processing.
  *
  * @param <F> the DAO interface type
  * @param <E> the real DAO type
  */
 public class MongoStreamHelper<F, E extends F> implements StreamHelperInterface<E> {
+  private static final Logger LOGGER = Logger.getLogger(MongoStreamHelper.class);
   public static final int MAX_LIST = 1000;
+  public static final int MAX_RETRY = 3;
+  private static final long RETRY_DELAY_MS = 100;
 
   /**
    * Constructor
@@ -56,7 +76,8 @@ public class MongoStreamHelper<F, E extends F> implements StreamHelperInterface<
   public ClosingIterator<E> findIterator(final ExtendedPanacheMongoRepositoryBase<F, E> repositoryBase,
                                          final Document document) throws CcsDbException {
     try {
-      return new DbIteratorImpl<>(repositoryBase.mongoCollection().find(document).batchSize(MAX_LIST).cursor());
+      return new DbIteratorImpl<>(
+          repositoryBase.getCollection(document).find(document).batchSize(MAX_LIST).cursor());
     } catch (final RuntimeException e) {
       throw new CcsDbException("findIterator in error", e);
     }
@@ -66,19 +87,168 @@ public class MongoStreamHelper<F, E extends F> implements StreamHelperInterface<
   public ClosingIterator<E> findIterator(final RepositoryBaseInterface<E> repositoryBase, final DbQuery query)
       throws CcsDbException {
     try {
-      if (query.isEmpty()) {
-        return new DbIteratorImpl<>(
-            ((ExtendedPanacheMongoRepositoryBase<F, E>) repositoryBase).mongoCollection().find().batchSize(MAX_LIST)
-                .cursor());
+      final var collection = ((ExtendedPanacheMongoRepositoryBase<F, E>) repositoryBase).getQueryCollection(query);
+      final var find = query.isEmpty() ? collection.find() : collection.find(query.getBson());
+      final var projection = query.getBsonProjection();
+      if (projection != null) {
+        find.projection(projection);
       }
-      return new DbIteratorImpl<>(
-          ((ExtendedPanacheMongoRepositoryBase<F, E>) repositoryBase).mongoCollection().find(query.getBson())
-              .batchSize(MAX_LIST).cursor());
+      return new DbIteratorImpl<>(find.batchSize(MAX_LIST).cursor());
     } catch (final RuntimeException e) {
       throw new CcsDbException("findIterator in error", e);
     }
   }
 
+  @Override
+  public ClosingIterator<E> findIterator(final RepositoryBaseInterface<E> repositoryBase, final DbQuery query,
+                                         final String sortField, final int limit) throws CcsDbException {
+    try {
+      final var collection = ((ExtendedPanacheMongoRepositoryBase<F, E>) repositoryBase).getQueryCollection(query);
+      final var find = query.isEmpty() ? collection.find() : collection.find(query.getBson());
+      find.sort(Sorts.ascending(sortField));
+      final var projection = query.getBsonProjection();
+      if (projection != null) {
+        find.projection(projection);
+      }
+      if (limit > 0) {
+        find.limit(limit).batchSize(Math.min(limit, MAX_LIST));
+      } else {
+        find.batchSize(MAX_LIST);
+      }
+      return new DbIteratorImpl<>(find.cursor());
+    } catch (final RuntimeException e) {
+      throw new CcsDbException("findIterator in error", e);
+    }
+  }
+
+  @Override
+  public ClosingIterator<E> findPagedIterator(final RepositoryBaseInterface<E> repositoryBase, final DbQuery query,
+                                              final String keyField, final Object startAfter) throws CcsDbException {
+    Bson projection = null;
+    if (query.getBsonProjection() != null) {
+      // The key field is needed to read the next page
+      final var fields = new ArrayList<>(query.getProjection());
+      if (!fields.contains(keyField)) {
+        fields.add(keyField);
+      }
+      projection = DbQuery.getBsonProjection(fields);
+    }
+    return findPagedIterator((ExtendedPanacheMongoRepositoryBase<F, E>) repositoryBase,
+        query.isEmpty() ? null : query.getBson(), keyField, startAfter, projection);
+  }
+
+  /**
+   * @param filter     the filter (null for all)
+   * @param keyField   the field to page on (ascending order), unique among the results
+   * @param startAfter the key value to resume after (null to start from the beginning)
+   * @param projection the optional projection (null for full items), that must keep the key field
+   * @return the iterator of elements, read by pages ordered by the key field with prefetch of the next page
+   */
+  public ClosingIterator<E> findPagedIterator(final ExtendedPanacheMongoRepositoryBase<F, E> repositoryBase,
+                                              final Bson filter, final String keyField, final Object startAfter,
+                                              final Bson projection) throws CcsDbException {
+    try {
+      return new DbPagedIteratorImpl<>(repositoryBase, filter, keyField, startAfter, projection);
+    } catch (final RuntimeException e) {
+      throw new CcsDbException("findPagedIterator in error", e);
+    }
+  }
+
+  /**
+   * Keyset pagination on a key field with prefetch of the next page; a failed page read is retried from the last
+   * key up to MAX_RETRY times
+   */
+  private static final class DbPagedIteratorImpl<F, E extends F> implements ClosingIterator<E> {
+    private final ExtendedPanacheMongoRepositoryBase<F, E> repositoryBase;
+    private final Bson filter;
+    private final String keyField;
+    private final Bson projection;
+    private Iterator<E> page = Collections.emptyIterator();
+    private CompletableFuture<List<E>> nextPage;
+
+    private DbPagedIteratorImpl(final ExtendedPanacheMongoRepositoryBase<F, E> repositoryBase, final Bson filter,
+                                final String keyField, final Object startAfter, final Bson projection) {
+      this.repositoryBase = repositoryBase;
+      this.filter = filter;
+      this.keyField = keyField;
+      this.projection = projection;
+      nextPage = readPageAsync(startAfter);
+    }
+
+    private CompletableFuture<List<E>> readPageAsync(final Object afterKey) {
+      return CompletableFuture.supplyAsync(() -> readPage(afterKey), SystemTools.VIRTUAL_EXECUTOR_SERVICE);
+    }
+
+    private List<E> readPage(final Object afterKey) {
+      Bson pageFilter = filter;
+      if (afterKey != null) {
+        final var keyFilter = Filters.gt(keyField, afterKey);
+        pageFilter = filter == null ? keyFilter : Filters.and(filter, keyFilter);
+      }
+      for (int attempt = 1; ; attempt++) {
+        try {
+          final var collection = repositoryBase.getCollection(filter);
+          final var find = pageFilter == null ? collection.find() : collection.find(pageFilter);
+          find.sort(Sorts.ascending(keyField)).limit(MAX_LIST).batchSize(MAX_LIST);
+          if (projection != null) {
+            find.projection(projection);
+          }
+          return find.into(new ArrayList<>(MAX_LIST));
+        } catch (final MongoException e) {
+          if (attempt >= MAX_RETRY) {
+            throw e;
+          }
+          LOGGER.warnf("Page read in error, retry %d after %s: %s", attempt, afterKey, e.getMessage());
+          try {
+            Thread.sleep(RETRY_DELAY_MS * attempt); //NOSONAR intentional
+          } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw e;
+          }
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!page.hasNext() && nextPage != null) {
+        final List<E> list;
+        try {
+          list = nextPage.join();
+        } catch (final CompletionException e) {
+          nextPage = null;
+          if (e.getCause() instanceof final RuntimeException runtimeException) {
+            throw runtimeException;
+          }
+          throw e;
+        }
+        nextPage = null;
+        if (list.size() >= MAX_LIST) {
+          nextPage = readPageAsync(repositoryBase.getDocumentFromObject(list.getLast()).get(keyField));
+        }
+        page = list.iterator();
+      }
+      return page.hasNext();
+    }
+
+    @Override
+    public E next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException("No next element");
+      }
+      return page.next();
+    }
+
+    @Override
+    public void close() {
+      if (nextPage != null) {
+        nextPage.cancel(false);
+        nextPage = null;
+      }
+      page = Collections.emptyIterator();
+    }
+  }
+
   private record DbIteratorImpl<E>(MongoCursor<E> mongoCursor) implements ClosingIterator<E> {
 
     @Override
@@ -16,14 +16,17 @@
 
 package io.clonecloudstore.common.database.postgre;
 
+import java.util.List;
 import java.util.stream.Stream;
 
 import io.clonecloudstore.common.database.utils.DbQuery;
+import io.clonecloudstore.common.database.utils.DbQueryProfiler;
 import io.clonecloudstore.common.database.utils.DbUpdate;
 import io.clonecloudstore.common.database.utils.RepositoryBaseInterface;
 import io.clonecloudstore.common.database.utils.exception.CcsDbException;
 import io.clonecloudstore.common.standard.stream.ClosingIterator;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.transaction.Transactional;
 import org.hibernate.jpa.HibernateHints;
 import org.hibernate.query.Query;
@@ -38,7 +41,7 @@ import static io.clonecloudstore.common.database.postgre.PostgreStreamHelper.MAX
 public abstract class ExtendedPanacheRepositoryBase<F, E extends F>
     implements PanacheRepositoryBase<E, String>, RepositoryBaseInterface<F> {
   protected final PostgreStreamHelper<F, E> streamHelper = new PostgreStreamHelper<>();
-  protected final PostgreBulkHelper helper = new PostgreBulkHelper();
+  protected final PostgreBulkHelper<F, E> helper = new PostgreBulkHelper<>(this);
   private final E forClass;
 
   protected ExtendedPanacheRepositoryBase(final E forClass) {
@@ -59,17 +62,25 @@ public abstract class ExtendedPanacheRepositoryBase<F, E extends F>
   }
 
   /**
-   * SHall be in an enclosing Transactional to enforce bulk effects
+   * Bulk inserts might be loaded through COPY (much faster than INSERT for large volumes) by repositories able to
+   * write their rows natively
+   *
+   * @param entities the entities to insert, within the current transaction
+   * @return True if inserted, False if not supported (default), the entities being then persisted
+   */
+  protected boolean copyInsert(final List<E> entities) {
+    return false;
+  }
+
+  /**
+   * Kept in the batch of the current thread until it is full or until flushAll
    */
   @Override
   @Transactional
   public ExtendedPanacheRepositoryBase<F, E> addToInsertBulk(final F so) throws CcsDbException {
     try {
-      // Implicit bulk through configuration: quarkus.hibernate-orm.jdbc.statement-batch-size
-      insert(so);
-      // Explicit one
-      if (helper.addToBulk()) {
-        flushAll();
+      if (helper.addToInsertBulk((E) so)) {
+        helper.flushCurrentThread();
       }
       return this;
     } catch (final RuntimeException e) {
@@ -78,20 +89,17 @@ public abstract class ExtendedPanacheRepositoryBase<F, E extends F>
   }
 
   /**
-   * SHall be in an enclosing Transactional to enforce bulk effects
+   * Kept in the batch of the current thread until it is full or until flushAll
    */
   @Transactional
   public ExtendedPanacheRepositoryBase<F, E> addToUpdateBulk(final F so) throws CcsDbException {
     try {
-      // Implicit bulk through configuration: quarkus.hibernate-orm.jdbc.statement-batch-size
-      updateFull(so);
-      // Explicit one
-      if (helper.addToBulk()) {
-        flushAll();
+      if (helper.addToUpdateBulk((E) so)) {
+        helper.flushCurrentThread();
       }
       return this;
     } catch (final RuntimeException e) {
-      throw new CcsDbException("addToInsertBulk in error", e);
+      throw new CcsDbException("addToUpdateBulk in error", e);
     }
   }
 
@@ -99,8 +107,8 @@ public abstract class ExtendedPanacheRepositoryBase<F, E extends F>
   @Transactional
   public void flushAll() throws CcsDbException {
     try {
+      helper.bulkWrite();
       PanacheRepositoryBase.super.flush();
-      helper.resetBulk();
     } catch (final RuntimeException e) {
       throw new CcsDbException("flushAll in error", e);
     }
@@ -112,8 +120,12 @@ public abstract class ExtendedPanacheRepositoryBase<F, E extends F>
       if (query.isEmpty()) {
         return findAll().range(0, 1).firstResult();
       }
-      return find(PostgreSqlHelper.query(query), query.getSqlParamsAsArray()).withHint(HibernateHints.HINT_READ_ONLY,
-          true).withHint(HibernateHints.HINT_CACHEABLE, false).firstResult();
+      final var start = DbQueryProfiler.getInstance().start();
+      final F result =
+          find(PostgreSqlHelper.query(query), query.getSqlParamsAsArray()).withHint(HibernateHints.HINT_READ_ONLY,
+              true).withHint(HibernateHints.HINT_CACHEABLE, false).firstResult();
+      profile(DbQueryProfiler.OP_FIND_ONE, query, null, start);
+      return result;
     } catch (final RuntimeException e) {
       throw new CcsDbException("findOne in error", e);
     }
@@ -150,21 +162,70 @@ public abstract class ExtendedPanacheRepositoryBase<F, E extends F>
   @Override
   public ClosingIterator<F> findIterator(final DbQuery query) throws CcsDbException {
     try {
-      return (ClosingIterator<F>) streamHelper.findIterator((RepositoryBaseInterface<E>) this, query);
+      final var start = DbQueryProfiler.getInstance().start();
+      final var iterator = (ClosingIterator<F>) streamHelper.findIterator((RepositoryBaseInterface<E>) this, query);
+      profile(DbQueryProfiler.OP_ITERATOR, query, null, start);
+      return iterator;
+    } catch (final RuntimeException e) {
+      throw new CcsDbException("findIterator in error", e);
+    }
+  }
+
+  @Override
+  public ClosingIterator<F> findIterator(final DbQuery query, final String sortField, final int limit)
+      throws CcsDbException {
+    try {
+      final var start = DbQueryProfiler.getInstance().start();
+      final var iterator =
+          (ClosingIterator<F>) streamHelper.findIterator((RepositoryBaseInterface<E>) this, query, sortField, limit);
+      profile(DbQueryProfiler.OP_ITERATOR, query, sortField, start);
+      return iterator;
     } catch (final RuntimeException e) {
       throw new CcsDbException("findIterator in error", e);
     }
   }
 
+  @Override
+  public ClosingIterator<F> findPagedIterator(final DbQuery query, final String keyField, final Object startAfter)
+      throws CcsDbException {
+    final var start = DbQueryProfiler.getInstance().start();
+    final var iterator =
+        (ClosingIterator<F>) streamHelper.findPagedIterator((RepositoryBaseInterface<E>) this, query, keyField,
+            startAfter);
+    profile(DbQueryProfiler.OP_PAGED, query, keyField, start);
+    return iterator;
+  }
+
   @Override
   public long count(final DbQuery query) throws CcsDbException {
     try {
-      return count(PostgreSqlHelper.query(query), query.getSqlParamsAsArray());
+      final var start = DbQueryProfiler.getInstance().start();
+      final var result = count(PostgreSqlHelper.query(query), query.getSqlParamsAsArray());
+      profile(DbQueryProfiler.OP_COUNT, query, null, start);
+      return result;
     } catch (final RuntimeException e) {
       throw new CcsDbException("count in error", e);
     }
   }
 
+  @Override
+  public boolean exists(final DbQuery query) throws CcsDbException {
+    try {
+      final var start = DbQueryProfiler.getInstance().start();
+      final var nativeQuery = getEntityManager().createNativeQuery(PostgreSqlHelper.exists(getTable(), query));
+      int pos = 1;
+      for (final var param : query.getSqlParams()) {
+        nativeQuery.setParameter(pos, param);
+        pos++;
+      }
+      final var result = !nativeQuery.getResultList().isEmpty();
+      profile(DbQueryProfiler.OP_EXISTS, query, null, start);
+      return result;
+    } catch (final RuntimeException e) {
+      throw new CcsDbException("exists in error", e);
+    }
+  }
+
   @Override
   public long countAll() throws CcsDbException {
     try {
@@ -188,7 +249,10 @@ public abstract class ExtendedPanacheRepositoryBase<F, E extends F>
   @Transactional
   public long delete(final DbQuery query) throws CcsDbException {
     try {
-      return delete(PostgreSqlHelper.query(query), query.getSqlParamsAsArray());
+      final var start = DbQueryProfiler.getInstance().start();
+      final var result = delete(PostgreSqlHelper.query(query), query.getSqlParamsAsArray());
+      profile(DbQueryProfiler.OP_DELETE, query, null, start);
+      return result;
     } catch (final RuntimeException e) {
       throw new CcsDbException("delete in error", e);
     }
@@ -198,6 +262,7 @@ public abstract class ExtendedPanacheRepositoryBase<F, E extends F>
   @Transactional
   public long update(final DbQuery query, final DbUpdate update) throws CcsDbException {
     try {
+      final var start = DbQueryProfiler.getInstance().start();
       final var nativeQuery = this.getEntityManager()
           .createNativeQuery("UPDATE " + getTable() + " " + PostgreSqlHelper.update(update, query));
       final var params = PostgreSqlHelper.getUpdateParamsAsArray(update, query);
@@ -206,12 +271,43 @@ public abstract class ExtendedPanacheRepositoryBase<F, E extends F>
         nativeQuery.setParameter(pos, param);
         pos++;
       }
-      return nativeQuery.executeUpdate();
+      final var result = nativeQuery.executeUpdate();
+      profile(DbQueryProfiler.OP_UPDATE, query, null, start);
+      return result;
     } catch (final RuntimeException e) {
       throw new CcsDbException("update in error", e);
     }
   }
 
+  private void profile(final String operation, final DbQuery query, final String sortField, final long start) {
+    if (start != 0) {
+      DbQueryProfiler.getInstance()
+          .record(getTable(), operation, query, sortField, start, () -> explain(query, sortField));
+    }
+  }
+
+  /**
+   * @return the text plan (EXPLAIN without ANALYZE, the query is not executed) of the select of this query (used by
+   * the DbQueryProfiler, possibly from a background thread, hence within its own transaction)
+   */
+  public String explain(final DbQuery query, final String sortField) {
+    final var select = sortField != null ? PostgreSqlHelper.select(getTable(), query, sortField, 0) :
+        PostgreSqlHelper.select(getTable(), query);
+    return QuarkusTransaction.requiringNew().call(() -> {
+      final var nativeQuery = getEntityManager().createNativeQuery("EXPLAIN " + select);
+      int pos = 1;
+      for (final var param : query.getSqlParams()) {
+        nativeQuery.setParameter(pos, param);
+        pos++;
+      }
+      final var builder = new StringBuilder();
+      for (final var line : nativeQuery.getResultList()) {
+        builder.append(line).append('\n');
+      }
+      return builder.toString();
+    });
+  }
+
   @Override
   @Transactional
   public boolean updateFull(final F item) throws CcsDbException {
@@ -259,6 +355,24 @@ public abstract class ExtendedPanacheRepositoryBase<F, E extends F>
     }
   }
 
+  /**
+   * Build the SELECT Hibernate Query from the DbQuery, sorted and limited
+   */
+  public Query<E> getSelectQuery(final DbQuery dbQuery, final String sortField, final int limit)
+      throws CcsDbException {
+    try {
+      final var fetchSize = limit > 0 ? Math.min(limit, MAX_LIST) : MAX_LIST;
+      final var query = (Query<E>) getEntityManager().createNativeQuery(
+              PostgreSqlHelper.select(getTable(), dbQuery, sortField, limit), forClass.getClass())
+          .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize).setHint(HibernateHints.HINT_READ_ONLY, true)
+          .setHint(HibernateHints.HINT_CACHEABLE, false);
+      setParameter(query, dbQuery);
+      return query;
+    } catch (final RuntimeException e) {
+      throw new CcsDbException("getSelectQuery in error", e);
+    }
+  }
+
   private void setParameter(final Query<E> query, final DbQuery dbQuery) {
     var i = 1;
     for (final var param : dbQuery.getSqlParams()) {
@@ -14,25 +14,57 @@
  *  limitations under the License.
  */
 
+
 package io.clonecloudstore.common.database.postgre;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
 import io.clonecloudstore.common.quarkus.properties.QuarkusSystemPropertyUtil;
+import org.hibernate.Session;
 
 /**
- * Postgre implementation of the BulkHelper
+ * Postgre implementation of the BulkHelper.
+ * <p>
+ * Each thread fills its own batch of entities, keeping the order of its operations. A batch is written in one flush
+ * using JDBC batches of the bulk size (one prepared statement per batch), such that, with the PostgreSQL driver option
+ * {@code reWriteBatchedInserts=true}, inserts become multi-rows {@code INSERT ... VALUES}. Written entities are
+ * detached from the session to keep it small.
+ *
+ * @param <E> the DTO type to use
  */
-public class PostgreBulkHelper {
-  private int maxBatch =
-      QuarkusSystemPropertyUtil.getIntegerConfig("quarkus.hibernate-orm.jdbc.statement-batch-size", 50);
-  private final AtomicInteger bulkCount = new AtomicInteger(0);
+public class PostgreBulkHelper<F, E extends F> {
+  public static final int MAX_BATCH = 1000;
+  public static final String CCS_DB_POSTGRE_BULK_SIZE = "ccs.db.postgre.bulk_size";
+  private int maxBatch = QuarkusSystemPropertyUtil.getIntegerConfig(CCS_DB_POSTGRE_BULK_SIZE, MAX_BATCH);
+  protected final ExtendedPanacheRepositoryBase<F, E> repositoryBase;
+  private final Map<Thread, Batch<E>> batches = new ConcurrentHashMap<>();
+
+  /**
+   * One pending Insert or Update
+   *
+   * @param entity the entity
+   * @param update True for an Update (merge), else an Insert (persist)
+   */
+  protected record BulkItem<E>(E entity, boolean update) {
+  }
+
+  /**
+   * Batch of one thread
+   */
+  private static final class Batch<E> {
+    private final List<BulkItem<E>> items = new ArrayList<>();
+    private boolean removed;
+  }
 
   /**
    * Constructor
    */
-  public PostgreBulkHelper() {
-    // Empty
+  public PostgreBulkHelper(final ExtendedPanacheRepositoryBase<F, E> repositoryBase) {
+    this.repositoryBase = repositoryBase;
   }
 
   protected void changeBulkSize(final int bulkSize) {
@@ -46,25 +78,113 @@ public class PostgreBulkHelper {
   }
 
   /**
-   * @return True if bulk operation reaches the limit
+   * @return the current max batch value (from ccs.db.postgre.bulk_size, default 1000)
    */
-  public boolean addToBulk() {
-    final var cpt = bulkCount.addAndGet(1);
-    final var toFlush = cpt >= getMaxBatch();
-    if (toFlush) {
-      resetBulk();
+  protected int getMaxBatch() {
+    return maxBatch;
+  }
+
+  /**
+   * @param entity the element to insert within a bulk operation
+   * @return True if bulk operation reaches the limit for the current thread
+   */
+  public boolean addToInsertBulk(final E entity) {
+    return addToBatch(new BulkItem<>(entity, false));
+  }
+
+  /**
+   * @param entity the element to update within a bulk operation
+   * @return True if bulk operation reaches the limit for the current thread
+   */
+  public boolean addToUpdateBulk(final E entity) {
+    return addToBatch(new BulkItem<>(entity, true));
+  }
+
+  /**
+   * Add to the batch of the current thread, taking care of a batch concurrently released
+   */
+  private boolean addToBatch(final BulkItem<E> item) {
+    while (true) {
+      final var batch = batches.computeIfAbsent(Thread.currentThread(), thread -> new Batch<>());
+      synchronized (batch) {
+        if (!batch.removed) {
+          batch.items.add(item);
+          return batch.items.size() >= getMaxBatch();
+        }
+      }
     }
-    return toFlush;
   }
 
   /**
-   * @return the current max batch value
+   * Write all elements of all threads using bulk operations
+   *
+   * @return this
    */
-  protected int getMaxBatch() {
-    return maxBatch;
+  public PostgreBulkHelper<F, E> bulkWrite() throws CcsDbException {
+    for (final var entry : batches.entrySet()) {
+      write(entry.getKey(), entry.getValue());
+    }
+    return this;
+  }
+
+  /**
+   * Write all elements of the current thread only
+   */
+  public void flushCurrentThread() throws CcsDbException {
+    final var thread = Thread.currentThread();
+    final var batch = batches.get(thread);
+    if (batch != null) {
+      write(thread, batch);
+    }
+  }
+
+  /**
+   * Write then release the batch, such that batches of ended threads do not accumulate
+   */
+  private void write(final Thread thread, final Batch<E> batch) throws CcsDbException {
+    synchronized (batch) {
+      try {
+        if (!batch.items.isEmpty()) {
+          writeItems(batch.items);
+        }
+      } catch (final RuntimeException e) {
+        throw new CcsDbException("bulkWrite in error", e);
+      } finally {
+        batch.items.clear();
+        batch.removed = true;
+        batches.remove(thread, batch);
+      }
+    }
   }
 
-  public void resetBulk() {
-    bulkCount.set(0);
+  /**
+   * Write the items in order within one flush, using JDBC batches of the bulk size, or through COPY if all are
+   * inserts and the repository supports it
+   */
+  protected void writeItems(final List<BulkItem<E>> items) {
+    if (items.stream().noneMatch(BulkItem::update) &&
+        repositoryBase.copyInsert(items.stream().map(BulkItem::entity).toList())) {
+      return;
+    }
+    final var session = repositoryBase.getEntityManager().unwrap(Session.class);
+    final var previousBatchSize = session.getJdbcBatchSize();
+    session.setJdbcBatchSize(getMaxBatch());
+    try {
+      final var managed = new ArrayList<>(items.size());
+      for (final var item : items) {
+        if (item.update()) {
+          managed.add(session.merge(item.entity()));
+        } else {
+          session.persist(item.entity());
+          managed.add(item.entity());
+        }
+      }
+      session.flush();
+      for (final var entity : managed) {
+        session.detach(entity);
+      }
+    } finally {
+      session.setJdbcBatchSize(previousBatchSize);
+    }
   }
 }
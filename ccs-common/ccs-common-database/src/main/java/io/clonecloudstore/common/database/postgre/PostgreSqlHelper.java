@@ -72,6 +72,23 @@ public final class PostgreSqlHelper {
     return builder.toString();
   }
 
+  /**
+   * For Native Query only with additional parameters using getSqlParamsAsArray()
+   *
+   * @param table     the table name
+   * @param query     the DbQuery
+   * @param sortField the field to sort on (ascending order)
+   * @param limit     the maximum number of rows (0 for no limit)
+   * @return the SELECT native Query, sorted and limited, with extra parameters as "?"
+   */
+  public static String select(final String table, final DbQuery query, final String sortField, final int limit) {
+    final var builder = new StringBuilder(select(table, query)).append(" ORDER BY ").append(sortField).append(" ASC");
+    if (limit > 0) {
+      builder.append(" LIMIT ").append(limit);
+    }
+    return builder.toString();
+  }
+
   /**
    * For Native Query only with additional parameters using getSqlParamsAsArray()
    *
@@ -88,6 +105,22 @@ public final class PostgreSqlHelper {
     return builder.toString();
   }
 
+  /**
+   * For Native Query only with additional parameters using getSqlParamsAsArray()
+   *
+   * @param table the table name
+   * @param query the DbQuery
+   * @return the EXISTS native Query (one row at most) with extra parameters as "?"
+   */
+  public static String exists(final String table, final DbQuery query) {
+    if (query.isEmpty()) {
+      return "SELECT 1 FROM " + table + " LIMIT 1";
+    }
+    final var builder =
+        new StringBuilder("SELECT 1 FROM ").append(table).append(WHERE).append(simpleQuery(query)).append(" LIMIT 1");
+    return builder.toString();
+  }
+
   /**
    * For Native Query only with additional parameters using getSqlParamsAsArray()
    *
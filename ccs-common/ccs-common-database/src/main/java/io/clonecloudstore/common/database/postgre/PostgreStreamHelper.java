@@ -16,21 +16,32 @@
 
 package io.clonecloudstore.common.database.postgre;
 
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.stream.Stream;
 
 import io.clonecloudstore.common.database.utils.DbQuery;
+import io.clonecloudstore.common.database.utils.RestQuery;
 import io.clonecloudstore.common.database.utils.RepositoryBaseInterface;
 import io.clonecloudstore.common.database.utils.StreamHelperInterface;
 import io.clonecloudstore.common.database.utils.exception.CcsDbException;
 import io.clonecloudstore.common.quarkus.properties.QuarkusSystemPropertyUtil;
 import io.clonecloudstore.common.standard.stream.ClosingIterator;
 import io.clonecloudstore.common.standard.stream.StreamIteratorUtils;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import static io.clonecloudstore.common.database.utils.RepositoryBaseInterface.ID_PG;
 
 /**
- * Postgre implementation of the StreamHelper
+ * Postgre implementation of the StreamHelper.
+ * Within a transaction, a server side cursor (scroll with fetch size) is used; outside, results are read by pages
+ * ordered by primary key (keyset), each page in its own short transaction, so that iterators are still usable
+ * once returned by a Transactional repository (as for MongoDB).
  *
  * @param <F> the DAO interface type
  * @param <E> the real DAO type
@@ -51,9 +62,7 @@ public class PostgreStreamHelper<F, E extends F> implements StreamHelperInterfac
       throws CcsDbException {
     try {
       // Using native stream might be baddest for memory (stream seems to get full result first)
-      final var iterator =
-          new DbIteratorImpl<>(findScrollable((ExtendedPanacheRepositoryBase<F, E>) repositoryBase, query));
-      return StreamIteratorUtils.getStreamFromIterator(iterator);
+      return StreamIteratorUtils.getStreamFromIterator(findIterator(repositoryBase, query));
     } catch (final RuntimeException e) {
       throw new CcsDbException("findStream in error", e);
     }
@@ -63,12 +72,47 @@ public class PostgreStreamHelper<F, E extends F> implements StreamHelperInterfac
   public ClosingIterator<E> findIterator(final RepositoryBaseInterface<E> repositoryBase, final DbQuery query)
       throws CcsDbException {
     try {
-      return new DbIteratorImpl<>(findScrollable((ExtendedPanacheRepositoryBase<F, E>) repositoryBase, query));
+      final var repository = (ExtendedPanacheRepositoryBase<F, E>) repositoryBase;
+      if (!QuarkusTransaction.isActive()) {
+        return new DbPagedIteratorImpl(repository, query, ID_PG, null);
+      }
+      return new DbIteratorImpl<>(findScrollable(repository, query));
+    } catch (final RuntimeException e) {
+      throw new CcsDbException("findIterator in error", e);
+    }
+  }
+
+  @Override
+  public ClosingIterator<E> findIterator(final RepositoryBaseInterface<E> repositoryBase, final DbQuery query,
+                                         final String sortField, final int limit) throws CcsDbException {
+    try {
+      final var repository = (ExtendedPanacheRepositoryBase<F, E>) repositoryBase;
+      if (!QuarkusTransaction.isActive()) {
+        // Sorted results are expected to be limited (pages): read at once
+        final List<E> list = QuarkusTransaction.joiningExisting()
+            .call(() -> repository.getSelectQuery(query, sortField, limit).getResultList());
+        return new DbListIteratorImpl<>(list.iterator());
+      }
+      final var hibernateQuery = repository.getSelectQuery(query, sortField, limit);
+      final var scroll = hibernateQuery.scroll(ScrollMode.FORWARD_ONLY);
+      scroll.setFetchSize(limit > 0 ? Math.min(limit, MAX_LIST) : MAX_LIST);
+      return new DbIteratorImpl<>(scroll);
     } catch (final RuntimeException e) {
       throw new CcsDbException("findIterator in error", e);
     }
   }
 
+  @Override
+  public ClosingIterator<E> findPagedIterator(final RepositoryBaseInterface<E> repositoryBase, final DbQuery query,
+                                              final String keyField, final Object startAfter) throws CcsDbException {
+    try {
+      return new DbPagedIteratorImpl((ExtendedPanacheRepositoryBase<F, E>) repositoryBase, query, keyField,
+          startAfter);
+    } catch (final RuntimeException e) {
+      throw new CcsDbException("findPagedIterator in error", e);
+    }
+  }
+
   /**
    * Used by findStream (prefer findStream)
    *
@@ -86,6 +130,98 @@ public class PostgreStreamHelper<F, E extends F> implements StreamHelperInterfac
     }
   }
 
+  /**
+   * Keyset pagination on a key field (primary key by default), each page being read in its own transaction
+   */
+  private class DbPagedIteratorImpl implements ClosingIterator<E> {
+    private final ExtendedPanacheRepositoryBase<F, E> repository;
+    private final DbQuery query;
+    private final String keyField;
+    private Iterator<E> page = Collections.emptyIterator();
+    private Object lastKey;
+    private boolean lastPage;
+
+    private DbPagedIteratorImpl(final ExtendedPanacheRepositoryBase<F, E> repository, final DbQuery query,
+                                final String keyField, final Object startAfter) {
+      this.repository = repository;
+      this.query = query;
+      this.keyField = keyField;
+      this.lastKey = startAfter;
+    }
+
+    private void nextPage() {
+      final DbQuery pageQuery;
+      if (lastKey == null) {
+        pageQuery = query;
+      } else if (query.isEmpty()) {
+        pageQuery = new DbQuery(RestQuery.QUERY.GT, keyField, lastKey);
+      } else {
+        pageQuery =
+            new DbQuery(RestQuery.CONJUNCTION.AND, query, new DbQuery(RestQuery.QUERY.GT, keyField, lastKey));
+      }
+      final List<E> list = QuarkusTransaction.joiningExisting()
+          .call(() -> repository.getSelectQuery(pageQuery, keyField, MAX_LIST).getResultList());
+      lastPage = list.size() < MAX_LIST;
+      if (!list.isEmpty()) {
+        lastKey = getKey(list.getLast());
+      }
+      page = list.iterator();
+    }
+
+    private Object getKey(final E item) {
+      if (ID_PG.equals(keyField)) {
+        return repository.getEntityManager().getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(item);
+      }
+      return repository.getEntityManager().getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+          .getMappingMetamodel().getEntityDescriptor(item.getClass()).getPropertyValue(item, keyField);
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!page.hasNext() && !lastPage) {
+        nextPage();
+      }
+      return page.hasNext();
+    }
+
+    @Override
+    public E next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException("No next element");
+      }
+      return page.next();
+    }
+
+    @Override
+    public void close() {
+      lastPage = true;
+      page = Collections.emptyIterator();
+    }
+  }
+
+  private static class DbListIteratorImpl<E> implements ClosingIterator<E> {
+    private final Iterator<E> iterator;
+
+    private DbListIteratorImpl(final Iterator<E> iterator) {
+      this.iterator = iterator;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return iterator.hasNext();
+    }
+
+    @Override
+    public E next() {
+      return iterator.next();
+    }
+
+    @Override
+    public void close() {
+      // Nothing
+    }
+  }
+
   private static class DbIteratorImpl<E> implements ClosingIterator<E> {
     private final ScrollableResults<E> results;
     private E element = null;
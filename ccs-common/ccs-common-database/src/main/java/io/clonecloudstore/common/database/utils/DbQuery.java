@@ -20,16 +20,24 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import io.clonecloudstore.common.quarkus.properties.JsonUtil;
 import io.clonecloudstore.common.standard.exception.CcsInvalidArgumentRuntimeException;
 import io.quarkus.runtime.annotations.IgnoreProperty;
 import jakarta.persistence.Transient;
+import org.bson.Document;
 import org.bson.conversions.Bson;
 
 import static io.clonecloudstore.common.database.utils.RestQuery.QUERY.EQ;
+import static io.clonecloudstore.common.database.utils.RestQuery.QUERY.GT;
 import static io.clonecloudstore.common.database.utils.RestQuery.QUERY.GTE;
+import static io.clonecloudstore.common.database.utils.RestQuery.QUERY.JSON_INDEXED_EQ;
+import static io.clonecloudstore.common.database.utils.RestQuery.QUERY.LT;
 import static io.clonecloudstore.common.database.utils.RestQuery.QUERY.LTE;
 import static io.clonecloudstore.common.database.utils.RestQuery.QUERY.NEQ;
 import static io.clonecloudstore.common.database.utils.RestQuery.QUERY.START_WITH;
@@ -40,12 +48,20 @@ import static io.clonecloudstore.common.database.utils.RestQuery.QUERY.START_WIT
  * MongoSqlHelper or natively using Repository.
  */
 public class DbQuery extends RestQuery {
+  /**
+   * MongoDB array field of the metadata attributes (as {k, v} items), maintained from the metadata
+   */
+  public static final String METADATA_ATTRIBUTES_MG_FIELD = "attributes";
+  public static final String ATTRIBUTE_KEY = "k";
+  public static final String ATTRIBUTE_VALUE = "v";
   private static final DbQuery[] EMPTY_ARRAY_DB_QUERIES = new DbQuery[0];
   private static final String OR = " OR ";
   private static final String AND = " AND ";
   private static final String NOT = "NOT(";
   private static final char END_PARENTHESIS = ')';
   private static final String METADATA_FIELD = "metadata ->> '";
+  private static final String METADATA_CONTAINS = "metadata @> CAST(";
+  private static final String AS_JSONB = " AS jsonb)";
   private static final String COMMA = ", ";
   private static final char QUOTE_DOUBLE = '\"';
   private static final String PARAM = "#";
@@ -68,6 +84,10 @@ public class DbQuery extends RestQuery {
   @Transient
   @JsonIgnore
   private Object bson;
+  @IgnoreProperty
+  @Transient
+  @JsonIgnore
+  private List<String> projection;
 
   /**
    * Empty query
@@ -107,6 +127,8 @@ public class DbQuery extends RestQuery {
       case NEQ -> neq(field, value);
       case GTE -> gte(field, value);
       case LTE -> lte(field, value);
+      case GT -> gt(field, value);
+      case LT -> lt(field, value);
       default -> {
         // Nothing
       }
@@ -120,14 +142,18 @@ public class DbQuery extends RestQuery {
       case NEQ -> neq(field, value);
       case GTE -> gte(field, value);
       case LTE -> lte(field, value);
+      case GT -> gt(field, value);
+      case LT -> lt(field, value);
       case START_WITH -> startWith(field, value);
       case JSON_EQ -> jsonEq(field, value);
       case JSON_NEQ -> jsonNeq(field, value);
+      case JSON_INDEXED_EQ -> jsonIndexedEq(field, value);
       default -> {
         // Nothing
       }
     }
-    if (EQ.equals(query) || NEQ.equals(query) || GTE.equals(query) || LTE.equals(query) || START_WITH.equals(query)) {
+    if (EQ.equals(query) || NEQ.equals(query) || GTE.equals(query) || LTE.equals(query) || GT.equals(query) ||
+        LT.equals(query) || START_WITH.equals(query) || JSON_INDEXED_EQ.equals(query)) {
       setMgFromSql();
     }
   }
@@ -202,15 +228,67 @@ public class DbQuery extends RestQuery {
     }
   }
 
+  @IgnoreProperty
+  @Transient
+  @JsonIgnore
+  private void gt(final String field, final Object value) {
+    builder.append(field).append(" > ").append(PARAM);
+    params.add(value);
+    if (IS_DB_TYPE_MONGODB) {
+      bson = Filters.gt(field, value);
+    }
+  }
+
+  @IgnoreProperty
+  @Transient
+  @JsonIgnore
+  private void lt(final String field, final Object value) {
+    builder.append(field).append(" < ").append(PARAM);
+    params.add(value);
+    if (IS_DB_TYPE_MONGODB) {
+      bson = Filters.lt(field, value);
+    }
+  }
+
+  /**
+   * PostgreSQL: LIKE with escaped prefix (a range would not be valid for non "C" collations); MongoDB: index range
+   * scan (field >= prefix AND field < upper bound) since strings are compared in binary order
+   */
   @IgnoreProperty
   @Transient
   @JsonIgnore
   private void startWith(final String field, final String prefix) {
     builder.append(field).append(" LIKE (").append(PARAM).append("||'%')");
-    params.add(prefix);
+    params.add(escapeLike(prefix));
     if (IS_DB_TYPE_MONGODB) {
-      bson = Filters.regex(field, '^' + prefix + ".*$");
+      final var upperBound = getPrefixUpperBound(prefix);
+      bson = upperBound == null ? Filters.gte(field, prefix) :
+          Filters.and(Filters.gte(field, prefix), Filters.lt(field, upperBound));
+    }
+  }
+
+  private static String escapeLike(final String prefix) {
+    return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+
+  /**
+   * @param prefix the prefix
+   * @return the smallest String greater than all Strings starting with this prefix, in code point order (binary
+   *     order of UTF-8), or null if none (empty prefix or only maximum code points)
+   */
+  public static String getPrefixUpperBound(final String prefix) {
+    final var codePoints = prefix.codePoints().toArray();
+    for (int i = codePoints.length - 1; i >= 0; i--) {
+      if (codePoints[i] < Character.MAX_CODE_POINT) {
+        var next = codePoints[i] + 1;
+        if (next == Character.MIN_SURROGATE) {
+          next = Character.MAX_SURROGATE + 1;
+        }
+        final var builder = new StringBuilder(new String(codePoints, 0, i));
+        return builder.appendCodePoint(next).toString();
+      }
     }
+    return null;
   }
 
   @IgnoreProperty
@@ -245,6 +323,26 @@ public class DbQuery extends RestQuery {
     }
   }
 
+  /**
+   * PostgreSQL: containment on the Jsonb metadata (GIN index); MongoDB: element of the metadata attributes array
+   * (compound index on site, bucket, key and value)
+   */
+  @IgnoreProperty
+  @Transient
+  @JsonIgnore
+  private void jsonIndexedEq(final String field, final String value) {
+    builder.append(METADATA_CONTAINS).append(PARAM).append(AS_JSONB);
+    try {
+      params.add(JsonUtil.getInstance().writeValueAsString(Map.of(field, value)));
+    } catch (final JsonProcessingException e) {
+      throw new CcsInvalidArgumentRuntimeException(e.getMessage(), e);
+    }
+    if (IS_DB_TYPE_MONGODB) {
+      bson = Filters.elemMatch(METADATA_ATTRIBUTES_MG_FIELD,
+          new Document(ATTRIBUTE_KEY, field).append(ATTRIBUTE_VALUE, value));
+    }
+  }
+
   @IgnoreProperty
   @Transient
   @JsonIgnore
@@ -726,6 +824,56 @@ public class DbQuery extends RestQuery {
     return builderMg;
   }
 
+  /**
+   * Restrict the fields read by find operations to the given ones, other fields keeping their default value.
+   * On MongoDB, the Primary Key is excluded unless given, such that a query on indexed fields projected on indexed
+   * fields is covered by the index. On PostgreSQL, rows are still read whole (entity mapping).
+   *
+   * @param fields the fields to read
+   * @return this
+   */
+  @IgnoreProperty
+  @Transient
+  @JsonIgnore
+  public DbQuery setProjection(final String... fields) {
+    projection = List.of(fields);
+    return this;
+  }
+
+  /**
+   * @return the fields to read, null for all
+   */
+  @IgnoreProperty
+  @Transient
+  @JsonIgnore
+  public List<String> getProjection() {
+    return projection;
+  }
+
+  /**
+   * @return the projection as Bson (for NoSQL), null for all fields
+   */
+  @IgnoreProperty
+  @Transient
+  @JsonIgnore
+  public Bson getBsonProjection() {
+    return getBsonProjection(projection);
+  }
+
+  /**
+   * @param fields the fields to read
+   * @return the projection as Bson (for NoSQL), null for all fields
+   */
+  public static Bson getBsonProjection(final List<String> fields) {
+    if (fields == null || fields.isEmpty()) {
+      return null;
+    }
+    if (fields.contains(RepositoryBaseInterface.ID)) {
+      return Projections.include(fields);
+    }
+    return Projections.fields(Projections.include(fields), Projections.excludeId());
+  }
+
   /**
    * @return the query as Bson (for NoSQL)
    */
@@ -0,0 +1,448 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.common.database.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import io.clonecloudstore.common.quarkus.properties.QuarkusSystemPropertyUtil;
+import io.clonecloudstore.common.standard.system.SystemTools;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.jboss.logging.Logger;
+
+/**
+ * Query profiler for Repositories (inactive by default)
+ * <p>
+ * Each query issued through a DbQuery is recorded by its shape (conjunctions, operators and fields, without values),
+ * its table and its operation. Timings are aggregated per shape (bounded number of shapes) and published as Micrometer
+ * timers; slow queries are kept in a bounded list of samples and their plan is obtained once per shape and per
+ * interval through the database explain (query planner only, run in background). Shapes whose plan is a full scan
+ * lead to an index recommendation, fields being ordered following the Equality, Sort, Range rule.
+ */
+public final class DbQueryProfiler {
+  private static final Logger LOGGER = Logger.getLogger(DbQueryProfiler.class);
+  public static final String CCS_DB_PROFILER_ACTIVE = "ccs.db.profiler.active";
+  public static final String CCS_DB_PROFILER_SLOW_MS = "ccs.db.profiler.slow_ms";
+  public static final String CCS_DB_PROFILER_MAX_SHAPES = "ccs.db.profiler.max_shapes";
+  public static final String CCS_DB_PROFILER_MAX_SLOW_QUERIES = "ccs.db.profiler.max_slow_queries";
+  public static final String CCS_DB_PROFILER_EXPLAIN_INTERVAL_S = "ccs.db.profiler.explain_interval_s";
+  public static final String METRIC_QUERY = "ccs.db.query";
+  public static final String METRIC_SLOW_QUERY = "ccs.db.slow_query";
+  public static final String TAG_TABLE = "table";
+  public static final String TAG_OPERATION = "operation";
+  public static final String OP_FIND_ONE = "findOne";
+  public static final String OP_EXISTS = "exists";
+  public static final String OP_COUNT = "count";
+  public static final String OP_DELETE = "delete";
+  public static final String OP_UPDATE = "update";
+  public static final String OP_ITERATOR = "iterator";
+  public static final String OP_PAGED = "paged";
+  private static final int MAX_PLAN_LENGTH = 4096;
+  private static final Pattern FULL_SCAN = Pattern.compile("\"stage\"\\s*:\\s*\"COLLSCAN\"|Seq Scan on ");
+  private static final Pattern INDEX_NAME =
+      Pattern.compile("\"indexName\"\\s*:\\s*\"([^\"]+)\"|Index (?:Only )?Scan (?:Backward )?using (\\S+)|" +
+          "Bitmap Index Scan on (\\S+)");
+  private static final DbQueryProfiler INSTANCE = new DbQueryProfiler();
+  private volatile boolean active = QuarkusSystemPropertyUtil.getBooleanConfig(CCS_DB_PROFILER_ACTIVE, false);
+  private volatile long slowMs = QuarkusSystemPropertyUtil.getLongConfig(CCS_DB_PROFILER_SLOW_MS, 100);
+  private volatile int maxShapes = QuarkusSystemPropertyUtil.getIntegerConfig(CCS_DB_PROFILER_MAX_SHAPES, 500);
+  private volatile int maxSlowQueries =
+      QuarkusSystemPropertyUtil.getIntegerConfig(CCS_DB_PROFILER_MAX_SLOW_QUERIES, 100);
+  private volatile long explainIntervalMs =
+      QuarkusSystemPropertyUtil.getLongConfig(CCS_DB_PROFILER_EXPLAIN_INTERVAL_S, 600) * 1000;
+  private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+  private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+  private final Map<String, Counter> slowCounters = new ConcurrentHashMap<>();
+  private final AtomicLong droppedShapes = new AtomicLong();
+  private volatile Executor explainExecutor = SystemTools.VIRTUAL_EXECUTOR_SERVICE;
+
+  /**
+   * Aggregated statistics of one query shape
+   *
+   * @param table        the table or collection
+   * @param operation    the repository operation
+   * @param shape        the query shape
+   * @param count        number of queries
+   * @param totalMs      cumulated time in ms
+   * @param maxMs        maximum time in ms
+   * @param slowCount    number of slow queries
+   * @param fullScan     True if the last obtained plan is a full scan
+   * @param indexUsed    the index used by the last obtained plan if any
+   * @param plan         the last obtained plan (truncated) if any
+   */
+  public record QueryStats(String table, String operation, String shape, long count, long totalMs, long maxMs,
+                           long slowCount, boolean fullScan, String indexUsed, String plan) {
+  }
+
+  /**
+   * One slow query sample
+   *
+   * @param table      the table or collection
+   * @param operation  the repository operation
+   * @param shape      the query shape
+   * @param durationMs duration in ms
+   * @param timestamp  time of the query in ms since epoch
+   */
+  public record SlowQuery(String table, String operation, String shape, long durationMs, long timestamp) {
+  }
+
+  /**
+   * One index recommendation
+   *
+   * @param table  the table or collection
+   * @param fields the ordered fields of the recommended index
+   * @param reason the reason of the recommendation
+   * @param count  number of queries that could use it
+   */
+  public record IndexRecommendation(String table, List<String> fields, String reason, long count) {
+  }
+
+  /**
+   * Full report of the profiler
+   *
+   * @param active          True if the profiler is active
+   * @param slowThresholdMs the threshold in ms for slow queries
+   * @param droppedShapes   number of queries not aggregated since maximum number of shapes was reached
+   * @param queries         statistics per shape, slowest first
+   * @param slowQueries     last slow queries samples, newest first
+   * @param recommendations index recommendations
+   */
+  public record Report(boolean active, long slowThresholdMs, long droppedShapes, List<QueryStats> queries,
+                       List<SlowQuery> slowQueries, List<IndexRecommendation> recommendations) {
+  }
+
+  private static final class ShapeStats {
+    private final String table;
+    private final String operation;
+    private final String shape;
+    private final List<String> indexFields;
+    private long count;
+    private long totalMs;
+    private long maxMs;
+    private long slowCount;
+    private long lastExplain;
+    private boolean fullScan;
+    private String indexUsed;
+    private String plan;
+
+    private ShapeStats(final String table, final String operation, final String shape,
+                       final List<String> indexFields) {
+      this.table = table;
+      this.operation = operation;
+      this.shape = shape;
+      this.indexFields = indexFields;
+    }
+
+    private synchronized boolean add(final long durationMs, final boolean slow, final long now,
+                                     final long explainInterval) {
+      count++;
+      totalMs += durationMs;
+      maxMs = Math.max(maxMs, durationMs);
+      if (slow) {
+        slowCount++;
+        if (lastExplain == 0 || now - lastExplain >= explainInterval) {
+          lastExplain = now;
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private synchronized void setPlan(final String newPlan) {
+      fullScan = FULL_SCAN.matcher(newPlan).find();
+      indexUsed = null;
+      final var matcher = INDEX_NAME.matcher(newPlan);
+      if (matcher.find()) {
+        for (int i = 1; i <= matcher.groupCount(); i++) {
+          if (matcher.group(i) != null) {
+            indexUsed = matcher.group(i);
+            break;
+          }
+        }
+      }
+      plan = newPlan.length() > MAX_PLAN_LENGTH ? newPlan.substring(0, MAX_PLAN_LENGTH) : newPlan;
+    }
+
+    private synchronized QueryStats toQueryStats() {
+      return new QueryStats(table, operation, shape, count, totalMs, maxMs, slowCount, fullScan, indexUsed, plan);
+    }
+  }
+
+  private DbQueryProfiler() {
+    // Singleton
+  }
+
+  /**
+   * @return the unique instance
+   */
+  public static DbQueryProfiler getInstance() {
+    return INSTANCE;
+  }
+
+  public boolean isActive() {
+    return active;
+  }
+
+  public DbQueryProfiler setActive(final boolean active) {
+    this.active = active;
+    return this;
+  }
+
+  public long getSlowMs() {
+    return slowMs;
+  }
+
+  public DbQueryProfiler setSlowMs(final long slowMs) {
+    this.slowMs = Math.max(0, slowMs);
+    return this;
+  }
+
+  public DbQueryProfiler setMaxShapes(final int maxShapes) {
+    if (maxShapes > 0) {
+      this.maxShapes = maxShapes;
+    }
+    return this;
+  }
+
+  public DbQueryProfiler setMaxSlowQueries(final int maxSlowQueries) {
+    if (maxSlowQueries > 0) {
+      this.maxSlowQueries = maxSlowQueries;
+    }
+    return this;
+  }
+
+  public DbQueryProfiler setExplainIntervalMs(final long explainIntervalMs) {
+    this.explainIntervalMs = Math.max(0, explainIntervalMs);
+    return this;
+  }
+
+  /**
+   * @param explainExecutor the executor running the explain of slow queries (default virtual threads), null to reset
+   */
+  public DbQueryProfiler setExplainExecutor(final Executor explainExecutor) {
+    this.explainExecutor = explainExecutor != null ? explainExecutor : SystemTools.VIRTUAL_EXECUTOR_SERVICE;
+    return this;
+  }
+
+  /**
+   * @return the start time to give to record, 0 if inactive
+   */
+  public long start() {
+    return active ? System.nanoTime() : 0;
+  }
+
+  /**
+   * Record one query
+   *
+   * @param table      the table or collection
+   * @param operation  the repository operation
+   * @param query      the query (possibly empty)
+   * @param sortField  the sort field if any
+   * @param startNanos the value returned by start (0 meaning not profiled)
+   * @param explainer  the supplier of the plan of this query, called in background only for slow queries
+   */
+  public void record(final String table, final String operation, final RestQuery query, final String sortField,
+                     final long startNanos, final Supplier<String> explainer) {
+    if (startNanos == 0 || !active) {
+      return;
+    }
+    final var durationNanos = System.nanoTime() - startNanos;
+    final var durationMs = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+    getTimer(table, operation).record(durationNanos, TimeUnit.NANOSECONDS);
+    final var shape = getShape(query, sortField);
+    final var slow = durationMs >= slowMs;
+    final var now = System.currentTimeMillis();
+    if (slow) {
+      getSlowCounter(table, operation).increment();
+      synchronized (slowQueries) {
+        while (slowQueries.size() >= maxSlowQueries) {
+          slowQueries.pollLast();
+        }
+        slowQueries.addFirst(new SlowQuery(table, operation, shape, durationMs, now));
+      }
+    }
+    final var key = table + '|' + operation + '|' + shape;
+    var stats = shapes.get(key);
+    if (stats == null) {
+      if (shapes.size() >= maxShapes) {
+        droppedShapes.incrementAndGet();
+        return;
+      }
+      stats = shapes.computeIfAbsent(key,
+          k -> new ShapeStats(table, operation, shape, getRecommendedIndex(query, sortField)));
+    }
+    if (stats.add(durationMs, slow, now, explainIntervalMs) && explainer != null) {
+      // The query was already slow: never delay the caller with its explain
+      final var finalStats = stats;
+      explainExecutor.execute(() -> explain(key, finalStats, explainer));
+    }
+  }
+
+  private static void explain(final String key, final ShapeStats stats, final Supplier<String> explainer) {
+    try {
+      final var plan = explainer.get();
+      if (plan != null) {
+        stats.setPlan(plan);
+      }
+    } catch (final RuntimeException e) {
+      LOGGER.debugf("Cannot explain %s: %s", key, e.getMessage());
+    }
+  }
+
+  /**
+   * @return the current report
+   */
+  public Report getReport() {
+    final List<QueryStats> queries = new ArrayList<>(shapes.size());
+    final Map<String, IndexRecommendation> recommendations = new LinkedHashMap<>();
+    for (final var stats : shapes.values()) {
+      final var queryStats = stats.toQueryStats();
+      queries.add(queryStats);
+      if (queryStats.fullScan() && !stats.indexFields.isEmpty()) {
+        final var key = stats.table + '|' + stats.indexFields;
+        final var previous = recommendations.get(key);
+        final var count = queryStats.count() + (previous != null ? previous.count() : 0);
+        recommendations.put(key, new IndexRecommendation(stats.table, stats.indexFields,
+            "Full scan for " + (previous != null ? previous.reason() + ", " : "") + stats.shape, count));
+      }
+    }
+    queries.sort(Comparator.comparingLong(QueryStats::totalMs).reversed());
+    final List<IndexRecommendation> recommendationList = new ArrayList<>(recommendations.values());
+    recommendationList.sort(Comparator.comparingLong(IndexRecommendation::count).reversed());
+    final List<SlowQuery> slowList;
+    synchronized (slowQueries) {
+      slowList = new ArrayList<>(slowQueries);
+    }
+    return new Report(active, slowMs, droppedShapes.get(), queries, slowList, recommendationList);
+  }
+
+  /**
+   * Reset all statistics (not the metrics)
+   */
+  public void reset() {
+    shapes.clear();
+    synchronized (slowQueries) {
+      slowQueries.clear();
+    }
+    droppedShapes.set(0);
+  }
+
+  /**
+   * @return the shape of the query: conjunctions, operators and fields, without values
+   */
+  public static String getShape(final RestQuery query, final String sortField) {
+    final var builder = new StringBuilder();
+    if (query == null || query.isEmpty()) {
+      builder.append("ALL");
+    } else {
+      appendShape(builder, query);
+    }
+    if (sortField != null) {
+      builder.append(" SORT ").append(sortField);
+    }
+    return builder.toString();
+  }
+
+  private static void appendShape(final StringBuilder builder, final RestQuery query) {
+    if (query.getConjunction() != null) {
+      builder.append(query.getConjunction()).append('(');
+      var first = true;
+      for (final var sub : query.getRestQueries()) {
+        if (!first) {
+          builder.append(", ");
+        }
+        first = false;
+        appendShape(builder, sub);
+      }
+      builder.append(')');
+    } else {
+      builder.append(query.getQUERY()).append(' ').append(query.getFieldName());
+    }
+  }
+
+  /**
+   * @return the fields of the index that would support this query (Equality, Sort, Range), empty if none
+   */
+  public static List<String> getRecommendedIndex(final RestQuery query, final String sortField) {
+    final Set<String> equalities = new LinkedHashSet<>();
+    final Set<String> inFields = new LinkedHashSet<>();
+    final Set<String> ranges = new LinkedHashSet<>();
+    if (query != null && !query.isEmpty() && !collectFields(query, equalities, inFields, ranges)) {
+      return List.of();
+    }
+    final Set<String> fields = new LinkedHashSet<>(equalities);
+    fields.addAll(inFields);
+    if (sortField != null) {
+      fields.add(sortField);
+    }
+    fields.addAll(ranges);
+    return List.copyOf(fields);
+  }
+
+  private static boolean collectFields(final RestQuery query, final Set<String> equalities, final Set<String> inFields,
+                                       final Set<String> ranges) {
+    if (query.getConjunction() != null) {
+      if (query.getConjunction() != RestQuery.CONJUNCTION.AND) {
+        return false;
+      }
+      for (final var sub : query.getRestQueries()) {
+        if (!collectFields(sub, equalities, inFields, ranges)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    switch (query.getQUERY()) {
+      case EQ -> equalities.add(query.getFieldName());
+      case IN -> inFields.add(query.getFieldName());
+      case GT, GTE, LT, LTE, START_WITH -> ranges.add(query.getFieldName());
+      default -> {
+        // Not eligible to a simple index (NEQ, Json or array operators)
+      }
+    }
+    return true;
+  }
+
+  private Timer getTimer(final String table, final String operation) {
+    return timers.computeIfAbsent(table + '|' + operation,
+        k -> Timer.builder(METRIC_QUERY).tags(TAG_TABLE, table, TAG_OPERATION, operation)
+            .register(Metrics.globalRegistry));
+  }
+
+  private Counter getSlowCounter(final String table, final String operation) {
+    return slowCounters.computeIfAbsent(table + '|' + operation,
+        k -> Counter.builder(METRIC_SLOW_QUERY).tags(TAG_TABLE, table, TAG_OPERATION, operation)
+            .register(Metrics.globalRegistry));
+  }
+}
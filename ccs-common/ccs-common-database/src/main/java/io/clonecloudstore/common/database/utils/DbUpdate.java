@@ -49,7 +49,8 @@ public class DbUpdate {
       builder.append(COMMA);
     }
     builder.append(field).append(" = # ");
-    params.add(value);
+    // Enums are stored by name (as for MongoDB)
+    params.add(value instanceof final Enum<?> anEnum ? anEnum.name() : value);
     if (IS_DB_TYPE_MONGODB) {
       bsonList.add(Updates.set(field, value));
     }
@@ -98,12 +98,39 @@ public interface RepositoryBaseInterface<E> {
    */
   ClosingIterator<E> findIterator(DbQuery query) throws CcsDbException;
 
+  /**
+   * @param query     the where condition
+   * @param sortField the field to sort on (ascending order)
+   * @param limit     the maximum number of items (0 for no limit)
+   * @return the iterator based on Query (where condition), sorted and limited
+   */
+  ClosingIterator<E> findIterator(DbQuery query, String sortField, int limit) throws CcsDbException;
+
+  /**
+   * Long listings shall prefer this iterator: no cursor is kept open between pages and a failed page read is retried
+   * from the last key.
+   *
+   * @param query      the where condition
+   * @param keyField   the field to page on (ascending order), unique among the results (as the Primary Key)
+   * @param startAfter the key value to resume after (null to start from the beginning)
+   * @return the iterator based on Query (where condition), read by pages ordered by the key field
+   */
+  ClosingIterator<E> findPagedIterator(DbQuery query, String keyField, Object startAfter) throws CcsDbException;
+
   /**
    * @param query the where condition
    * @return the count based on Query (where condition)
    */
   long count(DbQuery query) throws CcsDbException;
 
+  /**
+   * Faster than count(query) &gt; 0 since stopping at the first matching item
+   *
+   * @param query the where condition
+   * @return True if at least one item matches the query
+   */
+  boolean exists(DbQuery query) throws CcsDbException;
+
   /**
    * @return the total number of rows
    */
@@ -304,9 +304,15 @@ public class RestQuery {
     NEQ,
     GTE,
     LTE,
+    GT,
+    LT,
     START_WITH,
     JSON_EQ,
     JSON_NEQ,
+    /**
+     * Equality on one key of the metadata, through the metadata attribute index
+     */
+    JSON_INDEXED_EQ,
     CONTAINS,
     CONTAINED,
     IN,
@@ -40,4 +40,24 @@ public interface StreamHelperInterface<E> {
    * @return the iterator of elements
    */
   ClosingIterator<E> findIterator(RepositoryBaseInterface<E> repositoryBase, DbQuery query) throws CcsDbException;
+
+  /**
+   * @param repositoryBase the repository to use
+   * @param query          the query
+   * @param sortField      the field to sort on (ascending order)
+   * @param limit          the maximum number of items (0 for no limit)
+   * @return the iterator of elements, sorted and limited
+   */
+  ClosingIterator<E> findIterator(RepositoryBaseInterface<E> repositoryBase, DbQuery query, String sortField,
+                                  int limit) throws CcsDbException;
+
+  /**
+   * @param repositoryBase the repository to use
+   * @param query          the query
+   * @param keyField       the field to page on (ascending order), unique among the results
+   * @param startAfter     the key value to resume after (null to start from the beginning)
+   * @return the iterator of elements, read by pages ordered by the key field (keyset)
+   */
+  ClosingIterator<E> findPagedIterator(RepositoryBaseInterface<E> repositoryBase, DbQuery query, String keyField,
+                                       Object startAfter) throws CcsDbException;
 }
@@ -16,6 +16,10 @@
 
 package io.clonecloudstore.common.database.mongo;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import io.clonecloudstore.common.database.utils.exception.CcsDbException;
 import io.clonecloudstore.test.resource.mongodb.NoMongoDbProfile;
 import io.quarkus.test.junit.QuarkusTest;
@@ -30,7 +34,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 @TestProfile(NoMongoDbProfile.class)
 class BulkInsertHelperTest {
   @Test
-  void checkBulkInsert() {
+  void checkBulkInsert() throws CcsDbException {
     final var bulkHelperEx = new BulkInsertHelperEx(null);
     Assertions.assertFalse(bulkHelperEx.addToInsertBulk("item"));
     Assertions.assertFalse(bulkHelperEx.addToInsertBulk("item2"));
@@ -41,7 +45,7 @@ class BulkInsertHelperTest {
   }
 
   @Test
-  void checkBulkUpsert() {
+  void checkBulkUpsert() throws CcsDbException {
     final var bulkHelperEx = new BulkUpsertHelperEx(null);
     Assertions.assertFalse(bulkHelperEx.addToUpsertBulk(new Document(), ""));
     Assertions.assertFalse(bulkHelperEx.addToUpsertBulk(new Document(), ""));
@@ -51,6 +55,33 @@ class BulkInsertHelperTest {
     bulkHelperEx.bulkUpsert();
   }
 
+  @Test
+  void checkBulkPerThread() throws InterruptedException {
+    final var bulkHelperEx = new BulkInsertHelperEx(null);
+    final var threads = new ArrayList<Thread>();
+    for (var i = 0; i < 4; i++) {
+      threads.add(Thread.ofVirtual().start(() -> {
+        for (var j = 0; j < 10; j++) {
+          if (bulkHelperEx.addToInsertBulk("item" + j)) {
+            Assertions.assertDoesNotThrow(bulkHelperEx::flushCurrentThread);
+          }
+          // Upserts are flushed with inserts of the same thread
+          bulkHelperEx.addToUpsertBulk(new Document("_id", "item" + j), Thread.currentThread().getName());
+        }
+      }));
+    }
+    for (final var thread : threads) {
+      thread.join();
+    }
+    // Each thread flushed its own 9 inserts and 8 upserts, remaining ones (1 insert and 2 upserts) are flushed globally
+    assertEquals(36, bulkHelperEx.inserted.get());
+    assertEquals(32, bulkHelperEx.upserted.get());
+    Assertions.assertDoesNotThrow(bulkHelperEx::bulkPersist);
+    Assertions.assertDoesNotThrow(bulkHelperEx::bulkUpsert);
+    assertEquals(40, bulkHelperEx.inserted.get());
+    assertEquals(40, bulkHelperEx.upserted.get());
+  }
+
   @Test
   void simpleExceptionTest() {
     final var throwable = new Throwable("test");
@@ -59,6 +90,8 @@ class BulkInsertHelperTest {
   }
 
   private static class BulkInsertHelperEx extends MongoBulkInsertHelper<String, String> {
+    private final AtomicInteger inserted = new AtomicInteger();
+    private final AtomicInteger upserted = new AtomicInteger();
 
     /**
      * Constructor
@@ -75,9 +108,13 @@ class BulkInsertHelperTest {
     }
 
     @Override
-    public MongoBulkInsertHelper bulkPersist() {
-      listInsert.clear();
-      return null;
+    protected void writeInserts(final List<String> inserts) {
+      inserted.addAndGet(inserts.size());
+    }
+
+    @Override
+    protected void writeUpserts(final List<UpsertItem<String>> upserts) {
+      upserted.addAndGet(upserts.size());
     }
   }
 
@@ -98,10 +135,8 @@ class BulkInsertHelperTest {
     }
 
     @Override
-    public MongoBulkInsertHelper<String, String> bulkUpsert() {
-      listFindQuery.clear();
-      listUpdate.clear();
-      return null;
+    protected void writeUpserts(final List<UpsertItem<String>> upserts) {
+      // Nothing
     }
   }
 }
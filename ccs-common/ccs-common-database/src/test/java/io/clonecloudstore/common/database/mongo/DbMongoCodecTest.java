@@ -17,6 +17,7 @@
 package io.clonecloudstore.common.database.mongo;
 
 import java.time.Instant;
+import java.util.ArrayList;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.clonecloudstore.common.database.model.dto.DtoExample;
@@ -24,6 +25,7 @@ import io.clonecloudstore.common.database.mongo.impl.codec.MgDaoExample;
 import io.clonecloudstore.common.database.mongo.impl.codec.MgDaoExampleRepository;
 import io.clonecloudstore.common.database.utils.DbQuery;
 import io.clonecloudstore.common.database.utils.DbUpdate;
+import io.clonecloudstore.common.database.utils.RestQuery;
 import io.clonecloudstore.common.database.utils.exception.CcsDbException;
 import io.clonecloudstore.common.quarkus.properties.JsonUtil;
 import io.clonecloudstore.common.standard.guid.GuidLike;
@@ -32,11 +34,13 @@ import io.clonecloudstore.test.resource.mongodb.MongoDbProfile;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
 import jakarta.inject.Inject;
+import org.bson.Document;
 import org.jboss.logging.Logger;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static io.clonecloudstore.common.database.model.dao.DaoExampleRepository.FIELD1;
 import static io.clonecloudstore.common.database.model.dao.DaoExampleRepository.FIELD2;
 import static io.clonecloudstore.common.database.model.dao.DaoExampleRepository.ID;
 import static io.clonecloudstore.common.database.model.dao.DaoExampleRepository.TABLE_NAME;
@@ -159,6 +163,81 @@ class DbMongoCodecTest {
     assertTrue(stop - start > stop2 - start2);
   }
 
+  @Test
+  void dbBulkConcurrent() throws CcsDbException, InterruptedException {
+    Assertions.assertEquals(0, repository.count());
+    final var dtoExample = new DtoExample();
+    dtoExample.setField1("field1").setField2("field2").setTimeField(Instant.now());
+    final var nbThreads = 8;
+    final var nbItems = 1500;
+    final var threads = new ArrayList<Thread>(nbThreads);
+    final var start = System.nanoTime();
+    for (var t = 0; t < nbThreads; t++) {
+      final var prefix = "thread" + t + "_";
+      threads.add(Thread.ofVirtual().start(() -> {
+        try {
+          for (var i = 0; i < nbItems; i++) {
+            repository.addToInsertBulk(new MgDaoExample(dtoExample).setGuid(prefix + "insert" + i));
+            // Upsert twice the same item within the same batch, last one wins
+            final var find = new Document(ID, prefix + "upsert" + i);
+            repository.addToUpsertBulk(find, new MgDaoExample(dtoExample).setGuid(prefix + "upsert" + i));
+            repository.addToUpsertBulk(find,
+                new MgDaoExample(dtoExample).setGuid(prefix + "upsert" + i).setField1("newVal"));
+          }
+        } catch (final CcsDbException e) {
+          throw new IllegalStateException(e);
+        }
+      }));
+    }
+    for (final var thread : threads) {
+      thread.join();
+    }
+    repository.flushAll();
+    final var stop = System.nanoTime();
+    LOG.info("Concurrent Bulk Insert and Upsert: " + (stop - start) / 1000000);
+    Assertions.assertEquals(2L * nbThreads * nbItems, repository.count());
+    Assertions.assertEquals((long) nbThreads * nbItems,
+        repository.count(new DbQuery(RestQuery.QUERY.EQ, FIELD1, "newVal")));
+    repository.deleteAllDb();
+  }
+
+  @Test
+  void pagedIterator() throws CcsDbException {
+    final var dtoExample = new DtoExample();
+    dtoExample.setField1("field1").setField2("field2").setTimeField(Instant.now());
+    final var nbItems = 2500;
+    for (var i = 0; i < nbItems; i++) {
+      repository.addToInsertBulk(new MgDaoExample(dtoExample).setGuid(String.format("item%05d", i)));
+    }
+    repository.flushAll();
+    final var query = new DbQuery(RestQuery.QUERY.EQ, FIELD1, "field1");
+    String previous = null;
+    var count = 0;
+    try (final var iterator = repository.findPagedIterator(query, ID, null)) {
+      while (iterator.hasNext()) {
+        final var guid = iterator.next().getGuid();
+        if (previous != null) {
+          assertTrue(previous.compareTo(guid) < 0);
+        }
+        previous = guid;
+        count++;
+      }
+    }
+    assertEquals(nbItems, count);
+    // Resume after a given key
+    count = 0;
+    try (final var iterator = repository.findPagedIterator(query, ID, "item01499")) {
+      assertEquals("item01500", iterator.next().getGuid());
+      count++;
+      while (iterator.hasNext()) {
+        iterator.next();
+        count++;
+      }
+    }
+    assertEquals(1000, count);
+    repository.deleteAllDb();
+  }
+
   //No @Transactional needed
   void streamCommandAll(final DbQuery dbQuery) throws CcsDbException {
     final var stream = repository.findStream(dbQuery);
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.common.database.mongo;
+
+import java.time.Instant;
+import java.util.List;
+
+import io.clonecloudstore.common.database.model.dto.DtoExample;
+import io.clonecloudstore.common.database.mongo.impl.codec.MgDaoExample;
+import io.clonecloudstore.common.database.mongo.impl.codec.MgDaoExampleRepository;
+import io.clonecloudstore.common.database.utils.DbQuery;
+import io.clonecloudstore.common.database.utils.DbQueryProfiler;
+import io.clonecloudstore.common.database.utils.RestQuery;
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import io.clonecloudstore.common.standard.guid.GuidLike;
+import io.clonecloudstore.common.standard.system.SystemTools;
+import io.clonecloudstore.test.resource.mongodb.MongoDbProfile;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.clonecloudstore.common.database.model.dao.DaoExampleRepository.FIELD1;
+import static io.clonecloudstore.common.database.model.dao.DaoExampleRepository.FIELD2;
+import static io.clonecloudstore.common.database.model.dao.DaoExampleRepository.TABLE_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@TestProfile(MongoDbProfile.class)
+class DbMongoProfilerTest {
+  @Inject
+  MgDaoExampleRepository repository;
+
+  @BeforeEach
+  void beforeEach() throws CcsDbException {
+    repository.deleteAllDb();
+    DbQueryProfiler.getInstance().reset();
+    DbQueryProfiler.getInstance().setActive(true).setSlowMs(0).setExplainExecutor(Runnable::run);
+  }
+
+  @AfterEach
+  void afterEach() {
+    DbQueryProfiler.getInstance().setActive(false).setSlowMs(100).setExplainExecutor(null).reset();
+  }
+
+  @Test
+  void profileAndRecommend() throws CcsDbException {
+    repository.createIndex();
+    final var instant = Instant.now();
+    for (int i = 0; i < 10; i++) {
+      final var dtoExample =
+          new DtoExample().setGuid(GuidLike.getGuid()).setField1("field1_" + i).setField2("field2_" + (i % 2))
+              .setTimeField(instant.plusSeconds(i));
+      repository.addToInsertBulk(new MgDaoExample(dtoExample));
+    }
+    repository.flushAll();
+    final var unindexed = new DbQuery(RestQuery.QUERY.EQ, FIELD2, "field2_0");
+    assertEquals(5, repository.count(unindexed));
+    assertEquals(5, repository.count(unindexed));
+    final var indexed = new DbQuery(RestQuery.QUERY.EQ, FIELD1, "field1_1");
+    assertNotNull(repository.findOne(indexed));
+    try (final var iterator = repository.findIterator(unindexed, FIELD2, 0)) {
+      assertEquals(5, SystemTools.consumeAll(iterator));
+    }
+
+    final var report = DbQueryProfiler.getInstance().getReport();
+    assertTrue(report.active());
+    assertEquals(3, report.queries().size());
+    assertEquals(4, report.slowQueries().size());
+    final var countStats = report.queries().stream()
+        .filter(q -> DbQueryProfiler.OP_COUNT.equals(q.operation())).findFirst().orElseThrow();
+    assertEquals(TABLE_NAME, countStats.table());
+    assertEquals(2, countStats.count());
+    assertTrue(countStats.fullScan());
+    final var findStats = report.queries().stream()
+        .filter(q -> DbQueryProfiler.OP_FIND_ONE.equals(q.operation())).findFirst().orElseThrow();
+    assertFalse(findStats.fullScan());
+    assertEquals(TABLE_NAME + "_filter_idx", findStats.indexUsed());
+    final var fields = report.recommendations().stream().map(DbQueryProfiler.IndexRecommendation::fields).toList();
+    assertTrue(fields.contains(List.of(FIELD2)));
+    assertEquals(1, fields.size());
+  }
+}
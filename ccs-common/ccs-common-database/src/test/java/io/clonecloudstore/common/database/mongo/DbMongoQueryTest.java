@@ -113,6 +113,8 @@ class DbMongoQueryTest {
     json = objectMapper.writeValueAsString(dbQuery);
     parsed = DbQuery.fromRestQuery(objectMapper.readValue(json, RestQuery.class));
     testItemString(parsed, QUERY.START_WITH);
+    assertEquals("{\"$and\": [{\"field\": {\"$gte\": \"value\"}}, {\"field\": {\"$lt\": \"valuf\"}}]}",
+        parsed.getBson().toBsonDocument().toJson());
 
     dbQuery = new DbQuery(QUERY.JSON_EQ, "field", "value");
     json = objectMapper.writeValueAsString(dbQuery);
@@ -124,6 +126,13 @@ class DbMongoQueryTest {
     parsed = DbQuery.fromRestQuery(objectMapper.readValue(json, RestQuery.class));
     testItemString(parsed, QUERY.JSON_NEQ);
 
+    dbQuery = new DbQuery(QUERY.JSON_INDEXED_EQ, "field", "value");
+    json = objectMapper.writeValueAsString(dbQuery);
+    parsed = DbQuery.fromRestQuery(objectMapper.readValue(json, RestQuery.class));
+    testItemString(parsed, QUERY.JSON_INDEXED_EQ);
+    assertEquals("{\"attributes\": {\"$elemMatch\": {\"k\": \"field\", \"v\": \"value\"}}}",
+        parsed.getBson().toBsonDocument().toJson());
+
     final var object = Integer.valueOf(0);
 
     dbQuery = new DbQuery(QUERY.EQ, "field", object);
@@ -313,6 +322,8 @@ class DbMongoQueryTest {
     assertThrows(CcsInvalidArgumentRuntimeException.class, () -> new DbQuery(QUERY.START_WITH, "field", object));
     assertThrows(CcsInvalidArgumentRuntimeException.class, () -> new DbQuery(QUERY.JSON_NEQ, "field", object));
     assertThrows(CcsInvalidArgumentRuntimeException.class, () -> new DbQuery(QUERY.JSON_EQ, "field", object));
+    assertThrows(CcsInvalidArgumentRuntimeException.class,
+        () -> new DbQuery(QUERY.JSON_INDEXED_EQ, "field", object));
 
     final List<String> values = new ArrayList<>();
     values.add("val1");
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.common.database.mongo;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import org.bson.Document;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Concurrent batching throughput of the Mongo bulk helper (writes to the database are not included, see
+ * DbMongoCodecTest for the full path with a database)
+ */
+@Warmup(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 3, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@BenchmarkMode(Mode.Throughput)
+@Threads(8)
+@Disabled("Bench only")
+public class JMHMongoBulkInsertHelperTestJmhIT {
+  @State(Scope.Benchmark)
+  public static class MyState {
+    public MongoBulkInsertHelper<String, String> helper;
+    public final AtomicLong counter = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() {
+      helper = new MongoBulkInsertHelper<>(null) {
+        @Override
+        protected void writeInserts(final List<String> inserts) {
+          // Database excluded from bench
+        }
+
+        @Override
+        protected void writeUpserts(final List<UpsertItem<String>> upserts) {
+          // Database excluded from bench
+        }
+      };
+    }
+  }
+
+  @Benchmark
+  public void testInsertConcurrent(final MyState myState) throws CcsDbException {
+    if (myState.helper.addToInsertBulk("item" + myState.counter.incrementAndGet())) {
+      myState.helper.flushCurrentThread();
+    }
+  }
+
+  @Benchmark
+  public void testUpsertConcurrent(final MyState myState) throws CcsDbException {
+    final var id = "item" + myState.counter.incrementAndGet();
+    if (myState.helper.addToUpsertBulk(new Document("_id", id), id)) {
+      myState.helper.flushCurrentThread();
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    Options opt = new OptionsBuilder().include(JMHMongoBulkInsertHelperTestJmhIT.class.getSimpleName())
+        .addProfiler(GCProfiler.class).build();
+    new Runner(opt).run();
+  }
+
+  @Test
+  void runBenchmark() throws Exception {
+    final var optionsBuilder = new OptionsBuilder().include(this.getClass().getName() + ".*").mode(Mode.Throughput)
+        .warmupTime(TimeValue.seconds(1)).warmupIterations(3).threads(8).measurementIterations(3)
+        .result("target/jmh-mongo-bulk-helper-result.csv").measurementTime(TimeValue.seconds(1))
+        .timeUnit(TimeUnit.SECONDS).forks(1).shouldFailOnError(true).resultFormat(ResultFormatType.CSV)
+        .shouldDoGC(true);
+    final var options = optionsBuilder.build();
+    new Runner(options).run();
+  }
+}
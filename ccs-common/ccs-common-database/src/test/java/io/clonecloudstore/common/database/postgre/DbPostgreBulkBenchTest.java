@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.common.database.postgre;
+
+import java.time.Instant;
+
+import io.clonecloudstore.common.database.model.dto.DtoExample;
+import io.clonecloudstore.common.database.postgre.impl.simple.PgDaoExample;
+import io.clonecloudstore.common.database.postgre.impl.simple.PgDaoExampleRepository;
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import io.clonecloudstore.common.standard.guid.GuidLike;
+import io.clonecloudstore.test.resource.postgres.PostgresProfile;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Insert of 1M rows using bulk operations, per bulk size
+ */
+@QuarkusTest
+@TestProfile(PostgresProfile.class)
+@Disabled("Bench only")
+class DbPostgreBulkBenchTest {
+  private static final Logger LOG = Logger.getLogger(DbPostgreBulkBenchTest.class);
+  private static final int MAX_ROWS = 1_000_000;
+  private static final int ROWS_PER_TRANSACTION = 100_000;
+  @Inject
+  PgDaoExampleRepository repository;
+
+  @ParameterizedTest
+  @ValueSource(ints = {100, 1000, 5000})
+  void benchInsertMillion(final int bulkSize) throws CcsDbException {
+    repository.changeBulkSize(bulkSize);
+    repository.deleteAllDb();
+    final var dtoExample = new DtoExample();
+    dtoExample.setField1("field1").setField2("field2").setTimeField(Instant.now());
+    final var start = System.nanoTime();
+    for (var done = 0; done < MAX_ROWS; done += ROWS_PER_TRANSACTION) {
+      QuarkusTransaction.requiringNew().run(() -> insertBulk(dtoExample));
+    }
+    final var stop = System.nanoTime();
+    assertEquals(MAX_ROWS, repository.countAll());
+    final var durationMs = (stop - start) / 1000000;
+    LOG.infof("Bulk %d Insert %d rows: %d ms (%d rows/s)", bulkSize, MAX_ROWS, durationMs,
+        MAX_ROWS * 1000L / Math.max(1, durationMs));
+    repository.deleteAllDb();
+  }
+
+  private void insertBulk(final DtoExample dtoExample) {
+    try {
+      for (var i = 0; i < ROWS_PER_TRANSACTION; i++) {
+        repository.addToInsertBulk(new PgDaoExample(dtoExample).setGuid(GuidLike.getGuid()));
+      }
+      repository.flushAll();
+    } catch (final CcsDbException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -107,8 +107,10 @@ class DbPostgreNoDbTest {
     final var start2 = System.nanoTime();
     for (var i = 0; i < 10; i++) {
       final var pgDbDtoExample = new PgDaoExample(dtoExample).setGuid(GuidLike.getGuid());
-      assertThrows(CcsDbException.class, () -> repository.addToInsertBulk(pgDbDtoExample));
+      // Kept in the batch until flushed
+      repository.addToInsertBulk(pgDbDtoExample);
     }
+    assertThrows(CcsDbException.class, () -> repository.flushAll());
     final var stop2 = System.nanoTime();
 
     LOG.info("Standard Insert: " + (stop - start) / 1000000);
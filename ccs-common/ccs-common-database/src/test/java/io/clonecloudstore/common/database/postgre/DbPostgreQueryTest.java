@@ -106,6 +106,8 @@ class DbPostgreQueryTest {
     json = objectMapper.writeValueAsString(dbQuery);
     parsed = DbQuery.fromRestQuery(objectMapper.readValue(json, RestQuery.class));
     testItemString(parsed, QUERY.START_WITH);
+    assertEquals("value", parsed.getSqlParams().get(0));
+    assertEquals("v\\_a\\%l\\\\ue", new DbQuery(QUERY.START_WITH, "field", "v_a%l\\ue").getSqlParams().get(0));
 
     dbQuery = new DbQuery(QUERY.JSON_EQ, "field", "value");
     json = objectMapper.writeValueAsString(dbQuery);
@@ -117,6 +119,13 @@ class DbPostgreQueryTest {
     parsed = DbQuery.fromRestQuery(objectMapper.readValue(json, RestQuery.class));
     testItemString(parsed, QUERY.JSON_NEQ);
 
+    dbQuery = new DbQuery(QUERY.JSON_INDEXED_EQ, "field", "value");
+    json = objectMapper.writeValueAsString(dbQuery);
+    parsed = DbQuery.fromRestQuery(objectMapper.readValue(json, RestQuery.class));
+    testItemString(parsed, QUERY.JSON_INDEXED_EQ);
+    assertEquals("metadata @> CAST(# AS jsonb)", parsed.getSqlQueryString().toString());
+    assertEquals("{\"field\":\"value\"}", parsed.getSqlParams().get(0));
+
     final var object = Integer.valueOf(0);
 
     dbQuery = new DbQuery(QUERY.EQ, "field", object);
@@ -316,6 +325,8 @@ class DbPostgreQueryTest {
     assertThrows(CcsInvalidArgumentRuntimeException.class, () -> new DbQuery(QUERY.START_WITH, "field", object));
     assertThrows(CcsInvalidArgumentRuntimeException.class, () -> new DbQuery(QUERY.JSON_NEQ, "field", object));
     assertThrows(CcsInvalidArgumentRuntimeException.class, () -> new DbQuery(QUERY.JSON_EQ, "field", object));
+    assertThrows(CcsInvalidArgumentRuntimeException.class,
+        () -> new DbQuery(QUERY.JSON_INDEXED_EQ, "field", object));
 
     assertThrows(CcsInvalidArgumentRuntimeException.class, () -> new DbQuery(QUERY.EQ, "field", values));
     assertThrows(CcsInvalidArgumentRuntimeException.class, () -> new DbQuery(QUERY.NEQ, "field", values));
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.common.database.utils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class DbQueryProfilerTest {
+  private static final String MONGO_PLAN = "{\"queryPlanner\": {\"winningPlan\": {\"stage\": \"COLLSCAN\"}}}";
+  private static final String PG_PLAN = "Index Scan using table_name_idx on table  (cost=0.42..8.44 rows=1 width=8)\n";
+
+  @AfterEach
+  void afterEach() {
+    DbQueryProfiler.getInstance().setActive(false).setSlowMs(100).setMaxShapes(500).setMaxSlowQueries(100)
+        .setExplainIntervalMs(600000).setExplainExecutor(null).reset();
+  }
+
+  @Test
+  void checkShapeAndRecommendation() {
+    final var query = new DbQuery(RestQuery.CONJUNCTION.AND, new DbQuery(RestQuery.QUERY.GTE, "creation", 10),
+        new DbQuery(RestQuery.QUERY.EQ, "site", "site1"), new DbQuery(RestQuery.QUERY.IN, "status", "A", "B"),
+        new DbQuery(RestQuery.QUERY.EQ, "bucket", "bucket1"),
+        new DbQuery(RestQuery.QUERY.JSON_EQ, "metadata", "{}"));
+    assertEquals("AND(GTE creation, EQ site, IN status, EQ bucket, JSON_EQ metadata) SORT name",
+        DbQueryProfiler.getShape(query, "name"));
+    assertEquals(List.of("site", "bucket", "status", "name", "creation"),
+        DbQueryProfiler.getRecommendedIndex(query, "name"));
+    assertEquals("ALL", DbQueryProfiler.getShape(new DbQuery(), null));
+    assertEquals(List.of(), DbQueryProfiler.getRecommendedIndex(new DbQuery(), null));
+    final var orQuery = new DbQuery(RestQuery.CONJUNCTION.OR, new DbQuery(RestQuery.QUERY.EQ, "site", "site1"),
+        new DbQuery(RestQuery.QUERY.EQ, "bucket", "bucket1"));
+    assertEquals(List.of(), DbQueryProfiler.getRecommendedIndex(orQuery, null));
+  }
+
+  @Test
+  void checkRecordAndReport() {
+    final var profiler = DbQueryProfiler.getInstance();
+    profiler.setActive(false);
+    assertEquals(0, profiler.start());
+    profiler.setActive(true).setSlowMs(0).setMaxSlowQueries(2).setExplainExecutor(Runnable::run);
+    final var query = new DbQuery(RestQuery.CONJUNCTION.AND, new DbQuery(RestQuery.QUERY.EQ, "site", "site1"),
+        new DbQuery(RestQuery.QUERY.LT, "size", 10));
+    for (int i = 0; i < 3; i++) {
+      profiler.record("table", DbQueryProfiler.OP_COUNT, query, null, profiler.start(), () -> MONGO_PLAN);
+    }
+    profiler.record("table2", DbQueryProfiler.OP_FIND_ONE, query, null, profiler.start(), () -> PG_PLAN);
+    var report = profiler.getReport();
+    assertTrue(report.active());
+    assertEquals(2, report.queries().size());
+    assertEquals(2, report.slowQueries().size());
+    assertEquals("table2", report.slowQueries().get(0).table());
+    final var stats = report.queries().stream().filter(q -> "table".equals(q.table())).findFirst().orElseThrow();
+    assertEquals(3, stats.count());
+    assertEquals(3, stats.slowCount());
+    assertTrue(stats.fullScan());
+    assertNull(stats.indexUsed());
+    final var stats2 = report.queries().stream().filter(q -> "table2".equals(q.table())).findFirst().orElseThrow();
+    assertFalse(stats2.fullScan());
+    assertEquals("table_name_idx", stats2.indexUsed());
+    assertEquals(1, report.recommendations().size());
+    assertEquals("table", report.recommendations().get(0).table());
+    assertEquals(List.of("site", "size"), report.recommendations().get(0).fields());
+    assertEquals(3, report.recommendations().get(0).count());
+
+    profiler.setMaxShapes(2);
+    profiler.record("table3", DbQueryProfiler.OP_COUNT, query, null, profiler.start(), () -> MONGO_PLAN);
+    report = profiler.getReport();
+    assertEquals(2, report.queries().size());
+    assertEquals(1, report.droppedShapes());
+    profiler.reset();
+    report = profiler.getReport();
+    assertTrue(report.queries().isEmpty());
+    assertTrue(report.slowQueries().isEmpty());
+    assertTrue(report.recommendations().isEmpty());
+  }
+
+  @Test
+  void checkExplainInBackground() throws InterruptedException {
+    final var profiler = DbQueryProfiler.getInstance();
+    profiler.setActive(true).setSlowMs(0);
+    final var query = new DbQuery(RestQuery.QUERY.EQ, "site", "site1");
+    final var caller = Thread.currentThread();
+    final var release = new CountDownLatch(1);
+    final var explained = new CountDownLatch(1);
+    profiler.record("table", DbQueryProfiler.OP_COUNT, query, null, profiler.start(), () -> {
+      try {
+        // The caller must get back its result before the explain ends
+        assertTrue(release.await(10, TimeUnit.SECONDS));
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      final var plan = Thread.currentThread() != caller ? MONGO_PLAN : null;
+      explained.countDown();
+      return plan;
+    });
+    assertFalse(profiler.getReport().queries().get(0).fullScan());
+    release.countDown();
+    assertTrue(explained.await(10, TimeUnit.SECONDS));
+    for (int i = 0; i < 100 && !profiler.getReport().queries().get(0).fullScan(); i++) {
+      Thread.sleep(10);
+    }
+    assertTrue(profiler.getReport().queries().get(0).fullScan());
+  }
+}
@@ -55,6 +55,16 @@ class DbQueryTest {
     assertTrue(DbType.getInstance().isMongoDbType());
   }
 
+  @Test
+  void testPrefixUpperBound() {
+    assertEquals("abd", DbQuery.getPrefixUpperBound("abc"));
+    assertEquals("dir0", DbQuery.getPrefixUpperBound("dir/"));
+    assertEquals("b", DbQuery.getPrefixUpperBound("a" + new String(Character.toChars(Character.MAX_CODE_POINT))));
+    assertEquals("\uE000", DbQuery.getPrefixUpperBound("\uD7FF"));
+    assertNull(DbQuery.getPrefixUpperBound(""));
+    assertNull(DbQuery.getPrefixUpperBound(new String(Character.toChars(Character.MAX_CODE_POINT))));
+  }
+
   @Test
   void testEmptyCreationJson() throws JsonProcessingException {
     final var dbQuery = new DbQuery();
@@ -97,6 +107,16 @@ class DbQueryTest {
     assertEquals(QUERY.LTE, parsed.getQUERY());
     testItemString(parsed, QUERY.LTE);
 
+    dbQuery = new DbQuery(QUERY.GT, "field", "value");
+    json = objectMapper.writeValueAsString(dbQuery);
+    parsed = DbQuery.fromRestQuery(objectMapper.readValue(json, RestQuery.class));
+    testItemString(parsed, QUERY.GT);
+
+    dbQuery = new DbQuery(QUERY.LT, "field", "value");
+    json = objectMapper.writeValueAsString(dbQuery);
+    parsed = DbQuery.fromRestQuery(objectMapper.readValue(json, RestQuery.class));
+    testItemString(parsed, QUERY.LT);
+
     dbQuery = new DbQuery(QUERY.NEQ, "field", "value");
     json = objectMapper.writeValueAsString(dbQuery);
     parsed = DbQuery.fromRestQuery(objectMapper.readValue(json, RestQuery.class));
@@ -136,6 +156,16 @@ class DbQueryTest {
     parsed = DbQuery.fromRestQuery(objectMapper.readValue(json, RestQuery.class));
     testItemObject(parsed, QUERY.LTE, object);
 
+    dbQuery = new DbQuery(QUERY.GT, "field", object);
+    json = objectMapper.writeValueAsString(dbQuery);
+    parsed = DbQuery.fromRestQuery(objectMapper.readValue(json, RestQuery.class));
+    testItemObject(parsed, QUERY.GT, object);
+
+    dbQuery = new DbQuery(QUERY.LT, "field", object);
+    json = objectMapper.writeValueAsString(dbQuery);
+    parsed = DbQuery.fromRestQuery(objectMapper.readValue(json, RestQuery.class));
+    testItemObject(parsed, QUERY.LT, object);
+
     dbQuery = new DbQuery(QUERY.NEQ, "field", object);
     json = objectMapper.writeValueAsString(dbQuery);
     parsed = DbQuery.fromRestQuery(objectMapper.readValue(json, RestQuery.class));
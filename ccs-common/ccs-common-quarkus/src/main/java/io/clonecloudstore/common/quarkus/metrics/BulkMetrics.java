@@ -18,8 +18,10 @@ package io.clonecloudstore.common.quarkus.metrics;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.binder.BaseUnits;
 import io.micrometer.core.instrument.search.MeterNotFoundException;
@@ -62,6 +64,11 @@ public class BulkMetrics {
   public static final String TAG_TO_ACTIONS = "to.actions";
   public static final String TAG_REGISTER = "register";
   public static final String TAG_UNREGISTER = "unregister";
+  public static final String TAG_CACHE_HIT = "cache_hit";
+  public static final String TAG_CACHE_MISS = "cache_miss";
+  public static final String TAG_BYTES_SAVED = "bytes_saved";
+  public static final String TAG_BYTES_WRITTEN = "bytes_written";
+  public static final String TAG_BYTES_COPIED = "bytes_copied";
   private static final Map<String, Counter> internalCountersMap = new HashMap<>();
 
   String getName(final Class<?> name) {
@@ -89,6 +96,13 @@ public class BulkMetrics {
     return getCounter(getName(name), tagPairs);
   }
 
+  /**
+   * Register a gauge computed on demand (if already registered, the first registered supplier is kept)
+   */
+  public void registerGauge(final String name, final Supplier<Number> supplier, final String... tagPairs) {
+    Gauge.builder(name, supplier).tags(tagPairs).register(Metrics.globalRegistry);
+  }
+
   synchronized Counter getCounterInternal(final String name, final String... tagPairs) {
     try {
       return Metrics.globalRegistry.get(name).tags(tagPairs).counter();
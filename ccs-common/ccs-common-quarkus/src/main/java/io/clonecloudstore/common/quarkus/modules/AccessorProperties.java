@@ -34,6 +34,22 @@ public class AccessorProperties extends ServiceProperties {
   public static final String CCS_ACCESSOR_STORE_MIN_SPACE_GB = "ccs.accessor.store.min_space_gb";
   public static final String CCS_ACCESSOR_STORE_PURGE_RETENTION_SECONDS = "ccs.accessor.store.purge.retention_seconds";
   public static final String CCS_ACCESSOR_STORE_SCHEDULE_DELAY = "ccs.accessor.store.schedule.delay";
+  public static final String CCS_ACCESSOR_STORE_IMPORT_PARALLEL = "ccs.accessor.store.import.parallel";
+  public static final String CCS_ACCESSOR_STORE_IMPORT_BANDWIDTH = "ccs.accessor.store.import.bandwidth";
+  public static final String CCS_ACCESSOR_STORE_IMPORT_SMALLEST_FIRST = "ccs.accessor.store.import.smallest_first";
+  public static final String CCS_ACCESSOR_READ_TRUST_DATABASE = "ccs.accessor.read.trustDatabase";
+  public static final String CCS_ACCESSOR_READ_SINGLE_CALL = "ccs.accessor.read.singleCall";
+  public static final String CCS_ACCESSOR_CACHE_ACTIVE = "ccs.accessor.cache.active";
+  public static final String CCS_ACCESSOR_CACHE_MAX_ENTRIES = "ccs.accessor.cache.max_entries";
+  public static final String CCS_ACCESSOR_CACHE_TTL_MS = "ccs.accessor.cache.ttl_ms";
+  public static final String CCS_ACCESSOR_CACHE_NEGATIVE_TTL_MS = "ccs.accessor.cache.negative_ttl_ms";
+  public static final String CCS_ACCESSOR_LIST_MAX_PAGE_SIZE = "ccs.accessor.list.max_page_size";
+  public static final String CCS_ACCESSOR_JOURNAL_ACTIVE = "ccs.accessor.journal.active";
+  public static final String CCS_ACCESSOR_JOURNAL_PATH = "ccs.accessor.journal.path";
+  public static final String CCS_ACCESSOR_JOURNAL_FLUSH_DELAY_MS = "ccs.accessor.journal.flush_delay_ms";
+  public static final String CCS_ACCESSOR_MULTIPART_EXPIRY_SECONDS = "ccs.accessor.multipart.expiry_seconds";
+  public static final String CCS_ACCESSOR_MULTIPART_CLEANUP_DELAY = "ccs.accessor.multipart.cleanup.delay";
+  public static final String CCS_ACCESSOR_BATCH_MAX_ITEMS = "ccs.accessor.batch.max_items";
   private static boolean remoteRead = QuarkusSystemPropertyUtil.getBooleanConfig(CCS_ACCESSOR_REMOTE_READ, false);
   private static boolean fixOnAbsent =
       QuarkusSystemPropertyUtil.getBooleanConfig(CCS_ACCESSOR_REMOTE_FIX_ON_ABSENT, false);
@@ -49,6 +65,35 @@ public class AccessorProperties extends ServiceProperties {
       QuarkusSystemPropertyUtil.getLongConfig(CCS_ACCESSOR_STORE_PURGE_RETENTION_SECONDS, 3600);
   private static final String STORE_SCHEDULE_DELAY =
       QuarkusSystemPropertyUtil.getStringConfig(CCS_ACCESSOR_STORE_SCHEDULE_DELAY, "10s");
+  private static int storeImportParallel =
+      QuarkusSystemPropertyUtil.getIntegerConfig(CCS_ACCESSOR_STORE_IMPORT_PARALLEL, 4);
+  private static long storeImportBandwidth =
+      QuarkusSystemPropertyUtil.getLongConfig(CCS_ACCESSOR_STORE_IMPORT_BANDWIDTH, 0);
+  private static boolean storeImportSmallestFirst =
+      QuarkusSystemPropertyUtil.getBooleanConfig(CCS_ACCESSOR_STORE_IMPORT_SMALLEST_FIRST, false);
+  private static boolean readTrustDatabase =
+      QuarkusSystemPropertyUtil.getBooleanConfig(CCS_ACCESSOR_READ_TRUST_DATABASE, false);
+  private static boolean readSingleCall =
+      QuarkusSystemPropertyUtil.getBooleanConfig(CCS_ACCESSOR_READ_SINGLE_CALL, false);
+  private static boolean cacheActive = QuarkusSystemPropertyUtil.getBooleanConfig(CCS_ACCESSOR_CACHE_ACTIVE, false);
+  private static final long CACHE_MAX_ENTRIES =
+      QuarkusSystemPropertyUtil.getLongConfig(CCS_ACCESSOR_CACHE_MAX_ENTRIES, 100000);
+  private static long cacheTtlMs = QuarkusSystemPropertyUtil.getLongConfig(CCS_ACCESSOR_CACHE_TTL_MS, 5000);
+  private static long cacheNegativeTtlMs =
+      QuarkusSystemPropertyUtil.getLongConfig(CCS_ACCESSOR_CACHE_NEGATIVE_TTL_MS, 1000);
+  private static int listMaxPageSize =
+      QuarkusSystemPropertyUtil.getIntegerConfig(CCS_ACCESSOR_LIST_MAX_PAGE_SIZE, 10000);
+  private static boolean journalActive =
+      QuarkusSystemPropertyUtil.getBooleanConfig(CCS_ACCESSOR_JOURNAL_ACTIVE, false);
+  private static final String JOURNAL_PATH = QuarkusSystemPropertyUtil.getStringConfig(CCS_ACCESSOR_JOURNAL_PATH,
+      System.getProperty(JAVA_IO_TMPDIR) + "/CCS-journal");
+  private static long journalFlushDelayMs =
+      QuarkusSystemPropertyUtil.getLongConfig(CCS_ACCESSOR_JOURNAL_FLUSH_DELAY_MS, 100);
+  private static long multipartExpirySeconds =
+      QuarkusSystemPropertyUtil.getLongConfig(CCS_ACCESSOR_MULTIPART_EXPIRY_SECONDS, 7 * 24 * 3600L);
+  private static final String MULTIPART_CLEANUP_DELAY =
+      QuarkusSystemPropertyUtil.getStringConfig(CCS_ACCESSOR_MULTIPART_CLEANUP_DELAY, "1h");
+  private static long batchMaxItems = QuarkusSystemPropertyUtil.getLongConfig(CCS_ACCESSOR_BATCH_MAX_ITEMS, 100000);
 
   protected AccessorProperties() {
     // Nothing
@@ -148,13 +193,194 @@ public class AccessorProperties extends ServiceProperties {
     return STORE_SCHEDULE_DELAY;
   }
 
+  /**
+   * @return the maximum number of buffered Objects imported concurrently into the Driver (default 4)
+   */
+  public static int getStoreImportParallel() {
+    return storeImportParallel;
+  }
+
+  public static void setStoreImportParallel(final int parallel) {
+    storeImportParallel = parallel;
+  }
+
+  /**
+   * @return the maximum bandwidth in bytes per second shared by all imports of buffered Objects (default 0 meaning
+   * unlimited)
+   */
+  public static long getStoreImportBandwidth() {
+    return storeImportBandwidth;
+  }
+
+  public static void setStoreImportBandwidth(final long bandwidth) {
+    storeImportBandwidth = bandwidth;
+  }
+
+  /**
+   * @return True if buffered Objects are imported smallest first, else oldest first (default false)
+   */
+  public static boolean isStoreImportSmallestFirst() {
+    return storeImportSmallestFirst;
+  }
+
+  public static void setStoreImportSmallestFirst(final boolean smallestFirst) {
+    storeImportSmallestFirst = smallestFirst;
+  }
+
+  /**
+   * @return True if a READY Object in database is considered as available in Driver without checking it before
+   * reading it (absence is then reported by the read itself, default false)
+   */
+  public static boolean isReadTrustDatabase() {
+    return readTrustDatabase;
+  }
+
+  public static void setReadTrustDatabase(final boolean trustDatabase) {
+    readTrustDatabase = trustDatabase;
+  }
+
+  /**
+   * Warning: enable this will serve Object without checking its status in database nor its existence in Driver;
+   * returned metadata are the cached or database ones if any, else limited to bucket and name.
+   *
+   * @return True if the read is served with a single Driver call (default false)
+   */
+  public static boolean isReadSingleCall() {
+    return readSingleCall;
+  }
+
+  public static void setReadSingleCall(final boolean singleCall) {
+    readSingleCall = singleCall;
+  }
+
+  /**
+   * @return True if the Object metadata cache is active (default false)
+   */
+  public static boolean isCacheActive() {
+    return cacheActive;
+  }
+
+  public static void setCacheActive(final boolean active) {
+    cacheActive = active;
+  }
+
+  /**
+   * @return the maximum number of Object metadata entries kept in cache
+   */
+  public static long getCacheMaxEntries() {
+    return CACHE_MAX_ENTRIES;
+  }
+
+  /**
+   * @return the maximum staleness in ms of a cached Object metadata (bound when an invalidation message is lost)
+   */
+  public static long getCacheTtlMs() {
+    return cacheTtlMs;
+  }
+
+  public static void setCacheTtlMs(final long ttlMs) {
+    cacheTtlMs = ttlMs;
+  }
+
+  /**
+   * @return the maximum staleness in ms of a cached absence of Object
+   */
+  public static long getCacheNegativeTtlMs() {
+    return cacheNegativeTtlMs;
+  }
+
+  public static void setCacheNegativeTtlMs(final long ttlMs) {
+    cacheNegativeTtlMs = ttlMs;
+  }
+
+  /**
+   * @return the maximum number of Objects returned in one page of a paginated listing
+   */
+  public static int getListMaxPageSize() {
+    return listMaxPageSize;
+  }
+
+  public static void setListMaxPageSize(final int maxPageSize) {
+    listMaxPageSize = maxPageSize;
+  }
+
+  /**
+   * @return True if the write-behind journal of Object status updates is active (default false)
+   */
+  public static boolean isJournalActive() {
+    return journalActive;
+  }
+
+  public static void setJournalActive(final boolean active) {
+    journalActive = active;
+  }
+
+  /**
+   * @return the directory of the write-behind journal (default being java.io.tmpdir extended with "/CCS-journal")
+   */
+  public static String getJournalPath() {
+    return JOURNAL_PATH;
+  }
+
+  /**
+   * @return the maximum delay in ms before journaled status updates are written into the database
+   */
+  public static long getJournalFlushDelayMs() {
+    return journalFlushDelayMs;
+  }
+
+  public static void setJournalFlushDelayMs(final long delayMs) {
+    journalFlushDelayMs = delayMs;
+  }
+
+  /**
+   * @return the delay in seconds after which a not completed Multipart upload is aborted (default 7 days)
+   */
+  public static long getMultipartExpirySeconds() {
+    return multipartExpirySeconds;
+  }
+
+  public static void setMultipartExpirySeconds(final long expirySeconds) {
+    multipartExpirySeconds = expirySeconds;
+  }
+
+  /**
+   * @return the delay between 2 cleanups of expired Multipart uploads (default 1h)
+   */
+  public static String getMultipartCleanupDelay() {
+    return MULTIPART_CLEANUP_DELAY;
+  }
+
+  /**
+   * @return the maximum number of items handled in one batch request (default 100000)
+   */
+  public static long getBatchMaxItems() {
+    return batchMaxItems;
+  }
+
+  public static void setBatchMaxItems(final long maxItems) {
+    batchMaxItems = maxItems;
+  }
+
   public static String confugrationToString() {
     return String.format(
-        "%s, \"%s\":%b, \"%s\":%b, \"%s\":%b, \"%s\":%b, \"%s\":\"%s\", \"%s\":%d, \"%s\":%d, \"%s\":\"%s\"",
+        "%s, \"%s\":%b, \"%s\":%b, \"%s\":%b, \"%s\":%b, \"%s\":\"%s\", \"%s\":%d, \"%s\":%d, \"%s\":\"%s\", " +
+            "\"%s\":%d, \"%s\":%d, \"%s\":%b, \"%s\":%b, \"%s\":%b, \"%s\":%b, " +
+            "\"%s\":%d, \"%s\":%d, \"%s\":%d, \"%s\":%d, \"%s\":%b, \"%s\":\"%s\", \"%s\":%d, \"%s\":%d, " +
+            "\"%s\":\"%s\", \"%s\":%d",
         ServiceProperties.confugrationToString(), CCS_ACCESSOR_REMOTE_READ, isRemoteRead(),
         CCS_ACCESSOR_REMOTE_FIX_ON_ABSENT, isFixOnAbsent(), CCS_INTERNAL_COMPRESSION, isInternalCompression(),
         CCS_ACCESSOR_STORE_ACTIVE, isStoreActive(), CCS_ACCESSOR_STORE_PATH, getStorePath(),
         CCS_ACCESSOR_STORE_MIN_SPACE_GB, getStoreMinSpaceGb(), CCS_ACCESSOR_STORE_PURGE_RETENTION_SECONDS,
-        getStorePurgeRetentionSeconds(), CCS_ACCESSOR_STORE_SCHEDULE_DELAY, getStoreScheduleDelay());
+        getStorePurgeRetentionSeconds(), CCS_ACCESSOR_STORE_SCHEDULE_DELAY, getStoreScheduleDelay(),
+        CCS_ACCESSOR_STORE_IMPORT_PARALLEL, getStoreImportParallel(), CCS_ACCESSOR_STORE_IMPORT_BANDWIDTH,
+        getStoreImportBandwidth(), CCS_ACCESSOR_STORE_IMPORT_SMALLEST_FIRST, isStoreImportSmallestFirst(),
+        CCS_ACCESSOR_READ_TRUST_DATABASE, isReadTrustDatabase(), CCS_ACCESSOR_READ_SINGLE_CALL, isReadSingleCall(),
+        CCS_ACCESSOR_CACHE_ACTIVE, isCacheActive(), CCS_ACCESSOR_CACHE_MAX_ENTRIES, getCacheMaxEntries(),
+        CCS_ACCESSOR_CACHE_TTL_MS, getCacheTtlMs(), CCS_ACCESSOR_CACHE_NEGATIVE_TTL_MS, getCacheNegativeTtlMs(),
+        CCS_ACCESSOR_LIST_MAX_PAGE_SIZE, getListMaxPageSize(), CCS_ACCESSOR_JOURNAL_ACTIVE, isJournalActive(),
+        CCS_ACCESSOR_JOURNAL_PATH, getJournalPath(), CCS_ACCESSOR_JOURNAL_FLUSH_DELAY_MS, getJournalFlushDelayMs(),
+        CCS_ACCESSOR_MULTIPART_EXPIRY_SECONDS, getMultipartExpirySeconds(), CCS_ACCESSOR_MULTIPART_CLEANUP_DELAY,
+        getMultipartCleanupDelay(), CCS_ACCESSOR_BATCH_MAX_ITEMS, getBatchMaxItems());
   }
 }
@@ -18,19 +18,29 @@ package io.clonecloudstore.driver.api;
 
 import java.io.Closeable;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Stream;
 
+import io.clonecloudstore.common.standard.guid.GuidLike;
 import io.clonecloudstore.common.standard.system.ParametersChecker;
 import io.clonecloudstore.driver.api.exception.DriverAlreadyExistException;
 import io.clonecloudstore.driver.api.exception.DriverException;
 import io.clonecloudstore.driver.api.exception.DriverNotAcceptableException;
 import io.clonecloudstore.driver.api.exception.DriverNotFoundException;
+import io.clonecloudstore.driver.api.exception.DriverRuntimeException;
 import io.clonecloudstore.driver.api.model.StorageBucket;
 import io.clonecloudstore.driver.api.model.StorageObject;
+import io.clonecloudstore.driver.api.model.StoragePart;
 
 /**
  * Driver Java Interface for Object Storage. This shall be retrieved through the DriverApiFactory and closed when
@@ -218,7 +228,8 @@ public interface DriverApi extends Closeable {
    * Second step in creation of an object within a Bucket. Sha256 might be null or empty. Reallen must not be 0.
    * This method waits for the prepare method to end and returns the final result.
    *
-   * @return the StorageObject as instantiated within the Object Storage (real values)
+   * @return the StorageObject as instantiated within the Object Storage (real values, or the given ones if the
+   * driver does not read the Object back)
    */
   StorageObject objectFinalizeCreateInBucket(String bucket, String object, long realLen, String sha256)
       throws DriverNotFoundException, DriverAlreadyExistException, DriverException; // NOSONAR Exception details
@@ -318,6 +329,137 @@ public interface DriverApi extends Closeable {
     objectDeleteInBucket(object.bucket(), object.name());
   }
 
+  /**
+   * Delete several Objects from this Bucket. By default, Objects are deleted one by one; drivers with a native batch
+   * deletion override it.
+   *
+   * @return the Objects that could not be deleted with the associated exception (empty if all deleted)
+   */
+  default Map<String, DriverException> objectsDeleteInBucket(final String bucket, final Collection<String> objects) {
+    final var errors = new HashMap<String, DriverException>();
+    for (final var object : objects) {
+      try {
+        objectDeleteInBucket(bucket, object);
+      } catch (final DriverException e) {
+        errors.put(object, e);
+      }
+    }
+    return errors;
+  }
+
+  /**
+   * Prefix of the temporary part Objects used by the default multipart upload implementation
+   */
+  String MULTIPART_PREFIX = ".ccs-multipart/";
+
+  /**
+   * @return True if this Object is a temporary part Object of a multipart upload not explicitly listed through its
+   * prefix, so to hide it from listings and counts
+   */
+  static boolean isHiddenMultipartPart(final String prefix, final String name) {
+    return name.startsWith(MULTIPART_PREFIX) && (prefix == null || !prefix.startsWith(MULTIPART_PREFIX));
+  }
+
+  /**
+   * @return the name of the temporary part Object used by the default multipart upload implementation
+   */
+  static String getMultipartPartName(final String uploadId, final int partNumber) {
+    return String.format("%s%s/%05d", MULTIPART_PREFIX, uploadId, partNumber);
+  }
+
+  /**
+   * First step of a multipart upload of an Object within a Bucket. By default, each part is stored as a temporary
+   * Object and all parts are concatenated on completion; drivers with a native multipart upload override all
+   * multipart methods.
+   *
+   * @param object contains the bucket, the name and optionally the metadata and expiration date of the final Object
+   * @return the upload id given by the Object Storage, to be used for all parts
+   */
+  default String objectMultipartInitiateInBucket(final StorageObject object)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    if (!bucketExists(object.bucket())) {
+      throw new DriverNotFoundException("Bucket does not exist: " + object.bucket());
+    }
+    return GuidLike.getGuid();
+  }
+
+  /**
+   * Upload one part of a multipart upload. Uploading again the same part number replaces the previous one, and parts
+   * can be uploaded concurrently.
+   *
+   * @param len the size of the part (must be known)
+   * @return the uploaded part
+   */
+  default StoragePart objectMultipartUploadPartInBucket(final StorageObject object, final String uploadId,
+                                                        final int partNumber, final InputStream inputStream,
+                                                        final long len)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    final var partName = getMultipartPartName(uploadId, partNumber);
+    try {
+      objectDeleteInBucket(object.bucket(), partName);
+    } catch (final DriverNotFoundException ignore) {
+      // Not uploaded yet
+    }
+    objectPrepareCreateInBucket(new StorageObject(object.bucket(), partName, null, len, Instant.now()), inputStream);
+    final var part = objectFinalizeCreateInBucket(object.bucket(), partName, len, null);
+    return new StoragePart(partNumber, partName, part.size());
+  }
+
+  /**
+   * Last step of a multipart upload: the final Object is built from the given parts, in part number order. No hash
+   * is stored for the final Object, since its whole content is not digested (a declared one would not be verified).
+   *
+   * @param object contains the bucket, the name and optionally the metadata and expiration date of the final Object
+   * @return the StorageObject as instantiated within the Object Storage (real values)
+   */
+  default StorageObject objectMultipartCompleteInBucket(final StorageObject object, final String uploadId,
+                                                        final List<StoragePart> parts)
+      throws DriverNotFoundException, DriverAlreadyExistException, DriverException { // NOSONAR Exception details
+    final var sorted = parts.stream().sorted(Comparator.comparingInt(StoragePart::partNumber)).toList();
+    final var size = sorted.stream().mapToLong(StoragePart::size).sum();
+    final var iterator = sorted.iterator();
+    final var inputStream = new SequenceInputStream(new Enumeration<>() {
+      @Override
+      public boolean hasMoreElements() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public InputStream nextElement() {
+        try {
+          return objectGetInputStreamInBucket(object.bucket(), iterator.next().etag());
+        } catch (final DriverException e) {
+          throw new DriverRuntimeException(e);
+        }
+      }
+    });
+    objectPrepareCreateInBucket(
+        new StorageObject(object.bucket(), object.name(), null, size, Instant.now(), object.expiresDate(),
+            object.metadata()), inputStream);
+    final var result = objectFinalizeCreateInBucket(object.bucket(), object.name(), size, null);
+    objectsDeleteInBucket(object.bucket(), sorted.stream().map(StoragePart::etag).toList());
+    return result;
+  }
+
+  /**
+   * Abort a multipart upload, removing already uploaded parts
+   */
+  default void objectMultipartAbortInBucket(final StorageObject object, final String uploadId)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    final var partNames = new ArrayList<String>();
+    objectsIteratorInBucket(object.bucket(), MULTIPART_PREFIX + uploadId + "/", null, null).forEachRemaining(
+        storageObject -> partNames.add(storageObject.name()));
+    objectsDeleteInBucket(object.bucket(), partNames);
+  }
+
+  /**
+   * @return the non-blocking companion of this DriverApi, bound to its lifecycle. By default, blocking calls are
+   * delegated to virtual threads; drivers with a native asynchronous client override it.
+   */
+  default DriverAsyncApi async() {
+    return new DriverAsyncApiAdapter(this);
+  }
+
   /**
    * Close with no exception.
    * Closes this resource, relinquishing any underlying resources. This method is invoked automatically on objects
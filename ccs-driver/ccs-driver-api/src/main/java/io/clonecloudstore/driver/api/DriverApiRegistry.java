@@ -16,6 +16,8 @@
 
 package io.clonecloudstore.driver.api;
 
+import java.util.function.UnaryOperator;
+
 import org.jboss.logging.Logger;
 
 /**
@@ -24,6 +26,7 @@ import org.jboss.logging.Logger;
 public class DriverApiRegistry {
   private static final Logger LOGGER = Logger.getLogger(DriverApiRegistry.class);
   private static DriverApiFactory driverApiFactory;
+  private static DriverApiFactory decoratedFactory;
 
   /**
    * Used by DriverApi implementation to setup the registry (only one value kept)
@@ -33,6 +36,10 @@ public class DriverApiRegistry {
       LOGGER.error("Driver Registry initialized with null Driver!");
       throw new IllegalArgumentException("DriverApiFactory cannot be null for registration");
     }
+    if (decoratedFactory != null && decoratedFactory.getClass() == driverApiFactorySetup.getClass()) {
+      LOGGER.debugf("Driver Registry already decorated for %s", driverApiFactorySetup.getClass().getName());
+      return;
+    }
     if (driverApiFactory != null && driverApiFactory.getClass() != driverApiFactorySetup.getClass()) {
       LOGGER.errorf("Driver Registry initialized with 2 Drivers! Initial is %s while second is %s. Check dependencies",
           driverApiFactory.getClass().getName(), driverApiFactorySetup.getClass().getName());
@@ -41,7 +48,29 @@ public class DriverApiRegistry {
     internalSetDriverApiFactory(driverApiFactorySetup);
   }
 
+  /**
+   * Used by DriverApi decorators (such as a local cache) to wrap the already registered DriverApiFactory.
+   * Once decorated, a further registration of the same real Driver is ignored.
+   */
+  public static synchronized void decorateDriverApiFactory(final UnaryOperator<DriverApiFactory> decorator) {
+    if (driverApiFactory == null) {
+      LOGGER.error("Driver Registry decorated while no Driver is registered!");
+      throw new IllegalArgumentException("DriverApiFactory must be registered before decoration");
+    }
+    final var decorated = decorator.apply(driverApiFactory);
+    if (decorated == null) {
+      throw new IllegalArgumentException("Decorated DriverApiFactory cannot be null");
+    }
+    if (decorated != driverApiFactory) {
+      decoratedFactory = driverApiFactory;
+      internalSetDriverApiFactory(decorated);
+    }
+  }
+
   static void internalSetDriverApiFactory(final DriverApiFactory driverApiFactorySetup) {
+    if (decoratedFactory == driverApiFactorySetup) {
+      decoratedFactory = null;
+    }
     LOGGER.infof("Setup DriverApiFactory to %s", driverApiFactorySetup.getClass().getName());
     driverApiFactory = driverApiFactorySetup;
   }
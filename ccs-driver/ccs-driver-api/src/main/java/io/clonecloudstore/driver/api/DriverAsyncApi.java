@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.driver.api;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+import io.clonecloudstore.driver.api.exception.DriverException;
+import io.clonecloudstore.driver.api.model.StorageObject;
+
+/**
+ * Non-blocking companion of DriverApi for the operations on the hot path (existence, metadata, read, write, delete
+ * and listing pages). Each method returns immediately; failures complete the stage exceptionally with the same
+ * DriverException subclasses as the blocking API (DriverNotFoundException, DriverAlreadyExistException...).
+ * <br>
+ * Retrieved through DriverApi.async(): drivers with a native asynchronous client provide their own implementation,
+ * others fall back to DriverAsyncApiAdapter running the blocking calls on virtual threads. The lifecycle is bound to
+ * the originating DriverApi.
+ */
+public interface DriverAsyncApi {
+  /**
+   * Check if Bucket exists
+   */
+  CompletionStage<Boolean> bucketExists(String bucket);
+
+  /**
+   * Check if Directory or Object exists in specified Bucket (based on prefix)
+   */
+  CompletionStage<StorageType> directoryOrObjectExistsInBucket(String bucket, String directoryOrObject);
+
+  /**
+   * Get the Object metadata from this Bucket (those available from Object Storage)
+   */
+  CompletionStage<StorageObject> objectGetMetadataInBucket(String bucket, String object);
+
+  /**
+   * Get the content of the specified Object within specified Bucket. The stage completes once the Object Storage
+   * answered; the content is then read through the returned InputStream.
+   */
+  CompletionStage<InputStream> objectGetInputStreamInBucket(String bucket, String object);
+
+  /**
+   * Create an object within a Bucket in one step. The size of the object must be known (greater than 0).
+   *
+   * @return the StorageObject as instantiated within the Object Storage (real values)
+   */
+  CompletionStage<StorageObject> objectCreateInBucket(StorageObject object, InputStream inputStream);
+
+  /**
+   * Delete the Object from this Bucket
+   */
+  CompletionStage<Void> objectDeleteInBucket(String bucket, String object);
+
+  /**
+   * One page of the listing of objects in this Bucket, in lexicographical order of names
+   *
+   * @param prefix     optional prefix (null or empty means all)
+   * @param startAfter optional name after which the listing starts (exclusive)
+   * @param maxItems   maximum number of items within the page
+   * @return the page (empty if no more items); the last name is the startAfter of the next page. Items carry the
+   * information returned by the listing, which might not include hash nor metadata.
+   */
+  CompletionStage<List<StorageObject>> objectsPageInBucket(String bucket, String prefix, String startAfter,
+                                                            int maxItems);
+
+  /**
+   * Wait for the given stage, unwrapping the original DriverException if any
+   */
+  static <T> T await(final CompletionStage<T> stage) throws DriverException {
+    try {
+      return stage.toCompletableFuture().get();
+    } catch (final InterruptedException e) { // NOSONAR intentional
+      Thread.currentThread().interrupt();
+      throw new DriverException(e);
+    } catch (final ExecutionException e) {
+      throw toDriverException(e.getCause());
+    }
+  }
+
+  /**
+   * @return the DriverException wrapped by the given error (from a CompletionStage) or a new one
+   */
+  static DriverException toDriverException(final Throwable error) {
+    var cause = error;
+    while (cause instanceof CompletionException && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    if (cause instanceof final DriverException driverException) {
+      return driverException;
+    }
+    return new DriverException(cause);
+  }
+
+  /**
+   * @return a stage already failed with the given DriverException
+   */
+  static <T> CompletionStage<T> failed(final DriverException e) {
+    return CompletableFuture.failedFuture(e);
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.driver.api;
+
+import java.io.InputStream;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+import io.clonecloudstore.common.standard.system.ParametersChecker;
+import io.clonecloudstore.common.standard.system.SystemTools;
+import io.clonecloudstore.driver.api.exception.DriverException;
+import io.clonecloudstore.driver.api.model.StorageObject;
+
+/**
+ * Default DriverAsyncApi on top of a blocking DriverApi: each call runs on the given Executor (virtual threads by
+ * default), so that callers can overlap independent driver calls even if the underlying SDK is blocking.
+ */
+public class DriverAsyncApiAdapter implements DriverAsyncApi {
+  private final DriverApi driverApi;
+  private final Executor executor;
+
+  public DriverAsyncApiAdapter(final DriverApi driverApi) {
+    this(driverApi, SystemTools.VIRTUAL_EXECUTOR_SERVICE);
+  }
+
+  public DriverAsyncApiAdapter(final DriverApi driverApi, final Executor executor) {
+    ParametersChecker.checkParameter("DriverApi and Executor cannot be null", driverApi, executor);
+    this.driverApi = driverApi;
+    this.executor = executor;
+  }
+
+  @FunctionalInterface
+  private interface DriverCall<T> {
+    T call() throws DriverException;
+  }
+
+  private <T> CompletionStage<T> supply(final DriverCall<T> call) {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return call.call();
+      } catch (final DriverException e) {
+        throw new CompletionException(e);
+      }
+    }, executor);
+  }
+
+  @Override
+  public CompletionStage<Boolean> bucketExists(final String bucket) {
+    return supply(() -> driverApi.bucketExists(bucket));
+  }
+
+  @Override
+  public CompletionStage<StorageType> directoryOrObjectExistsInBucket(final String bucket,
+                                                                      final String directoryOrObject) {
+    return supply(() -> driverApi.directoryOrObjectExistsInBucket(bucket, directoryOrObject));
+  }
+
+  @Override
+  public CompletionStage<StorageObject> objectGetMetadataInBucket(final String bucket, final String object) {
+    return supply(() -> driverApi.objectGetMetadataInBucket(bucket, object));
+  }
+
+  @Override
+  public CompletionStage<InputStream> objectGetInputStreamInBucket(final String bucket, final String object) {
+    return supply(() -> driverApi.objectGetInputStreamInBucket(bucket, object));
+  }
+
+  @Override
+  public CompletionStage<StorageObject> objectCreateInBucket(final StorageObject object,
+                                                             final InputStream inputStream) {
+    if (object == null || object.size() <= 0) {
+      return DriverAsyncApi.failed(new DriverException("Size of the object must be known"));
+    }
+    return supply(() -> {
+      driverApi.objectPrepareCreateInBucket(object, inputStream);
+      return driverApi.objectFinalizeCreateInBucket(object.bucket(), object.name(), object.size(), object.hash());
+    });
+  }
+
+  @Override
+  public CompletionStage<Void> objectDeleteInBucket(final String bucket, final String object) {
+    return supply(() -> {
+      driverApi.objectDeleteInBucket(bucket, object);
+      return null;
+    });
+  }
+
+  @Override
+  public CompletionStage<List<StorageObject>> objectsPageInBucket(final String bucket, final String prefix,
+                                                                   final String startAfter, final int maxItems) {
+    return supply(() -> {
+      try (final var stream = driverApi.objectsStreamInBucket(bucket, prefix, null, null)) {
+        return stream.filter(storageObject -> ParametersChecker.isEmpty(startAfter) ||
+                storageObject.name().compareTo(startAfter) > 0)
+            .sorted(Comparator.comparing(StorageObject::name)).limit(maxItems).toList();
+      }
+    });
+  }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.driver.api.model;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Dto for Java: one uploaded part of a multipart upload
+ *
+ * @param partNumber the part number (starting from 1)
+ * @param etag       the reference of the part given by the Object Storage (needed to complete the upload)
+ * @param size       the size of the part
+ */
+@RegisterForReflection
+public record StoragePart(int partNumber, String etag, long size) {
+}
@@ -19,6 +19,7 @@ package io.clonecloudstore.driver.api;
 import io.quarkus.test.junit.QuarkusTest;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -47,5 +48,16 @@ class DriverApiRegistryTest {
     assertThrows(IllegalArgumentException.class,
         () -> DriverApiRegistry.setDriverApiFactory(new DriverApiFactoryFake()));
     assertNotNull(DriverApiRegistry.getDriverApiFactory());
+    // Decorate the current one
+    final var original = DriverApiRegistry.getDriverApiFactory();
+    assertThrows(IllegalArgumentException.class, () -> DriverApiRegistry.decorateDriverApiFactory(factory -> null));
+    final DriverApiFactory decorated = original::getInstance;
+    DriverApiRegistry.decorateDriverApiFactory(factory -> decorated);
+    assertEquals(decorated, DriverApiRegistry.getDriverApiFactory());
+    // Registering again the real one is ignored
+    DriverApiRegistry.setDriverApiFactory(original);
+    assertEquals(decorated, DriverApiRegistry.getDriverApiFactory());
+    assertThrows(IllegalArgumentException.class,
+        () -> DriverApiRegistry.setDriverApiFactory(new DriverApiFactoryFake()));
   }
 }
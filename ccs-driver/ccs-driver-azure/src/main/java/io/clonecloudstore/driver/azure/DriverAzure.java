@@ -18,13 +18,16 @@ package io.clonecloudstore.driver.azure;
 
 import java.io.InputStream;
 import java.time.Instant;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.stream.Stream;
 
 import com.azure.storage.blob.models.BlobItem;
 import io.clonecloudstore.common.quarkus.metrics.BulkMetrics;
 import io.clonecloudstore.common.standard.system.SystemTools;
 import io.clonecloudstore.driver.api.DriverApi;
+import io.clonecloudstore.driver.api.DriverAsyncApi;
 import io.clonecloudstore.driver.api.StorageType;
 import io.clonecloudstore.driver.api.exception.DriverAlreadyExistException;
 import io.clonecloudstore.driver.api.exception.DriverException;
@@ -33,6 +36,7 @@ import io.clonecloudstore.driver.api.exception.DriverNotFoundException;
 import io.clonecloudstore.driver.api.exception.DriverRuntimeException;
 import io.clonecloudstore.driver.api.model.StorageBucket;
 import io.clonecloudstore.driver.api.model.StorageObject;
+import io.clonecloudstore.driver.api.model.StoragePart;
 import jakarta.enterprise.inject.spi.CDI;
 import org.jboss.logging.Logger;
 
@@ -352,6 +356,54 @@ public class DriverAzure implements DriverApi {
     }
   }
 
+  @Override
+  public StoragePart objectMultipartUploadPartInBucket(final StorageObject object, final String uploadId,
+                                                       final int partNumber, final InputStream inputStream,
+                                                       final long len)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    try {
+      return new StoragePart(partNumber,
+          driverAzureHelper.stageBlock(object, uploadId, partNumber, inputStream, len), len);
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    } catch (final DriverException e) {
+      bulkMetrics.incrementCounter(1, DriverAzure.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_ERROR_WRITE);
+      throw e;
+    } finally {
+      SystemTools.silentlyCloseNoException(inputStream);
+    }
+  }
+
+  @Override
+  public StorageObject objectMultipartCompleteInBucket(final StorageObject object, final String uploadId,
+                                                       final List<StoragePart> parts)
+      throws DriverNotFoundException, DriverAlreadyExistException, DriverException { // NOSONAR Exception details
+    try {
+      bulkMetrics.incrementCounter(1, DriverAzure.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_CREATE);
+      // The whole content is not digested, so no hash is stored
+      return driverAzureHelper.commitBlockList(
+          new StorageObject(object.bucket(), object.name(), null, object.size(), object.creationDate(),
+              object.expiresDate(), object.metadata()),
+          parts.stream().sorted(Comparator.comparingInt(StoragePart::partNumber)).map(StoragePart::etag).toList());
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    } catch (final DriverException e) {
+      bulkMetrics.incrementCounter(1, DriverAzure.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_ERROR_WRITE);
+      throw e;
+    }
+  }
+
+  @Override
+  public void objectMultipartAbortInBucket(final StorageObject object, final String uploadId) {
+    // Uncommitted blocks are discarded by Azure itself after a while or on next commit
+    LOGGER.debugf("Abort multipart %s for %s", uploadId, object.name());
+  }
+
+  @Override
+  public DriverAsyncApi async() {
+    return new DriverAzureAsync(driverAzureHelper, bulkMetrics);
+  }
+
   @Override
   public void close() {
     // Empty
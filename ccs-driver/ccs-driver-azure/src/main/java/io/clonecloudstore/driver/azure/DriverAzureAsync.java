@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.driver.azure;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+import com.azure.core.util.FluxUtil;
+import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobListDetails;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import com.azure.storage.blob.models.ParallelTransferOptions;
+import com.azure.storage.blob.options.BlobParallelUploadOptions;
+import io.clonecloudstore.common.quarkus.metrics.BulkMetrics;
+import io.clonecloudstore.common.standard.properties.StandardProperties;
+import io.clonecloudstore.common.standard.system.ParametersChecker;
+import io.clonecloudstore.common.standard.system.SystemTools;
+import io.clonecloudstore.driver.api.DriverAsyncApi;
+import io.clonecloudstore.driver.api.StorageType;
+import io.clonecloudstore.driver.api.exception.DriverException;
+import io.clonecloudstore.driver.api.model.StorageObject;
+import reactor.core.publisher.Mono;
+
+import static io.clonecloudstore.driver.azure.DriverAzureProperties.EXPIRY;
+import static io.clonecloudstore.driver.azure.DriverAzureProperties.SHA_256;
+
+/**
+ * Azure non-blocking Driver, based on the BlobServiceAsyncClient (Reactor based)
+ */
+class DriverAzureAsync implements DriverAsyncApi {
+  private static final String BUCKET_OR_OBJECT_CANNOT_BE_NULL = "Bucket or Object cannot be null";
+  private final DriverAzureHelper driverAzureHelper;
+  private final BulkMetrics bulkMetrics;
+
+  DriverAzureAsync(final DriverAzureHelper driverAzureHelper, final BulkMetrics bulkMetrics) {
+    this.driverAzureHelper = driverAzureHelper;
+    this.bulkMetrics = bulkMetrics;
+  }
+
+  private static DriverException toDriverException(final Throwable error) {
+    var cause = error;
+    while (cause instanceof CompletionException && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    if (cause instanceof final BlobStorageException e) {
+      return DriverException.getDriverExceptionFromStatus(e.getStatusCode(), e);
+    }
+    return DriverAsyncApi.toDriverException(cause);
+  }
+
+  private <T> CompletionStage<T> mapError(final CompletableFuture<T> future, final String errorTag) {
+    return future.exceptionallyCompose(e -> {
+      bulkMetrics.incrementCounter(1, DriverAzure.class, BulkMetrics.KEY_OBJECT, errorTag);
+      return CompletableFuture.failedFuture(toDriverException(e));
+    });
+  }
+
+  private StorageObject fromBlobProperties(final String bucket, final String name, final BlobProperties properties) {
+    try {
+      return driverAzureHelper.fromBlobProperties(bucket, name, properties);
+    } catch (final DriverException e) {
+      throw new CompletionException(e);
+    }
+  }
+
+  private StorageObject fromBlobItem(final String bucket, final BlobItem blobItem) {
+    try {
+      return driverAzureHelper.fromBlobItem(bucket, blobItem);
+    } catch (final DriverException e) {
+      throw new CompletionException(e);
+    }
+  }
+
+  @Override
+  public CompletionStage<Boolean> bucketExists(final String bucket) {
+    if (ParametersChecker.isEmpty(bucket)) {
+      return DriverAsyncApi.failed(new DriverException("Bucket cannot be null"));
+    }
+    bulkMetrics.incrementCounter(1, DriverAzure.class, BulkMetrics.KEY_BUCKET, BulkMetrics.TAG_EXISTS);
+    return mapError(
+        driverAzureHelper.getBlobServiceAsyncClient().getBlobContainerAsyncClient(bucket).exists().toFuture(),
+        BulkMetrics.TAG_ERROR_READ);
+  }
+
+  @Override
+  public CompletionStage<StorageType> directoryOrObjectExistsInBucket(final String bucket,
+                                                                      final String directoryOrObject) {
+    if (ParametersChecker.isEmpty(bucket, directoryOrObject)) {
+      return DriverAsyncApi.failed(new DriverException(BUCKET_OR_OBJECT_CANNOT_BE_NULL));
+    }
+    bulkMetrics.incrementCounter(1, DriverAzure.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_EXISTS);
+    final var container = driverAzureHelper.getBlobServiceAsyncClient().getBlobContainerAsyncClient(bucket);
+    return container.getBlobAsyncClient(directoryOrObject).exists().onErrorReturn(Boolean.FALSE)
+        .flatMap(isObject -> {
+          if (Boolean.TRUE.equals(isObject)) {
+            return Mono.just(StorageType.OBJECT);
+          }
+          return container.listBlobs(new ListBlobsOptions().setPrefix(directoryOrObject).setMaxResultsPerPage(1))
+              .hasElements().map(found -> Boolean.TRUE.equals(found) ? StorageType.DIRECTORY : StorageType.NONE);
+        }).onErrorReturn(StorageType.NONE).toFuture();
+  }
+
+  @Override
+  public CompletionStage<StorageObject> objectGetMetadataInBucket(final String bucket, final String object) {
+    if (ParametersChecker.isEmpty(bucket, object)) {
+      return DriverAsyncApi.failed(new DriverException(BUCKET_OR_OBJECT_CANNOT_BE_NULL));
+    }
+    bulkMetrics.incrementCounter(1, DriverAzure.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_READ_MD);
+    return mapError(driverAzureHelper.getBlobServiceAsyncClient().getBlobContainerAsyncClient(bucket)
+        .getBlobAsyncClient(object).getProperties().toFuture()
+        .thenApply(properties -> fromBlobProperties(bucket, object, properties)), BulkMetrics.TAG_ERROR_READ);
+  }
+
+  /**
+   * The Azure SDK only offers a blocking InputStream (openInputStream), so it is opened on a virtual thread
+   */
+  @Override
+  public CompletionStage<InputStream> objectGetInputStreamInBucket(final String bucket, final String object) {
+    if (ParametersChecker.isEmpty(bucket, object)) {
+      return DriverAsyncApi.failed(new DriverException(BUCKET_OR_OBJECT_CANNOT_BE_NULL));
+    }
+    bulkMetrics.incrementCounter(1, DriverAzure.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_READ);
+    return mapError(CompletableFuture.supplyAsync(() -> {
+      try {
+        return driverAzureHelper.getObjectBodyInBucket(bucket, object);
+      } catch (final DriverException e) {
+        throw new CompletionException(e);
+      }
+    }, SystemTools.VIRTUAL_EXECUTOR_SERVICE), BulkMetrics.TAG_ERROR_READ);
+  }
+
+  @Override
+  public CompletionStage<StorageObject> objectCreateInBucket(final StorageObject object,
+                                                             final InputStream inputStream) {
+    if (object == null || ParametersChecker.isEmpty(object.bucket(), object.name(), inputStream) ||
+        object.size() <= 0) {
+      return DriverAsyncApi.failed(new DriverException("Bucket, Object and Size must be known"));
+    }
+    bulkMetrics.incrementCounter(1, DriverAzure.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_CREATE);
+    final var map = new HashMap<String, String>();
+    if (object.metadata() != null) {
+      map.putAll(object.metadata());
+    }
+    if (ParametersChecker.isNotEmpty(object.hash())) {
+      map.put(SHA_256, object.hash());
+    }
+    if (object.expiresDate() != null) {
+      map.put(EXPIRY, object.expiresDate().toString());
+    }
+    final var partSize = Math.min(object.size(), DriverAzureProperties.getMaxPartSizeForUnknownLength());
+    final var parallelTransferOptions =
+        new ParallelTransferOptions().setMaxConcurrency(DriverAzureProperties.getMaxConcurrency())
+            .setBlockSizeLong(partSize).setMaxSingleUploadSizeLong(DriverAzureProperties.getMaxPartSize());
+    // Metadata are sent with the upload itself and, as the blocking Driver, an existing object is not overwritten
+    final var options = new BlobParallelUploadOptions(FluxUtil.toFluxByteBuffer(inputStream,
+        StandardProperties.getBufSize())).setMetadata(map).setParallelTransferOptions(parallelTransferOptions)
+        .setHeaders(new BlobHttpHeaders().setContentLanguage("en-US").setContentType("binary"))
+        .setRequestConditions(new BlobRequestConditions().setIfNoneMatch("*"));
+    final var blobClient = driverAzureHelper.getBlobServiceAsyncClient().getBlobContainerAsyncClient(object.bucket())
+        .getBlobAsyncClient(object.name());
+    return mapError(blobClient.uploadWithResponse(options).then(blobClient.getProperties()).toFuture()
+            .thenApply(properties -> fromBlobProperties(object.bucket(), object.name(), properties)),
+        BulkMetrics.TAG_ERROR_WRITE);
+  }
+
+  @Override
+  public CompletionStage<Void> objectDeleteInBucket(final String bucket, final String object) {
+    if (ParametersChecker.isEmpty(bucket, object)) {
+      return DriverAsyncApi.failed(new DriverException(BUCKET_OR_OBJECT_CANNOT_BE_NULL));
+    }
+    bulkMetrics.incrementCounter(1, DriverAzure.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_DELETE);
+    // Azure answers 404 on missing blob, so no previous existence check is needed
+    return mapError(driverAzureHelper.getBlobServiceAsyncClient().getBlobContainerAsyncClient(bucket)
+        .getBlobAsyncClient(object).delete().toFuture(), BulkMetrics.TAG_ERROR_DELETE);
+  }
+
+  /**
+   * Azure listing has no "startAfter", but is ordered by name: previous items are skipped on the fly
+   */
+  @Override
+  public CompletionStage<List<StorageObject>> objectsPageInBucket(final String bucket, final String prefix,
+                                                                   final String startAfter, final int maxItems) {
+    if (ParametersChecker.isEmpty(bucket)) {
+      return DriverAsyncApi.failed(new DriverException("Bucket cannot be null"));
+    }
+    bulkMetrics.incrementCounter(1, DriverAzure.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_STREAM);
+    final var options = new ListBlobsOptions().setDetails(new BlobListDetails().setRetrieveMetadata(true))
+        .setMaxResultsPerPage(maxItems);
+    if (ParametersChecker.isNotEmpty(prefix)) {
+      options.setPrefix(prefix);
+    }
+    return mapError(driverAzureHelper.getBlobServiceAsyncClient().getBlobContainerAsyncClient(bucket)
+        .listBlobs(options)
+        .filter(blobItem -> ParametersChecker.isEmpty(startAfter) || blobItem.getName().compareTo(startAfter) > 0)
+        .take(maxItems).map(blobItem -> fromBlobItem(bucket, blobItem)).collectList().toFuture(),
+        BulkMetrics.TAG_ERROR_READ);
+  }
+}
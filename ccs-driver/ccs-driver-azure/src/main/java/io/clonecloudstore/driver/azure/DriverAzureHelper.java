@@ -18,11 +18,14 @@ package io.clonecloudstore.driver.azure;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.stream.Stream;
@@ -30,7 +33,9 @@ import java.util.stream.Stream;
 import com.azure.core.http.rest.PagedIterable;
 import com.azure.core.util.Context;
 import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobServiceAsyncClient;
 import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.BlobServiceClientBuilder;
 import com.azure.storage.blob.models.BlobContainerItem;
 import com.azure.storage.blob.models.BlobHttpHeaders;
 import com.azure.storage.blob.models.BlobItem;
@@ -68,6 +73,7 @@ public class DriverAzureHelper {
   private static final String BUCKET_CANNOT_BE_NULL = "Bucket cannot be null";
   private static final String BUCKET_OR_OBJECT_CANNOT_BE_NULL = "Bucket or Object cannot be null";
   private final BlobServiceClient blobServiceClient;
+  private volatile BlobServiceAsyncClient blobServiceAsyncClient;
 
   DriverAzureHelper(final BlobServiceClient blobServiceClient) {
     this.blobServiceClient = blobServiceClient;
@@ -77,6 +83,25 @@ public class DriverAzureHelper {
     return blobServiceClient;
   }
 
+  /**
+   * @return the asynchronous client sharing the same endpoint and Http Pipeline (so credentials) than the blocking one
+   */
+  BlobServiceAsyncClient getBlobServiceAsyncClient() {
+    var client = blobServiceAsyncClient;
+    if (client == null) {
+      synchronized (this) {
+        client = blobServiceAsyncClient;
+        if (client == null) {
+          client = new BlobServiceClientBuilder().endpoint(blobServiceClient.getAccountUrl())
+              .pipeline(blobServiceClient.getHttpPipeline()).serviceVersion(blobServiceClient.getServiceVersion())
+              .buildAsyncClient();
+          blobServiceAsyncClient = client;
+        }
+      }
+    }
+    return client;
+  }
+
   PagedIterable<BlobContainerItem> getBuckets() throws DriverException {
     try {
       return blobServiceClient.listBlobContainers();
@@ -406,6 +431,51 @@ public class DriverAzureHelper {
     }
   }
 
+  /**
+   * @return the block id of one part of a multipart upload (all block ids of one Blob must have the same length)
+   */
+  static String getBlockId(final String uploadId, final int partNumber) {
+    return Base64.getEncoder()
+        .encodeToString(String.format("%s-%05d", uploadId, partNumber).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Stage one part of a multipart upload as an uncommitted block
+   *
+   * @return the block id
+   */
+  String stageBlock(final StorageObject object, final String uploadId, final int partNumber,
+                    final InputStream inputStream, final long len) throws DriverException {
+    try {
+      ParametersChecker.checkParameter(BUCKET_OR_OBJECT_CANNOT_BE_NULL, object, inputStream);
+      final var blockId = getBlockId(uploadId, partNumber);
+      blobServiceClient.getBlobContainerClient(object.bucket()).getBlobClient(object.name()).getBlockBlobClient()
+          .stageBlock(blockId, inputStream, len);
+      return blockId;
+    } catch (final BlobStorageException e) {
+      throw DriverException.getDriverExceptionFromStatus(e.getStatusCode(), e);
+    } catch (final CcsInvalidArgumentRuntimeException e) {
+      throw new DriverException(e);
+    }
+  }
+
+  /**
+   * Commit the block list of a multipart upload (in order), uncommitted blocks not in the list are discarded
+   */
+  StorageObject commitBlockList(final StorageObject object, final List<String> blockIds) throws DriverException {
+    try {
+      ParametersChecker.checkParameter(BUCKET_OR_OBJECT_CANNOT_BE_NULL, object, blockIds);
+      final var blobClient = blobServiceClient.getBlobContainerClient(object.bucket()).getBlobClient(object.name());
+      blobClient.getBlockBlobClient().commitBlockList(blockIds, false);
+      writeMetadata(object, blobClient);
+      return fromBlobProperties(object.bucket(), object.name(), blobClient.getProperties());
+    } catch (final BlobStorageException e) {
+      throw DriverException.getDriverExceptionFromStatus(e.getStatusCode(), e);
+    } catch (final CcsInvalidArgumentRuntimeException e) {
+      throw new DriverException(e);
+    }
+  }
+
   InputStream getObjectBodyInBucket(final String bucket, final String object) throws DriverException {
     try {
       ParametersChecker.checkParameter(BUCKET_OR_OBJECT_CANNOT_BE_NULL, bucket, object);
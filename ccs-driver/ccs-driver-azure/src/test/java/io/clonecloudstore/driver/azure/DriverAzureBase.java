@@ -21,12 +21,14 @@ import java.io.InputStream;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 
 import io.clonecloudstore.common.quarkus.properties.QuarkusProperties;
 import io.clonecloudstore.common.standard.inputstream.DigestAlgo;
 import io.clonecloudstore.common.standard.inputstream.MultipleActionsInputStream;
 import io.clonecloudstore.common.standard.system.SystemTools;
 import io.clonecloudstore.driver.api.DriverApiFactory;
+import io.clonecloudstore.driver.api.DriverAsyncApi;
 import io.clonecloudstore.driver.api.StorageType;
 import io.clonecloudstore.driver.api.exception.DriverAlreadyExistException;
 import io.clonecloudstore.driver.api.exception.DriverException;
@@ -790,4 +792,75 @@ abstract class DriverAzureBase {
       DriverAzureProperties.setDynamicPartSizeForUnknownLength(oldUnknown);
     }
   }
+
+  @Test
+  void testDriverAsync() throws DriverException, IOException {
+    final var bucket = "test1";
+    final var prefix = "dir/";
+    final var object1 = prefix + "object1";
+    try (final var driverApi = driverApiFactory.getInstance()) {
+      final var async = driverApi.async();
+      assertFalse(DriverAsyncApi.await(async.bucketExists(bucket)));
+      // Not found mapping without Bucket
+      assertThrows(DriverNotFoundException.class, () -> DriverAsyncApi.await(
+          async.objectCreateInBucket(new StorageObject(bucket, object1, null, len1, null), new FakeInputStream(len1))));
+      assertThrows(DriverNotFoundException.class,
+          () -> DriverAsyncApi.await(async.objectGetMetadataInBucket(bucket, object1)));
+      assertThrows(DriverNotFoundException.class,
+          () -> DriverAsyncApi.await(async.objectDeleteInBucket(bucket, object1)));
+      try {
+        driverApi.bucketCreate(new StorageBucket(bucket, "client", null));
+      } catch (final DriverNotAcceptableException | DriverAlreadyExistException e) {
+        fail(e);
+      }
+      assertTrue(DriverAsyncApi.await(async.bucketExists(bucket)));
+      assertEquals(StorageType.NONE, DriverAsyncApi.await(async.directoryOrObjectExistsInBucket(bucket, object1)));
+      // Create, with hash and metadata, then not overwritten
+      final var metadata = new HashMap<String, String>();
+      metadata.put("key1", "value1");
+      final var storageObject = new StorageObject(bucket, object1, "sha", len1, null, null, metadata);
+      final var created = DriverAsyncApi.await(async.objectCreateInBucket(storageObject, new FakeInputStream(len1)));
+      assertEquals(bucket, created.bucket());
+      assertEquals(object1, created.name());
+      assertEquals(len1, created.size());
+      assertThrows(DriverAlreadyExistException.class,
+          () -> DriverAsyncApi.await(async.objectCreateInBucket(storageObject, new FakeInputStream(len1))));
+      for (var i = 2; i < 5; i++) {
+        final var other = new StorageObject(bucket, prefix + "object" + i, null, 10, null);
+        DriverAsyncApi.await(async.objectCreateInBucket(other, new FakeInputStream(10)));
+      }
+      assertEquals(StorageType.OBJECT, DriverAsyncApi.await(async.directoryOrObjectExistsInBucket(bucket, object1)));
+      assertEquals(StorageType.DIRECTORY, DriverAsyncApi.await(async.directoryOrObjectExistsInBucket(bucket, prefix)));
+      // Read
+      final var read = DriverAsyncApi.await(async.objectGetMetadataInBucket(bucket, object1));
+      assertEquals(len1, read.size());
+      assertEquals("sha", read.hash());
+      assertEquals("value1", read.metadata().get("key1"));
+      try (final var inputStream = DriverAsyncApi.await(async.objectGetInputStreamInBucket(bucket, object1))) {
+        assertEquals(len1, FakeInputStream.consumeAll(inputStream));
+      }
+      // Pages
+      var page = DriverAsyncApi.await(async.objectsPageInBucket(bucket, prefix, null, 2));
+      assertEquals(List.of(object1, prefix + "object2"), page.stream().map(StorageObject::name).toList());
+      page = DriverAsyncApi.await(async.objectsPageInBucket(bucket, prefix, page.getLast().name(), 2));
+      assertEquals(List.of(prefix + "object3", prefix + "object4"), page.stream().map(StorageObject::name).toList());
+      assertTrue(DriverAsyncApi.await(async.objectsPageInBucket(bucket, prefix, prefix + "object4", 2)).isEmpty());
+      // Delete, then not found as the blocking Driver
+      for (var i = 1; i < 5; i++) {
+        DriverAsyncApi.await(async.objectDeleteInBucket(bucket, prefix + "object" + i));
+      }
+      assertThrows(DriverNotFoundException.class,
+          () -> DriverAsyncApi.await(async.objectDeleteInBucket(bucket, object1)));
+      assertThrows(DriverNotFoundException.class,
+          () -> DriverAsyncApi.await(async.objectGetMetadataInBucket(bucket, object1)));
+      assertThrows(DriverNotFoundException.class,
+          () -> DriverAsyncApi.await(async.objectGetInputStreamInBucket(bucket, object1)));
+      assertEquals(StorageType.NONE, DriverAsyncApi.await(async.directoryOrObjectExistsInBucket(bucket, prefix)));
+      try {
+        driverApi.bucketDelete(bucket);
+      } catch (final DriverNotAcceptableException | DriverNotFoundException e) {
+        fail(e);
+      }
+    }
+  }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.driver.cache;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import io.clonecloudstore.common.standard.system.SystemTools;
+import io.clonecloudstore.driver.api.model.StorageObject;
+import org.jboss.logging.Logger;
+
+/**
+ * InputStream copying what is read into a local file, such that the content can be admitted into the cache once
+ * fully read, without reading it twice
+ */
+class CachingInputStream extends FilterInputStream {
+  private static final Logger LOGGER = Logger.getLogger(CachingInputStream.class);
+  private final DriverCacheStore store;
+  private final String bucket;
+  private final String object;
+  private final boolean admitOnClose;
+  /**
+   * StorageObject given at creation if any, completing the one given at the end (expiration and metadata)
+   */
+  private final StorageObject prepared;
+  private final Path content;
+  /**
+   * Generation of the Object when reading started: any invalidation since then prevents the admission
+   */
+  private final long generation;
+  private OutputStream outputStream;
+  private long size;
+  private boolean eof;
+  private boolean invalid;
+  private boolean done;
+
+  /**
+   * @param admitOnClose if True, the content is admitted when this InputStream is closed after being fully read,
+   *                     else the caller shall call complete or discard
+   * @param prepared     the StorageObject given at creation if any
+   */
+  CachingInputStream(final InputStream in, final DriverCacheStore store, final String bucket, final String object,
+                     final boolean admitOnClose, final StorageObject prepared) {
+    super(in);
+    this.store = store;
+    this.bucket = bucket;
+    this.object = object;
+    this.admitOnClose = admitOnClose;
+    this.prepared = prepared;
+    generation = store.getGeneration(bucket, object);
+    content = store.newContentPath();
+    try {
+      outputStream = Files.newOutputStream(content);
+    } catch (final IOException e) {
+      LOGGER.debugf("Cannot create cache content: %s", e.getMessage());
+      invalid = true;
+    }
+  }
+
+  private synchronized void write(final byte[] b, final int off, final int len) {
+    if (invalid || len <= 0) {
+      return;
+    }
+    size += len;
+    if (!store.isCacheable(size)) {
+      discard();
+      return;
+    }
+    try {
+      outputStream.write(b, off, len);
+    } catch (final IOException e) {
+      LOGGER.debugf("Cannot write cache content: %s", e.getMessage());
+      discard();
+    }
+  }
+
+  private synchronized void endOfStream() {
+    eof = true;
+    if (!invalid) {
+      SystemTools.silentlyCloseNoException(outputStream);
+    }
+  }
+
+  @Override
+  public int read() throws IOException {
+    final var read = super.read();
+    if (read < 0) {
+      endOfStream();
+    } else {
+      write(new byte[]{(byte) read}, 0, 1);
+    }
+    return read;
+  }
+
+  @Override
+  public int read(final byte[] b, final int off, final int len) throws IOException {
+    final var read = super.read(b, off, len);
+    if (read < 0) {
+      endOfStream();
+    } else {
+      write(b, off, read);
+    }
+    return read;
+  }
+
+  @Override
+  public long skip(final long n) throws IOException {
+    // Skipped bytes are not cached, so the content is no more complete
+    discard();
+    return super.skip(n);
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      super.close();
+    } finally {
+      if (admitOnClose) {
+        complete(null, generation);
+      } else if (!eof) {
+        discard();
+      }
+    }
+  }
+
+  /**
+   * Admit the content into the cache if fully read, else discard it
+   *
+   * @param storageObject the associated StorageObject if known
+   * @param generation    the generation of the Object the content belongs to
+   * @return True if the content was given to the cache
+   */
+  synchronized boolean complete(final StorageObject storageObject, final long generation) {
+    if (done) {
+      return false;
+    }
+    if (!eof || invalid || storageObject != null && storageObject.size() > 0 && storageObject.size() != size) {
+      discard();
+      return false;
+    }
+    done = true;
+    store.admit(bucket, object, content, size, withPrepared(storageObject), generation);
+    return true;
+  }
+
+  /**
+   * Drivers might return, at creation, only the given values: the expiration and metadata then come from creation
+   */
+  private StorageObject withPrepared(final StorageObject storageObject) {
+    if (prepared == null || storageObject == null || storageObject.metadata() != null) {
+      return storageObject;
+    }
+    return new StorageObject(storageObject.bucket(), storageObject.name(), storageObject.hash(), storageObject.size(),
+        storageObject.creationDate(),
+        storageObject.expiresDate() != null ? storageObject.expiresDate() : prepared.expiresDate(),
+        prepared.metadata());
+  }
+
+  /**
+   * Discard the local content, not cached
+   */
+  synchronized void discard() {
+    if (done) {
+      return;
+    }
+    invalid = true;
+    done = true;
+    SystemTools.silentlyCloseNoException(outputStream);
+    try {
+      Files.deleteIfExists(content);
+    } catch (final IOException e) {
+      LOGGER.debugf("Cannot delete cache content: %s", e.getMessage());
+    }
+  }
+}
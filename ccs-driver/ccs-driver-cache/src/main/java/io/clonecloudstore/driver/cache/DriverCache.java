@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.driver.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import io.clonecloudstore.common.quarkus.metrics.BulkMetrics;
+import io.clonecloudstore.driver.api.DriverApi;
+import io.clonecloudstore.driver.api.StorageType;
+import io.clonecloudstore.driver.api.exception.DriverAlreadyExistException;
+import io.clonecloudstore.driver.api.exception.DriverException;
+import io.clonecloudstore.driver.api.exception.DriverNotAcceptableException;
+import io.clonecloudstore.driver.api.exception.DriverNotFoundException;
+import io.clonecloudstore.driver.api.model.StorageBucket;
+import io.clonecloudstore.driver.api.model.StorageObject;
+import io.clonecloudstore.driver.api.model.StoragePart;
+import jakarta.enterprise.inject.spi.CDI;
+import org.jboss.logging.Logger;
+
+/**
+ * Driver decorator serving hot Objects from a local tier (DriverCacheStore) and delegating everything else to the real
+ * Driver. Content is cached on first full read (or on creation if write-through is set) and invalidated on
+ * creation, copy and deletion, before and after the change such that a read started meanwhile is not admitted.
+ */
+public class DriverCache implements DriverApi {
+  private static final Logger LOGGER = Logger.getLogger(DriverCache.class);
+  private final DriverApi driverApi;
+  private final DriverCacheStore store;
+  private final BulkMetrics bulkMetrics;
+
+  protected DriverCache(final DriverApi driverApi, final DriverCacheStore store) {
+    this.driverApi = driverApi;
+    this.store = store;
+    bulkMetrics = CDI.current().select(BulkMetrics.class).get();
+  }
+
+  /**
+   * @return the real Driver
+   */
+  public DriverApi getDriverApi() {
+    return driverApi;
+  }
+
+  @Override
+  public long bucketsCount() throws DriverException {
+    return driverApi.bucketsCount();
+  }
+
+  @Override
+  public Stream<StorageBucket> bucketsStream() throws DriverException {
+    return driverApi.bucketsStream();
+  }
+
+  @Override
+  public Iterator<StorageBucket> bucketsIterator() throws DriverException {
+    return driverApi.bucketsIterator();
+  }
+
+  @Override
+  public StorageBucket bucketGet(final String bucket)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    return driverApi.bucketGet(bucket);
+  }
+
+  @Override
+  public StorageBucket bucketCreate(final StorageBucket bucket)
+      throws DriverNotAcceptableException, DriverAlreadyExistException, DriverException { // NOSONAR Exception details
+    return driverApi.bucketCreate(bucket);
+  }
+
+  @Override
+  public StorageBucket bucketImport(final StorageBucket bucket)
+      throws DriverNotAcceptableException, DriverAlreadyExistException, DriverException { // NOSONAR Exception details
+    return driverApi.bucketImport(bucket);
+  }
+
+  @Override
+  public void bucketDelete(final String bucket)
+      throws DriverNotAcceptableException, DriverNotFoundException, DriverException { // NOSONAR Exception details
+    store.invalidateBucket(bucket);
+    try {
+      driverApi.bucketDelete(bucket);
+    } finally {
+      store.invalidateBucket(bucket);
+    }
+  }
+
+  @Override
+  public boolean bucketExists(final String bucket) throws DriverException {
+    return driverApi.bucketExists(bucket);
+  }
+
+  @Override
+  public long objectsCountInBucket(final String bucket)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    return driverApi.objectsCountInBucket(bucket);
+  }
+
+  @Override
+  public long objectsCountInBucket(final String bucket, final String prefix, final Instant from, final Instant to)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    return driverApi.objectsCountInBucket(bucket, prefix, from, to);
+  }
+
+  @Override
+  public Stream<StorageObject> objectsStreamInBucket(final String bucket)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    return driverApi.objectsStreamInBucket(bucket);
+  }
+
+  @Override
+  public Stream<StorageObject> objectsStreamInBucket(final String bucket, final String prefix, final Instant from,
+                                                     final Instant to)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    return driverApi.objectsStreamInBucket(bucket, prefix, from, to);
+  }
+
+  @Override
+  public Iterator<StorageObject> objectsIteratorInBucket(final String bucket)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    return driverApi.objectsIteratorInBucket(bucket);
+  }
+
+  @Override
+  public Iterator<StorageObject> objectsIteratorInBucket(final String bucket, final String prefix,
+                                                         final Instant from, final Instant to)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    return driverApi.objectsIteratorInBucket(bucket, prefix, from, to);
+  }
+
+  @Override
+  public StorageType directoryOrObjectExistsInBucket(final String bucket, final String directoryOrObject)
+      throws DriverException {
+    final var cachedObject = store.get(bucket, directoryOrObject);
+    if (cachedObject != null) {
+      return StorageType.OBJECT;
+    }
+    return driverApi.directoryOrObjectExistsInBucket(bucket, directoryOrObject);
+  }
+
+  @Override
+  public void objectPrepareCreateInBucket(final StorageObject object, final InputStream inputStream)
+      throws DriverNotFoundException, DriverAlreadyExistException, DriverException { // NOSONAR Exception details
+    store.invalidate(object.bucket(), object.name());
+    if (DriverCacheProperties.isWriteThrough() && inputStream != null && store.isCacheable(object.size())) {
+      final var cachingInputStream =
+          new CachingInputStream(inputStream, store, object.bucket(), object.name(), false, object);
+      store.registerPendingWrite(object.bucket(), object.name(), cachingInputStream);
+      try {
+        driverApi.objectPrepareCreateInBucket(object, cachingInputStream);
+      } catch (final DriverException e) {
+        discardPendingWrite(object.bucket(), object.name());
+        throw e;
+      }
+    } else {
+      driverApi.objectPrepareCreateInBucket(object, inputStream);
+    }
+  }
+
+  private void discardPendingWrite(final String bucket, final String object) {
+    final var pending = store.removePendingWrite(bucket, object);
+    if (pending != null) {
+      pending.discard();
+    }
+  }
+
+  @Override
+  public StorageObject objectFinalizeCreateInBucket(final String bucket, final String object, final long realLen,
+                                                    final String sha256)
+      throws DriverNotFoundException, DriverAlreadyExistException, DriverException { // NOSONAR Exception details
+    final StorageObject storageObject;
+    try {
+      storageObject = driverApi.objectFinalizeCreateInBucket(bucket, object, realLen, sha256);
+    } catch (final DriverException e) {
+      discardPendingWrite(bucket, object);
+      throw e;
+    }
+    final var pending = store.removePendingWrite(bucket, object);
+    // Reads started before the new content was available must not be admitted
+    store.invalidate(bucket, object);
+    if (pending != null) {
+      pending.complete(storageObject, store.getGeneration(bucket, object));
+    }
+    return storageObject;
+  }
+
+  @Override
+  public InputStream objectGetInputStreamInBucket(final String bucket, final String object)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    final var cachedObject = store.get(bucket, object);
+    if (cachedObject != null) {
+      try {
+        final var inputStream = store.open(cachedObject);
+        if (inputStream != null) {
+          bulkMetrics.incrementCounter(1, DriverCache.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_CACHE_HIT);
+          bulkMetrics.incrementCounter(cachedObject.size(), DriverCache.class, BulkMetrics.KEY_OBJECT,
+              BulkMetrics.TAG_BYTES_SAVED);
+          return inputStream;
+        }
+      } catch (final IOException e) {
+        LOGGER.debugf("Cannot read from cache %s/%s: %s", bucket, object, e.getMessage());
+      }
+    }
+    bulkMetrics.incrementCounter(1, DriverCache.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_CACHE_MISS);
+    final var inputStream = driverApi.objectGetInputStreamInBucket(bucket, object);
+    return new CachingInputStream(inputStream, store, bucket, object, true, null);
+  }
+
+  @Override
+  public StorageObject objectCopy(final StorageObject objectSource, final StorageObject objectTarget)
+      throws DriverNotFoundException, DriverAlreadyExistException, DriverException { // NOSONAR Exception details
+    validCopy(objectSource, objectTarget);
+    store.invalidate(objectTarget.bucket(), objectTarget.name());
+    try {
+      return driverApi.objectCopy(objectSource, objectTarget);
+    } finally {
+      store.invalidate(objectTarget.bucket(), objectTarget.name());
+    }
+  }
+
+  @Override
+  public StorageObject objectGetMetadataInBucket(final String bucket, final String object)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    final var cachedObject = store.get(bucket, object);
+    if (cachedObject != null && cachedObject.storageObject() != null) {
+      bulkMetrics.incrementCounter(1, DriverCache.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_CACHE_HIT);
+      return cachedObject.storageObject();
+    }
+    return driverApi.objectGetMetadataInBucket(bucket, object);
+  }
+
+  @Override
+  public void objectDeleteInBucket(final String bucket, final String object)
+      throws DriverNotAcceptableException, DriverNotFoundException, DriverException { // NOSONAR Exception details
+    store.invalidate(bucket, object);
+    try {
+      driverApi.objectDeleteInBucket(bucket, object);
+    } finally {
+      // Reads started during the deletion must not be admitted
+      store.invalidate(bucket, object);
+    }
+  }
+
+  @Override
+  public Map<String, DriverException> objectsDeleteInBucket(final String bucket, final Collection<String> objects) {
+    objects.forEach(object -> store.invalidate(bucket, object));
+    try {
+      return driverApi.objectsDeleteInBucket(bucket, objects);
+    } finally {
+      objects.forEach(object -> store.invalidate(bucket, object));
+    }
+  }
+
+  @Override
+  public String objectMultipartInitiateInBucket(final StorageObject object)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    return driverApi.objectMultipartInitiateInBucket(object);
+  }
+
+  @Override
+  public StoragePart objectMultipartUploadPartInBucket(final StorageObject object, final String uploadId,
+                                                       final int partNumber, final InputStream inputStream,
+                                                       final long len)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    return driverApi.objectMultipartUploadPartInBucket(object, uploadId, partNumber, inputStream, len);
+  }
+
+  @Override
+  public StorageObject objectMultipartCompleteInBucket(final StorageObject object, final String uploadId,
+                                                       final List<StoragePart> parts)
+      throws DriverNotFoundException, DriverAlreadyExistException, DriverException { // NOSONAR Exception details
+    store.invalidate(object.bucket(), object.name());
+    try {
+      return driverApi.objectMultipartCompleteInBucket(object, uploadId, parts);
+    } finally {
+      store.invalidate(object.bucket(), object.name());
+    }
+  }
+
+  @Override
+  public void objectMultipartAbortInBucket(final StorageObject object, final String uploadId)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    driverApi.objectMultipartAbortInBucket(object, uploadId);
+  }
+
+  @Override
+  public void close() {
+    driverApi.close();
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.driver.cache;
+
+import io.clonecloudstore.driver.api.DriverApi;
+import io.clonecloudstore.driver.api.DriverApiFactory;
+import io.clonecloudstore.driver.api.exception.DriverRuntimeException;
+
+/**
+ * Factory decorating the real Driver Factory with the local cache tier
+ */
+public class DriverCacheApiFactory implements DriverApiFactory {
+  private final DriverApiFactory driverApiFactory;
+  private final DriverCacheStore store;
+
+  public DriverCacheApiFactory(final DriverApiFactory driverApiFactory, final DriverCacheStore store) {
+    this.driverApiFactory = driverApiFactory;
+    this.store = store;
+  }
+
+  /**
+   * @return the real Driver Factory
+   */
+  public DriverApiFactory getDriverApiFactory() {
+    return driverApiFactory;
+  }
+
+  @Override
+  public DriverApi getInstance() throws DriverRuntimeException {
+    return new DriverCache(driverApiFactory.getInstance(), store);
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.driver.cache;
+
+import io.clonecloudstore.common.quarkus.properties.QuarkusSystemPropertyUtil;
+import io.quarkus.arc.Unremovable;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jboss.logging.Logger;
+
+/**
+ * Configurable values for the local cache tier in front of the real Driver
+ */
+@ApplicationScoped
+@Unremovable
+public class DriverCacheProperties {
+  private static final Logger LOGGER = Logger.getLogger(DriverCacheProperties.class);
+  public static final String DEFAULT_PATH = System.getProperty("java.io.tmpdir") + "/CCS-DRIVER-CACHE";
+  /**
+   * Activate the local cache tier (default false)
+   */
+  public static final String CCS_DRIVER_CACHE_ENABLED = "ccs.driver.cache.enabled";
+  /**
+   * Directory where cached Objects are stored
+   */
+  public static final String CCS_DRIVER_CACHE_PATH = "ccs.driver.cache.path";
+  /**
+   * Maximum total size in MB of the local cache tier (default 1024)
+   */
+  public static final String CCS_DRIVER_CACHE_MAX_SIZE_MB = "ccs.driver.cache.max_size_mb";
+  /**
+   * Maximum size in MB of one Object to be cached (default 64)
+   */
+  public static final String CCS_DRIVER_CACHE_MAX_OBJECT_SIZE_MB = "ccs.driver.cache.max_object_size_mb";
+  /**
+   * Maximum time an Object stays in the cache since its insertion (default 600)
+   */
+  public static final String CCS_DRIVER_CACHE_TTL_SECONDS = "ccs.driver.cache.ttl_seconds";
+  /**
+   * If True, newly created Objects are cached (write-through), else they will be cached on first read (write-around,
+   * default)
+   */
+  public static final String CCS_DRIVER_CACHE_WRITE_THROUGH = "ccs.driver.cache.write_through";
+  private static final long MB = 1024L * 1024L;
+  private static boolean enabled = QuarkusSystemPropertyUtil.getBooleanConfig(CCS_DRIVER_CACHE_ENABLED, false);
+  private static String cachePath = QuarkusSystemPropertyUtil.getStringConfig(CCS_DRIVER_CACHE_PATH, DEFAULT_PATH);
+  private static long maxSize = QuarkusSystemPropertyUtil.getLongConfig(CCS_DRIVER_CACHE_MAX_SIZE_MB, 1024) * MB;
+  private static long maxObjectSize =
+      QuarkusSystemPropertyUtil.getLongConfig(CCS_DRIVER_CACHE_MAX_OBJECT_SIZE_MB, 64) * MB;
+  private static long ttlSeconds = QuarkusSystemPropertyUtil.getLongConfig(CCS_DRIVER_CACHE_TTL_SECONDS, 600);
+  private static boolean writeThrough =
+      QuarkusSystemPropertyUtil.getBooleanConfig(CCS_DRIVER_CACHE_WRITE_THROUGH, false);
+
+  private final DriverCacheRegister driverCacheRegister; // NOSONAR intentional
+
+  public DriverCacheProperties(final DriverCacheRegister driverCacheRegister) {
+    this.driverCacheRegister = driverCacheRegister;
+  }
+
+  /**
+   * @return True if the local cache tier is active
+   */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * @return the directory of the local cache tier
+   */
+  public static String getPath() {
+    return cachePath;
+  }
+
+  /**
+   * @return the maximum total size in bytes of the local cache tier
+   */
+  public static long getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * @return the maximum size in bytes of one cached Object
+   */
+  public static long getMaxObjectSize() {
+    return maxObjectSize;
+  }
+
+  /**
+   * @return the time to live in seconds of one cached Object
+   */
+  public static long getTtlSeconds() {
+    return ttlSeconds;
+  }
+
+  /**
+   * @return True if newly created Objects are cached
+   */
+  public static boolean isWriteThrough() {
+    return writeThrough;
+  }
+
+  /**
+   * Used to change dynamically the setup (only before first usage)
+   */
+  public static void setDynamicEnabled(final boolean enable) {
+    enabled = enable;
+  }
+
+  /**
+   * Used to change dynamically the setup
+   */
+  public static void setDynamicMaxObjectSize(final long size) {
+    maxObjectSize = size;
+    LOGGER.debugf("Change configuration Cache max object size: %d", maxObjectSize);
+  }
+
+  /**
+   * Used to change dynamically the setup
+   */
+  public static void setDynamicWriteThrough(final boolean through) {
+    writeThrough = through;
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.driver.cache;
+
+import io.clonecloudstore.driver.api.DriverApiRegistry;
+import io.quarkus.arc.Unremovable;
+import io.quarkus.runtime.Startup;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.spi.ObserverMethod;
+
+/**
+ * Decorate the registered DriverApiFactory with the local cache tier if enabled. Real Drivers register themselves
+ * on startup, so this one is called afterward.
+ */
+@ApplicationScoped
+@Unremovable
+@Startup
+public class DriverCacheRegister {
+  private final DriverCacheStore store;
+
+  public DriverCacheRegister(final DriverCacheStore store) {
+    this.store = store;
+  }
+
+  void startup(@Observes @Priority(ObserverMethod.DEFAULT_PRIORITY + 100) // NOSONAR intentional
+               final StartupEvent event) {
+    if (DriverCacheProperties.isEnabled()) {
+      DriverApiRegistry.decorateDriverApiFactory(
+          factory -> factory instanceof DriverCacheApiFactory ? factory : new DriverCacheApiFactory(factory, store));
+    }
+  }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.driver.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.clonecloudstore.common.quarkus.metrics.BulkMetrics;
+import io.clonecloudstore.common.standard.guid.GuidLike;
+import io.clonecloudstore.driver.api.model.StorageObject;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.quarkus.arc.Unremovable;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jboss.logging.Logger;
+
+/**
+ * Local tier shared by all DriverCache instances: content is stored as local files while the index is kept in memory,
+ * bounded by the total size of the cached content and using W-TinyLFU admission and eviction policy.
+ */
+@ApplicationScoped
+@Unremovable
+public class DriverCacheStore {
+  private static final Logger LOGGER = Logger.getLogger(DriverCacheStore.class);
+  private static final String EXT = ".bin";
+  private static final int KB = 1024;
+  /**
+   * Number of generation counters, Objects sharing a counter only leading to some useless admission refusals
+   */
+  private static final int GENERATION_STRIPES = 4096;
+  private final Path root;
+  private final Cache<String, CachedObject> cache;
+  private final Map<String, CachingInputStream> pendingWrites = new ConcurrentHashMap<>();
+  private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+  private final AtomicLong globalGeneration = new AtomicLong();
+
+  /**
+   * Cached Object: content file, real size and, if known, the Object metadata
+   */
+  record CachedObject(Path content, long size, StorageObject storageObject) {
+  }
+
+  public DriverCacheStore() {
+    root = Path.of(DriverCacheProperties.getPath());
+    cleanUp(root);
+    cache = Caffeine.newBuilder().maximumWeight(Math.max(1, DriverCacheProperties.getMaxSize() / KB))
+        .weigher((String key, CachedObject value) -> (int) Math.min(Integer.MAX_VALUE, 1 + value.size() / KB))
+        .expireAfterWrite(Duration.ofSeconds(DriverCacheProperties.getTtlSeconds()))
+        .removalListener((String key, CachedObject value, RemovalCause cause) -> deleteContent(value))
+        .recordStats().build();
+    CaffeineCacheMetrics.monitor(Metrics.globalRegistry, cache,
+        BulkMetrics.PREFIX_NAME + DriverCache.class.getSimpleName().toLowerCase());
+  }
+
+  private static void cleanUp(final Path root) {
+    try {
+      if (Files.isDirectory(root)) {
+        // Previous content is not indexed, so useless
+        try (final var stream = Files.walk(root)) {
+          stream.sorted(Comparator.reverseOrder()).filter(path -> !path.equals(root)).forEach(path -> {
+            try {
+              Files.deleteIfExists(path);
+            } catch (final IOException ignore) {
+              // Ignore
+            }
+          });
+        }
+      }
+      Files.createDirectories(root);
+    } catch (final IOException e) {
+      LOGGER.errorf("Cannot initialize cache directory %s: %s", root, e.getMessage());
+    }
+  }
+
+  private static void deleteContent(final CachedObject cachedObject) {
+    if (cachedObject != null) {
+      try {
+        Files.deleteIfExists(cachedObject.content());
+      } catch (final IOException e) {
+        LOGGER.debugf("Cannot delete cached content %s: %s", cachedObject.content(), e.getMessage());
+      }
+    }
+  }
+
+  static String getKey(final String bucket, final String object) {
+    return bucket + '/' + object;
+  }
+
+  private static int getStripe(final String key) {
+    return Math.floorMod(key.hashCode(), GENERATION_STRIPES);
+  }
+
+  /**
+   * @return the current generation of this Object, changed by each invalidation of it (or of its Bucket or all)
+   */
+  long getGeneration(final String bucket, final String object) {
+    return getGeneration(getKey(bucket, object));
+  }
+
+  private long getGeneration(final String key) {
+    return globalGeneration.get() + generations.get(getStripe(key));
+  }
+
+  /**
+   * @return True if an Object of such size could be cached (0 meaning unknown size)
+   */
+  boolean isCacheable(final long size) {
+    return size <= DriverCacheProperties.getMaxObjectSize();
+  }
+
+  /**
+   * @return a new file path to store a content to be cached
+   */
+  Path newContentPath() {
+    return root.resolve(GuidLike.getGuid() + EXT);
+  }
+
+  /**
+   * @return the cached Object or null if absent
+   */
+  CachedObject get(final String bucket, final String object) {
+    return cache.getIfPresent(getKey(bucket, object));
+  }
+
+  /**
+   * @return the InputStream on cached content, or null if the content was evicted meanwhile
+   */
+  InputStream open(final CachedObject cachedObject) throws IOException {
+    try {
+      return Files.newInputStream(cachedObject.content());
+    } catch (final NoSuchFileException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Add a fully written content into the cache (might be immediately evicted by admission policy), unless the Object
+   * was invalidated since the given generation (content possibly obsolete)
+   *
+   * @param generation the generation of the Object when the content started to be read
+   */
+  void admit(final String bucket, final String object, final Path content, final long size,
+             final StorageObject storageObject, final long generation) {
+    final var key = getKey(bucket, object);
+    final var cachedObject = new CachedObject(content, size, storageObject);
+    if (!isCacheable(size) || getGeneration(key) != generation) {
+      deleteContent(cachedObject);
+      return;
+    }
+    cache.put(key, cachedObject);
+    if (getGeneration(key) != generation) {
+      // Invalidated concurrently
+      cache.asMap().remove(key, cachedObject);
+    }
+  }
+
+  /**
+   * Remove the Object from the cache
+   */
+  void invalidate(final String bucket, final String object) {
+    final var key = getKey(bucket, object);
+    generations.incrementAndGet(getStripe(key));
+    cache.invalidate(key);
+    final var pending = pendingWrites.remove(key);
+    if (pending != null) {
+      pending.discard();
+    }
+  }
+
+  /**
+   * Remove all Objects of this Bucket from the cache
+   */
+  void invalidateBucket(final String bucket) {
+    final var prefix = bucket + '/';
+    globalGeneration.incrementAndGet();
+    cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+  }
+
+  /**
+   * Remove all Objects from the cache
+   */
+  public void invalidateAll() {
+    globalGeneration.incrementAndGet();
+    cache.invalidateAll();
+    cache.cleanUp();
+  }
+
+  void registerPendingWrite(final String bucket, final String object, final CachingInputStream inputStream) {
+    final var previous = pendingWrites.put(getKey(bucket, object), inputStream);
+    if (previous != null) {
+      previous.discard();
+    }
+  }
+
+  CachingInputStream removePendingWrite(final String bucket, final String object) {
+    return pendingWrites.remove(getKey(bucket, object));
+  }
+
+  /**
+   * @return the number of cached Objects (approximate)
+   */
+  public long estimatedSize() {
+    return cache.estimatedSize();
+  }
+
+  /**
+   * @return the current statistics (hit ratio, evictions...)
+   */
+  public CacheStats stats() {
+    return cache.stats();
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.driver.cache;
+
+import java.time.Instant;
+
+import io.clonecloudstore.common.quarkus.metrics.BulkMetrics;
+import io.clonecloudstore.driver.api.DriverApiFactory;
+import io.clonecloudstore.driver.api.DriverApiRegistry;
+import io.clonecloudstore.driver.api.StorageType;
+import io.clonecloudstore.driver.api.exception.DriverNotAcceptableException;
+import io.clonecloudstore.driver.api.exception.DriverNotFoundException;
+import io.clonecloudstore.driver.api.model.StorageBucket;
+import io.clonecloudstore.driver.api.model.StorageObject;
+import io.clonecloudstore.test.driver.fake.FakeDriverFactory;
+import io.clonecloudstore.test.stream.FakeInputStream;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+class DriverCacheTest {
+  private static final String BUCKET = "bucket";
+  @Inject
+  DriverCacheStore store;
+  @Inject
+  BulkMetrics bulkMetrics;
+  DriverApiFactory factory;
+
+  @BeforeEach
+  void beforeEach() {
+    factory = DriverApiRegistry.getDriverApiFactory();
+    store.invalidateAll();
+    DriverCacheProperties.setDynamicWriteThrough(false);
+  }
+
+  @AfterEach
+  void afterEach() {
+    FakeDriverFactory.cleanUp();
+    store.invalidateAll();
+    DriverCacheProperties.setDynamicWriteThrough(false);
+  }
+
+  private static StorageObject createObject(final DriverCache driver, final String name, final long len)
+      throws Exception {
+    final var storageObject = new StorageObject(BUCKET, name, null, len, Instant.now());
+    driver.objectPrepareCreateInBucket(storageObject, new FakeInputStream(len));
+    return driver.objectFinalizeCreateInBucket(BUCKET, name, len, "hash");
+  }
+
+  private static long read(final DriverCache driver, final String name) throws Exception {
+    try (final var inputStream = driver.objectGetInputStreamInBucket(BUCKET, name)) {
+      return FakeInputStream.consumeAll(inputStream);
+    }
+  }
+
+  private double counter(final String tag) {
+    return bulkMetrics.getCounter(DriverCache.class, BulkMetrics.KEY_OBJECT, tag).count();
+  }
+
+  @Test
+  void checkRegistry() {
+    assertInstanceOf(DriverCacheApiFactory.class, factory);
+    assertInstanceOf(FakeDriverFactory.class, ((DriverCacheApiFactory) factory).getDriverApiFactory());
+    try (final var driver = factory.getInstance()) {
+      assertInstanceOf(DriverCache.class, driver);
+    }
+  }
+
+  @Test
+  void checkReadCachedAndInvalidated() throws Exception {
+    final var len = 100 * 1024L;
+    try (final var driver = (DriverCache) factory.getInstance()) {
+      driver.bucketCreate(new StorageBucket(BUCKET, "client", Instant.now()));
+      createObject(driver, "object1", len);
+      // Write-around: not yet cached
+      assertNull(store.get(BUCKET, "object1"));
+      final var hits = counter(BulkMetrics.TAG_CACHE_HIT);
+      final var saved = counter(BulkMetrics.TAG_BYTES_SAVED);
+      assertEquals(len, read(driver, "object1"));
+      assertNotNull(store.get(BUCKET, "object1"));
+      assertEquals(len, read(driver, "object1"));
+      assertEquals(hits + 1, counter(BulkMetrics.TAG_CACHE_HIT));
+      assertEquals(saved + len, counter(BulkMetrics.TAG_BYTES_SAVED));
+      assertEquals(StorageType.OBJECT, driver.directoryOrObjectExistsInBucket(BUCKET, "object1"));
+      assertTrue(store.stats().hitCount() > 0);
+
+      // Partial read is not cached
+      store.invalidate(BUCKET, "object1");
+      try (final var inputStream = driver.objectGetInputStreamInBucket(BUCKET, "object1")) {
+        assertEquals(10, inputStream.readNBytes(10).length);
+      }
+      assertNull(store.get(BUCKET, "object1"));
+
+      // Invalidation during a full read prevents its admission
+      try (final var inputStream = driver.objectGetInputStreamInBucket(BUCKET, "object1")) {
+        assertEquals(10, inputStream.readNBytes(10).length);
+        store.invalidate(BUCKET, "object1");
+        assertEquals(len - 10, FakeInputStream.consumeAll(inputStream));
+      }
+      assertNull(store.get(BUCKET, "object1"));
+
+      // Copy invalidates target
+      assertEquals(len, read(driver, "object1"));
+      driver.objectCopy(BUCKET, "object1", BUCKET, "object2", null, null);
+      assertEquals(len, read(driver, "object2"));
+      assertNotNull(store.get(BUCKET, "object2"));
+      driver.objectDeleteInBucket(BUCKET, "object2");
+      assertNull(store.get(BUCKET, "object2"));
+      driver.objectCopy(BUCKET, "object1", BUCKET, "object2", null, null);
+      assertNull(store.get(BUCKET, "object2"));
+
+      // Delete invalidates
+      driver.objectDeleteInBucket(BUCKET, "object1");
+      assertNull(store.get(BUCKET, "object1"));
+      assertThrows(DriverNotFoundException.class, () -> driver.objectGetInputStreamInBucket(BUCKET, "object1"));
+      driver.objectDeleteInBucket(BUCKET, "object2");
+
+      // Too big object is not cached
+      final var big = DriverCacheProperties.getMaxObjectSize() + 1;
+      createObject(driver, "big", big);
+      assertEquals(big, read(driver, "big"));
+      assertNull(store.get(BUCKET, "big"));
+      driver.objectDeleteInBucket(BUCKET, "big");
+      driver.bucketDelete(BUCKET);
+    }
+  }
+
+  @Test
+  void checkWriteThrough() throws Exception {
+    DriverCacheProperties.setDynamicWriteThrough(true);
+    final var len = 50 * 1024L;
+    try (final var driver = (DriverCache) factory.getInstance()) {
+      driver.bucketCreate(new StorageBucket(BUCKET, "client", Instant.now()));
+      final var storageObject = createObject(driver, "object1", len);
+      final var cached = store.get(BUCKET, "object1");
+      assertNotNull(cached);
+      assertEquals(len, cached.size());
+      assertEquals(storageObject, driver.objectGetMetadataInBucket(BUCKET, "object1"));
+      final var hits = counter(BulkMetrics.TAG_CACHE_HIT);
+      assertEquals(len, read(driver, "object1"));
+      assertEquals(hits + 1, counter(BulkMetrics.TAG_CACHE_HIT));
+      driver.objectDeleteInBucket(BUCKET, "object1");
+      assertNull(store.get(BUCKET, "object1"));
+      // Bucket deletion invalidates all its Objects, even if refused
+      createObject(driver, "object2", len);
+      assertNotNull(store.get(BUCKET, "object2"));
+      assertThrows(DriverNotAcceptableException.class, () -> driver.bucketDelete(BUCKET));
+      assertNull(store.get(BUCKET, "object2"));
+      driver.objectDeleteInBucket(BUCKET, "object2");
+      driver.bucketDelete(BUCKET);
+    }
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.test.driver.fake;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content of one Object stored in off-heap segments taken from a global pool. Segments are given back to the pool
+ * once the Object is deleted and no more read.
+ */
+final class FakeContent {
+  static final int SEGMENT_SIZE = 1024 * 1024;
+  private static final Queue<ByteBuffer> FREE_SEGMENTS = new ConcurrentLinkedQueue<>();
+  private static final AtomicLong USED = new AtomicLong();
+  private final List<ByteBuffer> segments = new ArrayList<>();
+  private final AtomicInteger references = new AtomicInteger(1);
+  private long size;
+  private boolean complete = true;
+
+  private static ByteBuffer acquireSegment() {
+    if (USED.addAndGet(SEGMENT_SIZE) > FakeDriverProperties.getMaxContent()) {
+      USED.addAndGet(-SEGMENT_SIZE);
+      return null;
+    }
+    var segment = FREE_SEGMENTS.poll();
+    if (segment == null) {
+      segment = ByteBuffer.allocateDirect(SEGMENT_SIZE);
+    }
+    segment.clear();
+    return segment;
+  }
+
+  private static void releaseSegments(final List<ByteBuffer> segments) {
+    for (final var segment : segments) {
+      FREE_SEGMENTS.offer(segment);
+      USED.addAndGet(-SEGMENT_SIZE);
+    }
+    segments.clear();
+  }
+
+  /**
+   * @return the number of bytes currently used by stored contents
+   */
+  static long getUsed() {
+    return USED.get();
+  }
+
+  /**
+   * Append bytes to this content (only while writing it)
+   *
+   * @return False if the pool is exhausted (the content is then dropped)
+   */
+  boolean append(final byte[] bytes, final int off, final int len) {
+    if (!complete) {
+      return false;
+    }
+    var pos = off;
+    var remaining = len;
+    while (remaining > 0) {
+      var segment = segments.isEmpty() ? null : segments.getLast();
+      if (segment == null || !segment.hasRemaining()) {
+        segment = acquireSegment();
+        if (segment == null) {
+          complete = false;
+          releaseSegments(segments);
+          return false;
+        }
+        segments.add(segment);
+      }
+      final var toWrite = Math.min(remaining, segment.remaining());
+      segment.put(bytes, pos, toWrite);
+      pos += toWrite;
+      remaining -= toWrite;
+    }
+    size += len;
+    return true;
+  }
+
+  /**
+   * @return True if the content was fully stored
+   */
+  boolean isComplete() {
+    return complete;
+  }
+
+  long getSize() {
+    return size;
+  }
+
+  /**
+   * Add one reference (as for a copy or a read)
+   *
+   * @return False if this content is already released
+   */
+  boolean retain() {
+    int current;
+    do {
+      current = references.get();
+      if (current <= 0) {
+        return false;
+      }
+    } while (!references.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  /**
+   * Release one reference, segments being given back to the pool when no more referenced
+   */
+  void release() {
+    if (references.decrementAndGet() == 0) {
+      synchronized (this) {
+        releaseSegments(segments);
+      }
+    }
+  }
+
+  /**
+   * @return a new InputStream on this content, or null if already released
+   */
+  synchronized InputStream newInputStream() {
+    if (!retain()) {
+      return null;
+    }
+    final List<ByteBuffer> buffers = new ArrayList<>(segments.size());
+    for (final var segment : segments) {
+      buffers.add(segment.duplicate().flip());
+    }
+    return new SegmentInputStream(buffers);
+  }
+
+  private final class SegmentInputStream extends InputStream {
+    private final List<ByteBuffer> buffers;
+    private int current;
+    private boolean closed;
+
+    private SegmentInputStream(final List<ByteBuffer> buffers) {
+      this.buffers = buffers;
+    }
+
+    private ByteBuffer currentBuffer() {
+      while (current < buffers.size() && !buffers.get(current).hasRemaining()) {
+        current++;
+      }
+      return current < buffers.size() ? buffers.get(current) : null;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final var buffer = closed ? null : currentBuffer();
+      if (buffer == null) {
+        return -1;
+      }
+      return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      final var buffer = closed ? null : currentBuffer();
+      if (buffer == null) {
+        return -1;
+      }
+      final var read = Math.min(len, buffer.remaining());
+      buffer.get(b, off, read);
+      return read;
+    }
+
+    @Override
+    public int available() throws IOException {
+      final var buffer = closed ? null : currentBuffer();
+      return buffer == null ? 0 : buffer.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!closed) {
+        closed = true;
+        release();
+      }
+    }
+  }
+}
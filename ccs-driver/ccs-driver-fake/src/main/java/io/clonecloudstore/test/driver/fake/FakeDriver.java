@@ -14,17 +14,20 @@
  *  limitations under the License.
  */
 
+
 package io.clonecloudstore.test.driver.fake;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Stream;
 
 import io.clonecloudstore.common.standard.properties.StandardProperties;
@@ -42,24 +45,100 @@ import io.clonecloudstore.test.stream.FakeInputStream;
 import org.jboss.logging.Logger;
 
 /**
- * Fake Driver that does not store anything except references in memory
+ * Fake Driver that does not store anything except references in memory (and optionally the content).
+ * Each Bucket keeps its Objects in a sorted concurrent map: reads are lock-free while modifications are locked per
+ * Bucket only. Latency, bandwidth and errors might be injected through FakeDriverProperties.
  */
 public final class FakeDriver implements DriverApi {
   private static final Logger LOGGER = Logger.getLogger(FakeDriver.class);
-  private static final Map<String, StorageBucket> STORAGE_BUCKET_MAP = new ConcurrentHashMap<>();
-  private static final Map<String, List<StorageObject>> STORAGE_OBJECT_MAP = new ConcurrentHashMap<>();
+  private static final Map<String, FakeBucket> STORAGE_BUCKET_MAP = new ConcurrentHashMap<>();
   private static final Map<String, CountDownLatch> STORAGE_OBJECT_CREATIONS = new ConcurrentHashMap<>();
   private static final String BUCKET_NOT_FOUND = "Bucket not found";
   private static final String OBJECT_NOT_FOUND = "Object not found";
-  private final byte[] bytes = new byte[StandardProperties.getBufSize()];
   public static boolean shallRaiseAnException = false;
 
+  /**
+   * One Object and its optional content
+   */
+  private record FakeObject(StorageObject storageObject, FakeContent content) {
+  }
+
+  /**
+   * One Bucket and its Objects sorted by name; modifications are synchronized on this
+   */
+  private record FakeBucket(StorageBucket storageBucket, ConcurrentNavigableMap<String, FakeObject> objects) {
+    private FakeBucket(final StorageBucket storageBucket) {
+      this(storageBucket, new ConcurrentSkipListMap<>());
+    }
+  }
+
   FakeDriver() {
     LOGGER.info("Fake Driver Creation");
   }
 
+  private static void simulate() throws DriverException {
+    final var latency = FakeDriverProperties.getLatencyMs();
+    if (latency > 0) {
+      try {
+        Thread.sleep(latency);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new DriverException(e);
+      }
+    }
+    final var errorPercent = FakeDriverProperties.getErrorPercent();
+    if (errorPercent > 0 && ThreadLocalRandom.current().nextInt(100) < errorPercent) {
+      throw new DriverException("Injected error");
+    }
+  }
+
+  private static FakeBucket getBucket(final String bucket) throws DriverNotFoundException {
+    final var fakeBucket = STORAGE_BUCKET_MAP.get(bucket);
+    if (fakeBucket == null) {
+      throw new DriverNotFoundException(BUCKET_NOT_FOUND);
+    }
+    return fakeBucket;
+  }
+
+  private static FakeObject getObject(final String bucket, final String object) throws DriverNotFoundException {
+    final var fakeObject = getBucket(bucket).objects().get(object);
+    if (fakeObject == null) {
+      throw new DriverNotFoundException(OBJECT_NOT_FOUND);
+    }
+    return fakeObject;
+  }
+
+  /**
+   * @return the number of Objects in the Bucket, ignoring the temporary multipart parts
+   */
+  private static long visibleCount(final FakeBucket fakeBucket) {
+    final var parts = fakeBucket.objects().tailMap(MULTIPART_PREFIX, true).keySet().stream()
+        .takeWhile(name -> name.startsWith(MULTIPART_PREFIX)).count();
+    return fakeBucket.objects().size() - parts;
+  }
+
+  private static Stream<StorageObject> filteredStream(final FakeBucket fakeBucket, final String prefix,
+                                                      final Instant from, final Instant to) {
+    final Stream<FakeObject> stream;
+    if (ParametersChecker.isNotEmpty(prefix)) {
+      // Range scan from prefix
+      stream = fakeBucket.objects().tailMap(prefix, true).values().stream()
+          .takeWhile(object -> object.storageObject().name().startsWith(prefix));
+    } else {
+      stream = fakeBucket.objects().values().stream()
+          .filter(object -> !DriverApi.isHiddenMultipartPart(null, object.storageObject().name()));
+    }
+    final var objects = stream.map(FakeObject::storageObject);
+    if (from == null && to == null) {
+      return objects;
+    }
+    return objects.filter(object -> !(from != null && from.isAfter(object.creationDate()) ||
+        to != null && to.isBefore(object.creationDate())));
+  }
+
   @Override
-  public synchronized long bucketsCount() throws DriverException {
+  public long bucketsCount() throws DriverException {
+    simulate();
     try {
       return STORAGE_BUCKET_MAP.size();
     } catch (final RuntimeException e) {
@@ -69,8 +148,9 @@ public final class FakeDriver implements DriverApi {
 
   @Override
   public Stream<StorageBucket> bucketsStream() throws DriverException {
+    simulate();
     try {
-      return STORAGE_BUCKET_MAP.values().stream();
+      return STORAGE_BUCKET_MAP.values().stream().map(FakeBucket::storageBucket);
     } catch (final RuntimeException e) {
       throw new DriverException(e);
     }
@@ -82,29 +162,25 @@ public final class FakeDriver implements DriverApi {
   }
 
   @Override
-  public synchronized StorageBucket bucketGet(final String bucket)
+  public StorageBucket bucketGet(final String bucket)
       throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    simulate();
     try {
-      final var storageBucket = STORAGE_BUCKET_MAP.get(bucket);
-      if (storageBucket == null) {
-        throw new DriverNotFoundException(BUCKET_NOT_FOUND);
-      }
-      return storageBucket;
+      return getBucket(bucket).storageBucket();
     } catch (final RuntimeException e) {
       throw new DriverException(e);
     }
   }
 
   @Override
-  public synchronized StorageBucket bucketCreate(final StorageBucket bucket)
+  public StorageBucket bucketCreate(final StorageBucket bucket)
       throws DriverNotAcceptableException, DriverAlreadyExistException, DriverException { // NOSONAR detailed Exceptions
+    simulate();
     try {
-      if (STORAGE_BUCKET_MAP.containsKey(bucket.bucket())) {
+      final var storageBucket = new StorageBucket(bucket.bucket(), bucket.clientId(), Instant.now());
+      if (STORAGE_BUCKET_MAP.putIfAbsent(bucket.bucket(), new FakeBucket(storageBucket)) != null) {
         throw new DriverAlreadyExistException("Already exists");
       }
-      final var storageBucket = new StorageBucket(bucket.bucket(), bucket.clientId(), Instant.now());
-      STORAGE_BUCKET_MAP.put(bucket.bucket(), storageBucket);
-      STORAGE_OBJECT_MAP.put(bucket.bucket(), new ArrayList<>());
       return storageBucket;
     } catch (final RuntimeException e) {
       throw new DriverException(e);
@@ -112,7 +188,7 @@ public final class FakeDriver implements DriverApi {
   }
 
   @Override
-  public synchronized StorageBucket bucketImport(final StorageBucket bucket)
+  public StorageBucket bucketImport(final StorageBucket bucket)
       throws DriverNotAcceptableException, DriverAlreadyExistException, DriverException { // NOSONAR detailed Exceptions
     try {
       return bucketCreate(bucket);
@@ -123,31 +199,30 @@ public final class FakeDriver implements DriverApi {
   }
 
   @Override
-  public synchronized void bucketDelete(final String bucket)
+  public void bucketDelete(final String bucket)
       throws DriverNotAcceptableException, DriverNotFoundException, DriverException { // NOSONAR detailed Exceptions
+    simulate();
     try {
       // Check the existence and removes it
-      if (STORAGE_BUCKET_MAP.containsKey(bucket)) {
+      final var fakeBucket = getBucket(bucket);
+      synchronized (fakeBucket) {
         // Check objects from Bucket
-        final var storageObjectList = STORAGE_OBJECT_MAP.get(bucket);
-        if (storageObjectList.isEmpty()) {
-          STORAGE_BUCKET_MAP.remove(bucket);
-          STORAGE_OBJECT_MAP.remove(bucket);
-          return;
+        if (visibleCount(fakeBucket) > 0) {
+          throw new DriverNotAcceptableException("Bucket is not empty");
         }
-        throw new DriverNotAcceptableException("Bucket is not empty");
+        STORAGE_BUCKET_MAP.remove(bucket, fakeBucket);
       }
-      throw new DriverNotFoundException(BUCKET_NOT_FOUND);
     } catch (final RuntimeException e) {
       throw new DriverException(e);
     }
   }
 
   @Override
-  public synchronized boolean bucketExists(final String bucket) throws DriverException {
+  public boolean bucketExists(final String bucket) throws DriverException {
     if (shallRaiseAnException) {
       throw new DriverException("Issue with Driver");
     }
+    simulate();
     try {
       return STORAGE_BUCKET_MAP.containsKey(bucket);
     } catch (final RuntimeException e) {
@@ -156,78 +231,47 @@ public final class FakeDriver implements DriverApi {
   }
 
   @Override
-  public synchronized long objectsCountInBucket(final String bucket)
+  public long objectsCountInBucket(final String bucket)
       throws DriverNotFoundException, DriverException { // NOSONAR detailed Exceptions
+    simulate();
     try {
       // Count objects from bucket if it exists
-      if (!STORAGE_BUCKET_MAP.containsKey(bucket)) {
-        throw new DriverNotFoundException(BUCKET_NOT_FOUND);
-      }
-      final var storageObjectList = STORAGE_OBJECT_MAP.get(bucket);
-      return storageObjectList.size();
+      return visibleCount(getBucket(bucket));
     } catch (final RuntimeException e) {
       throw new DriverException(e);
     }
   }
 
   @Override
-  public synchronized long objectsCountInBucket(final String bucket, final String prefix, final Instant from,
-                                                final Instant to)
+  public long objectsCountInBucket(final String bucket, final String prefix, final Instant from, final Instant to)
       throws DriverNotFoundException, DriverException { // NOSONAR detailed Exceptions
+    simulate();
     try {
       // Count objects from bucket if it exists
-      if (!STORAGE_BUCKET_MAP.containsKey(bucket)) {
-        throw new DriverNotFoundException(BUCKET_NOT_FOUND);
-      }
-      final var storageObjectList = STORAGE_OBJECT_MAP.get(bucket);
+      final var fakeBucket = getBucket(bucket);
       if (ParametersChecker.isEmpty(prefix) && from == null && to == null) {
-        return storageObjectList.size();
+        return visibleCount(fakeBucket);
       }
-      return storageObjectList.stream().filter(
-              object -> !(ParametersChecker.isNotEmpty(prefix) && !object.name().startsWith(prefix) ||
-                  from != null && from.isAfter(object.creationDate()) || to != null && to.isBefore(object.creationDate())))
-          .count();
+      return filteredStream(fakeBucket, prefix, from, to).count();
     } catch (final RuntimeException e) {
       throw new DriverException(e);
     }
   }
 
   @Override
-  public synchronized Stream<StorageObject> objectsStreamInBucket(final String bucket)
+  public Stream<StorageObject> objectsStreamInBucket(final String bucket)
       throws DriverNotFoundException, DriverException { // NOSONAR detailed Exceptions
-    try {
-      // List objects from bucket
-      if (!STORAGE_BUCKET_MAP.containsKey(bucket)) {
-        throw new DriverNotFoundException(BUCKET_NOT_FOUND);
-      }
-      var storageObjectList = STORAGE_OBJECT_MAP.get(bucket);
-      if (storageObjectList == null) {
-        storageObjectList = List.of();
-      } else {
-        storageObjectList = List.copyOf(storageObjectList);
-      }
-      return storageObjectList.stream();
-    } catch (final RuntimeException e) {
-      throw new DriverException(e);
-    }
+    return objectsStreamInBucket(bucket, null, null, null);
   }
 
   @Override
-  public synchronized Stream<StorageObject> objectsStreamInBucket(final String bucket, final String prefix,
-                                                                  final Instant from, final Instant to)
+  public Stream<StorageObject> objectsStreamInBucket(final String bucket, final String prefix, final Instant from,
+                                                     final Instant to)
       throws DriverNotFoundException, DriverException { // NOSONAR detailed Exceptions
+    simulate();
     try {
-      // List objects from bucket
-      if (!STORAGE_BUCKET_MAP.containsKey(bucket)) {
-        throw new DriverNotFoundException(BUCKET_NOT_FOUND);
-      }
-      final var storageObjectList = STORAGE_OBJECT_MAP.get(bucket);
-      if (ParametersChecker.isEmpty(prefix) && from == null && to == null) {
-        return List.copyOf(storageObjectList).stream();
-      }
-      return storageObjectList.stream().filter(
-          object -> !(ParametersChecker.isNotEmpty(prefix) && !object.name().startsWith(prefix) ||
-              from != null && from.isAfter(object.creationDate()) || to != null && to.isBefore(object.creationDate())));
+      // List objects from bucket (weakly consistent so no copy needed)
+      return filteredStream(getBucket(bucket), prefix, from, to);
     } catch (final RuntimeException e) {
       throw new DriverException(e);
     }
@@ -247,21 +291,21 @@ public final class FakeDriver implements DriverApi {
   }
 
   @Override
-  public synchronized StorageType directoryOrObjectExistsInBucket(final String bucket, final String directoryOrObject)
+  public StorageType directoryOrObjectExistsInBucket(final String bucket, final String directoryOrObject)
       throws DriverException {
+    simulate();
     try {
       // Check object existence within bucket
-      if (!STORAGE_BUCKET_MAP.containsKey(bucket)) {
+      final var fakeBucket = STORAGE_BUCKET_MAP.get(bucket);
+      if (fakeBucket == null) {
         return StorageType.NONE;
       }
-      final var storageObjectList = STORAGE_OBJECT_MAP.get(bucket);
-      if (storageObjectList.isEmpty()) {
-        return StorageType.NONE;
+      if (fakeBucket.objects().containsKey(directoryOrObject)) {
+        return StorageType.OBJECT;
       }
-      for (final var storageObject : storageObjectList) {
-        if (storageObject.name().startsWith(directoryOrObject)) {
-          return storageObject.name().equals(directoryOrObject) ? StorageType.OBJECT : StorageType.DIRECTORY;
-        }
+      final var next = fakeBucket.objects().ceilingKey(directoryOrObject);
+      if (next != null && next.startsWith(directoryOrObject)) {
+        return StorageType.DIRECTORY;
       }
       return StorageType.NONE;
     } catch (final RuntimeException e) {
@@ -270,47 +314,56 @@ public final class FakeDriver implements DriverApi {
   }
 
   @Override
-  public synchronized void objectPrepareCreateInBucket(final StorageObject object, final InputStream inputStream)
+  public void objectPrepareCreateInBucket(final StorageObject object, final InputStream inputStream)
       throws DriverNotFoundException, DriverAlreadyExistException, DriverException { // NOSONAR detailed Exceptions
+    simulate();
     try {
-      if (!STORAGE_BUCKET_MAP.containsKey(object.bucket())) {
-        throw new DriverNotFoundException(BUCKET_NOT_FOUND);
-      }
-      final var storageObjectList = STORAGE_OBJECT_MAP.get(object.bucket());
-      if (!storageObjectList.isEmpty()) {
-        for (final var storageObject : storageObjectList) {
-          if (storageObject.name().equals(object.name())) {
-            throw new DriverAlreadyExistException("Object already exists");
-          }
-        }
+      final var fakeBucket = getBucket(object.bucket());
+      if (fakeBucket.objects().containsKey(object.name())) {
+        throw new DriverAlreadyExistException("Object already exists");
       }
       final var countDownLatch = new CountDownLatch(1);
+      if (STORAGE_OBJECT_CREATIONS.putIfAbsent(object.bucket() + '/' + object.name(), countDownLatch) != null) {
+        throw new DriverAlreadyExistException("Object already in creation");
+      }
+      final var storeContent = FakeDriverProperties.isStoreContent();
       SystemTools.STANDARD_EXECUTOR_SERVICE.execute(() -> {
+        final var bytes = new byte[StandardProperties.getBufSize()];
+        final var content = storeContent ? new FakeContent() : null;
+        final var throttledInputStream = FakeThrottledInputStream.throttle(inputStream);
         boolean still = true;
         while (still) {
           try {
-            if (inputStream.read(bytes, 0, bytes.length) < 0) {
-              inputStream.close();
+            final var read = throttledInputStream.read(bytes, 0, bytes.length);
+            if (read < 0) {
+              throttledInputStream.close();
               still = false;
+            } else if (content != null) {
+              content.append(bytes, 0, read);
             }
             Thread.yield();
           } catch (final IOException e) {
             still = false;
           }
         }
-        storageObjectList.add(object);
+        final var fakeContent = content != null && content.isComplete() ? content : null;
+        synchronized (fakeBucket) {
+          final var previous = fakeBucket.objects().put(object.name(), new FakeObject(object, fakeContent));
+          if (previous != null && previous.content() != null) {
+            previous.content().release();
+          }
+        }
         countDownLatch.countDown();
       });
       Thread.yield();
-      STORAGE_OBJECT_CREATIONS.put(object.bucket() + '/' + object.name(), countDownLatch);
     } catch (final RuntimeException e) {
       throw new DriverException(e);
     }
   }
 
   @Override
-  public synchronized StorageObject objectFinalizeCreateInBucket(final String bucket, final String object,
-                                                                 final long realLen, final String sha256)
+  public StorageObject objectFinalizeCreateInBucket(final String bucket, final String object, final long realLen,
+                                                    final String sha256)
       throws DriverNotFoundException, DriverAlreadyExistException, DriverException { // NOSONAR detailed Exceptions
     try {
       final var countDownLatch = STORAGE_OBJECT_CREATIONS.remove(bucket + '/' + object);
@@ -319,24 +372,20 @@ public final class FakeDriver implements DriverApi {
       }
       countDownLatch.await();
       // Return object metadata
-      final var storageObjects = STORAGE_OBJECT_MAP.get(bucket);
-      StorageObject storageObject = null;
-      if (storageObjects != null) {
-        for (final var object1 : storageObjects) {
-          if (object1.name().equals(object)) {
-            storageObject = object1;
-            break;
+      final var fakeBucket = STORAGE_BUCKET_MAP.get(bucket);
+      if (fakeBucket != null) {
+        synchronized (fakeBucket) {
+          final var fakeObject = fakeBucket.objects().get(object);
+          if (fakeObject != null) {
+            final var storageObject = fakeObject.storageObject();
+            final var updated = new StorageObject(storageObject.bucket(), storageObject.name(), sha256, realLen,
+                storageObject.creationDate() == null ? Instant.now() : storageObject.creationDate(),
+                storageObject.expiresDate(), storageObject.metadata());
+            fakeBucket.objects().put(object, new FakeObject(updated, fakeObject.content()));
+            return updated;
           }
         }
       }
-      if (storageObject != null) {
-        storageObjects.remove(storageObject);
-        storageObject = new StorageObject(storageObject.bucket(), storageObject.name(), sha256, realLen,
-            storageObject.creationDate() == null ? Instant.now() : storageObject.creationDate(),
-            storageObject.expiresDate(), storageObject.metadata());
-        storageObjects.add(storageObject);
-        return storageObject;
-      }
       throw new DriverException("Object not found while finalize");
     } catch (final RuntimeException | InterruptedException e) { // NOSONAR transformed Exception
       throw new DriverException(e);
@@ -351,43 +400,26 @@ public final class FakeDriver implements DriverApi {
    * @param objectTarget target object
    */
   @Override
-  public synchronized StorageObject objectCopy(final StorageObject objectSource, final StorageObject objectTarget)
+  public StorageObject objectCopy(final StorageObject objectSource, final StorageObject objectTarget)
       throws DriverNotFoundException, DriverAlreadyExistException, DriverException { // NOSONAR Exception details
+    simulate();
     try {
       validCopy(objectSource, objectTarget);
       final var updatedTarget =
           new StorageObject(objectTarget.bucket(), objectTarget.name(), objectSource.hash(), objectSource.size(),
               Instant.now(), objectTarget.expiresDate(), objectTarget.metadata());
-      if (!STORAGE_BUCKET_MAP.containsKey(objectSource.bucket())) {
-        throw new DriverNotFoundException(BUCKET_NOT_FOUND);
-      }
-      final var storageObjectSourceList = STORAGE_OBJECT_MAP.get(objectSource.bucket());
-      if (!storageObjectSourceList.isEmpty()) {
-        boolean found = false;
-        for (final var storageObject : storageObjectSourceList) {
-          if (storageObject.name().equals(objectSource.name())) {
-            found = true;
-            break;
-          }
-        }
-        if (!found) {
-          throw new DriverNotFoundException("Source Object does not exists");
-        }
-      } else {
+      final var source = getBucket(objectSource.bucket()).objects().get(objectSource.name());
+      if (source == null) {
         throw new DriverNotFoundException("Source Object does not exists");
       }
-      if (!STORAGE_BUCKET_MAP.containsKey(updatedTarget.bucket())) {
-        throw new DriverNotFoundException(BUCKET_NOT_FOUND);
-      }
-      final var storageObjectList = STORAGE_OBJECT_MAP.get(updatedTarget.bucket());
-      if (!storageObjectList.isEmpty()) {
-        for (final var storageObject : storageObjectList) {
-          if (storageObject.name().equals(updatedTarget.name())) {
-            throw new DriverAlreadyExistException("Target Object already exists");
-          }
+      final var targetBucket = getBucket(updatedTarget.bucket());
+      synchronized (targetBucket) {
+        if (targetBucket.objects().containsKey(updatedTarget.name())) {
+          throw new DriverAlreadyExistException("Target Object already exists");
         }
+        final var content = source.content() != null && source.content().retain() ? source.content() : null;
+        targetBucket.objects().put(updatedTarget.name(), new FakeObject(updatedTarget, content));
       }
-      storageObjectList.add(updatedTarget);
       return updatedTarget;
     } catch (final RuntimeException e) {
       throw new DriverException(e);
@@ -397,19 +429,18 @@ public final class FakeDriver implements DriverApi {
   /**
    * Take the object as base definition, and use name from list
    */
-  public synchronized void forTestsOnlyCreateMultipleObjects(final StorageObject object, final long realLen,
-                                                             final String sha256, final List<String> names)
+  public void forTestsOnlyCreateMultipleObjects(final StorageObject object, final long realLen, final String sha256,
+                                                final List<String> names)
       throws DriverNotFoundException, DriverAlreadyExistException, DriverException { // NOSONAR detailed Exceptions
     try {
-      if (!STORAGE_BUCKET_MAP.containsKey(object.bucket())) {
-        throw new DriverNotFoundException(BUCKET_NOT_FOUND);
-      }
-      final var storageObjectList = STORAGE_OBJECT_MAP.get(object.bucket());
-      for (var name : names) {
-        var newObject = new StorageObject(object.bucket(), name, sha256, realLen,
-            object.creationDate() != null ? object.creationDate() : Instant.now(), object.expiresDate(),
-            object.metadata());
-        storageObjectList.add(newObject);
+      final var fakeBucket = getBucket(object.bucket());
+      synchronized (fakeBucket) {
+        for (var name : names) {
+          var newObject = new StorageObject(object.bucket(), name, sha256, realLen,
+              object.creationDate() != null ? object.creationDate() : Instant.now(), object.expiresDate(),
+              object.metadata());
+          fakeBucket.objects().put(name, new FakeObject(newObject, null));
+        }
       }
     } catch (final RuntimeException e) {
       throw new DriverException(e);
@@ -417,72 +448,51 @@ public final class FakeDriver implements DriverApi {
   }
 
   @Override
-  public synchronized InputStream objectGetInputStreamInBucket(final String bucket, final String object)
+  public InputStream objectGetInputStreamInBucket(final String bucket, final String object)
       throws DriverNotFoundException, DriverException { // NOSONAR detailed Exceptions
+    simulate();
     try {
-      if (!STORAGE_BUCKET_MAP.containsKey(bucket)) {
-        throw new DriverNotFoundException(BUCKET_NOT_FOUND);
+      final var fakeObject = getObject(bucket, object);
+      InputStream inputStream = null;
+      if (fakeObject.content() != null) {
+        inputStream = fakeObject.content().newInputStream();
       }
-      final var storageObjectList = STORAGE_OBJECT_MAP.get(bucket);
-      if (storageObjectList.isEmpty()) {
-        throw new DriverNotFoundException(OBJECT_NOT_FOUND);
-      }
-      for (final var storageObject : storageObjectList) {
-        if (storageObject.name().equals(object)) {
-          return new FakeInputStream(storageObject.size(), (byte) 'X');
-        }
+      if (inputStream == null) {
+        inputStream = new FakeInputStream(fakeObject.storageObject().size(), (byte) 'X');
       }
-      throw new DriverNotFoundException(OBJECT_NOT_FOUND);
+      return FakeThrottledInputStream.throttle(inputStream);
     } catch (final RuntimeException e) {
       throw new DriverException(e);
     }
   }
 
   @Override
-  public synchronized StorageObject objectGetMetadataInBucket(final String bucket, final String object)
+  public StorageObject objectGetMetadataInBucket(final String bucket, final String object)
       throws DriverNotFoundException, DriverException { // NOSONAR detailed Exceptions
+    simulate();
     try {
-      if (!STORAGE_BUCKET_MAP.containsKey(bucket)) {
-        throw new DriverNotFoundException(BUCKET_NOT_FOUND);
-      }
-      final var storageObjectList = STORAGE_OBJECT_MAP.get(bucket);
-      if (storageObjectList.isEmpty()) {
-        throw new DriverNotFoundException(OBJECT_NOT_FOUND);
-      }
-      for (final var storageObject : storageObjectList) {
-        if (storageObject.name().equals(object)) {
-          return storageObject;
-        }
-      }
-      throw new DriverNotFoundException(OBJECT_NOT_FOUND);
+      return getObject(bucket, object).storageObject();
     } catch (final RuntimeException e) {
       throw new DriverException(e);
     }
   }
 
   @Override
-  public synchronized void objectDeleteInBucket(final String bucket, final String object)
+  public void objectDeleteInBucket(final String bucket, final String object)
       throws DriverNotAcceptableException, DriverNotFoundException, DriverException { // NOSONAR detailed Exceptions
+    simulate();
     try {
-      if (!STORAGE_BUCKET_MAP.containsKey(bucket)) {
-        throw new DriverNotFoundException(BUCKET_NOT_FOUND);
+      final var fakeBucket = getBucket(bucket);
+      final FakeObject found;
+      synchronized (fakeBucket) {
+        found = fakeBucket.objects().remove(object);
       }
-      final var storageObjectList = STORAGE_OBJECT_MAP.get(bucket);
-      if (storageObjectList.isEmpty()) {
+      if (found == null) {
         throw new DriverNotFoundException(OBJECT_NOT_FOUND);
       }
-      StorageObject found = null;
-      for (final var storageObject : storageObjectList) {
-        if (storageObject.name().equals(object)) {
-          found = storageObject;
-          break;
-        }
+      if (found.content() != null) {
+        found.content().release();
       }
-      if (found != null) {
-        storageObjectList.remove(found);
-        return;
-      }
-      throw new DriverNotFoundException(OBJECT_NOT_FOUND);
     } catch (final RuntimeException e) {
       throw new DriverException(e);
     }
@@ -493,12 +503,18 @@ public final class FakeDriver implements DriverApi {
     // Nothing
   }
 
-  synchronized void cleanUp() {
-    STORAGE_BUCKET_MAP.clear();
+  void cleanUp() {
     STORAGE_OBJECT_CREATIONS.clear();
-    for (final var entry : STORAGE_OBJECT_MAP.values()) {
-      entry.clear();
+    for (final var fakeBucket : STORAGE_BUCKET_MAP.values()) {
+      synchronized (fakeBucket) {
+        for (final var fakeObject : fakeBucket.objects().values()) {
+          if (fakeObject.content() != null) {
+            fakeObject.content().release();
+          }
+        }
+        fakeBucket.objects().clear();
+      }
     }
-    STORAGE_OBJECT_MAP.clear();
+    STORAGE_BUCKET_MAP.clear();
   }
 }
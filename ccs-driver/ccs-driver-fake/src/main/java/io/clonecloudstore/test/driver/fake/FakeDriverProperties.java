@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.test.driver.fake;
+
+import io.clonecloudstore.common.quarkus.properties.QuarkusSystemPropertyUtil;
+import io.quarkus.arc.Unremovable;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Configurable values for the Fake Driver, allowing to simulate a real Object Storage in load tests
+ */
+@ApplicationScoped
+@Unremovable
+public class FakeDriverProperties {
+  /**
+   * Latency in milliseconds added to each and every operation (default 0)
+   */
+  public static final String CCS_DRIVER_FAKE_LATENCY_MS = "ccs.driver.fake.latency_ms";
+  /**
+   * Bandwidth in MB/s for reading and writing content (default 0, meaning unlimited)
+   */
+  public static final String CCS_DRIVER_FAKE_BANDWIDTH_MBPS = "ccs.driver.fake.bandwidth_mbps";
+  /**
+   * Percentage of operations raising a DriverException (default 0)
+   */
+  public static final String CCS_DRIVER_FAKE_ERROR_PERCENT = "ccs.driver.fake.error_percent";
+  /**
+   * If True, the content is really stored in memory (off-heap) and given back (default false, meaning a fake
+   * content of the right size is given back)
+   */
+  public static final String CCS_DRIVER_FAKE_STORE_CONTENT = "ccs.driver.fake.store_content";
+  /**
+   * Maximum size in MB of stored content (default 256), beyond a fake content is given back
+   */
+  public static final String CCS_DRIVER_FAKE_MAX_CONTENT_MB = "ccs.driver.fake.max_content_mb";
+  private static final long MB = 1024L * 1024L;
+  private static long latencyMs = QuarkusSystemPropertyUtil.getLongConfig(CCS_DRIVER_FAKE_LATENCY_MS, 0);
+  private static long bandwidth = QuarkusSystemPropertyUtil.getLongConfig(CCS_DRIVER_FAKE_BANDWIDTH_MBPS, 0) * MB;
+  private static int errorPercent = QuarkusSystemPropertyUtil.getIntegerConfig(CCS_DRIVER_FAKE_ERROR_PERCENT, 0);
+  private static boolean storeContent =
+      QuarkusSystemPropertyUtil.getBooleanConfig(CCS_DRIVER_FAKE_STORE_CONTENT, false);
+  private static long maxContent = QuarkusSystemPropertyUtil.getLongConfig(CCS_DRIVER_FAKE_MAX_CONTENT_MB, 256) * MB;
+
+  private final FakeDriverRegister fakeDriverRegister; // NOSONAR intentional
+
+  public FakeDriverProperties(final FakeDriverRegister fakeDriverRegister) {
+    this.fakeDriverRegister = fakeDriverRegister;
+  }
+
+  /**
+   * @return the latency in ms added to each operation
+   */
+  public static long getLatencyMs() {
+    return latencyMs;
+  }
+
+  /**
+   * @return the bandwidth in bytes per second (0 meaning unlimited)
+   */
+  public static long getBandwidth() {
+    return bandwidth;
+  }
+
+  /**
+   * @return the percentage of operations in error
+   */
+  public static int getErrorPercent() {
+    return errorPercent;
+  }
+
+  /**
+   * @return True if the content is really stored
+   */
+  public static boolean isStoreContent() {
+    return storeContent;
+  }
+
+  /**
+   * @return the maximum size in bytes of stored content
+   */
+  public static long getMaxContent() {
+    return maxContent;
+  }
+
+  /**
+   * Used to change dynamically the setup
+   */
+  public static void setDynamicLatencyMs(final long latency) {
+    latencyMs = latency;
+  }
+
+  /**
+   * Used to change dynamically the setup
+   *
+   * @param bytesPerSecond 0 meaning unlimited
+   */
+  public static void setDynamicBandwidth(final long bytesPerSecond) {
+    bandwidth = bytesPerSecond;
+  }
+
+  /**
+   * Used to change dynamically the setup
+   */
+  public static void setDynamicErrorPercent(final int percent) {
+    errorPercent = percent;
+  }
+
+  /**
+   * Used to change dynamically the setup
+   */
+  public static void setDynamicStoreContent(final boolean store) {
+    storeContent = store;
+  }
+
+  /**
+   * Used to change dynamically the setup
+   */
+  public static void setDynamicMaxContent(final long max) {
+    maxContent = max;
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.test.driver.fake;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * InputStream limiting the bandwidth to simulate a remote Object Storage
+ */
+final class FakeThrottledInputStream extends FilterInputStream {
+  private final long bytesPerSecond;
+  private final long start = System.nanoTime();
+  private long transferred;
+
+  FakeThrottledInputStream(final InputStream in, final long bytesPerSecond) {
+    super(in);
+    this.bytesPerSecond = bytesPerSecond;
+  }
+
+  /**
+   * @return the given InputStream, throttled if a bandwidth is configured
+   */
+  static InputStream throttle(final InputStream inputStream) {
+    final var bandwidth = FakeDriverProperties.getBandwidth();
+    if (bandwidth <= 0) {
+      return inputStream;
+    }
+    return new FakeThrottledInputStream(inputStream, bandwidth);
+  }
+
+  private void throttle(final int read) throws IOException {
+    if (read <= 0) {
+      return;
+    }
+    transferred += read;
+    final var expectedNanos = (long) (transferred * 1_000_000_000.0 / bytesPerSecond);
+    final var waitMs = (expectedNanos - (System.nanoTime() - start)) / 1_000_000L;
+    if (waitMs > 0) {
+      try {
+        Thread.sleep(waitMs);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      }
+    }
+  }
+
+  @Override
+  public int read() throws IOException {
+    final var read = super.read();
+    throttle(read < 0 ? 0 : 1);
+    return read;
+  }
+
+  @Override
+  public int read(final byte[] b, final int off, final int len) throws IOException {
+    final var read = super.read(b, off, len);
+    throttle(read);
+    return read;
+  }
+}
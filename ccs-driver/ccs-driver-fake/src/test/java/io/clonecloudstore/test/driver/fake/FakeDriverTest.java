@@ -19,9 +19,12 @@ package io.clonecloudstore.test.driver.fake;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.Iterator;
+import java.util.List;
 
+import io.clonecloudstore.driver.api.DriverApi;
 import io.clonecloudstore.driver.api.DriverApiFactory;
 import io.clonecloudstore.driver.api.DriverApiRegistry;
+import io.clonecloudstore.driver.api.DriverAsyncApi;
 import io.clonecloudstore.driver.api.StorageType;
 import io.clonecloudstore.driver.api.exception.DriverAlreadyExistException;
 import io.clonecloudstore.driver.api.exception.DriverException;
@@ -530,4 +533,137 @@ class FakeDriverTest {
     }
   }
 
+  @Test
+  void testMultipartPartsHidden() {
+    final var bucket = "testmultipart";
+    final var storageBucket = new StorageBucket(bucket, "client", Instant.now());
+    final var object = new StorageObject(bucket, "dir/object", null, 0, null);
+    try (final var driver = factory.getInstance()) {
+      driver.bucketCreate(storageBucket);
+      final var uploadId = driver.objectMultipartInitiateInBucket(object);
+      driver.objectMultipartUploadPartInBucket(object, uploadId, 1, new FakeInputStream(100), 100);
+      // Temporary parts are not visible through listings and counts
+      assertEquals(0, driver.objectsCountInBucket(bucket));
+      assertEquals(0, driver.objectsCountInBucket(bucket, null, null, null));
+      assertEquals(0, driver.objectsStreamInBucket(bucket).count());
+      // Except explicitly
+      assertEquals(1, driver.objectsStreamInBucket(bucket, DriverApi.MULTIPART_PREFIX, null, null).count());
+      driver.objectMultipartAbortInBucket(object, uploadId);
+      assertEquals(0, driver.objectsStreamInBucket(bucket, DriverApi.MULTIPART_PREFIX, null, null).count());
+      driver.bucketDelete(bucket);
+    } catch (final Exception e) {
+      LOG.error("Exception", e);
+      fail(e);
+    }
+  }
+
+  @Test
+  void testContentAndSimulation() {
+    final var bucket = "test1";
+    final var object1 = "dir1/object1";
+    final long len1 = FakeContent.SEGMENT_SIZE + 1000;
+    final var storageBucket = new StorageBucket(bucket, "client", Instant.now());
+    try (final var driver = factory.getInstance()) {
+      FakeDriverProperties.setDynamicStoreContent(true);
+      driver.bucketCreate(storageBucket);
+      final var object = new StorageObject(bucket, object1, null, len1, Instant.now());
+      driver.objectPrepareCreateInBucket(object, new FakeInputStream(len1, (byte) 'A'));
+      assertThrowsExactly(DriverAlreadyExistException.class,
+          () -> driver.objectPrepareCreateInBucket(object, new FakeInputStream(len1, (byte) 'A')));
+      driver.objectFinalizeCreateInBucket(bucket, object1, len1, null);
+      assertTrue(FakeContent.getUsed() >= len1);
+      // Real content is given back
+      try (final var inputStream = driver.objectGetInputStreamInBucket(bucket, object1)) {
+        final var bytes = inputStream.readAllBytes();
+        assertEquals(len1, bytes.length);
+        for (final var b : bytes) {
+          assertEquals('A', b);
+        }
+      }
+      // Copy shares the content, still readable once source deleted
+      driver.objectCopy(bucket, object1, bucket, "dir1/object2", null, null);
+      driver.objectDeleteInBucket(bucket, object1);
+      try (final var inputStream = driver.objectGetInputStreamInBucket(bucket, "dir1/object2")) {
+        assertEquals(len1, FakeInputStream.consumeAll(inputStream));
+      }
+      driver.objectDeleteInBucket(bucket, "dir1/object2");
+      assertEquals(0, FakeContent.getUsed());
+
+      // Bandwidth and latency
+      FakeDriverProperties.setDynamicBandwidth(len1 * 4);
+      FakeDriverProperties.setDynamicLatencyMs(10);
+      final var start = System.nanoTime();
+      driver.objectPrepareCreateInBucket(object, new FakeInputStream(len1, (byte) 'A'));
+      driver.objectFinalizeCreateInBucket(bucket, object1, len1, null);
+      assertTrue(System.nanoTime() - start >= 200_000_000L);
+      FakeDriverProperties.setDynamicBandwidth(0);
+      FakeDriverProperties.setDynamicLatencyMs(0);
+
+      // Errors
+      FakeDriverProperties.setDynamicErrorPercent(100);
+      assertThrowsExactly(DriverException.class, () -> driver.objectGetMetadataInBucket(bucket, object1));
+      assertThrowsExactly(DriverException.class, driver::bucketsCount);
+      FakeDriverProperties.setDynamicErrorPercent(0);
+      assertEquals(StorageType.OBJECT, driver.directoryOrObjectExistsInBucket(bucket, object1));
+      assertEquals(StorageType.DIRECTORY, driver.directoryOrObjectExistsInBucket(bucket, "dir1/"));
+      driver.objectDeleteInBucket(bucket, object1);
+      driver.bucketDelete(bucket);
+    } catch (final Exception e) {
+      LOG.error("Exception", e);
+      fail(e);
+    } finally {
+      FakeDriverProperties.setDynamicStoreContent(false);
+      FakeDriverProperties.setDynamicBandwidth(0);
+      FakeDriverProperties.setDynamicLatencyMs(0);
+      FakeDriverProperties.setDynamicErrorPercent(0);
+    }
+  }
+
+  @Test
+  void testAsyncApi() {
+    final var bucket = "test1";
+    final var storageBucket = new StorageBucket(bucket, "client", Instant.now());
+    try (final var driver = factory.getInstance()) {
+      final var async = driver.async();
+      assertFalse(DriverAsyncApi.await(async.bucketExists(bucket)));
+      driver.bucketCreate(storageBucket);
+      // Independent calls are issued concurrently
+      final var bucketCheck = async.bucketExists(bucket);
+      final var objectCheck = async.directoryOrObjectExistsInBucket(bucket, "dir1/object1");
+      assertTrue(DriverAsyncApi.await(bucketCheck));
+      assertEquals(StorageType.NONE, DriverAsyncApi.await(objectCheck));
+      for (int i = 0; i < 5; i++) {
+        final var object = new StorageObject(bucket, "dir1/object" + i, null, 100, Instant.now());
+        final var created = DriverAsyncApi.await(async.objectCreateInBucket(object, new FakeInputStream(100)));
+        assertEquals(100, created.size());
+      }
+      assertThrowsExactly(DriverException.class, () -> DriverAsyncApi.await(
+          async.objectCreateInBucket(new StorageObject(bucket, "dir1/unknown", null, 0, Instant.now()),
+              new FakeInputStream(100))));
+      assertEquals(StorageType.OBJECT, DriverAsyncApi.await(async.directoryOrObjectExistsInBucket(bucket,
+          "dir1/object1")));
+      assertEquals(StorageType.DIRECTORY, DriverAsyncApi.await(async.directoryOrObjectExistsInBucket(bucket, "dir1/")));
+      assertEquals(100, DriverAsyncApi.await(async.objectGetMetadataInBucket(bucket, "dir1/object2")).size());
+      try (final var inputStream = DriverAsyncApi.await(async.objectGetInputStreamInBucket(bucket, "dir1/object3"))) {
+        assertEquals(100, FakeInputStream.consumeAll(inputStream));
+      }
+      // Pages
+      var page = DriverAsyncApi.await(async.objectsPageInBucket(bucket, "dir1/", null, 2));
+      assertEquals(2, page.size());
+      assertEquals("dir1/object0", page.get(0).name());
+      page = DriverAsyncApi.await(async.objectsPageInBucket(bucket, "dir1/", page.get(1).name(), 2));
+      assertEquals(List.of("dir1/object2", "dir1/object3"), page.stream().map(StorageObject::name).toList());
+      page = DriverAsyncApi.await(async.objectsPageInBucket(bucket, "dir1/", "dir1/object4", 2));
+      assertTrue(page.isEmpty());
+      // Errors are the same as blocking API
+      DriverAsyncApi.await(async.objectDeleteInBucket(bucket, "dir1/object0"));
+      assertThrowsExactly(DriverNotFoundException.class,
+          () -> DriverAsyncApi.await(async.objectDeleteInBucket(bucket, "dir1/object0")));
+      assertThrowsExactly(DriverNotFoundException.class,
+          () -> DriverAsyncApi.await(async.objectGetMetadataInBucket(bucket, "dir1/object0")));
+    } catch (final Exception e) {
+      LOG.error("Exception", e);
+      fail(e);
+    }
+  }
 }
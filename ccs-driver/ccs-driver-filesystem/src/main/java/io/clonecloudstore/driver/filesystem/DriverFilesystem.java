@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.driver.filesystem;
+
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import io.clonecloudstore.common.quarkus.metrics.BulkMetrics;
+import io.clonecloudstore.common.standard.system.SystemTools;
+import io.clonecloudstore.driver.api.DriverApi;
+import io.clonecloudstore.driver.api.StorageType;
+import io.clonecloudstore.driver.api.exception.DriverAlreadyExistException;
+import io.clonecloudstore.driver.api.exception.DriverException;
+import io.clonecloudstore.driver.api.exception.DriverNotAcceptableException;
+import io.clonecloudstore.driver.api.exception.DriverNotFoundException;
+import io.clonecloudstore.driver.api.exception.DriverRuntimeException;
+import io.clonecloudstore.driver.api.model.StorageBucket;
+import io.clonecloudstore.driver.api.model.StorageObject;
+import jakarta.enterprise.inject.spi.CDI;
+import org.jboss.logging.Logger;
+
+/**
+ * Filesystem Driver
+ */
+public class DriverFilesystem implements DriverApi {
+  private static final Logger LOGGER = Logger.getLogger(DriverFilesystem.class);
+  private final DriverFilesystemHelper driverFilesystemHelper;
+  private final BulkMetrics bulkMetrics;
+
+  protected DriverFilesystem(final DriverFilesystemHelper driverFilesystemHelper) throws DriverRuntimeException {
+    this.driverFilesystemHelper = driverFilesystemHelper;
+    bulkMetrics = CDI.current().select(BulkMetrics.class).get();
+  }
+
+  @Override
+  public long bucketsCount() throws DriverException {
+    try {
+      // Count buckets
+      final var response = driverFilesystemHelper.getBuckets();
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_BUCKET, BulkMetrics.TAG_COUNT);
+      return response.count();
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    }
+  }
+
+  @Override
+  public Stream<StorageBucket> bucketsStream() throws DriverException {
+    try {
+      // List first level directories as buckets
+      final var response = driverFilesystemHelper.getBuckets();
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_BUCKET, BulkMetrics.TAG_STREAM);
+      return response;
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    }
+  }
+
+  @Override
+  public Iterator<StorageBucket> bucketsIterator() throws DriverException {
+    try {
+      return bucketsStream().iterator();
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    }
+  }
+
+  @Override
+  public StorageBucket bucketGet(final String bucket)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    try {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_BUCKET, BulkMetrics.TAG_READ);
+      return driverFilesystemHelper.getBucket(bucket);
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    }
+  }
+
+  @Override
+  public StorageBucket bucketCreate(final StorageBucket bucket)
+      throws DriverNotAcceptableException, DriverAlreadyExistException, DriverException { // NOSONAR Exception details
+    try {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_BUCKET, BulkMetrics.TAG_CREATE);
+      return driverFilesystemHelper.createBucket(bucket);
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    } catch (final DriverException e) {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_BUCKET, BulkMetrics.TAG_ERROR_WRITE);
+      throw e;
+    }
+  }
+
+  @Override
+  public StorageBucket bucketImport(final StorageBucket bucket)
+      throws DriverNotAcceptableException, DriverAlreadyExistException, DriverException { // NOSONAR Exception details
+    try {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_BUCKET, BulkMetrics.TAG_CREATE);
+      return driverFilesystemHelper.importBucket(bucket);
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    } catch (final DriverException e) {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_BUCKET, BulkMetrics.TAG_ERROR_WRITE);
+      throw e;
+    }
+  }
+
+  @Override
+  public void bucketDelete(final String bucket)
+      throws DriverNotAcceptableException, DriverNotFoundException, DriverException { // NOSONAR Exception details
+    try {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_BUCKET, BulkMetrics.TAG_DELETE);
+      driverFilesystemHelper.deleteBucket(bucket);
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    } catch (final DriverException e) {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_BUCKET, BulkMetrics.TAG_ERROR_DELETE);
+      throw e;
+    }
+  }
+
+  @Override
+  public boolean bucketExists(final String bucket) throws DriverException {
+    try {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_BUCKET, BulkMetrics.TAG_EXISTS);
+      return driverFilesystemHelper.existBucket(bucket);
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    }
+  }
+
+  @Override
+  public long objectsCountInBucket(final String bucket)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    try {
+      // Count objects from bucket if it exists
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_COUNT);
+      return driverFilesystemHelper.countObjectsInBucket(bucket);
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    }
+  }
+
+  @Override
+  public long objectsCountInBucket(final String bucket, final String prefix, final Instant from, final Instant to)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    try (final var stream = driverFilesystemHelper.getObjectsStreamFilteredInBucket(bucket, prefix, from, to)) {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_COUNT);
+      return SystemTools.consumeAll(stream);
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    }
+  }
+
+  @Override
+  public Stream<StorageObject> objectsStreamInBucket(final String bucket)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    try {
+      return objectsStreamInBucket(bucket, null, null, null);
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    }
+  }
+
+  @Override
+  public Stream<StorageObject> objectsStreamInBucket(final String bucket, final String prefix, final Instant from,
+                                                     final Instant to)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    try {
+      final var stream = driverFilesystemHelper.getObjectsStreamFilteredInBucket(bucket, prefix, from, to);
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_STREAM);
+      return stream;
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    } catch (final DriverException e) {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_BUCKET, BulkMetrics.TAG_ERROR_READ);
+      throw e;
+    }
+  }
+
+  @Override
+  public Iterator<StorageObject> objectsIteratorInBucket(final String bucket)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    try {
+      return objectsIteratorInBucket(bucket, null, null, null);
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    }
+  }
+
+  @Override
+  public Iterator<StorageObject> objectsIteratorInBucket(final String bucket, final String prefix, final Instant from,
+                                                         final Instant to)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    try {
+      final var stream = driverFilesystemHelper.getObjectsStreamFilteredInBucket(bucket, prefix, from, to);
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_STREAM);
+      return new StorageObjectIterator(stream);
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    } catch (final DriverException e) {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_BUCKET, BulkMetrics.TAG_ERROR_READ);
+      throw e;
+    }
+  }
+
+  @Override
+  public StorageType directoryOrObjectExistsInBucket(final String bucket, final String directoryOrObject)
+      throws DriverException {
+    try {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_EXISTS);
+      return driverFilesystemHelper.existDirectoryOrObjectInBucket(bucket, directoryOrObject);
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    } catch (final DriverException e) {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_BUCKET, BulkMetrics.TAG_ERROR_READ);
+      throw e;
+    }
+  }
+
+  @Override
+  public void objectPrepareCreateInBucket(final StorageObject object, final InputStream inputStream)
+      throws DriverNotFoundException, DriverAlreadyExistException, DriverException { // NOSONAR Exception details
+    try {
+      final var size = driverFilesystemHelper.objectPrepareCreateInBucket(object, inputStream);
+      LOGGER.debugf("Imported object %s of size %d", object, size);
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    } catch (final DriverException e) {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_ERROR_WRITE);
+      throw e;
+    }
+  }
+
+  @Override
+  public StorageObject objectFinalizeCreateInBucket(final String bucket, final String object, final long realLen,
+                                                    final String sha256)
+      throws DriverNotFoundException, DriverAlreadyExistException, DriverException { // NOSONAR Exception details
+    try {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_CREATE);
+      return driverFilesystemHelper.finalizeObject(bucket, object, sha256, realLen);
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    } catch (final DriverException e) {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_ERROR_WRITE);
+      throw e;
+    }
+  }
+
+  @Override
+  public InputStream objectGetInputStreamInBucket(final String bucket, final String object)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    try {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_READ);
+      return driverFilesystemHelper.getObjectBodyInBucket(bucket, object);
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    } catch (final DriverException e) {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_ERROR_READ);
+      throw e;
+    }
+  }
+
+  @Override
+  public StorageObject objectCopy(final StorageObject objectSource, final StorageObject objectTarget)
+      throws DriverNotFoundException, DriverAlreadyExistException, DriverException { // NOSONAR Exception details
+    try {
+      validCopy(objectSource, objectTarget);
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_COPY);
+      return driverFilesystemHelper.objectCopyToAnother(objectSource, objectTarget);
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    } catch (final DriverException e) {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_ERROR_WRITE);
+      throw e;
+    }
+  }
+
+  @Override
+  public StorageObject objectGetMetadataInBucket(final String bucket, final String object)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    try {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_READ_MD);
+      return driverFilesystemHelper.getObjectInBucket(bucket, object);
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    }
+  }
+
+  @Override
+  public void objectDeleteInBucket(final String bucket, final String object)
+      throws DriverNotAcceptableException, DriverNotFoundException, DriverException { // NOSONAR Exception details
+    try {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_DELETE);
+      driverFilesystemHelper.deleteObjectInBucket(bucket, object);
+    } catch (final RuntimeException e) {
+      throw new DriverException(e);
+    } catch (final DriverException e) {
+      bulkMetrics.incrementCounter(1, DriverFilesystem.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_ERROR_DELETE);
+      throw e;
+    }
+  }
+
+  @Override
+  public void close() {
+    // Empty
+  }
+
+  /**
+   * Iterator that releases the underlying directory Stream once fully consumed
+   */
+  private static class StorageObjectIterator implements Iterator<StorageObject> {
+    private final Stream<StorageObject> stream;
+    private final Iterator<StorageObject> iterator;
+
+    public StorageObjectIterator(final Stream<StorageObject> stream) {
+      this.stream = stream;
+      this.iterator = stream.iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+      final var hasNext = iterator.hasNext();
+      if (!hasNext) {
+        stream.close();
+      }
+      return hasNext;
+    }
+
+    @Override
+    public StorageObject next() {
+      return iterator.next();
+    }
+  }
+}
@@ -0,0 +1,694 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.driver.filesystem;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import io.clonecloudstore.common.quarkus.properties.JsonUtil;
+import io.clonecloudstore.common.standard.exception.CcsInvalidArgumentRuntimeException;
+import io.clonecloudstore.common.standard.guid.GuidLike;
+import io.clonecloudstore.common.standard.stream.StreamIteratorUtils;
+import io.clonecloudstore.common.standard.system.ParametersChecker;
+import io.clonecloudstore.common.standard.system.SystemTools;
+import io.clonecloudstore.driver.api.DriverApi;
+import io.clonecloudstore.driver.api.StorageType;
+import io.clonecloudstore.driver.api.exception.DriverAlreadyExistException;
+import io.clonecloudstore.driver.api.exception.DriverException;
+import io.clonecloudstore.driver.api.exception.DriverNotAcceptableException;
+import io.clonecloudstore.driver.api.exception.DriverNotFoundException;
+import io.clonecloudstore.driver.api.exception.DriverRuntimeException;
+import io.clonecloudstore.driver.api.model.StorageBucket;
+import io.clonecloudstore.driver.api.model.StorageObject;
+import io.quarkus.arc.Unremovable;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jboss.logging.Logger;
+
+/**
+ * Filesystem layout, preserving Object names such that listings by prefix only walk the matching directories, in
+ * name order:
+ * <ul>
+ *   <li>root/bucket/.bucket.json: Bucket metadata</li>
+ *   <li>root/bucket/.tmp/: temporary files, moved atomically to their final place</li>
+ *   <li>root/bucket/.pending/: Objects prepared but not yet finalized, as a content and a descriptor named by the
+ *   hexadecimal SHA-256 of their name, such that they survive a restart</li>
+ *   <li>root/bucket/dir1/dir2/name%.bin and name%.json: Object "dir1/dir2/name" content and metadata sidecar (the
+ *   sidecar being the commit point of an Object)</li>
+ * </ul>
+ * Each segment of an Object name is one directory level. '%' being not allowed in Object names, an empty segment or
+ * one starting with '.' is prefixed by '%', so that it never conflicts with internal entries, and the suffixes of
+ * Object files never conflict with directories.
+ */
+@ApplicationScoped
+@Unremovable
+public class DriverFilesystemHelper {
+  private static final Logger LOGGER = Logger.getLogger(DriverFilesystemHelper.class);
+  static final String BUCKET_DOES_NOT_EXIST = "Bucket does not exist: ";
+  static final String OBJECT_DOES_NOT_EXIST = "Object does not exist: ";
+  private static final String BUCKET_CANNOT_BE_NULL = "Bucket cannot be null";
+  private static final String OBJECT_IN_CREATION = "Object already in creation: ";
+  private static final String BUCKET_OR_OBJECT_CANNOT_BE_NULL = "Bucket or Object cannot be null";
+  private static final String BUCKET_METADATA = ".bucket.json";
+  private static final String TMP_DIR = ".tmp";
+  private static final String PENDING_DIR = ".pending";
+  private static final String ESCAPE = "%";
+  private static final String EXT_METADATA = ESCAPE + ".json";
+  private static final String EXT_CONTENT = ESCAPE + ".bin";
+  private static final String SEPARATOR = "/";
+  /**
+   * Objects being written by this instance
+   */
+  private final Set<String> inCreation = ConcurrentHashMap.newKeySet();
+
+  record PendingObject(StorageObject object, long size) {
+  }
+
+  record ObjectPaths(Path bucket, Path content, Path metadata) {
+  }
+
+  record PendingPaths(Path content, Path descriptor) {
+  }
+
+  /**
+   * Entry of a listing: an Object metadata file or a directory, named as the Object name or the directory path
+   * ending with '/'
+   */
+  record ListingEntry(Path path, String name, boolean directory) {
+  }
+
+  DriverFilesystemHelper() {
+    // Empty
+  }
+
+  Path getRoot() {
+    return Path.of(DriverFilesystemProperties.getRoot());
+  }
+
+  private Path getBucketPath(final String bucket) throws DriverException {
+    try {
+      ParametersChecker.checkParameter(BUCKET_CANNOT_BE_NULL, bucket);
+      ParametersChecker.checkSanityBucketName(bucket);
+      return getRoot().resolve(bucket);
+    } catch (final CcsInvalidArgumentRuntimeException e) {
+      throw new DriverException(e);
+    }
+  }
+
+  private Path checkBucketPath(final String bucket) throws DriverException {
+    final var bucketPath = getBucketPath(bucket);
+    if (!Files.isRegularFile(bucketPath.resolve(BUCKET_METADATA))) {
+      throw new DriverNotFoundException(BUCKET_DOES_NOT_EXIST + bucket);
+    }
+    return bucketPath;
+  }
+
+  private static String hashName(final String object) {
+    try {
+      final var digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(object.getBytes(StandardCharsets.UTF_8)));
+    } catch (final NoSuchAlgorithmException e) {
+      throw new DriverRuntimeException(e.getMessage(), e);
+    }
+  }
+
+  private static String encodeSegment(final String segment) {
+    return segment.isEmpty() || segment.startsWith(".") ? ESCAPE + segment : segment;
+  }
+
+  private static String decodeSegment(final String segment) {
+    return segment.startsWith(ESCAPE) ? segment.substring(1) : segment;
+  }
+
+  /**
+   * @return the directory holding the given directory part of an Object name (segments separated by '/')
+   */
+  private static Path resolveDirectory(final Path bucketPath, final String directory) {
+    var dir = bucketPath;
+    if (directory.isEmpty()) {
+      return dir;
+    }
+    for (final var segment : directory.split(SEPARATOR, -1)) {
+      dir = dir.resolve(encodeSegment(segment));
+    }
+    return dir;
+  }
+
+  private ObjectPaths getObjectPaths(final Path bucketPath, final String object) throws DriverException {
+    try {
+      ParametersChecker.checkParameter(BUCKET_OR_OBJECT_CANNOT_BE_NULL, object);
+      ParametersChecker.checkSanityObjectName(object);
+    } catch (final CcsInvalidArgumentRuntimeException e) {
+      throw new DriverException(e);
+    }
+    final var pos = object.lastIndexOf(SEPARATOR);
+    final var dir = pos < 0 ? bucketPath : resolveDirectory(bucketPath, object.substring(0, pos));
+    final var name = encodeSegment(object.substring(pos + 1));
+    return new ObjectPaths(bucketPath, dir.resolve(name + EXT_CONTENT), dir.resolve(name + EXT_METADATA));
+  }
+
+  private static PendingPaths getPendingPaths(final Path bucketPath, final String object) {
+    final var pendingDir = bucketPath.resolve(PENDING_DIR);
+    final var hash = hashName(object);
+    return new PendingPaths(pendingDir.resolve(hash + EXT_CONTENT), pendingDir.resolve(hash + EXT_METADATA));
+  }
+
+  private static String getInCreationKey(final String bucket, final String object) {
+    return bucket + SEPARATOR + object;
+  }
+
+  private static void moveAtomic(final Path source, final Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (final AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * Move into a directory of the Bucket, creating it if needed, again if removed concurrently by a deletion
+   */
+  private static void moveIntoDirectory(final Path source, final Path target) throws IOException {
+    Files.createDirectories(target.getParent());
+    try {
+      moveAtomic(source, target);
+    } catch (final NoSuchFileException e) {
+      if (!Files.exists(source)) {
+        throw e;
+      }
+      Files.createDirectories(target.getParent());
+      moveAtomic(source, target);
+    }
+  }
+
+  /**
+   * Remove empty directories from the given one up to the Bucket directory (excluded)
+   */
+  private static void deleteEmptyDirectories(final Path bucketPath, final Path directory) {
+    var dir = directory;
+    while (dir != null && !dir.equals(bucketPath) && dir.startsWith(bucketPath)) {
+      try {
+        Files.delete(dir);
+      } catch (final IOException e) {
+        // Not empty or already deleted
+        return;
+      }
+      dir = dir.getParent();
+    }
+  }
+
+  private static void deleteSilently(final Path path) {
+    if (path == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(path);
+    } catch (final IOException ignore) {
+      // Ignore
+    }
+  }
+
+  private Path createTmpFile(final Path bucketPath) throws IOException {
+    final var tmpDir = bucketPath.resolve(TMP_DIR);
+    Files.createDirectories(tmpDir);
+    return tmpDir.resolve(GuidLike.getGuid());
+  }
+
+  /**
+   * Write the sidecar through a temporary file then an atomic rename, so that readers never see partial content
+   */
+  private void writeMetadata(final Path bucketPath, final Path target, final Object value) throws IOException {
+    final var tmp = createTmpFile(bucketPath);
+    try {
+      try (final var channel = FileChannel.open(tmp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+           final var outputStream = Channels.newOutputStream(channel)) {
+        outputStream.write(JsonUtil.getInstance().writeValueAsBytes(value));
+        outputStream.flush();
+        if (DriverFilesystemProperties.isFsync()) {
+          channel.force(true);
+        }
+      }
+      moveIntoDirectory(tmp, target);
+    } finally {
+      deleteSilently(tmp);
+    }
+  }
+
+  private static StorageObject readStorageObject(final Path metadata) throws IOException {
+    return JsonUtil.getInstance().readValue(metadata.toFile(), StorageObject.class);
+  }
+
+  private static PendingObject readPendingObject(final Path descriptor) throws IOException {
+    return JsonUtil.getInstance().readValue(descriptor.toFile(), PendingObject.class);
+  }
+
+  private static StorageBucket readStorageBucket(final Path metadata) throws IOException {
+    return JsonUtil.getInstance().readValue(metadata.toFile(), StorageBucket.class);
+  }
+
+  Stream<StorageBucket> getBuckets() throws DriverException {
+    final var root = getRoot();
+    if (!Files.isDirectory(root)) {
+      return Stream.empty();
+    }
+    try (final var stream = Files.list(root)) {
+      return stream.map(path -> path.resolve(BUCKET_METADATA)).filter(Files::isRegularFile).map(path -> {
+        try {
+          return readStorageBucket(path);
+        } catch (final IOException e) {
+          // Bucket deleted in the middle
+          LOGGER.debug(e.getMessage());
+          return null;
+        }
+      }).filter(Objects::nonNull).toList().stream();
+    } catch (final IOException e) {
+      throw new DriverException(e);
+    }
+  }
+
+  StorageBucket getBucket(final String bucket) throws DriverException {
+    final var bucketPath = checkBucketPath(bucket);
+    try {
+      return readStorageBucket(bucketPath.resolve(BUCKET_METADATA));
+    } catch (final NoSuchFileException | FileNotFoundException e) {
+      throw new DriverNotFoundException(BUCKET_DOES_NOT_EXIST + bucket, e);
+    } catch (final IOException e) {
+      throw new DriverException(e);
+    }
+  }
+
+  boolean existBucket(final String bucket) throws DriverException {
+    return Files.isRegularFile(getBucketPath(bucket).resolve(BUCKET_METADATA));
+  }
+
+  StorageBucket createBucket(final StorageBucket bucket) throws DriverException {
+    ParametersChecker.checkParameter(BUCKET_CANNOT_BE_NULL, bucket);
+    final var bucketPath = getBucketPath(bucket.bucket());
+    try {
+      Files.createDirectories(getRoot());
+      Files.createDirectory(bucketPath);
+    } catch (final FileAlreadyExistsException e) {
+      throw new DriverAlreadyExistException("Bucket already exists: " + bucket.bucket(), e);
+    } catch (final IOException e) {
+      throw new DriverException(e);
+    }
+    try {
+      final var storageBucket = new StorageBucket(bucket.bucket(), bucket.clientId(), Instant.now());
+      writeMetadata(bucketPath, bucketPath.resolve(BUCKET_METADATA), storageBucket);
+      return storageBucket;
+    } catch (final IOException e) {
+      throw new DriverException(e);
+    }
+  }
+
+  /**
+   * Import an existing directory (or create it if needed) as a Bucket, keeping its creation date if already known
+   */
+  StorageBucket importBucket(final StorageBucket bucket) throws DriverException {
+    ParametersChecker.checkParameter(BUCKET_CANNOT_BE_NULL, bucket);
+    final var bucketPath = getBucketPath(bucket.bucket());
+    try {
+      Files.createDirectories(bucketPath);
+      final var metadata = bucketPath.resolve(BUCKET_METADATA);
+      var creationDate = Instant.now();
+      if (Files.isRegularFile(metadata)) {
+        creationDate = readStorageBucket(metadata).creationDate();
+      }
+      final var storageBucket = new StorageBucket(bucket.bucket(), bucket.clientId(), creationDate);
+      writeMetadata(bucketPath, metadata, storageBucket);
+      return storageBucket;
+    } catch (final IOException e) {
+      throw new DriverException(e);
+    }
+  }
+
+  void deleteBucket(final String bucket) throws DriverException {
+    final var bucketPath = checkBucketPath(bucket);
+    if (countObjectsInBucket(bucket) > 0) {
+      throw new DriverNotAcceptableException("Bucket not empty");
+    }
+    // Metadata first so that the Bucket is no longer visible while cleaning
+    deleteSilently(bucketPath.resolve(BUCKET_METADATA));
+    try (final var stream = Files.walk(bucketPath)) {
+      stream.sorted(Comparator.reverseOrder()).forEach(DriverFilesystemHelper::deleteSilently);
+    } catch (final IOException e) {
+      throw new DriverException(e);
+    }
+  }
+
+  long countObjectsInBucket(final String bucket) throws DriverException {
+    try (final var stream = getObjectsStreamFilteredInBucket(bucket, null, null, null)) {
+      return stream.count();
+    }
+  }
+
+  /**
+   * Lazy Stream of Objects in name order. Only the directory matching the prefix is walked, each directory being
+   * listed once sorted.
+   */
+  Stream<StorageObject> getObjectsStreamFilteredInBucket(final String bucket, final String prefix, final Instant from,
+                                                         final Instant to) throws DriverException {
+    final var bucketPath = checkBucketPath(bucket);
+    final var namePrefix = ParametersChecker.isNotEmpty(prefix) ? prefix : "";
+    final var pos = namePrefix.lastIndexOf(SEPARATOR);
+    final var base = pos < 0 ? "" : namePrefix.substring(0, pos + 1);
+    final Path start;
+    try {
+      start = pos < 0 ? bucketPath : resolveDirectory(bucketPath, namePrefix.substring(0, pos));
+    } catch (final InvalidPathException e) {
+      throw new DriverException(e);
+    }
+    if (!Files.isDirectory(start)) {
+      return Stream.empty();
+    }
+    final var iterator = new ListingIterator(start, base, prefix);
+    return StreamIteratorUtils.getStreamFromIterator(iterator).map(entry -> {
+      try {
+        return readStorageObject(entry.path());
+      } catch (final IOException e) {
+        // Object deleted in the middle
+        LOGGER.debug(e.getMessage());
+        return null;
+      }
+    }).filter(object -> object != null &&
+        !(from != null && from.isAfter(object.creationDate()) || to != null && to.isBefore(object.creationDate())));
+  }
+
+  /**
+   * Depth first iterator on Object metadata files in name order, pruning directories out of the prefix
+   */
+  private static class ListingIterator implements Iterator<ListingEntry> {
+    private final Deque<ListingEntry> entries = new ArrayDeque<>();
+    private final String prefix;
+    private ListingEntry next = null;
+
+    private ListingIterator(final Path start, final String base, final String prefix) {
+      this.prefix = prefix;
+      entries.push(new ListingEntry(start, base, true));
+    }
+
+    private boolean isSelected(final String name) {
+      if (DriverApi.isHiddenMultipartPart(prefix, name)) {
+        return false;
+      }
+      return ParametersChecker.isEmpty(prefix) || name.startsWith(prefix) || prefix.startsWith(name);
+    }
+
+    private List<ListingEntry> listSorted(final ListingEntry directory) {
+      try (final var stream = Files.list(directory.path())) {
+        return stream.map(path -> {
+          final var fileName = path.getFileName().toString();
+          if (fileName.startsWith(".")) {
+            // Internal entries
+            return null;
+          }
+          if (Files.isDirectory(path)) {
+            return new ListingEntry(path, directory.name() + decodeSegment(fileName) + SEPARATOR, true);
+          }
+          if (fileName.endsWith(EXT_METADATA)) {
+            return new ListingEntry(path,
+                directory.name() + decodeSegment(fileName.substring(0, fileName.length() - EXT_METADATA.length())),
+                false);
+          }
+          return null;
+        }).filter(entry -> entry != null && isSelected(entry.name()))
+            .sorted(Comparator.comparing(ListingEntry::name)).toList();
+      } catch (final IOException e) {
+        // Directory deleted in the middle
+        LOGGER.debug(e.getMessage());
+        return List.of();
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (next == null && !entries.isEmpty()) {
+        final var entry = entries.pop();
+        if (entry.directory()) {
+          final var children = listSorted(entry);
+          for (var i = children.size() - 1; i >= 0; i--) {
+            entries.push(children.get(i));
+          }
+        } else if (ParametersChecker.isEmpty(prefix) || entry.name().startsWith(prefix)) {
+          next = entry;
+        }
+      }
+      return next != null;
+    }
+
+    @Override
+    public ListingEntry next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      final var entry = next;
+      next = null;
+      return entry;
+    }
+  }
+
+  boolean existObjectInBucket(final String bucket, final String object) throws DriverException {
+    final var paths = getObjectPaths(getBucketPath(bucket), object);
+    return Files.isRegularFile(paths.metadata());
+  }
+
+  StorageType existDirectoryOrObjectInBucket(final String bucket, final String directoryOrObject)
+      throws DriverException {
+    if (!existBucket(bucket)) {
+      return StorageType.NONE;
+    }
+    if (existObjectInBucket(bucket, directoryOrObject)) {
+      return StorageType.OBJECT;
+    }
+    try (final var stream = getObjectsStreamFilteredInBucket(bucket, directoryOrObject, null, null)) {
+      return stream.findAny().isPresent() ? StorageType.DIRECTORY : StorageType.NONE;
+    }
+  }
+
+  /**
+   * Store the content and its descriptor in the pending area of the Bucket, waiting for the finalize step, possibly
+   * after a restart. A pending Object older than the pending expiration is considered as abandoned and replaced.
+   */
+  long objectPrepareCreateInBucket(final StorageObject object, final InputStream inputStream)
+      throws DriverException {
+    final var bucketPath = checkBucketPath(object.bucket());
+    final var paths = getObjectPaths(bucketPath, object.name());
+    if (Files.isRegularFile(paths.metadata())) {
+      throw new DriverAlreadyExistException("Object already exists: " + object.bucket() + ":" + object.name());
+    }
+    final var key = getInCreationKey(object.bucket(), object.name());
+    final var pendingPaths = getPendingPaths(bucketPath, object.name());
+    if (!inCreation.add(key)) {
+      throw new DriverAlreadyExistException(OBJECT_IN_CREATION + object.bucket() + ":" + object.name());
+    }
+    Path tmp = null;
+    try {
+      if (isPendingAlive(pendingPaths)) {
+        throw new DriverAlreadyExistException(OBJECT_IN_CREATION + object.bucket() + ":" + object.name());
+      }
+      tmp = createTmpFile(bucketPath);
+      final long size;
+      try (final var channel = FileChannel.open(tmp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+           final var outputStream = Channels.newOutputStream(channel)) {
+        size = SystemTools.transferTo(inputStream, outputStream);
+        if (DriverFilesystemProperties.isFsync()) {
+          channel.force(false);
+        }
+      }
+      moveIntoDirectory(tmp, pendingPaths.content());
+      // Descriptor last as the commit point of the prepare step
+      writeMetadata(bucketPath, pendingPaths.descriptor(), new PendingObject(object, size));
+      return size;
+    } catch (final IOException e) {
+      deleteSilently(pendingPaths.descriptor());
+      deleteSilently(pendingPaths.content());
+      throw new DriverException(e);
+    } finally {
+      deleteSilently(tmp);
+      inCreation.remove(key);
+      SystemTools.silentlyCloseNoException(inputStream);
+    }
+  }
+
+  private static boolean isPendingAlive(final PendingPaths pendingPaths) {
+    try {
+      final var lastModified = Files.getLastModifiedTime(pendingPaths.descriptor()).toInstant();
+      return lastModified.plusSeconds(DriverFilesystemProperties.getPendingExpirationSeconds()).isAfter(Instant.now());
+    } catch (final IOException e) {
+      // No pending Object
+      return false;
+    }
+  }
+
+  /**
+   * Move the pending content to its final place then commit by writing the metadata sidecar
+   */
+  StorageObject finalizeObject(final String bucket, final String object, final String sha256, final long realLen)
+      throws DriverException {
+    final var bucketPath = checkBucketPath(bucket);
+    final var paths = getObjectPaths(bucketPath, object);
+    final var pendingPaths = getPendingPaths(bucketPath, object);
+    final PendingObject pending;
+    try {
+      pending = readPendingObject(pendingPaths.descriptor());
+    } catch (final IOException e) {
+      throw new DriverException("Object not ready while finalize: " + bucket + ":" + object, e);
+    }
+    try {
+      if (!object.equals(pending.object().name())) {
+        throw new DriverException("Object not ready while finalize: " + bucket + ":" + object);
+      }
+      if (realLen > 0 && realLen != pending.size()) {
+        throw new DriverException(
+            "Object size differs while finalize: " + bucket + ":" + object + " " + realLen + " vs " + pending.size());
+      }
+      if (Files.isRegularFile(paths.metadata())) {
+        throw new DriverAlreadyExistException("Object already exists: " + bucket + ":" + object);
+      }
+      final var hash = ParametersChecker.isNotEmpty(sha256) ? sha256 : pending.object().hash();
+      final var storageObject =
+          new StorageObject(bucket, object, hash, pending.size(), Instant.now(), pending.object().expiresDate(),
+              pending.object().metadata());
+      moveIntoDirectory(pendingPaths.content(), paths.content());
+      writeMetadata(paths.bucket(), paths.metadata(), storageObject);
+      return storageObject;
+    } catch (final IOException e) {
+      throw new DriverException(e);
+    } finally {
+      deleteSilently(pendingPaths.descriptor());
+      deleteSilently(pendingPaths.content());
+    }
+  }
+
+  InputStream getObjectBodyInBucket(final String bucket, final String object) throws DriverException {
+    final var paths = getObjectPaths(checkBucketPath(bucket), object);
+    if (!Files.isRegularFile(paths.metadata())) {
+      throw new DriverNotFoundException(OBJECT_DOES_NOT_EXIST + bucket + ":" + object);
+    }
+    try {
+      return new FileChannelInputStream(FileChannel.open(paths.content(), StandardOpenOption.READ));
+    } catch (final NoSuchFileException e) {
+      throw new DriverNotFoundException(OBJECT_DOES_NOT_EXIST + bucket + ":" + object, e);
+    } catch (final IOException e) {
+      throw new DriverException(e);
+    }
+  }
+
+  StorageObject getObjectInBucket(final String bucket, final String object) throws DriverException {
+    final var paths = getObjectPaths(checkBucketPath(bucket), object);
+    try {
+      return readStorageObject(paths.metadata());
+    } catch (final NoSuchFileException | FileNotFoundException e) {
+      throw new DriverNotFoundException(OBJECT_DOES_NOT_EXIST + bucket + ":" + object, e);
+    } catch (final IOException e) {
+      throw new DriverException(e);
+    }
+  }
+
+  /**
+   * Objects being immutable, a hard link is used when possible, else a channel to channel copy
+   */
+  StorageObject objectCopyToAnother(final StorageObject objectSource, final StorageObject objectTarget)
+      throws DriverException {
+    final var sourcePaths = getObjectPaths(checkBucketPath(objectSource.bucket()), objectSource.name());
+    final var source = getObjectInBucket(objectSource.bucket(), objectSource.name());
+    final var targetPaths = getObjectPaths(checkBucketPath(objectTarget.bucket()), objectTarget.name());
+    if (Files.isRegularFile(targetPaths.metadata())) {
+      throw new DriverAlreadyExistException(
+          "Target Object already exists: " + objectTarget.bucket() + ":" + objectTarget.name());
+    }
+    final var hash = ParametersChecker.isNotEmpty(objectSource.hash()) ? objectSource.hash() : source.hash();
+    final var storageObject =
+        new StorageObject(objectTarget.bucket(), objectTarget.name(), hash, source.size(), Instant.now(),
+            objectTarget.expiresDate(), objectTarget.metadata());
+    Path tmp = null;
+    try {
+      tmp = createTmpFile(targetPaths.bucket());
+      try {
+        Files.createLink(tmp, sourcePaths.content());
+      } catch (final UnsupportedOperationException | IOException e) {
+        LOGGER.debugf("Cannot link, so copy: %s", e.getMessage());
+        deleteSilently(tmp);
+        copyContent(sourcePaths.content(), tmp);
+      }
+      moveIntoDirectory(tmp, targetPaths.content());
+      writeMetadata(targetPaths.bucket(), targetPaths.metadata(), storageObject);
+      return storageObject;
+    } catch (final NoSuchFileException e) {
+      throw new DriverNotFoundException(
+          "Source Object does not exist: " + objectSource.bucket() + ":" + objectSource.name(), e);
+    } catch (final IOException e) {
+      throw new DriverException(e);
+    } finally {
+      deleteSilently(tmp);
+    }
+  }
+
+  private static void copyContent(final Path source, final Path target) throws IOException {
+    try (final var sourceChannel = FileChannel.open(source, StandardOpenOption.READ);
+         final var targetChannel = FileChannel.open(target, StandardOpenOption.CREATE_NEW,
+             StandardOpenOption.WRITE)) {
+      final var size = sourceChannel.size();
+      var position = 0L;
+      while (position < size) {
+        position += sourceChannel.transferTo(position, size - position, targetChannel);
+      }
+      if (DriverFilesystemProperties.isFsync()) {
+        targetChannel.force(false);
+      }
+    }
+  }
+
+  void deleteObjectInBucket(final String bucket, final String object) throws DriverException {
+    final var paths = getObjectPaths(checkBucketPath(bucket), object);
+    try {
+      // Metadata first since it is the commit point of the Object
+      if (!Files.deleteIfExists(paths.metadata())) {
+        throw new DriverNotFoundException(OBJECT_DOES_NOT_EXIST + bucket + ":" + object);
+      }
+      Files.deleteIfExists(paths.content());
+      deleteEmptyDirectories(paths.bucket(), paths.metadata().getParent());
+    } catch (final IOException e) {
+      throw new DriverException(e);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.driver.filesystem;
+
+import io.clonecloudstore.common.quarkus.properties.QuarkusSystemPropertyUtil;
+import io.quarkus.arc.Unremovable;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jboss.logging.Logger;
+
+/**
+ * Configurable values for Filesystem
+ */
+@ApplicationScoped
+@Unremovable
+public class DriverFilesystemProperties {
+  private static final Logger LOGGER = Logger.getLogger(DriverFilesystemProperties.class);
+  public static final String DEFAULT_ROOT = System.getProperty("java.io.tmpdir") + "/CCS-DRIVER";
+  /**
+   * Root directory where Buckets are stored (one directory per Bucket)
+   */
+  public static final String CCS_DRIVER_FILESYSTEM_ROOT = "ccs.driver.filesystem.root";
+  /**
+   * Force synchronization to the storage device when an Object is finalized (default true)
+   */
+  public static final String CCS_DRIVER_FILESYSTEM_FSYNC = "ccs.driver.filesystem.fsync";
+  /**
+   * Delay after which an Object prepared but not finalized is considered as abandoned (default 1 day)
+   */
+  public static final String CCS_DRIVER_FILESYSTEM_PENDING_EXPIRATION_SECONDS =
+      "ccs.driver.filesystem.pending_expiration_seconds";
+  private static String fsRoot = QuarkusSystemPropertyUtil.getStringConfig(CCS_DRIVER_FILESYSTEM_ROOT, DEFAULT_ROOT);
+  private static boolean fsync = QuarkusSystemPropertyUtil.getBooleanConfig(CCS_DRIVER_FILESYSTEM_FSYNC, true);
+  private static long pendingExpirationSeconds =
+      QuarkusSystemPropertyUtil.getLongConfig(CCS_DRIVER_FILESYSTEM_PENDING_EXPIRATION_SECONDS, 86400);
+
+  private final DriverFilesystemRegister driverFilesystemRegister; // NOSONAR intentional
+
+  public DriverFilesystemProperties(final DriverFilesystemRegister driverFilesystemRegister) {
+    this.driverFilesystemRegister = driverFilesystemRegister;
+  }
+
+  /**
+   * @return the root directory of the storage
+   */
+  public static String getRoot() {
+    return fsRoot;
+  }
+
+  /**
+   * @return True if finalized Objects are forced to the storage device
+   */
+  public static boolean isFsync() {
+    return fsync;
+  }
+
+  /**
+   * @return the delay in seconds after which a prepared but not finalized Object is considered as abandoned
+   */
+  public static long getPendingExpirationSeconds() {
+    return pendingExpirationSeconds;
+  }
+
+  /**
+   * Used to change dynamically the setup
+   */
+  public static void setDynamicRoot(final String root) {
+    fsRoot = root;
+    LOGGER.debugf("Change configuration Filesystem: %s", fsRoot);
+  }
+
+  /**
+   * Used to change dynamically the setup
+   */
+  public static void setDynamicFsync(final boolean sync) {
+    fsync = sync;
+  }
+
+  /**
+   * Used to change dynamically the setup
+   */
+  public static void setDynamicPendingExpirationSeconds(final long seconds) {
+    pendingExpirationSeconds = seconds;
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.driver.filesystem;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * InputStream on a FileChannel, using zero-copy transferTo when the target is a file
+ */
+class FileChannelInputStream extends InputStream {
+  private final FileChannel channel;
+
+  FileChannelInputStream(final FileChannel channel) {
+    this.channel = channel;
+  }
+
+  @Override
+  public int read() throws IOException {
+    final var buffer = ByteBuffer.allocate(1);
+    if (channel.read(buffer) <= 0) {
+      return -1;
+    }
+    return buffer.get(0) & 0xFF;
+  }
+
+  @Override
+  public int read(final byte[] b, final int off, final int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    return channel.read(ByteBuffer.wrap(b, off, len));
+  }
+
+  @Override
+  public long skip(final long n) throws IOException {
+    if (n <= 0) {
+      return 0;
+    }
+    final var position = channel.position();
+    final var newPosition = Math.min(channel.size(), position + n);
+    channel.position(newPosition);
+    return newPosition - position;
+  }
+
+  @Override
+  public int available() throws IOException {
+    return (int) Math.min(Integer.MAX_VALUE, Math.max(0, channel.size() - channel.position()));
+  }
+
+  @Override
+  public long transferTo(final OutputStream out) throws IOException {
+    if (out instanceof final FileOutputStream fileOutputStream) {
+      final var target = fileOutputStream.getChannel();
+      final var size = channel.size();
+      final var start = channel.position();
+      var position = start;
+      while (position < size) {
+        position += channel.transferTo(position, size - position, target);
+      }
+      channel.position(position);
+      return position - start;
+    }
+    return super.transferTo(out);
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
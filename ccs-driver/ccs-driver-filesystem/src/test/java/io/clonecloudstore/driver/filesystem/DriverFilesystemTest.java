@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.driver.filesystem;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import io.clonecloudstore.common.standard.stream.StreamIteratorUtils;
+import io.clonecloudstore.driver.api.DriverApiRegistry;
+import io.clonecloudstore.driver.api.StorageType;
+import io.clonecloudstore.driver.api.exception.DriverAlreadyExistException;
+import io.clonecloudstore.driver.api.exception.DriverException;
+import io.clonecloudstore.driver.api.exception.DriverNotFoundException;
+import io.clonecloudstore.driver.api.model.StorageBucket;
+import io.clonecloudstore.driver.api.model.StorageObject;
+import io.clonecloudstore.test.stream.FakeInputStream;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+@QuarkusTest
+public class DriverFilesystemTest extends DriverFilesystemBase {
+  private static final int LEN = 3 * 1024 * 1024 + 13;
+
+  @BeforeAll
+  static void cleanRoot() throws IOException {
+    final var root = Path.of(DriverFilesystemProperties.getRoot());
+    if (Files.isDirectory(root)) {
+      try (final Stream<Path> stream = Files.walk(root)) {
+        stream.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+      }
+    }
+  }
+
+  @Test
+  void checkRegistry() {
+    assertInstanceOf(DriverFilesystemApiFactory.class, DriverApiRegistry.getDriverApiFactory());
+    assertInstanceOf(DriverFilesystemApiFactory.class, driverApiFactory);
+  }
+
+  @Test
+  void testDriverFilesystemCopyAndZeroCopyRead() throws DriverException, IOException {
+    final var bucket = "testfs";
+    final var object1 = "dir1/dir2/object1";
+    final var object2 = "dir1/object2";
+    try (final var driverApi = driverApiFactory.getInstance()) {
+      driverApi.bucketCreate(new StorageBucket(bucket, "client", null));
+      assertEquals("client", driverApi.bucketGet(bucket).clientId());
+      final var imported = driverApi.bucketImport(new StorageBucket(bucket, "client2", null));
+      assertEquals("client2", imported.clientId());
+      assertEquals(driverApi.bucketGet(bucket).creationDate(), imported.creationDate());
+
+      driverApi.objectPrepareCreateInBucket(
+          new StorageObject(bucket, object1, null, LEN, null, null, Map.of("key", "value")),
+          new FakeInputStream(LEN, (byte) 'b'));
+      // Not yet visible until finalized
+      assertEquals(StorageType.NONE, driverApi.directoryOrObjectExistsInBucket(bucket, object1));
+      assertThrows(DriverAlreadyExistException.class,
+          () -> driverApi.objectPrepareCreateInBucket(new StorageObject(bucket, object1, null, LEN, null),
+              new FakeInputStream(LEN, (byte) 'b')));
+      final var storageObject = driverApi.objectFinalizeCreateInBucket(bucket, object1, LEN, "hash");
+      assertEquals("value", storageObject.metadata().get("key"));
+      assertEquals("hash", storageObject.hash());
+      assertEquals(StorageType.DIRECTORY, driverApi.directoryOrObjectExistsInBucket(bucket, "dir1/"));
+
+      // Wrong length is refused and nothing is committed
+      driverApi.objectPrepareCreateInBucket(new StorageObject(bucket, object2, null, LEN, null),
+          new FakeInputStream(LEN, (byte) 'b'));
+      assertThrows(DriverException.class, () -> driverApi.objectFinalizeCreateInBucket(bucket, object2, LEN + 1, null));
+      assertThrows(DriverNotFoundException.class, () -> driverApi.objectGetMetadataInBucket(bucket, object2));
+
+      final var copy = driverApi.objectCopy(bucket, object1, bucket, object2, Map.of("key2", "value2"),
+          Instant.now().plusSeconds(100));
+      assertEquals(LEN, copy.size());
+      assertEquals("hash", copy.hash());
+      assertEquals("value2", copy.metadata().get("key2"));
+      // Copy survives the deletion of its source
+      driverApi.objectDeleteInBucket(bucket, object1);
+      assertThrows(DriverNotFoundException.class, () -> driverApi.objectDeleteInBucket(bucket, object1));
+      final var target = File.createTempFile("ccs", ".bin");
+      try (final var inputStream = driverApi.objectGetInputStreamInBucket(bucket, object2);
+           final var outputStream = new FileOutputStream(target)) {
+        assertEquals(LEN, inputStream.transferTo(outputStream));
+      }
+      assertEquals(LEN, target.length());
+      try (final var inputStream = Files.newInputStream(target.toPath())) {
+        final var bytes = inputStream.readAllBytes();
+        for (final var b : bytes) {
+          assertEquals('b', b);
+        }
+      } finally {
+        target.delete();
+      }
+      try (final var inputStream = driverApi.objectGetInputStreamInBucket(bucket, object2)) {
+        assertEquals(LEN, FakeInputStream.consumeAll(inputStream));
+      }
+      // Visible from any other Driver instance
+      try (final var driverApi2 = driverApiFactory.getInstance()) {
+        assertEquals(1, driverApi2.objectsCountInBucket(bucket));
+        assertTrue(driverApi2.objectsIteratorInBucket(bucket, "dir1/", null, null).hasNext());
+      }
+      driverApi.objectDeleteInBucket(bucket, object2);
+      driverApi.bucketDelete(bucket);
+      assertFalse(driverApi.bucketExists(bucket));
+      assertFalse(Files.exists(Path.of(DriverFilesystemProperties.getRoot(), bucket)));
+    }
+  }
+
+  @Test
+  void testDriverFilesystemNameLayoutAndPending() throws DriverException, IOException {
+    final var bucket = "testfslayout";
+    final var names = List.of("a", "a-b", "a/b", "a/b/c", "a/.hidden", "a.b", "b//c", "z");
+    try (final var driverApi = driverApiFactory.getInstance()) {
+      driverApi.bucketCreate(new StorageBucket(bucket, "client", null));
+      for (final var name : names) {
+        driverApi.objectPrepareCreateInBucket(new StorageObject(bucket, name, null, 10, null),
+            new FakeInputStream(10, (byte) 'a'));
+        driverApi.objectFinalizeCreateInBucket(bucket, name, 10, "hash");
+      }
+      // Names are preserved as directories
+      final var bucketPath = Path.of(DriverFilesystemProperties.getRoot(), bucket);
+      assertTrue(Files.isRegularFile(bucketPath.resolve("a").resolve("b").resolve("c%.json")));
+      assertTrue(Files.isRegularFile(bucketPath.resolve("a").resolve("%.hidden%.bin")));
+      assertTrue(Files.isRegularFile(bucketPath.resolve("b").resolve("%").resolve("c%.json")));
+      // Listings are in name order, walking only the prefix directory
+      final var sorted = names.stream().sorted().toList();
+      assertEquals(sorted, StreamIteratorUtils.getListFromIterator(
+          driverApi.objectsIteratorInBucket(bucket, null, null, null)).stream().map(StorageObject::name).toList());
+      assertEquals(List.of("a/.hidden", "a/b", "a/b/c"), StreamIteratorUtils.getListFromIterator(
+          driverApi.objectsIteratorInBucket(bucket, "a/", null, null)).stream().map(StorageObject::name).toList());
+      assertEquals(List.of("a/b", "a/b/c"), StreamIteratorUtils.getListFromIterator(
+          driverApi.objectsIteratorInBucket(bucket, "a/b", null, null)).stream().map(StorageObject::name).toList());
+      assertEquals(StorageType.DIRECTORY, driverApi.directoryOrObjectExistsInBucket(bucket, "b/"));
+      assertEquals(names.size(), driverApi.objectsCountInBucket(bucket));
+      // Empty directories are removed with their last Object
+      driverApi.objectDeleteInBucket(bucket, "b//c");
+      assertFalse(Files.exists(bucketPath.resolve("b")));
+
+      // Pending Object survives a restart
+      driverApi.objectPrepareCreateInBucket(new StorageObject(bucket, "pending", null, 10, null),
+          new FakeInputStream(10, (byte) 'a'));
+      final var restarted = new DriverFilesystemHelper();
+      assertEquals(10, restarted.finalizeObject(bucket, "pending", "hash", 10).size());
+      assertEquals(StorageType.OBJECT, driverApi.directoryOrObjectExistsInBucket(bucket, "pending"));
+      // Abandoned pending Object is replaced
+      driverApi.objectPrepareCreateInBucket(new StorageObject(bucket, "abandoned", null, 10, null),
+          new FakeInputStream(10, (byte) 'a'));
+      final var expiration = DriverFilesystemProperties.getPendingExpirationSeconds();
+      try {
+        DriverFilesystemProperties.setDynamicPendingExpirationSeconds(0);
+        driverApi.objectPrepareCreateInBucket(new StorageObject(bucket, "abandoned", null, 20, null),
+            new FakeInputStream(20, (byte) 'a'));
+      } finally {
+        DriverFilesystemProperties.setDynamicPendingExpirationSeconds(expiration);
+      }
+      assertEquals(20, driverApi.objectFinalizeCreateInBucket(bucket, "abandoned", 20, "hash").size());
+      for (final var name : driverApi.objectsStreamInBucket(bucket).map(StorageObject::name).toList()) {
+        driverApi.objectDeleteInBucket(bucket, name);
+      }
+      driverApi.bucketDelete(bucket);
+      assertFalse(Files.exists(bucketPath));
+    }
+  }
+}
@@ -18,7 +18,9 @@ package io.clonecloudstore.driver.google;
 
 import java.io.InputStream;
 import java.time.Instant;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.stream.Stream;
 
 import com.google.cloud.storage.Blob;
@@ -34,6 +36,7 @@ import io.clonecloudstore.driver.api.exception.DriverNotFoundException;
 import io.clonecloudstore.driver.api.exception.DriverRuntimeException;
 import io.clonecloudstore.driver.api.model.StorageBucket;
 import io.clonecloudstore.driver.api.model.StorageObject;
+import io.clonecloudstore.driver.api.model.StoragePart;
 import jakarta.enterprise.inject.spi.CDI;
 import org.jboss.logging.Logger;
 
@@ -231,6 +234,26 @@ public class DriverGoogle implements DriverApi {
     return driverGoogleHelper.finalizeObject(bucket, object, sha256);
   }
 
+  /**
+   * Parts are uploaded as temporary Objects (default implementation) and composed natively on completion
+   */
+  @Override
+  public StorageObject objectMultipartCompleteInBucket(final StorageObject object, final String uploadId,
+                                                       final List<StoragePart> parts)
+      throws DriverNotFoundException, DriverAlreadyExistException, DriverException { // NOSONAR Exception details
+    try {
+      bulkMetrics.incrementCounter(1, DriverGoogle.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_CREATE);
+      // The whole content is not digested, so no hash is stored
+      return driverGoogleHelper.composeParts(
+          new StorageObject(object.bucket(), object.name(), null, object.size(), object.creationDate(),
+              object.expiresDate(), object.metadata()),
+          parts.stream().sorted(Comparator.comparingInt(StoragePart::partNumber)).map(StoragePart::etag).toList());
+    } catch (final DriverException e) {
+      bulkMetrics.incrementCounter(1, DriverGoogle.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_ERROR_WRITE);
+      throw e;
+    }
+  }
+
   @Override
   public InputStream objectGetInputStreamInBucket(final String bucket, final String object)
       throws DriverNotFoundException, DriverException { // NOSONAR Exception details
@@ -47,6 +47,7 @@ import io.clonecloudstore.common.standard.exception.CcsInvalidArgumentRuntimeExc
 import io.clonecloudstore.common.standard.properties.StandardProperties;
 import io.clonecloudstore.common.standard.system.ParametersChecker;
 import io.clonecloudstore.common.standard.system.SystemTools;
+import io.clonecloudstore.driver.api.DriverApi;
 import io.clonecloudstore.driver.api.StorageType;
 import io.clonecloudstore.driver.api.exception.DriverAlreadyExistException;
 import io.clonecloudstore.driver.api.exception.DriverException;
@@ -73,6 +74,7 @@ public class DriverGoogleHelper {
   public static final String FILE_CLIENT_ID = "." + CLIENT_ID;
   private static final String BUCKET_CANNOT_BE_NULL = "Bucket cannot be null";
   private static final String BUCKET_OR_OBJECT_CANNOT_BE_NULL = "Bucket or Object cannot be null";
+  private static final int MAX_COMPOSE_SOURCES = 32;
   private final Storage storage;
 
   DriverGoogleHelper(final Storage storage) {
@@ -95,6 +97,10 @@ public class DriverGoogleHelper {
     return FILE_CLIENT_ID.equals(name);
   }
 
+  private static boolean isHidden(final String prefix, final String name) {
+    return isFileClientId(name) || DriverApi.isHiddenMultipartPart(prefix, name);
+  }
+
   StorageBucket fromBucketInfo(final Bucket bucket) {
     final var labels = bucket.getLabels();
     final String clientId;
@@ -235,7 +241,7 @@ public class DriverGoogleHelper {
       final AtomicLong count = new AtomicLong();
       iterable.forEach(blob -> {
         // Bug with Labels: object named ".clientId" with name as content
-        if (!isFileClientId(blob.getName())) {
+        if (!isHidden(prefix, blob.getName())) {
           count.getAndIncrement();
         }
       });
@@ -254,9 +260,9 @@ public class DriverGoogleHelper {
       final Page<Blob> page = getBlobPage(bucket, prefix);
       final var iterator = page.iterateAll().iterator();
       if (from != null || to != null) {
-        return new BlobIterator(iterator, from, to);
+        return new BlobIterator(iterator, prefix, from, to);
       }
-      return new BlobIterator(iterator, null, null);
+      return new BlobIterator(iterator, prefix, null, null);
     } catch (final BaseServiceException e) {
       throw DriverException.getDriverExceptionFromStatus(e.getCode(), e);
     } catch (final CcsInvalidArgumentRuntimeException e) {
@@ -282,7 +288,7 @@ public class DriverGoogleHelper {
       if (from != null || to != null) {
         return stream.filter(blobItem -> {
           // Bug with Labels: object named ".clientId" with name as content
-          if (isFileClientId(blobItem.getName())) {
+          if (isHidden(prefix, blobItem.getName())) {
             return false;
           }
           var lastModified = blobItem.asBlobInfo().getUpdateTimeOffsetDateTime().toInstant();
@@ -297,7 +303,7 @@ public class DriverGoogleHelper {
       }
       return stream.filter(blobItem ->
           // Bug with Labels: object named ".clientId" with name as content
-          !isFileClientId(blobItem.getName()));
+          !isHidden(prefix, blobItem.getName()));
     } catch (final BaseServiceException e) {
       throw DriverException.getDriverExceptionFromStatus(e.getCode(), e);
     } catch (final CcsInvalidArgumentRuntimeException e) {
@@ -531,6 +537,42 @@ public class DriverGoogleHelper {
     }
   }
 
+  /**
+   * Compose the final Object from the part Objects (in order), then delete those parts. Since one compose is
+   * limited to 32 sources, the target is composed again with the next parts while needed.
+   */
+  StorageObject composeParts(final StorageObject object, final List<String> partNames) throws DriverException {
+    try {
+      ParametersChecker.checkParameter(BUCKET_OR_OBJECT_CANNOT_BE_NULL, object, partNames);
+      final var blobInfo = BlobInfo.newBuilder(BlobId.of(object.bucket(), object.name()))
+          .setMetadata(getFinalMetadata(object)).setContentType(MediaType.APPLICATION_OCTET_STREAM).build();
+      var from = 0;
+      while (from < partNames.size()) {
+        final var compose = Storage.ComposeRequest.newBuilder().setTarget(blobInfo);
+        if (DriverGoogleProperties.isGoogleDisableGzip()) {
+          compose.setTargetOptions(Storage.BlobTargetOption.disableGzipContent());
+        }
+        var max = MAX_COMPOSE_SOURCES;
+        if (from > 0) {
+          compose.addSource(object.name());
+          max--;
+        }
+        final var to = Math.min(partNames.size(), from + max);
+        for (var i = from; i < to; i++) {
+          compose.addSource(partNames.get(i));
+        }
+        storage.compose(compose.build());
+        from = to;
+      }
+      storage.delete(partNames.stream().map(name -> BlobId.of(object.bucket(), name)).toList());
+      return finalizeObject(object.bucket(), object.name(), object.hash());
+    } catch (final BaseServiceException e) {
+      throw DriverException.getDriverExceptionFromStatus(e.getCode(), e);
+    } catch (final CcsInvalidArgumentRuntimeException e) {
+      throw new DriverException(e);
+    }
+  }
+
   StorageObject finalizeObject(final String bucket, final String object, final String sha256) throws DriverException {
     try {
       ParametersChecker.checkParameter(BUCKET_OR_OBJECT_CANNOT_BE_NULL, bucket, object);
@@ -682,12 +724,14 @@ public class DriverGoogleHelper {
 
   private static class BlobIterator implements Iterator<Blob> {
     private final Iterator<Blob> iterator;
+    private final String prefix;
     private final Instant start;
     private final Instant end;
     private Blob blob;
 
-    BlobIterator(final Iterator<Blob> iterator, final Instant start, final Instant end) {
+    BlobIterator(final Iterator<Blob> iterator, final String prefix, final Instant start, final Instant end) {
       this.iterator = iterator;
+      this.prefix = prefix;
       this.start = start;
       this.end = end;
       blob = null;
@@ -698,7 +742,7 @@ public class DriverGoogleHelper {
         final var item = iterator.next();
         final var lastModified = item.asBlobInfo().getUpdateTimeOffsetDateTime().toInstant();
         // Bug with Labels: object named ".clientId" with name as content
-        if (isFileClientId(item.getName()) || (start != null && start.isAfter(lastModified)) ||
+        if (isHidden(prefix, item.getName()) || (start != null && start.isAfter(lastModified)) ||
             (end != null && end.isBefore(lastModified))) {
           continue;
         }
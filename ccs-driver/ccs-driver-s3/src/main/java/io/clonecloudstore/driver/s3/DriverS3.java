@@ -19,8 +19,11 @@ package io.clonecloudstore.driver.s3;
 import java.io.InputStream;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import io.clonecloudstore.common.quarkus.metrics.BulkMetrics;
@@ -28,6 +31,7 @@ import io.clonecloudstore.common.quarkus.stream.ChunkInputStreamInterface;
 import io.clonecloudstore.common.quarkus.stream.ChunkInputStreamOptionalBuffer;
 import io.clonecloudstore.common.standard.system.SystemTools;
 import io.clonecloudstore.driver.api.DriverApi;
+import io.clonecloudstore.driver.api.DriverAsyncApi;
 import io.clonecloudstore.driver.api.StorageType;
 import io.clonecloudstore.driver.api.exception.DriverAlreadyExistException;
 import io.clonecloudstore.driver.api.exception.DriverException;
@@ -36,9 +40,11 @@ import io.clonecloudstore.driver.api.exception.DriverNotFoundException;
 import io.clonecloudstore.driver.api.exception.DriverRuntimeException;
 import io.clonecloudstore.driver.api.model.StorageBucket;
 import io.clonecloudstore.driver.api.model.StorageObject;
+import io.clonecloudstore.driver.api.model.StoragePart;
 import jakarta.enterprise.inject.spi.CDI;
 import org.jboss.logging.Logger;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
 import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.S3Object;
@@ -51,6 +57,7 @@ public class DriverS3 implements DriverApi {
   private final S3Client s3Client;
   private final DriverS3Helper driverS3Helper;
   private final BulkMetrics bulkMetrics;
+  private DriverS3Async driverS3Async;
 
   protected DriverS3(final DriverS3Helper driverS3Helper) throws DriverRuntimeException {
     this.driverS3Helper = driverS3Helper;
@@ -227,10 +234,10 @@ public class DriverS3 implements DriverApi {
   public void objectPrepareCreateInBucket(final StorageObject object, final InputStream inputStream)
       throws DriverNotFoundException, DriverAlreadyExistException, DriverException { // NOSONAR Exception details
     try {
-      if (!driverS3Helper.existBucket(s3Client, object.bucket())) {
-        throw new DriverNotFoundException(DriverS3Helper.BUCKET_DOES_NOT_EXIST + object.bucket());
+      // No Bucket check: the upload itself fails with NoSuchBucket
+      if (!DriverS3Properties.isConditionalWrite()) {
+        checkExistingObjectOnStorage(object);
       }
-      checkExistingObjectOnStorage(object);
       var exc = objectCreatePreparedAsync(object, inputStream);
       SystemTools.silentlyCloseNoException(inputStream);
       if (exc != null) {
@@ -320,9 +327,11 @@ public class DriverS3 implements DriverApi {
       throws DriverNotFoundException, DriverAlreadyExistException, DriverException { // NOSONAR Exception details
     bulkMetrics.incrementCounter(1, DriverS3.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_CREATE);
     try {
-      return driverS3Helper.waitUntilObjectExist(s3Client, bucket, object, sha256);
-    } catch (final DriverNotAcceptableException e) {
-      throw new DriverException("Issue during waiting creation ending", e);
+      // Stateless: built from the arguments, the upload being already done; read back only if verification is active
+      return driverS3Helper.finalizeObjectInBucket(s3Client, bucket, object, realLen, sha256);
+    } catch (final DriverException e) {
+      bulkMetrics.incrementCounter(1, DriverS3.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_ERROR_WRITE);
+      throw e;
     }
   }
 
@@ -331,7 +340,7 @@ public class DriverS3 implements DriverApi {
       throws DriverNotFoundException, DriverException { // NOSONAR Exception details
     try {
       bulkMetrics.incrementCounter(1, DriverS3.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_READ);
-      return driverS3Helper.getObjectBodyInBucket(s3Client, bucket, object, false);
+      return driverS3Helper.getObjectBodyInBucket(s3Client, bucket, object);
     } catch (final NoSuchBucketException | NoSuchKeyException e) {
       throw new DriverNotFoundException(e);
     } catch (final DriverException e) {
@@ -372,11 +381,94 @@ public class DriverS3 implements DriverApi {
     }
   }
 
+  @Override
+  public Map<String, DriverException> objectsDeleteInBucket(final String bucket, final Collection<String> objects) {
+    final var errors = driverS3Helper.deleteObjectsInBucket(s3Client, bucket, objects);
+    bulkMetrics.incrementCounter(objects.size() - errors.size(), DriverS3.class, BulkMetrics.KEY_OBJECT,
+        BulkMetrics.TAG_DELETE);
+    if (!errors.isEmpty()) {
+      bulkMetrics.incrementCounter(errors.size(), DriverS3.class, BulkMetrics.KEY_OBJECT,
+          BulkMetrics.TAG_ERROR_DELETE);
+    }
+    return errors;
+  }
+
+  @Override
+  public String objectMultipartInitiateInBucket(final StorageObject object)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    try {
+      return MultipartUploadHelper.initiate(s3Client, object);
+    } catch (final DriverException e) {
+      bulkMetrics.incrementCounter(1, DriverS3.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_ERROR_WRITE);
+      throw e;
+    }
+  }
+
+  @Override
+  public StoragePart objectMultipartUploadPartInBucket(final StorageObject object, final String uploadId,
+                                                       final int partNumber, final InputStream inputStream,
+                                                       final long len)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    try {
+      final var eTag =
+          MultipartUploadHelper.uploadPart(s3Client, object.bucket(), object.name(), uploadId, partNumber, inputStream,
+              len);
+      return new StoragePart(partNumber, eTag, len);
+    } catch (final DriverException e) {
+      bulkMetrics.incrementCounter(1, DriverS3.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_ERROR_WRITE);
+      throw e;
+    } finally {
+      SystemTools.silentlyCloseNoException(inputStream);
+    }
+  }
+
+  @Override
+  public StorageObject objectMultipartCompleteInBucket(final StorageObject object, final String uploadId,
+                                                       final List<StoragePart> parts)
+      throws DriverNotFoundException, DriverAlreadyExistException, DriverException { // NOSONAR Exception details
+    bulkMetrics.incrementCounter(1, DriverS3.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_CREATE);
+    try {
+      final var completedParts =
+          parts.stream().sorted(Comparator.comparingInt(StoragePart::partNumber))
+              .map(part -> CompletedPart.builder().partNumber(part.partNumber()).eTag(part.etag()).build()).toList();
+      final var eTag = MultipartUploadHelper.complete(s3Client, object, uploadId, completedParts);
+      final var size = parts.stream().mapToLong(StoragePart::size).sum();
+      // The whole content is not digested, so no hash is stored (a declared one would not be verified)
+      final var completed =
+          new StorageObject(object.bucket(), object.name(), null, size, Instant.now(), object.expiresDate(),
+              object.metadata());
+      return driverS3Helper.finalizeObjectInBucket(s3Client, completed, eTag);
+    } catch (final DriverException e) {
+      bulkMetrics.incrementCounter(1, DriverS3.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_ERROR_WRITE);
+      throw e;
+    }
+  }
+
+  @Override
+  public void objectMultipartAbortInBucket(final StorageObject object, final String uploadId)
+      throws DriverNotFoundException, DriverException { // NOSONAR Exception details
+    MultipartUploadHelper.abort(s3Client, object.bucket(), object.name(), uploadId);
+  }
+
+  @Override
+  public synchronized DriverAsyncApi async() {
+    if (driverS3Async == null) {
+      driverS3Async = new DriverS3Async(driverS3Helper.getAsyncClient(), bulkMetrics);
+    }
+    return driverS3Async;
+  }
+
   @Override
   public void close() {
     if (s3Client != null) {
       s3Client.close();
     }
+    synchronized (this) {
+      if (driverS3Async != null) {
+        driverS3Async.close();
+        driverS3Async = null;
+      }
+    }
   }
 
   private class StorageObjectIterator implements Iterator<StorageObject> {
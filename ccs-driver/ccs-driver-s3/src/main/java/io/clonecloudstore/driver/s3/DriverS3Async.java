@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package io.clonecloudstore.driver.s3;
+
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+import io.clonecloudstore.common.quarkus.metrics.BulkMetrics;
+import io.clonecloudstore.common.standard.system.ParametersChecker;
+import io.clonecloudstore.common.standard.system.SystemTools;
+import io.clonecloudstore.driver.api.DriverAsyncApi;
+import io.clonecloudstore.driver.api.StorageType;
+import io.clonecloudstore.driver.api.exception.DriverAlreadyExistException;
+import io.clonecloudstore.driver.api.exception.DriverException;
+import io.clonecloudstore.driver.api.exception.DriverNotFoundException;
+import io.clonecloudstore.driver.api.model.StorageObject;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectTaggingRequest;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.Tag;
+
+import static io.clonecloudstore.driver.s3.DriverS3Helper.BUCKET_DOES_NOT_EXIST;
+import static io.clonecloudstore.driver.s3.DriverS3Helper.FOR;
+import static io.clonecloudstore.driver.s3.DriverS3Helper.OBJECT_DOES_NOT_EXIST;
+import static io.clonecloudstore.driver.s3.DriverS3Properties.SHA_256;
+
+/**
+ * S3 non-blocking Driver, based on the S3AsyncClient (Netty based). Owned and closed by DriverS3.
+ */
+class DriverS3Async implements DriverAsyncApi {
+  private final S3AsyncClient s3AsyncClient;
+  private final BulkMetrics bulkMetrics;
+
+  DriverS3Async(final S3AsyncClient s3AsyncClient, final BulkMetrics bulkMetrics) {
+    this.s3AsyncClient = s3AsyncClient;
+    this.bulkMetrics = bulkMetrics;
+  }
+
+  void close() {
+    s3AsyncClient.close();
+  }
+
+  private static DriverException toDriverException(final Throwable error, final String bucket, final String name) {
+    var cause = error;
+    while (cause instanceof CompletionException && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    if (cause instanceof final DriverException e) {
+      return e;
+    }
+    if (cause instanceof final NoSuchBucketException e) {
+      return new DriverNotFoundException(BUCKET_DOES_NOT_EXIST + bucket, e);
+    }
+    if (cause instanceof final NoSuchKeyException e) {
+      return new DriverNotFoundException(OBJECT_DOES_NOT_EXIST + bucket + ":" + name, e);
+    }
+    if (cause instanceof final S3Exception e) {
+      return DriverException.getDriverExceptionFromStatus(e.statusCode(), e);
+    }
+    return new DriverException(cause);
+  }
+
+  private <T> CompletionStage<T> mapError(final CompletableFuture<T> future, final String bucket, final String name,
+                                          final String errorTag) {
+    return future.exceptionallyCompose(e -> {
+      bulkMetrics.incrementCounter(1, DriverS3.class, BulkMetrics.KEY_OBJECT, errorTag);
+      return CompletableFuture.failedFuture(toDriverException(e, bucket, name));
+    });
+  }
+
+  private static boolean checkParameters(final String bucket, final String name) {
+    return ParametersChecker.isNotEmpty(bucket, name);
+  }
+
+  private CompletableFuture<StorageObject> fromS3Head(final String bucket, final String name,
+                                                      final HeadObjectResponse response) {
+    final var map = new HashMap<>(response.metadata());
+    if (map.containsKey(SHA_256)) {
+      final var sha = map.remove(SHA_256);
+      return CompletableFuture.completedFuture(
+          new StorageObject(bucket, name, sha, response.contentLength(), response.lastModified(), response.expires(),
+              map));
+    }
+    return s3AsyncClient.getObjectTagging(GetObjectTaggingRequest.builder().bucket(bucket).key(name).build())
+        .handle((tagging, error) -> {
+          String sha = null;
+          if (error == null && tagging.sdkHttpResponse().isSuccessful()) {
+            sha = tagging.tagSet().stream().filter(t -> t.key().equals(SHA_256)).findFirst().map(Tag::value)
+                .orElse(null);
+          }
+          return new StorageObject(bucket, name, sha, response.contentLength(), response.lastModified(),
+              response.expires(), map);
+        });
+  }
+
+  @Override
+  public CompletionStage<Boolean> bucketExists(final String bucket) {
+    if (ParametersChecker.isEmpty(bucket)) {
+      return DriverAsyncApi.failed(new DriverException("Bucket cannot be null"));
+    }
+    bulkMetrics.incrementCounter(1, DriverS3.class, BulkMetrics.KEY_BUCKET, BulkMetrics.TAG_EXISTS);
+    return s3AsyncClient.headBucket(HeadBucketRequest.builder().bucket(bucket).build())
+        .handle((response, error) -> error == null && response.sdkHttpResponse().isSuccessful());
+  }
+
+  @Override
+  public CompletionStage<StorageType> directoryOrObjectExistsInBucket(final String bucket,
+                                                                      final String directoryOrObject) {
+    if (!checkParameters(bucket, directoryOrObject)) {
+      return DriverAsyncApi.failed(new DriverException("Bucket or Object cannot be null"));
+    }
+    bulkMetrics.incrementCounter(1, DriverS3.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_EXISTS);
+    return s3AsyncClient.headObject(HeadObjectRequest.builder().bucket(bucket).key(directoryOrObject).build())
+        .handle((response, error) -> error == null && response.sdkHttpResponse().isSuccessful())
+        .thenCompose(isObject -> {
+          if (Boolean.TRUE.equals(isObject)) {
+            return CompletableFuture.completedFuture(StorageType.OBJECT);
+          }
+          return s3AsyncClient.listObjectsV2(
+                  ListObjectsV2Request.builder().bucket(bucket).prefix(directoryOrObject).maxKeys(1).build())
+              .handle((response, error) -> error == null && response.hasContents() && !response.contents().isEmpty() ?
+                  StorageType.DIRECTORY : StorageType.NONE);
+        });
+  }
+
+  @Override
+  public CompletionStage<StorageObject> objectGetMetadataInBucket(final String bucket, final String object) {
+    if (!checkParameters(bucket, object)) {
+      return DriverAsyncApi.failed(new DriverException("Bucket or Object cannot be null"));
+    }
+    bulkMetrics.incrementCounter(1, DriverS3.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_READ_MD);
+    return mapError(s3AsyncClient.headObject(HeadObjectRequest.builder().bucket(bucket).key(object).build())
+        .thenCompose(response -> fromS3Head(bucket, object, response)), bucket, object, BulkMetrics.TAG_ERROR_READ);
+  }
+
+  @Override
+  public CompletionStage<InputStream> objectGetInputStreamInBucket(final String bucket, final String object) {
+    if (!checkParameters(bucket, object)) {
+      return DriverAsyncApi.failed(new DriverException("Bucket or Object cannot be null"));
+    }
+    bulkMetrics.incrementCounter(1, DriverS3.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_READ);
+    return mapError(s3AsyncClient.getObject(GetObjectRequest.builder().bucket(bucket).key(object).build(),
+            AsyncResponseTransformer.toBlockingInputStream()).thenApply(InputStream.class::cast), bucket, object,
+        BulkMetrics.TAG_ERROR_READ);
+  }
+
+  @Override
+  public CompletionStage<StorageObject> objectCreateInBucket(final StorageObject object,
+                                                             final InputStream inputStream) {
+    if (object == null || !checkParameters(object.bucket(), object.name()) || object.size() <= 0) {
+      return DriverAsyncApi.failed(new DriverException("Bucket, Object and Size must be known"));
+    }
+    bulkMetrics.incrementCounter(1, DriverS3.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_CREATE);
+    final var builder = PutObjectRequest.builder().bucket(object.bucket()).key(object.name());
+    if (DriverS3Properties.isConditionalWrite()) {
+      builder.overrideConfiguration(o -> o.putHeader(DriverS3Helper.IF_NONE_MATCH, "*"));
+    }
+    if (object.expiresDate() != null) {
+      builder.expires(object.expiresDate());
+    }
+    final Map<String, String> map = HashMap.newHashMap(1);
+    if (object.metadata() != null) {
+      map.putAll(object.metadata());
+    }
+    if (ParametersChecker.isNotEmpty(object.hash())) {
+      map.put(SHA_256, object.hash());
+    }
+    if (!map.isEmpty()) {
+      builder.metadata(map);
+    }
+    final var requestBody =
+        AsyncRequestBody.fromInputStream(inputStream, object.size(), SystemTools.VIRTUAL_EXECUTOR_SERVICE);
+    return mapError(checkNotExisting(object).thenCompose(unused -> s3AsyncClient.putObject(builder.build(),
+        requestBody)).exceptionallyCompose(e -> {
+      if (e instanceof CompletionException && e.getCause() instanceof final S3Exception s3Exception &&
+          !(s3Exception instanceof NoSuchBucketException)) {
+        return CompletableFuture.failedFuture(DriverS3Helper.fromConditionalWriteException(object, s3Exception));
+      }
+      return CompletableFuture.failedFuture(e);
+    }).thenCompose(response -> {
+      if (!response.sdkHttpResponse().isSuccessful()) {
+        return CompletableFuture.failedFuture(new DriverException(
+            DriverS3Helper.OBJECT_CANNOT_BE_CREATED_CODE + response.sdkHttpResponse().statusCode() + FOR +
+                object.bucket() + ":" + object.name()));
+      }
+      if (!DriverS3Properties.isVerifyUpload()) {
+        return CompletableFuture.completedFuture(
+            new StorageObject(object.bucket(), object.name(), object.hash(), object.size(), Instant.now(),
+                object.expiresDate(), object.metadata()));
+      }
+      return s3AsyncClient.headObject(
+              HeadObjectRequest.builder().bucket(object.bucket()).key(object.name()).ifMatch(response.eTag()).build())
+          .thenCompose(head -> fromS3Head(object.bucket(), object.name(), head));
+    }), object.bucket(), object.name(), BulkMetrics.TAG_ERROR_WRITE);
+  }
+
+  /**
+   * Without conditional write, a HEAD is needed to keep the DriverAlreadyExistException semantic
+   */
+  private CompletableFuture<Void> checkNotExisting(final StorageObject object) {
+    if (DriverS3Properties.isConditionalWrite()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return s3AsyncClient.headObject(HeadObjectRequest.builder().bucket(object.bucket()).key(object.name()).build())
+        .handle((response, error) -> {
+          if (error == null) {
+            throw new CompletionException(
+                new DriverAlreadyExistException("Object already exists: " + object.bucket() + ":" + object.name()));
+          }
+          return null;
+        });
+  }
+
+  @Override
+  public CompletionStage<Void> objectDeleteInBucket(final String bucket, final String object) {
+    if (!checkParameters(bucket, object)) {
+      return DriverAsyncApi.failed(new DriverException("Bucket or Object cannot be null"));
+    }
+    bulkMetrics.incrementCounter(1, DriverS3.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_DELETE);
+    // S3 delete is idempotent: the head keeps the DriverNotFoundException semantic of the blocking Driver
+    return mapError(s3AsyncClient.headObject(HeadObjectRequest.builder().bucket(bucket).key(object).build())
+            .thenCompose(head -> s3AsyncClient.deleteObject(
+                DeleteObjectRequest.builder().bucket(bucket).key(object).build()))
+            .thenApply(response -> (Void) null), bucket, object,
+        BulkMetrics.TAG_ERROR_DELETE);
+  }
+
+  @Override
+  public CompletionStage<List<StorageObject>> objectsPageInBucket(final String bucket, final String prefix,
+                                                                   final String startAfter, final int maxItems) {
+    if (ParametersChecker.isEmpty(bucket)) {
+      return DriverAsyncApi.failed(new DriverException("Bucket cannot be null"));
+    }
+    bulkMetrics.incrementCounter(1, DriverS3.class, BulkMetrics.KEY_OBJECT, BulkMetrics.TAG_STREAM);
+    final var builder = ListObjectsV2Request.builder().bucket(bucket).maxKeys(maxItems);
+    if (ParametersChecker.isNotEmpty(prefix)) {
+      builder.prefix(prefix);
+    }
+    if (ParametersChecker.isNotEmpty(startAfter)) {
+      builder.startAfter(startAfter);
+    }
+    return mapError(s3AsyncClient.listObjectsV2(builder.build()).thenApply(response -> response.contents().stream()
+            .map(s3Object -> new StorageObject(bucket, s3Object.key(), null, s3Object.size(), s3Object.lastModified()))
+            .toList()), bucket, prefix,
+        BulkMetrics.TAG_ERROR_READ);
+  }
+}
@@ -20,8 +20,11 @@ import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.stream.Stream;
@@ -49,14 +52,17 @@ import software.amazon.awssdk.core.io.ReleasableInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.http.ContentStreamProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.Bucket;
 import software.amazon.awssdk.services.s3.model.BucketAlreadyExistsException;
 import software.amazon.awssdk.services.s3.model.ChecksumMode;
 import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
 import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteBucketRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
 import software.amazon.awssdk.services.s3.model.GetBucketTaggingRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectTaggingRequest;
@@ -69,6 +75,7 @@ import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.MetadataDirective;
 import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutBucketTaggingRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectTaggingRequest;
@@ -97,8 +104,13 @@ public class DriverS3Helper {
   private static final Logger LOGGER = Logger.getLogger(DriverS3Helper.class);
   private static final String BUCKET_CANNOT_BE_NULL = "Bucket cannot be null";
   private static final String BUCKET_OR_OBJECT_CANNOT_BE_NULL = "Bucket or Object cannot be null";
+  /**
+   * Maximum number of keys in one S3 DeleteObjects request
+   */
+  private static final int MAX_DELETE_KEYS = 1000;
   public static final String FOR = " for ";
   public static final String OBJECT_CANNOT_BE_CREATED_CODE = "Object cannot be created, code: ";
+  static final String IF_NONE_MATCH = "If-None-Match";
 
 
   DriverS3Helper() {
@@ -116,6 +128,17 @@ public class DriverS3Helper {
     }
   }
 
+  S3AsyncClient getAsyncClient() throws DriverRuntimeException {
+    try {
+      LOGGER.debugf("Charge configuration S3 Async: %s %s", getDriverS3Host(), getDriverS3Region());
+      return S3AsyncClient.builder().endpointOverride(new URI(getDriverS3Host())).credentialsProvider(
+              StaticCredentialsProvider.create(AwsBasicCredentials.create(getDriverS3KeyId(), getDriverS3Key())))
+          .region(Region.of(getDriverS3Region())).build();
+    } catch (final URISyntaxException | RuntimeException e) {
+      throw new DriverRuntimeException("Wrong URI or client build", e);
+    }
+  }
+
   StorageBucket createBucket(final S3Client s3Client, final StorageBucket bucket)
       throws DriverAlreadyExistException, DriverNotAcceptableException, DriverException { // NOSONAR Exception details
     try {
@@ -460,20 +483,17 @@ public class DriverS3Helper {
     }
   }
 
-  InputStream getObjectBodyInBucket(final S3Client s3Client, final String bucket, final String s3name,
-                                    final boolean checkExistence)
+  /**
+   * No existence check: the status of the GET itself (NoSuchKey or NoSuchBucket) gives the DriverNotFoundException
+   */
+  InputStream getObjectBodyInBucket(final S3Client s3Client, final String bucket, final String s3name)
       throws DriverNotFoundException, DriverException { // NOSONAR Exception details
-    if (checkExistence && !existDirectoryOrObjectInBucket(s3Client, bucket, s3name).equals(StorageType.OBJECT)) {
-      // Not found
-      if (!existBucket(s3Client, bucket)) {
-        throw new DriverNotFoundException(BUCKET_DOES_NOT_EXIST + bucket);
-      }
-      throw new DriverNotFoundException(OBJECT_DOES_NOT_EXIST + bucket + ":" + s3name);
-    }
     try {
       return s3Client.getObject(GetObjectRequest.builder().bucket(bucket).key(s3name).build());
-    } catch (final NoSuchKeyException | NoSuchBucketException e) {
-      throw new DriverNotFoundException(e);
+    } catch (final NoSuchBucketException e) {
+      throw new DriverNotFoundException(BUCKET_DOES_NOT_EXIST + bucket, e);
+    } catch (final NoSuchKeyException e) {
+      throw new DriverNotFoundException(OBJECT_DOES_NOT_EXIST + bucket + ":" + s3name, e);
     } catch (final RuntimeException e) {
       throw new DriverException(e);
     }
@@ -545,7 +565,13 @@ public class DriverS3Helper {
             OBJECT_CANNOT_BE_CREATED_CODE + response.sdkHttpResponse().statusCode() + FOR + target.bucket() + ":" +
                 target.name());
       }
-      return waitUntilObjectExist(s3Client, target.bucket(), target.name(), null);
+      final var result = response.copyObjectResult();
+      if (DriverS3Properties.isVerifyUpload()) {
+        return verifyObjectETag(s3Client, target.bucket(), target.name(), result.eTag());
+      }
+      return new StorageObject(target.bucket(), target.name(), source.hash(), source.size(),
+          result.lastModified() != null ? result.lastModified() : Instant.now(), target.expiresDate(),
+          target.metadata());
     } catch (final NoSuchKeyException | NoSuchBucketException e) {
       throw new DriverNotFoundException(e);
     } catch (final RuntimeException e) {
@@ -555,14 +581,14 @@ public class DriverS3Helper {
 
   void deleteObjectInBucket(final S3Client s3Client, final String bucket, final String s3name)
       throws DriverNotFoundException, DriverNotAcceptableException, DriverException { // NOSONAR Exception details
-    if (!existDirectoryOrObjectInBucket(s3Client, bucket, s3name).equals(StorageType.OBJECT)) {
-      // Not found
-      if (!existBucket(s3Client, bucket)) {
-        throw new DriverNotFoundException(BUCKET_DOES_NOT_EXIST + bucket);
-      }
-      throw new DriverNotFoundException(OBJECT_DOES_NOT_EXIST + bucket + ":" + s3name);
+    try {
+      ParametersChecker.checkParameter(BUCKET_OR_OBJECT_CANNOT_BE_NULL, bucket, s3name);
+    } catch (final CcsInvalidArgumentRuntimeException e) {
+      throw new DriverException(e);
     }
     try {
+      // S3 delete is idempotent: only one HEAD is needed to keep the DriverNotFoundException semantic
+      s3Client.headObject(HeadObjectRequest.builder().bucket(bucket).key(s3name).build());
       if (!s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(s3name).build()).sdkHttpResponse()
           .isSuccessful()) {
         // KO
@@ -575,45 +601,122 @@ public class DriverS3Helper {
     }
   }
 
-  private StorageObject checkExistenceWithRetry(final S3Client s3Client, final String bucket, final String s3name)
+  /**
+   * Native batch deletion (S3 DeleteObjects, by up to 1000 keys), idempotent as single deletion
+   *
+   * @return the Objects that could not be deleted with the associated exception
+   */
+  Map<String, DriverException> deleteObjectsInBucket(final S3Client s3Client, final String bucket,
+                                                     final Collection<String> s3names) {
+    final var errors = new HashMap<String, DriverException>();
+    final List<ObjectIdentifier> identifiers = new ArrayList<>(Math.min(s3names.size(), MAX_DELETE_KEYS));
+    for (final var s3name : s3names) {
+      identifiers.add(ObjectIdentifier.builder().key(s3name).build());
+      if (identifiers.size() >= MAX_DELETE_KEYS) {
+        deleteObjectsChunk(s3Client, bucket, identifiers, errors);
+        identifiers.clear();
+      }
+    }
+    if (!identifiers.isEmpty()) {
+      deleteObjectsChunk(s3Client, bucket, identifiers, errors);
+    }
+    return errors;
+  }
+
+  private void deleteObjectsChunk(final S3Client s3Client, final String bucket,
+                                  final List<ObjectIdentifier> identifiers,
+                                  final Map<String, DriverException> errors) {
+    try {
+      final var response = s3Client.deleteObjects(DeleteObjectsRequest.builder().bucket(bucket)
+          .delete(Delete.builder().objects(identifiers).quiet(true).build()).build());
+      for (final var error : response.errors()) {
+        errors.put(error.key(), new DriverNotAcceptableException(
+            "Cannot delete Object in Bucket: " + bucket + ":" + error.key() + " (" + error.code() + " " +
+                error.message() + ")"));
+      }
+    } catch (final NoSuchBucketException e) {
+      identifiers.forEach(identifier -> errors.put(identifier.key(), new DriverNotFoundException(e)));
+    } catch (final RuntimeException e) {
+      identifiers.forEach(identifier -> errors.put(identifier.key(), new DriverException(e)));
+    }
+  }
+
+  /**
+   * HEAD conditioned by the ETag returned by the write request (If-Match), with retry if not yet visible
+   */
+  StorageObject verifyObjectETag(final S3Client s3Client, final String bucket, final String s3name, final String eTag)
       throws DriverException {
-    StorageObject storageObject = null;
     DriverNotFoundException notFoundException = null;
     for (int i = 0; i < 3; i++) {
-      SystemTools.wait1ms();
       try {
-        storageObject = getObjectInBucket(s3Client, bucket, s3name);
-        break;
-      } catch (final DriverNotFoundException e) {
+        final var builder = HeadObjectRequest.builder().bucket(bucket).key(s3name).checksumMode(ChecksumMode.ENABLED);
+        if (ParametersChecker.isNotEmpty(eTag)) {
+          builder.ifMatch(eTag);
+        }
+        return fromS3Head(s3Client, bucket, s3name, s3Client.headObject(builder.build()));
+      } catch (final NoSuchKeyException | NoSuchBucketException e) {
+        notFoundException = new DriverNotFoundException(OBJECT_DOES_NOT_EXIST + bucket + ":" + s3name, e);
         SystemTools.wait1ms();
-        notFoundException = e;
-      }
-    }
-    if (storageObject == null) {
-      if (notFoundException != null) {
-        throw notFoundException;
-      } else {
-        throw new DriverNotFoundException("Object not found");
+      } catch (final S3Exception e) {
+        if (e.statusCode() == Response.Status.PRECONDITION_FAILED.getStatusCode()) {
+          throw new DriverException("Object ETag differs from upload one: " + bucket + ":" + s3name, e);
+        }
+        throw DriverException.getDriverExceptionFromStatus(e.statusCode(), e);
+      } catch (final RuntimeException e) {
+        throw new DriverException(e);
       }
     }
-    return storageObject;
+    throw notFoundException;
+  }
+
+  /**
+   * Finalize the creation of a multipart upload from the StorageObject built on the CompleteMultipartUpload response
+   * (size being the sum of the parts). The object is only read back, through its ETag, if verification is active.
+   */
+  StorageObject finalizeObjectInBucket(final S3Client s3Client, final StorageObject completed, final String eTag)
+      throws DriverException { // NOSONAR Exception details
+    if (DriverS3Properties.isVerifyUpload()) {
+      final var storageObject = verifyObjectETag(s3Client, completed.bucket(), completed.name(), eTag);
+      return new StorageObject(storageObject.bucket(), storageObject.name(), completed.hash(), storageObject.size(),
+          storageObject.creationDate(), storageObject.expiresDate(), storageObject.metadata());
+    }
+    return completed;
   }
 
-  StorageObject waitUntilObjectExist(final S3Client s3Client, final String bucket, final String s3name,
-                                     final String sha256ForTag)
-      throws DriverNotAcceptableException, DriverException { // NOSONAR Exception details
+  /**
+   * Finalize the creation of an object already uploaded (the upload request status being checked), built from the
+   * given size and SHA-256. Only if verification is active, the object is read back through one HEAD, checking its
+   * size, and the SHA-256 is tagged only if not already in its metadata; else the SHA-256 is tagged if given, since
+   * it might have been computed during the upload (so not in metadata).
+   */
+  StorageObject finalizeObjectInBucket(final S3Client s3Client, final String bucket, final String s3name,
+                                       final long realLen, final String sha256)
+      throws DriverException { // NOSONAR Exception details
+    final var sha = ParametersChecker.isNotEmpty(sha256) ? sha256 : null;
+    if (!DriverS3Properties.isVerifyUpload()) {
+      if (sha != null) {
+        setShaAsTagForObject(s3Client, bucket, s3name, sha);
+      }
+      return new StorageObject(bucket, s3name, sha, realLen, Instant.now(), null, null);
+    }
     try {
-      StorageObject storageObject = checkExistenceWithRetry(s3Client, bucket, s3name);
-      if (ParametersChecker.isNotEmpty(sha256ForTag)) {
-        // Set the new Sha256 as Tag since object already created
-        // Maybe use the copy to rewrite metadata instead of Tag
-        setShaAsTagForObject(s3Client, bucket, s3name, sha256ForTag);
-        return new StorageObject(storageObject.bucket(), storageObject.name(), sha256ForTag, storageObject.size(),
-            storageObject.creationDate(), storageObject.expiresDate(), storageObject.metadata());
-      }
-      return storageObject;
+      final var response = s3Client.headObject(HeadObjectRequest.builder().bucket(bucket).key(s3name).build());
+      if (realLen > 0 && response.contentLength() != realLen) {
+        throw new DriverException(
+            "Object size differs from upload one: " + bucket + ":" + s3name + " " + response.contentLength() + " vs " +
+                realLen);
+      }
+      final var metadata = new HashMap<>(response.metadata());
+      final var storedSha = metadata.remove(SHA_256);
+      if (sha != null && !sha.equals(storedSha)) {
+        setShaAsTagForObject(s3Client, bucket, s3name, sha);
+      }
+      return new StorageObject(bucket, s3name, sha != null ? sha : storedSha, response.contentLength(),
+          response.lastModified(), response.expires(), metadata);
     } catch (final NoSuchKeyException | NoSuchBucketException e) {
-      throw new DriverNotFoundException(e);
+      throw new DriverNotFoundException(OBJECT_DOES_NOT_EXIST + bucket + ":" + s3name, e);
+    } catch (final S3Exception e) {
+      throw DriverException.getDriverExceptionFromStatus(e.statusCode(), e);
     } catch (final RuntimeException e) {
       throw new DriverException(e);
     }
@@ -633,7 +736,10 @@ public class DriverS3Helper {
     }
   }
 
-  void createObjectInBucket(final S3Client s3Client, final StorageObject object, final InputStream inputStream)
+  /**
+   * @return the ETag of the created object
+   */
+  String createObjectInBucket(final S3Client s3Client, final StorageObject object, final InputStream inputStream)
       throws DriverException, DriverNotAcceptableException { // NOSONAR Exception details
     final RequestBody requestBody;
     try {
@@ -660,6 +766,9 @@ public class DriverS3Helper {
       if (!map.isEmpty()) {
         builder.metadata(map);
       }
+      if (DriverS3Properties.isConditionalWrite()) {
+        builder.overrideConfiguration(o -> o.putHeader(IF_NONE_MATCH, "*"));
+      }
       final var response = s3Client.putObject(builder.build(), requestBody);
       if (!response.sdkHttpResponse().isSuccessful()) {
         throw new DriverNotAcceptableException(
@@ -667,13 +776,24 @@ public class DriverS3Helper {
                 object.name());
       }
       LOGGER.debugf("MAI %s", inputStream);
+      return response.eTag();
     } catch (final NoSuchKeyException | NoSuchBucketException e) {
       throw new DriverNotFoundException(e);
+    } catch (final S3Exception e) {
+      throw fromConditionalWriteException(object, e);
     } catch (final RuntimeException e) {
       throw new DriverException(e);
     }
   }
 
+  static DriverException fromConditionalWriteException(final StorageObject object, final S3Exception e) {
+    if (e.statusCode() == Response.Status.PRECONDITION_FAILED.getStatusCode() ||
+        e.statusCode() == Response.Status.CONFLICT.getStatusCode()) {
+      return new DriverAlreadyExistException("Object already exists: " + object.bucket() + ":" + object.name(), e);
+    }
+    return DriverException.getDriverExceptionFromStatus(e.statusCode(), e);
+  }
+
   private static class S3ObjectIterator implements Iterator<S3Object> {
     private final Iterator<S3Object> iterator;
     private final Instant start;
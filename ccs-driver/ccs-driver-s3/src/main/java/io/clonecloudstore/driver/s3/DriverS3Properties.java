@@ -51,6 +51,17 @@ public class DriverS3Properties {
    */
   public static final String CCS_DRIVER_S3_MAX_PART_SIZE_FOR_UNKNOWN_LENGTH =
       "ccs.driver.s3.maxPartSizeForUnknownLength";
+  /**
+   * If True, each upload is read back at finalize through one HEAD checking its size, each copy or multipart
+   * completion through a HEAD conditioned by the returned ETag (If-Match), and multipart parts are listed before
+   * completion; else the status of the write request is trusted (default false)
+   */
+  public static final String CCS_DRIVER_S3_VERIFY_UPLOAD = "ccs.driver.s3.verifyUpload";
+  /**
+   * If True, writes are conditioned by "If-None-Match: *" (AWS S3, recent MinIO) and no existence check is done before
+   * creation; else a HEAD is done before creation (default false)
+   */
+  public static final String CCS_DRIVER_S3_CONDITIONAL_WRITE = "ccs.driver.s3.conditionalWrite";
   private static String s3Host = QuarkusSystemPropertyUtil.getStringConfig(CCS_DRIVER_S3_HOST, "");
   private static String s3KeyId = QuarkusSystemPropertyUtil.getStringConfig(CCS_DRIVER_S3_KEY_ID, "");
   private static String s3Key = QuarkusSystemPropertyUtil.getStringConfig(CCS_DRIVER_S3_KEY, "");
@@ -61,6 +72,10 @@ public class DriverS3Properties {
   private static int s3MaxPartSizeForUnknownLength = Math.min(Math.max(
       QuarkusSystemPropertyUtil.getIntegerConfig(CCS_DRIVER_S3_MAX_PART_SIZE_FOR_UNKNOWN_LENGTH,
           QuarkusProperties.getDriverMaxChunkSize()), DEFAULT_MIN_PART_SIZE), DEFAULT_MAX_PART_SIZE_INT);
+  private static boolean s3VerifyUpload =
+      QuarkusSystemPropertyUtil.getBooleanConfig(CCS_DRIVER_S3_VERIFY_UPLOAD, false);
+  private static boolean s3ConditionalWrite =
+      QuarkusSystemPropertyUtil.getBooleanConfig(CCS_DRIVER_S3_CONDITIONAL_WRITE, false);
 
   static {
     QuarkusProperties.setDriverMaxChunkSize(s3MaxPartSizeForUnknownLength);
@@ -108,6 +123,20 @@ public class DriverS3Properties {
     return s3MaxPartSizeForUnknownLength;
   }
 
+  /**
+   * @return True if uploads and copies are verified through their ETag
+   */
+  public static boolean isVerifyUpload() {
+    return s3VerifyUpload;
+  }
+
+  /**
+   * @return True if writes rely on "If-None-Match: *" instead of a previous existence check
+   */
+  public static boolean isConditionalWrite() {
+    return s3ConditionalWrite;
+  }
+
   /**
    * Used to change dynamically the setup
    */
@@ -134,4 +163,18 @@ public class DriverS3Properties {
     s3MaxPartSizeForUnknownLength = Math.min(Math.max(size, DEFAULT_MIN_PART_SIZE), DEFAULT_MAX_PART_SIZE_INT);
     QuarkusProperties.setDriverMaxChunkSize(s3MaxPartSizeForUnknownLength);
   }
+
+  /**
+   * Used to change dynamically the setup
+   */
+  public static void setDynamicVerifyUpload(final boolean verifyUpload) {
+    s3VerifyUpload = verifyUpload;
+  }
+
+  /**
+   * Used to change dynamically the setup
+   */
+  public static void setDynamicConditionalWrite(final boolean conditionalWrite) {
+    s3ConditionalWrite = conditionalWrite;
+  }
 }
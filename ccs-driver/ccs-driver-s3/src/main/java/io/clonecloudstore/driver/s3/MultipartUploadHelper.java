@@ -24,8 +24,10 @@ import java.util.Map;
 
 import io.clonecloudstore.common.standard.system.ParametersChecker;
 import io.clonecloudstore.driver.api.exception.DriverException;
+import io.clonecloudstore.driver.api.exception.DriverNotFoundException;
 import io.clonecloudstore.driver.api.model.StorageObject;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 import org.jboss.logging.Logger;
 import software.amazon.awssdk.core.io.ReleasableInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
@@ -35,7 +37,11 @@ import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.CompletedPart;
 import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.ListPartsRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.NoSuchUploadException;
 import software.amazon.awssdk.services.s3.model.Part;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 
 import static io.clonecloudstore.driver.s3.DriverS3Properties.SHA_256;
@@ -49,6 +55,7 @@ class MultipartUploadHelper {
   private final S3Client s3Client;
   private final String bucket;
   private final String destinationKey;
+  private final StorageObject object;
   private final String uploadId;
   private final List<CompletedPart> parts = new ArrayList<>();
 
@@ -56,8 +63,18 @@ class MultipartUploadHelper {
     this.s3Client = s3Client;
     this.bucket = object.bucket();
     this.destinationKey = object.name();
+    this.object = object;
+    uploadId = initiate(s3Client, object);
+  }
+
+  /**
+   * Start a multipart upload
+   *
+   * @return the S3 upload id
+   */
+  static String initiate(final S3Client s3Client, final StorageObject object) throws DriverException {
     try {
-      final var builder = CreateMultipartUploadRequest.builder().bucket(object.bucket()).key(destinationKey);
+      final var builder = CreateMultipartUploadRequest.builder().bucket(object.bucket()).key(object.name());
       // Checksum not compatible with multipart (checksum of checksums) so cannot be compared
       final Map<String, String> map = HashMap.newHashMap(1);
       if (ParametersChecker.isNotEmpty(object.hash())) {
@@ -79,15 +96,29 @@ class MultipartUploadHelper {
         throw new DriverException(
             "Start of S3 chunk is invalid, code: " + multipartUpload.sdkHttpResponse().statusCode());
       }
-      uploadId = multipartUpload.uploadId();
+      return multipartUpload.uploadId();
+    } catch (final NoSuchBucketException e) {
+      throw new DriverNotFoundException(DriverS3Helper.BUCKET_DOES_NOT_EXIST + object.bucket(), e);
     } catch (final RuntimeException e) {
       throw new DriverException("Start of S3 chunk is invalid", e);
     }
   }
 
   void partUpload(final InputStream inputStream, final long len) throws DriverException {
+    final var partNumber = parts.size() + 1;
+    final var partETag = uploadPart(s3Client, bucket, destinationKey, uploadId, partNumber, inputStream, len);
+    parts.add(CompletedPart.builder().partNumber(partNumber).eTag(partETag).build());
+  }
+
+  /**
+   * Upload one part of a multipart upload
+   *
+   * @return the ETag of the part
+   */
+  static String uploadPart(final S3Client s3Client, final String bucket, final String key, final String uploadId,
+                           final int partNumber, final InputStream inputStream, final long len)
+      throws DriverException {
     try {
-      final Integer partNumber = parts.size() + 1;
       final RequestBody requestBody;
       if (len >= 0) {
         requestBody = RequestBody.fromInputStream(inputStream, len);
@@ -97,59 +128,104 @@ class MultipartUploadHelper {
         requestBody = RequestBody.fromContentProvider(() -> nonCloseable, MediaType.APPLICATION_OCTET_STREAM);
       }
       final var uploadPartResponse = s3Client.uploadPart(
-          UploadPartRequest.builder().bucket(bucket).key(destinationKey).uploadId(uploadId).partNumber(partNumber)
-              .build(), requestBody);
+          UploadPartRequest.builder().bucket(bucket).key(key).uploadId(uploadId).partNumber(partNumber).build(),
+          requestBody);
       if (!uploadPartResponse.sdkHttpResponse().isSuccessful()) {
         throw new DriverException(
             "Sending one chunk is invalid, code: " + uploadPartResponse.sdkHttpResponse().statusCode());
       }
-      parts.add(CompletedPart.builder().partNumber(partNumber).eTag(uploadPartResponse.eTag()).build());
+      return uploadPartResponse.eTag();
+    } catch (final NoSuchUploadException e) {
+      throw new DriverNotFoundException("Upload does not exist: " + uploadId, e);
     } catch (final RuntimeException e) {
-      throw new DriverException("Sending one chunk is invalid: " + (parts.size() + 1), e);
+      throw new DriverException("Sending one chunk is invalid: " + partNumber, e);
     }
   }
 
   void cancel() throws DriverException {
+    abort(s3Client, bucket, destinationKey, uploadId);
+  }
+
+  /**
+   * Abort a multipart upload
+   */
+  static void abort(final S3Client s3Client, final String bucket, final String key, final String uploadId)
+      throws DriverException {
     try {
       final var response = s3Client.abortMultipartUpload(
-          AbortMultipartUploadRequest.builder().uploadId(uploadId).bucket(bucket).key(destinationKey).build());
+          AbortMultipartUploadRequest.builder().uploadId(uploadId).bucket(bucket).key(key).build());
       if (!response.sdkHttpResponse().isSuccessful()) {
         throw new DriverException("Cancelling upload is invalid, code: " + response.sdkHttpResponse().statusCode());
       }
+    } catch (final NoSuchUploadException e) {
+      throw new DriverNotFoundException("Upload does not exist: " + uploadId, e);
     } catch (final RuntimeException e) {
       throw new DriverException("Cancelling upload is invalid", e);
     }
   }
 
-  void complete() throws DriverException {
+  /**
+   * S3 checks itself the ETag of each part on completion, so parts are only listed if verification is active
+   *
+   * @return the ETag of the completed object
+   */
+  String complete() throws DriverException {
+    if (DriverS3Properties.isVerifyUpload()) {
+      verifyParts();
+    }
+    final var eTag = complete(s3Client, object, uploadId, parts);
+    LOGGER.debugf("Multipart Upload complete with %d parts", parts.size());
+    parts.clear();
+    return eTag;
+  }
+
+  /**
+   * Complete a multipart upload from its parts (in part number order)
+   *
+   * @return the ETag of the completed object
+   */
+  static String complete(final S3Client s3Client, final StorageObject object, final String uploadId,
+                         final List<CompletedPart> completedParts) throws DriverException {
     try {
-      final var request =
-          ListPartsRequest.builder().bucket(bucket).key(destinationKey).uploadId(uploadId).maxParts(parts.size() + 1)
-              .build();
-      var responsePart = s3Client.listParts(request);
-      while (responsePart.parts().size() != parts.size()) {
-        Thread.yield();
-        LOGGER.debugf("Redo count since %d != %d", responsePart.parts().size(), parts.size());
-        responsePart = s3Client.listParts(request);
+      final var builder =
+          CompleteMultipartUploadRequest.builder().uploadId(uploadId).bucket(object.bucket()).key(object.name())
+              .multipartUpload(c -> c.parts(completedParts));
+      if (DriverS3Properties.isConditionalWrite()) {
+        builder.overrideConfiguration(o -> o.putHeader(DriverS3Helper.IF_NONE_MATCH, "*"));
       }
-      final var partList = responsePart.parts();
-      checkResponseParts(partList);
-      LOGGER.debug("Part are all uploaded");
-      Thread.yield();
-      final var completeMultipartUploadRequest =
-          CompleteMultipartUploadRequest.builder().uploadId(uploadId).bucket(bucket).key(destinationKey)
-              .multipartUpload(c -> c.parts(parts)).build();
-      final var response = s3Client.completeMultipartUpload(completeMultipartUploadRequest);
+      final var response = s3Client.completeMultipartUpload(builder.build());
       if (!response.sdkHttpResponse().isSuccessful()) {
         throw new DriverException("Completing upload is invalid, code: " + response.sdkHttpResponse().statusCode());
       }
-      LOGGER.debugf("Multipart Upload complete with %d parts", parts.size());
-      parts.clear();
+      return response.eTag();
+    } catch (final NoSuchKeyException | NoSuchBucketException | NoSuchUploadException e) {
+      throw new DriverNotFoundException(e);
+    } catch (final S3Exception e) {
+      if (e.statusCode() == Response.Status.PRECONDITION_FAILED.getStatusCode() ||
+          e.statusCode() == Response.Status.CONFLICT.getStatusCode()) {
+        throw DriverS3Helper.fromConditionalWriteException(object, e);
+      }
+      throw new DriverException("Completing upload is invalid", e);
     } catch (final RuntimeException e) {
       throw new DriverException("Completing upload is invalid", e);
     }
   }
 
+  private void verifyParts() throws DriverException {
+    final var request =
+        ListPartsRequest.builder().bucket(bucket).key(destinationKey).uploadId(uploadId).maxParts(parts.size() + 1)
+            .build();
+    var responsePart = s3Client.listParts(request);
+    while (responsePart.parts().size() != parts.size()) {
+      Thread.yield();
+      LOGGER.debugf("Redo count since %d != %d", responsePart.parts().size(), parts.size());
+      responsePart = s3Client.listParts(request);
+    }
+    checkResponseParts(responsePart.parts());
+    LOGGER.debug("Part are all uploaded");
+    Thread.yield();
+  }
+
   private void checkResponseParts(final List<Part> partList) throws DriverException {
     for (final var part1 : parts) {
       var found = false;
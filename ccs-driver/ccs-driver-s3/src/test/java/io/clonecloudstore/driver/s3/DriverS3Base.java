@@ -22,6 +22,7 @@ import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
+import java.util.List;
 
 import io.clonecloudstore.common.quarkus.properties.QuarkusProperties;
 import io.clonecloudstore.common.quarkus.stream.ChunkInputStreamOptionalBuffer;
@@ -29,6 +30,7 @@ import io.clonecloudstore.common.standard.inputstream.DigestAlgo;
 import io.clonecloudstore.common.standard.inputstream.MultipleActionsInputStream;
 import io.clonecloudstore.common.standard.system.SystemTools;
 import io.clonecloudstore.driver.api.DriverApiFactory;
+import io.clonecloudstore.driver.api.DriverAsyncApi;
 import io.clonecloudstore.driver.api.StorageType;
 import io.clonecloudstore.driver.api.exception.DriverAlreadyExistException;
 import io.clonecloudstore.driver.api.exception.DriverException;
@@ -83,12 +85,17 @@ abstract class DriverS3Base {
       assertEquals(StorageType.NONE, driverApi.directoryOrObjectExistsInBucket(bucket, object1));
       assertThrows(DriverNotFoundException.class,
           () -> driverApi.objectPrepareCreateInBucket(storageObject, new FakeInputStream(len1)));
-      assertThrows(DriverException.class, () -> driverApi.objectFinalizeCreateInBucket(bucket, object1, len1, null));
+      try {
+        // Without verification, finalize does not read the Object back
+        DriverS3Properties.setDynamicVerifyUpload(true);
+        assertThrows(DriverException.class,
+            () -> driverApi.objectFinalizeCreateInBucket(bucket, object1, len1, null));
+      } finally {
+        DriverS3Properties.setDynamicVerifyUpload(false);
+      }
       assertThrows(DriverException.class, () -> driverApi.objectGetInputStreamInBucket(bucket, object1));
       assertThrows(DriverException.class,
-          () -> driverS3Helper.getObjectBodyInBucket(driverS3Helper.getClient(), bucket, object1, false));
-      assertThrows(DriverException.class,
-          () -> driverS3Helper.getObjectBodyInBucket(driverS3Helper.getClient(), bucket, object1, true));
+          () -> driverS3Helper.getObjectBodyInBucket(driverS3Helper.getClient(), bucket, object1));
       assertThrows(DriverException.class, () -> driverApi.objectDeleteInBucket(bucket, object1));
       assertThrows(DriverException.class, () -> driverApi.objectsStreamInBucket(bucket));
       assertThrows(DriverException.class, () -> driverApi.objectsStreamInBucket(bucket, prefix, null, null));
@@ -122,8 +129,8 @@ abstract class DriverS3Base {
     assertThrows(DriverException.class, () -> driverS3Helper.existObjectInBucket(null, null, null));
     assertThrows(DriverException.class, () -> driverS3Helper.existDirectoryOrObjectInBucket(null, null, null));
     assertThrows(DriverException.class, () -> driverS3Helper.createObjectInBucket(null, null, null));
-    assertThrows(DriverException.class, () -> driverS3Helper.waitUntilObjectExist(null, null, null, null));
-    assertThrows(DriverException.class, () -> driverS3Helper.getObjectBodyInBucket(null, null, null, false));
+    assertThrows(DriverException.class, () -> driverS3Helper.verifyObjectETag(null, null, null, null));
+    assertThrows(DriverException.class, () -> driverS3Helper.getObjectBodyInBucket(null, null, null));
     assertThrows(DriverException.class, () -> driverS3Helper.getObjectInBucket(null, null, null));
     assertThrows(DriverException.class, () -> driverS3Helper.objectCopyToAnother(null, null, null));
     assertThrows(DriverException.class, () -> driverS3Helper.deleteObjectInBucket(null, null, null));
@@ -176,9 +183,7 @@ abstract class DriverS3Base {
       }
       assertThrows(DriverException.class, () -> driverApi.objectGetInputStreamInBucket(bucket, object1));
       assertThrows(DriverNotFoundException.class,
-          () -> driverS3Helper.getObjectBodyInBucket(driverS3Helper.getClient(), bucket, object1, false));
-      assertThrows(DriverNotFoundException.class,
-          () -> driverS3Helper.getObjectBodyInBucket(driverS3Helper.getClient(), bucket, object1, true));
+          () -> driverS3Helper.getObjectBodyInBucket(driverS3Helper.getClient(), bucket, object1));
       assertThrows(DriverNotFoundException.class, () -> driverApi.objectDeleteInBucket(bucket, object1));
       assertThrows(DriverNotFoundException.class, () -> driverApi.objectGetMetadataInBucket(bucket, object1));
       try {
@@ -274,7 +279,8 @@ abstract class DriverS3Base {
         assertEquals(object1, storageObject1.name());
         assertNotNull(storageObject1.creationDate());
         assertEquals(length, storageObject1.size());
-        assertEquals(sha, storageObject1.hash());
+        // Sha given in prepare only: read back only if verification is active
+        assertEquals(sha, driverApi.objectGetMetadataInBucket(bucket, object1).hash());
       } catch (final DriverException e) {
         fail(e);
       }
@@ -553,9 +559,11 @@ abstract class DriverS3Base {
         assertEquals(object1, storageObject1.name());
         assertNotNull(storageObject1.creationDate());
         assertEquals(length, storageObject1.size());
-        assertEquals(sha, storageObject1.hash());
-        assertEquals(2, storageObject1.metadata().size());
-        assertEquals(map, storageObject1.metadata());
+        // Sha and metadata given in prepare only: read back only if verification is active
+        final var storedObject1 = driverApi.objectGetMetadataInBucket(bucket, object1);
+        assertEquals(sha, storedObject1.hash());
+        assertEquals(2, storedObject1.metadata().size());
+        assertEquals(map, storedObject1.metadata());
       } catch (final DriverException e) {
         fail(e);
       }
@@ -670,6 +678,21 @@ abstract class DriverS3Base {
     testDriverS3WithBucketAndObjectsSha(sha, lenBig);
   }
 
+  @Test
+  public void testDriverS3WithBucketAndObjectsShaVerified()
+      throws DriverException, NoSuchAlgorithmException, IOException {
+    final var digestInputStream = new MultipleActionsInputStream(new FakeInputStream(len1), DigestAlgo.SHA256);
+    FakeInputStream.consumeAll(digestInputStream);
+    final var sha = digestInputStream.getDigestBase32();
+    try {
+      // Size verified through one HEAD at finalize
+      DriverS3Properties.setDynamicVerifyUpload(true);
+      testDriverS3WithBucketAndObjectsSha(sha, len1);
+    } finally {
+      DriverS3Properties.setDynamicVerifyUpload(false);
+    }
+  }
+
   @Test
   public void testDriverS3WithBucketAndObjectsMultiParts() throws DriverException {
     final var old = DriverS3Properties.getMaxPartSize();
@@ -836,4 +859,75 @@ abstract class DriverS3Base {
       DriverS3Properties.setDynamicPartSizeForUnknownLength(oldUnknown);
     }
   }
+
+  @Test
+  void testDriverAsync() throws DriverException, IOException {
+    final var bucket = "test1";
+    final var prefix = "dir/";
+    final var object1 = prefix + "object1";
+    try (final var driverApi = driverApiFactory.getInstance()) {
+      final var async = driverApi.async();
+      assertFalse(DriverAsyncApi.await(async.bucketExists(bucket)));
+      // Not found mapping without Bucket
+      assertThrows(DriverNotFoundException.class, () -> DriverAsyncApi.await(
+          async.objectCreateInBucket(new StorageObject(bucket, object1, null, len1, null), new FakeInputStream(len1))));
+      assertThrows(DriverNotFoundException.class,
+          () -> DriverAsyncApi.await(async.objectGetMetadataInBucket(bucket, object1)));
+      assertThrows(DriverNotFoundException.class,
+          () -> DriverAsyncApi.await(async.objectDeleteInBucket(bucket, object1)));
+      try {
+        driverApi.bucketCreate(new StorageBucket(bucket, "client", null));
+      } catch (final DriverNotAcceptableException | DriverAlreadyExistException e) {
+        fail(e);
+      }
+      assertTrue(DriverAsyncApi.await(async.bucketExists(bucket)));
+      assertEquals(StorageType.NONE, DriverAsyncApi.await(async.directoryOrObjectExistsInBucket(bucket, object1)));
+      // Create, with hash and metadata, then not overwritten
+      final var metadata = new HashMap<String, String>();
+      metadata.put("key1", "value1");
+      final var storageObject = new StorageObject(bucket, object1, "sha", len1, null, null, metadata);
+      final var created = DriverAsyncApi.await(async.objectCreateInBucket(storageObject, new FakeInputStream(len1)));
+      assertEquals(bucket, created.bucket());
+      assertEquals(object1, created.name());
+      assertEquals(len1, created.size());
+      assertThrows(DriverAlreadyExistException.class,
+          () -> DriverAsyncApi.await(async.objectCreateInBucket(storageObject, new FakeInputStream(len1))));
+      for (var i = 2; i < 5; i++) {
+        final var other = new StorageObject(bucket, prefix + "object" + i, null, 10, null);
+        DriverAsyncApi.await(async.objectCreateInBucket(other, new FakeInputStream(10)));
+      }
+      assertEquals(StorageType.OBJECT, DriverAsyncApi.await(async.directoryOrObjectExistsInBucket(bucket, object1)));
+      assertEquals(StorageType.DIRECTORY, DriverAsyncApi.await(async.directoryOrObjectExistsInBucket(bucket, prefix)));
+      // Read
+      final var read = DriverAsyncApi.await(async.objectGetMetadataInBucket(bucket, object1));
+      assertEquals(len1, read.size());
+      assertEquals("sha", read.hash());
+      assertEquals("value1", read.metadata().get("key1"));
+      try (final var inputStream = DriverAsyncApi.await(async.objectGetInputStreamInBucket(bucket, object1))) {
+        assertEquals(len1, FakeInputStream.consumeAll(inputStream));
+      }
+      // Pages
+      var page = DriverAsyncApi.await(async.objectsPageInBucket(bucket, prefix, null, 2));
+      assertEquals(List.of(object1, prefix + "object2"), page.stream().map(StorageObject::name).toList());
+      page = DriverAsyncApi.await(async.objectsPageInBucket(bucket, prefix, page.getLast().name(), 2));
+      assertEquals(List.of(prefix + "object3", prefix + "object4"), page.stream().map(StorageObject::name).toList());
+      assertTrue(DriverAsyncApi.await(async.objectsPageInBucket(bucket, prefix, prefix + "object4", 2)).isEmpty());
+      // Delete, then not found as the blocking Driver
+      for (var i = 1; i < 5; i++) {
+        DriverAsyncApi.await(async.objectDeleteInBucket(bucket, prefix + "object" + i));
+      }
+      assertThrows(DriverNotFoundException.class,
+          () -> DriverAsyncApi.await(async.objectDeleteInBucket(bucket, object1)));
+      assertThrows(DriverNotFoundException.class,
+          () -> DriverAsyncApi.await(async.objectGetMetadataInBucket(bucket, object1)));
+      assertThrows(DriverNotFoundException.class,
+          () -> DriverAsyncApi.await(async.objectGetInputStreamInBucket(bucket, object1)));
+      assertEquals(StorageType.NONE, DriverAsyncApi.await(async.directoryOrObjectExistsInBucket(bucket, prefix)));
+      try {
+        driverApi.bucketDelete(bucket);
+      } catch (final DriverNotAcceptableException | DriverNotFoundException e) {
+        fail(e);
+      }
+    }
+  }
 }
@@ -150,7 +150,7 @@ class DriverS3Test {
 
     // Given
     Mockito.doThrow(NoSuchBucketException.class).when(driverS3Helper)
-        .getObjectBodyInBucket(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+        .getObjectBodyInBucket(Mockito.any(), Mockito.any(), Mockito.any());
     Mockito.doReturn(new S3ClientFake()).when(driverS3Helper).getClient();
 
     // Then Bucket not found
@@ -160,7 +160,7 @@ class DriverS3Test {
 
     // Given
     Mockito.doThrow(NoSuchKeyException.class).when(driverS3Helper)
-        .getObjectBodyInBucket(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyBoolean());
+        .getObjectBodyInBucket(Mockito.any(), Mockito.any(), Mockito.any());
     Mockito.doReturn(new S3ClientFake()).when(driverS3Helper).getClient();
 
     // Then Object not found
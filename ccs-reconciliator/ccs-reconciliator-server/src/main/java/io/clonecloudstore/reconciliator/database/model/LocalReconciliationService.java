@@ -22,6 +22,10 @@ import io.clonecloudstore.accessor.model.AccessorStatus;
 import io.clonecloudstore.common.database.utils.exception.CcsDbException;
 import io.clonecloudstore.common.standard.stream.ClosingIterator;
 
+/**
+ * Local reconciliation steps. Only a MongoDB implementation exists (aggregation pipelines); a PostgreSQL one
+ * would rely on the partitioned listing repositories (PgDaoNativeListingRepository, PgDaoSitesListingRepository).
+ */
 public interface LocalReconciliationService {
   List<String> STATUS_NAME_ORDERED =
       List.of(AccessorStatus.UNKNOWN.name(), AccessorStatus.UPLOAD.name(), AccessorStatus.READY.name(),
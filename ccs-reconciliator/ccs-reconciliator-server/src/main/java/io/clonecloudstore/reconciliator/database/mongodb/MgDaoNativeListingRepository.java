@@ -17,9 +17,11 @@
 package io.clonecloudstore.reconciliator.database.mongodb;
 
 import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
 import io.clonecloudstore.common.database.mongo.ExtendedPanacheMongoRepositoryBase;
+import io.clonecloudstore.common.database.mongo.MongoShardingHelper;
 import io.clonecloudstore.common.database.utils.exception.CcsDbException;
 import io.clonecloudstore.reconciliator.database.model.DaoNativeListing;
 import io.clonecloudstore.reconciliator.database.model.DaoNativeListingRepository;
@@ -37,6 +39,12 @@ import static io.clonecloudstore.common.database.utils.DbType.MONGO;
 public class MgDaoNativeListingRepository
     extends ExtendedPanacheMongoRepositoryBase<DaoNativeListing, MgDaoNativeListing>
     implements DaoNativeListingRepository {
+  private final MongoClient mongoClient;
+
+  public MgDaoNativeListingRepository(final MongoClient mongoClient) {
+    this.mongoClient = mongoClient;
+  }
+
   @Override
   public String getTable() {
     return TABLE_NAME;
@@ -56,6 +64,14 @@ public class MgDaoNativeListingRepository
     }
   }
 
+  /**
+   * Shard the collection on (requestId, bucket, name), the unique key, once the indexes are created; ignored if not
+   * connected to a sharded cluster
+   */
+  public void shardCollection() throws CcsDbException {
+    MongoShardingHelper.shardCollection(mongoClient, mongoCollection(), Indexes.ascending(REQUESTID, BUCKET, NAME));
+  }
+
   @Override
   public DaoNativeListing createEmptyItem() {
     return new MgDaoNativeListing();
@@ -20,9 +20,11 @@ import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicReference;
 
+import com.mongodb.client.MongoCollection;
 import io.clonecloudstore.common.database.utils.exception.CcsDbException;
 import io.clonecloudstore.common.standard.system.SystemTools;
 import io.clonecloudstore.reconciliator.database.model.DaoSitesListingRepository;
+import org.bson.Document;
 import org.jboss.logging.Logger;
 
 import static io.clonecloudstore.reconciliator.database.model.DaoNativeListingRepository.BUCKET;
@@ -108,6 +110,15 @@ public class MgDaoReconciliationUtils {
     // Empty
   }
 
+  /**
+   * @return the target of a $merge as database and collection, such that a pipeline whose source is in another
+   * database (Objects of a routed Bucket) writes into this collection
+   */
+  static Document getMergeTarget(final MongoCollection<?> collection) {
+    final var namespace = collection.getNamespace();
+    return new Document("db", namespace.getDatabaseName()).append("coll", namespace.getCollectionName());
+  }
+
   static void runInThread(final AtomicReference<CcsDbException> exceptionAtomicReference, final Runnable... runnables) {
     final CountDownLatch countDownLatch = new CountDownLatch(runnables.length);
     for (var runnable : runnables) {
@@ -17,9 +17,11 @@
 package io.clonecloudstore.reconciliator.database.mongodb;
 
 import com.mongodb.MongoException;
+import com.mongodb.client.MongoClient;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
 import io.clonecloudstore.common.database.mongo.ExtendedPanacheMongoRepositoryBase;
+import io.clonecloudstore.common.database.mongo.MongoShardingHelper;
 import io.clonecloudstore.common.database.utils.exception.CcsDbException;
 import io.clonecloudstore.reconciliator.database.model.DaoNativeListingRepository;
 import io.clonecloudstore.reconciliator.database.model.DaoSitesListing;
@@ -37,6 +39,12 @@ import static io.clonecloudstore.common.database.utils.DbType.MONGO;
 @ApplicationScoped
 public class MgDaoSitesListingRepository extends ExtendedPanacheMongoRepositoryBase<DaoSitesListing, MgDaoSitesListing>
     implements DaoSitesListingRepository {
+  private final MongoClient mongoClient;
+
+  public MgDaoSitesListingRepository(final MongoClient mongoClient) {
+    this.mongoClient = mongoClient;
+  }
+
   @Override
   public String getTable() {
     return TABLE_NAME;
@@ -55,6 +63,14 @@ public class MgDaoSitesListingRepository extends ExtendedPanacheMongoRepositoryB
     }
   }
 
+  /**
+   * Shard the collection on (requestId, bucket, name), the unique key, once the indexes are created; ignored if not
+   * connected to a sharded cluster
+   */
+  public void shardCollection() throws CcsDbException {
+    MongoShardingHelper.shardCollection(mongoClient, mongoCollection(), Indexes.ascending(REQUESTID, BUCKET, NAME));
+  }
+
   @Override
   public DaoSitesListing createEmptyItem() {
     return new MgDaoSitesListing();
@@ -74,6 +74,7 @@ import static io.clonecloudstore.reconciliator.database.mongodb.MgDaoReconciliat
 import static io.clonecloudstore.reconciliator.database.mongodb.MgDaoReconciliationUtils.MG_REPLACE;
 import static io.clonecloudstore.reconciliator.database.mongodb.MgDaoReconciliationUtils.MG_WHEN_MATCHED;
 import static io.clonecloudstore.reconciliator.database.mongodb.MgDaoReconciliationUtils.MG_WHEN_NOT_MATCHED;
+import static io.clonecloudstore.reconciliator.database.mongodb.MgDaoReconciliationUtils.getMergeTarget;
 
 @LookupIfProperty(name = CCS_DB_TYPE, stringValue = MONGO)
 @ApplicationScoped
@@ -153,11 +154,11 @@ public class MgInitializationService implements InitializationService {
     dto.setSite(ServiceProperties.getAccessorSite()).setExpires(expired).setStatus(AccessorStatus.READY)
         .setId(GuidLike.getGuid());
     try {
-      if (objectRepository.count(new DbQuery(RestQuery.CONJUNCTION.AND,
+      if (objectRepository.exists(new DbQuery(RestQuery.CONJUNCTION.AND,
           new DbQuery(RestQuery.QUERY.EQ, DaoAccessorObjectRepository.BUCKET, storageObject.bucket()),
           new DbQuery(RestQuery.QUERY.EQ, DaoAccessorObjectRepository.NAME, storageObject.name()),
-          new DbQuery(RestQuery.QUERY.EQ, DaoAccessorObjectRepository.SITE, ServiceProperties.getAccessorSite()))) >
-          0) {
+          new DbQuery(RestQuery.QUERY.EQ, DaoAccessorObjectRepository.SITE, ServiceProperties.getAccessorSite()))
+          .setProjection(DaoAccessorObjectRepository.NAME))) {
         // Already imported
         return;
       }
@@ -183,13 +184,12 @@ public class MgInitializationService implements InitializationService {
         requestRepository.createEmptyItem().setBucket(bucket).setFromSite(ServiceProperties.getAccessorSite())
             .setId(GuidLike.getGuid()).setClientId(clientId).setStart(Instant.now())
             .setContextSites(List.of(remoteSite)).setFilter(filter);
-    if (bucketRepository.count(
+    if (bucketRepository.exists(
         new DbQuery(RestQuery.CONJUNCTION.AND, new DbQuery(RestQuery.QUERY.EQ, DaoAccessorBucketRepository.ID, bucket),
-            new DbQuery(RestQuery.QUERY.EQ, DaoAccessorBucketRepository.SITE, ServiceProperties.getAccessorSite()))) >
-        0) {
+            new DbQuery(RestQuery.QUERY.EQ, DaoAccessorBucketRepository.SITE, ServiceProperties.getAccessorSite())))) {
       requestRepository.insert(request);
       try {
-        final DbQuery filterQuery = DbQueryAccessorHelper.getDbQuery(filter);
+        final DbQuery filterQuery = DbQueryAccessorHelper.getDbQuery(filter, objectRepository.isMetadataIndexed());
         final var filterFinal =
             new Document(DaoAccessorObjectRepository.SITE, ServiceProperties.getAccessorSite()).append(
                 DaoAccessorObjectRepository.BUCKET, bucket).append(STATUS, AccessorStatus.READY.name());
@@ -207,9 +207,10 @@ public class MgInitializationService implements InitializationService {
                 .append(DaoSitesActionRepository.NEED_ACTION_FROM, 1L).append(DaoSitesActionRepository.NEED_ACTION, 1L)
                 .append(DaoSitesActionRepository.SITES, 1L));
         final var mergeStep4 = new Document(MG_MERGE,
-            new Document(MG_INTO, DaoSitesActionRepository.TABLE_NAME).append(MG_ON, DEFAULT_PK)
+            new Document(MG_INTO, getMergeTarget(sitesActionRepository.mongoCollection())).append(MG_ON, DEFAULT_PK)
                 .append(MG_WHEN_MATCHED, MG_REPLACE).append(MG_WHEN_NOT_MATCHED, MG_INSERT));
-        objectRepository.mongoCollection().aggregate(List.of(matchStep1, addFieldsStep2, projectStep3, mergeStep4))
+        objectRepository.getBucketCollection(bucket)
+            .aggregate(List.of(matchStep1, addFieldsStep2, projectStep3, mergeStep4))
             .allowDiskUse(true).first();
         sitesActionRepository.flushAll();
         long actions = sitesActionRepository.count(new Document(REQUESTID, request.getId()));
@@ -110,6 +110,7 @@ import static io.clonecloudstore.reconciliator.database.mongodb.MgDaoReconciliat
 import static io.clonecloudstore.reconciliator.database.mongodb.MgDaoReconciliationUtils.MG_UNSET;
 import static io.clonecloudstore.reconciliator.database.mongodb.MgDaoReconciliationUtils.MG_WHEN_MATCHED;
 import static io.clonecloudstore.reconciliator.database.mongodb.MgDaoReconciliationUtils.MG_WHEN_NOT_MATCHED;
+import static io.clonecloudstore.reconciliator.database.mongodb.MgDaoReconciliationUtils.getMergeTarget;
 import static io.clonecloudstore.reconciliator.model.ReconciliationAction.DELETED_ACTION;
 import static io.clonecloudstore.reconciliator.model.ReconciliationAction.DELETE_ACTION;
 import static io.clonecloudstore.reconciliator.model.ReconciliationAction.READY_ACTION;
@@ -152,10 +153,15 @@ public class MgLocalReconciliationService implements LocalReconciliationService
     step1SubStep3CleanUpPreviousErrorUploadAndDeletedNativeListing(daoPreviousRequest);
   }
 
-  private void internalCleanUpObjects(final List<String> listId,
+  /**
+   * Ids of Objects of the Bucket, filtered on the Bucket too such that it is routed to the database of the Bucket
+   */
+  private void internalCleanUpObjects(final String bucket, final List<String> listId,
                                       final AtomicReference<CcsDbException> possibleDbException) {
     try {
-      var del = objectRepository.delete(new DbQuery(RestQuery.QUERY.IN, ID, listId));
+      var del = objectRepository.delete(
+          new DbQuery(RestQuery.CONJUNCTION.AND, new DbQuery(RestQuery.QUERY.EQ, BUCKET, bucket),
+              new DbQuery(RestQuery.QUERY.IN, ID, listId)));
       LOGGER.debugf("Deleted: %d", del);
     } catch (CcsDbException e) {
       LOGGER.warn(e);
@@ -199,20 +205,20 @@ public class MgLocalReconciliationService implements LocalReconciliationService
     final AtomicReference<CcsDbException> possibleDbException = new AtomicReference<>(null);
     final var listName = new ArrayList<String>(MongoBulkInsertHelper.MAX_BATCH);
     final var listId = new ArrayList<String>(MongoBulkInsertHelper.MAX_BATCH);
-    objectRepository.mongoCollection().aggregate(List.of(new Document(MG_MATCH,
+    objectRepository.getBucketCollection(daoPreviousRequest.getBucket()).aggregate(List.of(new Document(MG_MATCH,
         new Document(BUCKET, daoPreviousRequest.getBucket()).append(SITE, ServiceProperties.getAccessorSite())
             .append(STATUS, UNKNOWN.name())))).forEach(object -> {
       listName.add(object.getName());
       listId.add(object.getId());
       if (listId.size() >= MongoBulkInsertHelper.MAX_BATCH) {
-        internalCleanUpObjects(listId, possibleDbException);
+        internalCleanUpObjects(daoPreviousRequest.getBucket(), listId, possibleDbException);
       }
       if (listName.size() >= MongoBulkInsertHelper.MAX_BATCH) {
         internalCleanUpNativeListing(daoPreviousRequest, listName, possibleDbException);
       }
     });
     if (!listId.isEmpty()) {
-      internalCleanUpObjects(listId, possibleDbException);
+      internalCleanUpObjects(daoPreviousRequest.getBucket(), listId, possibleDbException);
     }
     if (!listName.isEmpty()) {
       internalCleanUpNativeListing(daoPreviousRequest, listName, possibleDbException);
@@ -221,8 +227,9 @@ public class MgLocalReconciliationService implements LocalReconciliationService
       throw possibleDbException.get();
     }
     // Update all RSTATUS using current STATUS
-    objectRepository.mongoCollection().updateMany(new Document(), List.of(new Document(MG_SET, new Document(RSTATUS,
-        new Document(MgDaoReconciliationUtils.MG_INDEX_OF_ARRAY, List.of(STATUS_NAME_ORDERED, "$" + STATUS))))));
+    objectRepository.getBucketCollection(daoPreviousRequest.getBucket()).updateMany(new Document(),
+        List.of(new Document(MG_SET, new Document(RSTATUS,
+            new Document(MgDaoReconciliationUtils.MG_INDEX_OF_ARRAY, List.of(STATUS_NAME_ORDERED, "$" + STATUS))))));
   }
 
   /**
@@ -236,7 +243,7 @@ public class MgLocalReconciliationService implements LocalReconciliationService
       var update = List.of(new Document(MG_SET, new Document(RSTATUS, new Document(MG_ARRAY_ELEM_AT, List.of(
           List.of(UNKNOWN_RANK, TO_UPDATE_RANK, READY_RANK, TO_UPDATE_RANK, DELETING_RANK, DELETED_RANK, DELETING_RANK),
           new Document(MG_INDEX_OF_ARRAY, List.of(STATUS_NAME_ORDERED, "$" + STATUS)))))));
-      objectRepository.mongoCollection().updateMany(filter, update);
+      objectRepository.getBucketCollection(daoPreviousRequest.getBucket()).updateMany(filter, update);
     } catch (final RuntimeException e) {
       LOGGER.error(e, e);
       throw new CcsDbException(e);
@@ -264,7 +271,7 @@ public class MgLocalReconciliationService implements LocalReconciliationService
     final var listName = new ArrayList<String>(MongoBulkInsertHelper.MAX_BATCH);
     // UNKNOWN, ERR_UPL, DELETED, ERR_DEL status on NATIVE only
     try {
-      objectRepository.mongoCollection().aggregate(List.of(new Document(MG_MATCH,
+      objectRepository.getBucketCollection(daoPreviousRequest.getBucket()).aggregate(List.of(new Document(MG_MATCH,
               new Document(BUCKET, daoPreviousRequest.getBucket()).append(SITE, ServiceProperties.getAccessorSite())
                   .append(STATUS, new Document(MG_IN,
                       List.of(UNKNOWN.name(), UPLOAD.name(), ERR_UPL.name(), DELETED.name(), ERR_DEL.name()))))))
@@ -340,7 +347,8 @@ public class MgLocalReconciliationService implements LocalReconciliationService
   @Override
   public void step3SaveNativeListingDb(final DaoRequest daoRequest) throws CcsDbException {
     // Insert into NativeListing select from AccessorObject according to filter from DB
-    final DbQuery filterQuery = DbQueryAccessorHelper.getDbQuery(daoRequest.getFilter());
+    final DbQuery filterQuery =
+        DbQueryAccessorHelper.getDbQuery(daoRequest.getFilter(), objectRepository.isMetadataIndexed());
     final var filter = new Document(DaoAccessorObjectRepository.SITE, ServiceProperties.getAccessorSite()).append(
         DaoAccessorObjectRepository.BUCKET, daoRequest.getBucket());
     if (filterQuery != null && !filter.isEmpty()) {
@@ -353,7 +361,8 @@ public class MgLocalReconciliationService implements LocalReconciliationService
     final var projectStep3 = new Document(MG_PROJECT,
         new Document(ID, 1L).append(BUCKET, 1L).append(NAME, 1L).append(DB, 1L).append(REQUESTID, 1L));
     // Special attention on adding to existing Driver if deleted => no driver
-    final var mergeStep4 = new Document(MG_MERGE, new Document(MG_INTO, TABLE_NAME).append(MG_ON, DEFAULT_PK)
+    final var mergeStep4 = new Document(MG_MERGE,
+        new Document(MG_INTO, getMergeTarget(nativeListingRepository.mongoCollection())).append(MG_ON, DEFAULT_PK)
         .append(MG_WHEN_MATCHED, List.of(new Document(MG_ADD_FIELDS,
             new Document(DB, MgDaoReconciliationUtils.MG_NEW + DB).append(DRIVER, new Document(MG_COND, List.of(
                 new Document(MG_IN, List.of(MgDaoReconciliationUtils.MG_NEW + MgDaoReconciliationUtils.DB_NSTATUS,
@@ -361,7 +370,8 @@ public class MgLocalReconciliationService implements LocalReconciliationService
         .append(MG_WHEN_NOT_MATCHED, MG_INSERT));
 
     try {
-      objectRepository.mongoCollection().aggregate(List.of(matchStep1, addFieldsStep2, projectStep3, mergeStep4))
+      objectRepository.getBucketCollection(daoRequest.getBucket())
+          .aggregate(List.of(matchStep1, addFieldsStep2, projectStep3, mergeStep4))
           .allowDiskUse(true).first();
       final long countDb = nativeListingRepository.count(
           new DbQuery(RestQuery.CONJUNCTION.AND, new DbQuery(RestQuery.QUERY.EQ, REQUESTID, daoRequest.getId()),
@@ -587,8 +597,8 @@ public class MgLocalReconciliationService implements LocalReconciliationService
       final var unsetStep3 = getUnsetDriverDbRequestId();
       // Only if not exists in Objects table
       final var mergeStep4 = new Document(MG_MERGE,
-          new Document(MG_INTO, DaoAccessorObjectRepository.TABLE_NAME).append(MG_ON, List.of(SITE, BUCKET, NAME))
-              .append(MG_WHEN_MATCHED, MgDaoReconciliationUtils.MG_KEEP_EXISTING)
+          new Document(MG_INTO, getMergeTarget(objectRepository.getBucketCollection(daoRequest.getBucket()))).append(
+                  MG_ON, List.of(SITE, BUCKET, NAME)).append(MG_WHEN_MATCHED, MgDaoReconciliationUtils.MG_KEEP_EXISTING)
               .append(MG_WHEN_NOT_MATCHED, MG_INSERT));
       nativeListingRepository.mongoCollection().aggregate(List.of(matchStep1, addFieldsStep2, unsetStep3, mergeStep4))
           .allowDiskUse(true).first();
@@ -693,7 +703,7 @@ public class MgLocalReconciliationService implements LocalReconciliationService
   public void step53UpdateWhereNoDriverIntoObjects(final DaoRequest daoRequest,
                                                    final AtomicReference<CcsDbException> exceptionAtomicReference) {
     // Only if exists in Objects table
-    final var mergeStep4 = getMergeIntoObjectsMergeOrDiscard();
+    final var mergeStep4 = getMergeIntoObjectsMergeOrDiscard(daoRequest.getBucket());
     MgDaoReconciliationUtils.runInThread(exceptionAtomicReference, () -> {
       try {
         // Sub Step 1: Fix Object UPLOAD, Update SiteListing in subStep 2
@@ -737,9 +747,10 @@ public class MgLocalReconciliationService implements LocalReconciliationService
     });
   }
 
-  private static Document getMergeIntoObjectsMergeOrDiscard() {
+  private Document getMergeIntoObjectsMergeOrDiscard(final String bucket) {
     return new Document(MG_MERGE,
-        new Document(MG_INTO, DaoAccessorObjectRepository.TABLE_NAME).append(MG_ON, List.of(SITE, BUCKET, NAME))
+        new Document(MG_INTO, getMergeTarget(objectRepository.getBucketCollection(bucket))).append(MG_ON,
+                List.of(SITE, BUCKET, NAME))
             .append(MG_WHEN_MATCHED, MgDaoReconciliationUtils.MG_MERGE_MATCHED)
             .append(MG_WHEN_NOT_MATCHED, MgDaoReconciliationUtils.MG_DISCARD));
   }
@@ -786,7 +797,7 @@ public class MgLocalReconciliationService implements LocalReconciliationService
                 .append(SITE, "$" + DB_SITE));
         final var unsetStep3 = getUnsetDriverDbRequestId();
         // Only if exists in Objects table
-        final var mergeStep4 = getMergeIntoObjectsMergeOrDiscard();
+        final var mergeStep4 = getMergeIntoObjectsMergeOrDiscard(daoRequest.getBucket());
         nativeListingRepository.mongoCollection().aggregate(List.of(matchStep1, addFieldsStep2, unsetStep3, mergeStep4))
             .allowDiskUse(true).first();
       } catch (final RuntimeException e) {
@@ -802,7 +813,7 @@ public class MgLocalReconciliationService implements LocalReconciliationService
                 .append(SITE, "$" + DB_SITE));
         final var unsetStep3 = getUnsetDriverDbRequestId();
         // Only if exists in Objects table
-        final var mergeStep4 = getMergeIntoObjectsMergeOrDiscard();
+        final var mergeStep4 = getMergeIntoObjectsMergeOrDiscard(daoRequest.getBucket());
         nativeListingRepository.mongoCollection().aggregate(List.of(matchStep1, addFieldsStep2, unsetStep3, mergeStep4))
             .allowDiskUse(true).first();
       } catch (final RuntimeException e) {
@@ -148,20 +148,25 @@ public class MgPurgeService implements PurgeService {
                                            final AtomicReference<CcsDbException> possibleDbException,
                                            final List<String> validBuckets)
       throws CcsDbException, InterruptedException {
-    try (final var iterator = objectRepository.findIterator(
-        new DbQuery(RestQuery.CONJUNCTION.AND, new DbQuery(RestQuery.QUERY.EQ, STATUS, DELETED.name()),
-            new DbQuery(RestQuery.QUERY.LTE, DaoAccessorObjectRepository.EXPIRES, Instant.now()),
-            new DbQuery(RestQuery.QUERY.IN, BUCKET, validBuckets)))) {
-      final var listObject = new ArrayList<DaoAccessorObject>(MongoBulkInsertHelper.MAX_BATCH);
-      long cpt = 0;
-      while (iterator.hasNext()) {
-        final var object = iterator.next();
-        listObject.add(object);
-        if (listObject.size() >= MongoBulkInsertHelper.MAX_BATCH) {
-          blockingQueue.put(new ArrayList<>(listObject));
-          listObject.clear();
+    final var listObject = new ArrayList<DaoAccessorObject>(MongoBulkInsertHelper.MAX_BATCH);
+    long cpt = 0;
+    try {
+      // One query per Bucket such that each is routed to the database of the Bucket
+      for (final var bucket : validBuckets) {
+        try (final var iterator = objectRepository.findIterator(
+            new DbQuery(RestQuery.CONJUNCTION.AND, new DbQuery(RestQuery.QUERY.EQ, BUCKET, bucket),
+                new DbQuery(RestQuery.QUERY.EQ, STATUS, DELETED.name()),
+                new DbQuery(RestQuery.QUERY.LTE, DaoAccessorObjectRepository.EXPIRES, Instant.now())))) {
+          while (iterator.hasNext()) {
+            final var object = iterator.next();
+            listObject.add(object);
+            if (listObject.size() >= MongoBulkInsertHelper.MAX_BATCH) {
+              blockingQueue.put(new ArrayList<>(listObject));
+              listObject.clear();
+            }
+            cpt++;
+          }
         }
-        cpt++;
       }
       if (!listObject.isEmpty()) {
         blockingQueue.put(new ArrayList<>(listObject));
@@ -228,7 +233,7 @@ public class MgPurgeService implements PurgeService {
         if (status < 0) {
           continue;
         }
-        objectRepository.delete(DbQuery.idEquals(expire.getId()));
+        objectRepository.delete(getObjectQuery(expire));
         cpt++;
         if (ReconciliatorProperties.isReconciliatorPurgeLog()) {
           LOGGER.infof("Purge Deleted item: %s %s", expire.getBucket(), expire.getName());
@@ -246,6 +251,14 @@ public class MgPurgeService implements PurgeService {
     }
   }
 
+  /**
+   * @return the query on the id of this Object, with its Bucket such that it is routed to the database of the Bucket
+   */
+  private static DbQuery getObjectQuery(final DaoAccessorObject object) {
+    return new DbQuery(RestQuery.CONJUNCTION.AND, new DbQuery(RestQuery.QUERY.EQ, BUCKET, object.getBucket()),
+        DbQuery.idEquals(object.getId()));
+  }
+
   private int driverPurgeIfAny(final DriverApi driver, final DaoAccessorObject expire,
                                final AtomicReference<CcsDbException> possibleDbException) {
     try {
@@ -270,23 +283,28 @@ public class MgPurgeService implements PurgeService {
   private void findAllExpiredReadyObject(final BlockingQueue<List<DaoAccessorObject>> blockingQueue,
                                          final AtomicReference<CcsDbException> possibleDbException,
                                          final List<String> validBuckets) throws CcsDbException, InterruptedException {
-    try (final var iterator = objectRepository.findIterator(
-        new DbQuery(RestQuery.CONJUNCTION.AND, new DbQuery(RestQuery.QUERY.EQ, STATUS, READY.name()),
-            new DbQuery(RestQuery.QUERY.LTE, DaoAccessorObjectRepository.EXPIRES, Instant.now()),
-            new DbQuery(RestQuery.QUERY.IN, BUCKET, validBuckets)))) {
-      final var listObject = new ArrayList<DaoAccessorObject>(MongoBulkInsertHelper.MAX_BATCH);
-      long cpt = 0;
-      while (iterator.hasNext()) {
-        final var object = iterator.next();
-        listObject.add(object);
-        if (listObject.size() >= MongoBulkInsertHelper.MAX_BATCH) {
-          blockingQueue.put(new ArrayList<>(listObject));
-          listObject.clear();
-        }
-        if (possibleDbException.get() != null) {
-          throw possibleDbException.get();
+    final var listObject = new ArrayList<DaoAccessorObject>(MongoBulkInsertHelper.MAX_BATCH);
+    long cpt = 0;
+    try {
+      // One query per Bucket such that each is routed to the database of the Bucket
+      for (final var bucket : validBuckets) {
+        try (final var iterator = objectRepository.findIterator(
+            new DbQuery(RestQuery.CONJUNCTION.AND, new DbQuery(RestQuery.QUERY.EQ, BUCKET, bucket),
+                new DbQuery(RestQuery.QUERY.EQ, STATUS, READY.name()),
+                new DbQuery(RestQuery.QUERY.LTE, DaoAccessorObjectRepository.EXPIRES, Instant.now())))) {
+          while (iterator.hasNext()) {
+            final var object = iterator.next();
+            listObject.add(object);
+            if (listObject.size() >= MongoBulkInsertHelper.MAX_BATCH) {
+              blockingQueue.put(new ArrayList<>(listObject));
+              listObject.clear();
+            }
+            if (possibleDbException.get() != null) {
+              throw possibleDbException.get();
+            }
+            cpt++;
+          }
         }
-        cpt++;
       }
       if (!listObject.isEmpty()) {
         blockingQueue.put(new ArrayList<>(listObject));
@@ -404,7 +422,7 @@ public class MgPurgeService implements PurgeService {
     if (futureExpireAddSeconds > 0) {
       update.set(EXPIRES, Instant.now().plusSeconds(futureExpireAddSeconds));
     }
-    objectRepository.update(DbQuery.idEquals(expire.getId()), update);
+    objectRepository.update(getObjectQuery(expire), update);
     // Signal Proactive delete order
     try {
       //Send use replicator service to send delete order.
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.reconciliator.database.postgre;
+
+import io.clonecloudstore.reconciliator.database.model.DaoNativeListing;
+import io.clonecloudstore.reconciliator.model.SingleSiteObject;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import static io.clonecloudstore.common.database.postgre.PostgreSqlHelper.JSON_TYPE;
+import static io.clonecloudstore.common.database.utils.RepositoryBaseInterface.ID_PG;
+import static io.clonecloudstore.common.standard.guid.GuidLike.UUID_B32_SIZE;
+import static io.clonecloudstore.reconciliator.database.model.DaoNativeListingRepository.DB;
+import static io.clonecloudstore.reconciliator.database.model.DaoNativeListingRepository.DRIVER;
+import static io.clonecloudstore.reconciliator.database.model.DaoNativeListingRepository.TABLE_NAME;
+
+/**
+ * PostgreSQL DAO for Native (local) listing (table partitioned by the repository)
+ */
+@Entity
+@Table(name = TABLE_NAME)
+public class PgDaoNativeListing extends DaoNativeListing {
+  @Id
+  @Column(name = ID_PG, nullable = false, length = UUID_B32_SIZE)
+  private String id;
+  @Column(name = DB, columnDefinition = JSON_TYPE)
+  @JdbcTypeCode(SqlTypes.JSON)
+  private SingleSiteObject db;
+  @Column(name = DRIVER, columnDefinition = JSON_TYPE)
+  @JdbcTypeCode(SqlTypes.JSON)
+  private SingleSiteObject driver;
+
+  public PgDaoNativeListing() {
+    // Empty
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public PgDaoNativeListing setId(final String id) {
+    this.id = id;
+    return this;
+  }
+
+  @Override
+  public SingleSiteObject getDb() {
+    return db;
+  }
+
+  @Override
+  public PgDaoNativeListing setDb(final SingleSiteObject db) {
+    this.db = db;
+    return this;
+  }
+
+  @Override
+  public SingleSiteObject getDriver() {
+    return driver;
+  }
+
+  @Override
+  public PgDaoNativeListing setDriver(final SingleSiteObject driver) {
+    this.driver = driver;
+    return this;
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.reconciliator.database.postgre;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.clonecloudstore.common.database.postgre.ExtendedPanacheRepositoryBase;
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import io.clonecloudstore.reconciliator.database.model.DaoNativeListing;
+import io.clonecloudstore.reconciliator.database.model.DaoNativeListingRepository;
+import io.quarkus.arc.lookup.LookupIfProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+import static io.clonecloudstore.common.database.postgre.PostgreSqlHelper.JSON_TYPE;
+import static io.clonecloudstore.common.database.utils.DbType.CCS_DB_TYPE;
+import static io.clonecloudstore.common.database.utils.DbType.POSTGRE;
+
+/**
+ * PostgreSQL DAO Native Listing Repository: table partitioned by hash of the Bucket, bulk inserts loaded through
+ * COPY
+ */
+@LookupIfProperty(name = CCS_DB_TYPE, stringValue = POSTGRE)
+@ApplicationScoped
+@Transactional
+public class PgDaoNativeListingRepository
+    extends ExtendedPanacheRepositoryBase<DaoNativeListing, PgDaoNativeListing>
+    implements DaoNativeListingRepository {
+  private static final List<String> COLUMNS = List.of(ID_PG, REQUESTID, BUCKET, NAME, DB, DRIVER);
+  private static final String DB_SITE = "(" + DB + " ->> '" + SITE + "')";
+  private static final String DRIVER_SITE = "(" + DRIVER + " ->> '" + SITE + "')";
+
+  public PgDaoNativeListingRepository() {
+    super(new PgDaoNativeListing());
+  }
+
+  @Override
+  public String getTable() {
+    return TABLE_NAME;
+  }
+
+  @Override
+  public DaoNativeListing createEmptyItem() {
+    return new PgDaoNativeListing();
+  }
+
+  /**
+   * Create the partitioned table and its indexes (not expressible through JPA), as for MongoDB
+   */
+  public void createIndex() throws CcsDbException {
+    PgDaoReconciliationUtils.createPartitionedTable(getEntityManager(), TABLE_NAME,
+        PgDaoReconciliationUtils.COMMON_COLUMNS + ", " + DB + " " + JSON_TYPE + ", " + DRIVER + " " + JSON_TYPE);
+    try {
+      PgDaoReconciliationUtils.createIndex(getEntityManager(), TABLE_NAME, "_site_filter_idx", false,
+          BUCKET + ", " + NAME + ", " + DB_SITE);
+      PgDaoReconciliationUtils.createIndex(getEntityManager(), TABLE_NAME, "_db_driver_filter_idx", false,
+          REQUESTID + ", " + BUCKET + ", " + DB_SITE + ", " + DRIVER_SITE);
+    } catch (final RuntimeException e) {
+      throw new CcsDbException("Cannot Create Index", e);
+    }
+  }
+
+  @Override
+  protected boolean copyInsert(final List<PgDaoNativeListing> entities) {
+    final var rows = new ArrayList<String[]>(entities.size());
+    for (final var listing : entities) {
+      rows.add(new String[]{listing.getId(), listing.getRequestId(), listing.getBucket(), listing.getName(),
+          PgDaoReconciliationUtils.toJson(listing.getDb()), PgDaoReconciliationUtils.toJson(listing.getDriver())});
+    }
+    PgDaoReconciliationUtils.copyIn(getEntityManager(), TABLE_NAME, COLUMNS, rows);
+    return true;
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.reconciliator.database.postgre;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import io.clonecloudstore.common.quarkus.properties.JsonUtil;
+import io.clonecloudstore.common.quarkus.properties.QuarkusSystemPropertyUtil;
+import io.clonecloudstore.common.standard.exception.CcsInvalidArgumentRuntimeException;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+import org.postgresql.PGConnection;
+
+import static io.clonecloudstore.common.database.utils.RepositoryBaseInterface.ID_PG;
+import static io.clonecloudstore.common.standard.guid.GuidLike.UUID_B32_SIZE;
+import static io.clonecloudstore.common.standard.system.ParametersChecker.BUCKET_LENGTH;
+import static io.clonecloudstore.common.standard.system.ParametersChecker.OBJECT_LENGTH;
+import static io.clonecloudstore.reconciliator.database.model.DaoNativeListingRepository.BUCKET;
+import static io.clonecloudstore.reconciliator.database.model.DaoNativeListingRepository.NAME;
+import static io.clonecloudstore.reconciliator.database.model.DaoNativeListingRepository.REQUESTID;
+
+/**
+ * PostgreSQL helpers for the listing tables: partitioned by hash of the Bucket, such that the statements of a
+ * reconciliation, always on one Bucket, are pruned to one partition, and bulk loaded through COPY
+ */
+public final class PgDaoReconciliationUtils {
+  private static final Logger LOGGER = Logger.getLogger(PgDaoReconciliationUtils.class);
+  public static final String CCS_DB_POSTGRE_LISTING_PARTITIONS = "ccs.db.postgre.listing_partitions";
+  public static final int DEFAULT_LISTING_PARTITIONS = 16;
+  private static final int LISTING_PARTITIONS = Math.max(1,
+      QuarkusSystemPropertyUtil.getIntegerConfig(CCS_DB_POSTGRE_LISTING_PARTITIONS, DEFAULT_LISTING_PARTITIONS));
+  /**
+   * Columns common to all listing tables
+   */
+  static final String COMMON_COLUMNS =
+      ID_PG + " varchar(" + UUID_B32_SIZE + ") NOT NULL, " + REQUESTID + " varchar(" + UUID_B32_SIZE +
+          ") NOT NULL, " + BUCKET + " varchar(" + BUCKET_LENGTH + ") NOT NULL, " + NAME + " varchar(" +
+          OBJECT_LENGTH + ") NOT NULL";
+
+  private PgDaoReconciliationUtils() {
+    // Empty
+  }
+
+  /**
+   * @return the number of partitions of the listing tables, fixed at their creation (from
+   * ccs.db.postgre.listing_partitions, default 16)
+   */
+  public static int getListingPartitions() {
+    return LISTING_PARTITIONS;
+  }
+
+  /**
+   * Create the table, partitioned by hash of the Bucket, with its partitions and the unique index (requestId,
+   * bucket, name). A table previously created not partitioned (as through Hibernate schema generation) is replaced
+   * if empty, else kept as is.
+   *
+   * @param columns the definition of the columns, the Bucket and the id being part of the primary key
+   */
+  static void createPartitionedTable(final EntityManager entityManager, final String table, final String columns)
+      throws CcsDbException {
+    try {
+      if (isTrue(entityManager, "SELECT to_regclass('" + table + "') IS NOT NULL")) {
+        if (isTrue(entityManager,
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('" + table + "'))")) {
+          return;
+        }
+        if (isTrue(entityManager, "SELECT EXISTS (SELECT 1 FROM " + table + ")")) {
+          LOGGER.warnf("Table %s is not partitioned but not empty: kept as is", table);
+          return;
+        }
+        entityManager.createNativeQuery("DROP TABLE " + table).executeUpdate();
+      }
+      entityManager.createNativeQuery(
+          "CREATE TABLE " + table + " (" + columns + ", PRIMARY KEY (" + BUCKET + ", " + ID_PG +
+              ")) PARTITION BY HASH (" + BUCKET + ")").executeUpdate();
+      for (var i = 0; i < LISTING_PARTITIONS; i++) {
+        entityManager.createNativeQuery(
+            "CREATE TABLE " + table + "_p" + i + " PARTITION OF " + table + " FOR VALUES WITH (MODULUS " +
+                LISTING_PARTITIONS + ", REMAINDER " + i + ")").executeUpdate();
+      }
+      createIndex(entityManager, table, "_unique_filter_idx", true, REQUESTID + ", " + BUCKET + ", " + NAME);
+      // Accesses by the id only (as updates of entities)
+      createIndex(entityManager, table, "_id_idx", false, ID_PG);
+      LOGGER.infof("Table %s created with %d partitions", table, LISTING_PARTITIONS);
+    } catch (final RuntimeException e) {
+      throw new CcsDbException("Cannot create table " + table, e);
+    }
+  }
+
+  private static boolean isTrue(final EntityManager entityManager, final String sql) {
+    return Boolean.TRUE.equals(entityManager.createNativeQuery(sql, Boolean.class).getSingleResult());
+  }
+
+  /**
+   * Create the index (on the partitioned table, so on each partition) if not existing
+   */
+  static void createIndex(final EntityManager entityManager, final String table, final String suffix,
+                          final boolean unique, final String definition) {
+    entityManager.createNativeQuery(
+        "CREATE " + (unique ? "UNIQUE " : "") + "INDEX IF NOT EXISTS " + table + suffix + " ON " + table + " " +
+            (definition.startsWith("USING ") ? definition : "(" + definition + ")")).executeUpdate();
+  }
+
+  /**
+   * @return the Json form of the value, or null
+   */
+  static String toJson(final Object value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return JsonUtil.getInstance().writeValueAsString(value);
+    } catch (final JsonProcessingException e) {
+      throw new CcsInvalidArgumentRuntimeException(e.getMessage());
+    }
+  }
+
+  /**
+   * Load the rows through COPY (CSV format, every value being quoted, null ones left empty) within the current
+   * transaction
+   *
+   * @param rows the rows, each in the order of the columns
+   * @return the number of rows loaded
+   */
+  static long copyIn(final EntityManager entityManager, final String table, final List<String> columns,
+                     final List<String[]> rows) {
+    final var csv = new StringBuilder();
+    for (final var row : rows) {
+      for (var i = 0; i < row.length; i++) {
+        if (i > 0) {
+          csv.append(',');
+        }
+        if (row[i] != null) {
+          csv.append('"').append(row[i].replace("\"", "\"\"")).append('"');
+        }
+      }
+      csv.append('\n');
+    }
+    final var sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+    return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+      try {
+        return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, new StringReader(csv.toString()));
+      } catch (final IOException e) {
+        throw new SQLException(e);
+      }
+    });
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.reconciliator.database.postgre;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.clonecloudstore.reconciliator.database.model.DaoSitesListing;
+import io.clonecloudstore.reconciliator.model.ReconciliationSitesListing;
+import io.clonecloudstore.reconciliator.model.SingleSiteObject;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import static io.clonecloudstore.common.database.postgre.PostgreSqlHelper.JSON_TYPE;
+import static io.clonecloudstore.common.database.utils.RepositoryBaseInterface.ID_PG;
+import static io.clonecloudstore.common.standard.guid.GuidLike.UUID_B32_SIZE;
+import static io.clonecloudstore.reconciliator.database.model.DaoSitesListingRepository.LOCAL;
+import static io.clonecloudstore.reconciliator.database.model.DaoSitesListingRepository.TABLE_NAME;
+
+/**
+ * PostgreSQL DAO for Sites listing (table partitioned by the repository)
+ */
+@Entity
+@Table(name = TABLE_NAME)
+public class PgDaoSitesListing extends DaoSitesListing {
+  @Id
+  @Column(name = ID_PG, nullable = false, length = UUID_B32_SIZE)
+  private String id;
+  @Column(name = LOCAL, columnDefinition = JSON_TYPE)
+  @JdbcTypeCode(SqlTypes.JSON)
+  private List<SingleSiteObject> local = new ArrayList<>();
+
+  public PgDaoSitesListing() {
+    // Empty
+  }
+
+  public PgDaoSitesListing(final ReconciliationSitesListing dto) {
+    fromDto(dto);
+  }
+
+  @Transient
+  @JsonIgnore
+  @Override
+  public PgDaoSitesListing fromDto(final ReconciliationSitesListing dto) {
+    return (PgDaoSitesListing) super.fromDto(dto);
+  }
+
+  @Transient
+  @JsonIgnore
+  @Override
+  public ReconciliationSitesListing getDto() {
+    return super.getDto();
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public PgDaoSitesListing setId(final String id) {
+    this.id = id;
+    return this;
+  }
+
+  @Override
+  public List<SingleSiteObject> getLocal() {
+    return local;
+  }
+
+  @Override
+  public PgDaoSitesListing setLocal(final List<SingleSiteObject> local) {
+    this.local = local;
+    return this;
+  }
+}
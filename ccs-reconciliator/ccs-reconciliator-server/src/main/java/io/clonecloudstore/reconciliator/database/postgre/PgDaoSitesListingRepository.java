@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.reconciliator.database.postgre;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.clonecloudstore.common.database.postgre.ExtendedPanacheRepositoryBase;
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import io.clonecloudstore.reconciliator.database.model.DaoSitesListing;
+import io.clonecloudstore.reconciliator.database.model.DaoSitesListingRepository;
+import io.quarkus.arc.lookup.LookupIfProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+import static io.clonecloudstore.common.database.postgre.PostgreSqlHelper.JSON_TYPE;
+import static io.clonecloudstore.common.database.utils.DbType.CCS_DB_TYPE;
+import static io.clonecloudstore.common.database.utils.DbType.POSTGRE;
+
+/**
+ * PostgreSQL DAO Sites Listing Repository: table partitioned by hash of the Bucket, bulk inserts loaded through
+ * COPY
+ */
+@LookupIfProperty(name = CCS_DB_TYPE, stringValue = POSTGRE)
+@ApplicationScoped
+@Transactional
+public class PgDaoSitesListingRepository extends ExtendedPanacheRepositoryBase<DaoSitesListing, PgDaoSitesListing>
+    implements DaoSitesListingRepository {
+  private static final List<String> COLUMNS = List.of(ID_PG, REQUESTID, BUCKET, NAME, LOCAL);
+
+  public PgDaoSitesListingRepository() {
+    super(new PgDaoSitesListing());
+  }
+
+  @Override
+  public String getTable() {
+    return TABLE_NAME;
+  }
+
+  @Override
+  public DaoSitesListing createEmptyItem() {
+    return new PgDaoSitesListing();
+  }
+
+  /**
+   * Create the partitioned table and its indexes (not expressible through JPA), the local statuses being filtered
+   * through a GIN index on the Jsonb array
+   */
+  public void createIndex() throws CcsDbException {
+    PgDaoReconciliationUtils.createPartitionedTable(getEntityManager(), TABLE_NAME,
+        PgDaoReconciliationUtils.COMMON_COLUMNS + ", " + LOCAL + " " + JSON_TYPE);
+    try {
+      PgDaoReconciliationUtils.createIndex(getEntityManager(), TABLE_NAME, "_local_filter_idx", false,
+          "USING GIN (" + LOCAL + " jsonb_path_ops)");
+    } catch (final RuntimeException e) {
+      throw new CcsDbException("Cannot Create Index", e);
+    }
+  }
+
+  @Override
+  protected boolean copyInsert(final List<PgDaoSitesListing> entities) {
+    final var rows = new ArrayList<String[]>(entities.size());
+    for (final var listing : entities) {
+      rows.add(new String[]{listing.getId(), listing.getRequestId(), listing.getBucket(), listing.getName(),
+          PgDaoReconciliationUtils.toJson(listing.getLocal())});
+    }
+    PgDaoReconciliationUtils.copyIn(getEntityManager(), TABLE_NAME, COLUMNS, rows);
+    return true;
+  }
+}
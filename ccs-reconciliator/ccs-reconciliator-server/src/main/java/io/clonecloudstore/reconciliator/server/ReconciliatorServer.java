@@ -16,6 +16,7 @@
 
 package io.clonecloudstore.reconciliator.server;
 
+import io.clonecloudstore.common.database.utils.DbType;
 import io.clonecloudstore.common.quarkus.modules.ReconciliatorProperties;
 import io.clonecloudstore.common.quarkus.properties.QuarkusProperties;
 import io.clonecloudstore.common.standard.properties.Module;
@@ -31,5 +32,19 @@ public class ReconciliatorServer {
   ReconciliatorServer() {
     QuarkusProperties.setCcsModule(Module.RECONCILIATOR);
     LOGGER.infof("Configuration: {%s}", ReconciliatorProperties.confugrationToString());
+    checkDbType();
+  }
+
+  /**
+   * Reconciliation services (requests, actions and aggregations) only exist for MongoDB, PostgreSQL only having
+   * the listing repositories: fail fast rather than run with no service implementation when PostgreSQL is configured.
+   */
+  static void checkDbType() {
+    if (!DbType.getInstance().isMongoDbType()) {
+      final var message = "Reconciliator database only supports MongoDB while " + DbType.CCS_DB_TYPE + " is " +
+          DbType.POSTGRE + : Reconciliation services are MongoDB only";
+      LOGGER.error(message);
+      throw new IllegalStateException(message);
+    }
   }
 }
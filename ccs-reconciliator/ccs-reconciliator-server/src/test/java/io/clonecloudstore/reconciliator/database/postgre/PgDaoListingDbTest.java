@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.reconciliator.database.postgre;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import io.clonecloudstore.common.database.postgre.ExtendedPanacheRepositoryBase;
+import io.clonecloudstore.common.database.utils.DbQuery;
+import io.clonecloudstore.common.database.utils.DbType;
+import io.clonecloudstore.common.database.utils.RestQuery;
+import io.clonecloudstore.common.database.utils.exception.CcsDbException;
+import io.clonecloudstore.common.quarkus.modules.ServiceProperties;
+import io.clonecloudstore.common.standard.guid.GuidLike;
+import io.clonecloudstore.reconciliator.database.model.DaoNativeListingRepository;
+import io.clonecloudstore.reconciliator.database.model.DaoSitesListingRepository;
+import io.clonecloudstore.reconciliator.database.model.LocalReconciliationService;
+import io.clonecloudstore.reconciliator.model.SingleSiteObject;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@TestMethodOrder(MethodOrderer.MethodName.class)
+@QuarkusTest
+@TestProfile(PgReconciliatorProfile.class)
+class PgDaoListingDbTest {
+  private static final String BUCKET1 = "bucket1";
+  private static final String BUCKET2 = "bucket2";
+  @Inject
+  Instance<DaoNativeListingRepository> nativeListingRepositoryInstance;
+  @Inject
+  Instance<DaoSitesListingRepository> sitesListingRepositoryInstance;
+  PgDaoNativeListingRepository nativeListingRepository;
+  PgDaoSitesListingRepository sitesListingRepository;
+
+  @BeforeEach
+  void beforeEach() throws CcsDbException {
+    nativeListingRepository = (PgDaoNativeListingRepository) nativeListingRepositoryInstance.get();
+    sitesListingRepository = (PgDaoSitesListingRepository) sitesListingRepositoryInstance.get();
+    assertFalse(DbType.getInstance().isMongoDbType());
+    // Twice to check it is idempotent
+    nativeListingRepository.createIndex();
+    nativeListingRepository.createIndex();
+    sitesListingRepository.createIndex();
+  }
+
+  @Test
+  void nativeListingPartitionedAndCopied() throws CcsDbException {
+    assertEquals(PgDaoReconciliationUtils.getListingPartitions(),
+        countPartitions(nativeListingRepository, DaoNativeListingRepository.TABLE_NAME));
+    final var requestId = GuidLike.getGuid();
+    final var db = new SingleSiteObject(ServiceProperties.getAccessorSite(), LocalReconciliationService.READY_RANK,
+        Instant.now().truncatedTo(ChronoUnit.MILLIS));
+    for (var i = 0; i < 10; i++) {
+      nativeListingRepository.addToInsertBulk(
+          new PgDaoNativeListing().setId(GuidLike.getGuid()).setDb(db).setRequestId(requestId)
+              .setBucket(i % 2 == 0 ? BUCKET1 : BUCKET2).setName("object\"," + i));
+    }
+    nativeListingRepository.flushAll();
+    final var query = getQuery(requestId, BUCKET1);
+    assertEquals(5, nativeListingRepository.count(query));
+    // All the listing of a Bucket within one partition
+    assertEquals(1, countPartitionsOf(nativeListingRepository, DaoNativeListingRepository.TABLE_NAME, BUCKET1));
+    final var listing = nativeListingRepository.findOne(
+        new DbQuery(RestQuery.CONJUNCTION.AND, query, new DbQuery(RestQuery.QUERY.EQ, DaoNativeListingRepository.NAME,
+            "object\",0")));
+    assertEquals(db, listing.getDb());
+    assertEquals(null, listing.getDriver());
+    // Update through entities
+    listing.setDriver(db);
+    nativeListingRepository.addToUpdateBulk(listing);
+    nativeListingRepository.flushAll();
+    assertEquals(db, nativeListingRepository.findWithPk(listing.getId()).getDriver());
+    assertEquals(10, nativeListingRepository.delete(
+        new DbQuery(RestQuery.QUERY.EQ, DaoNativeListingRepository.REQUESTID, requestId)));
+  }
+
+  @Test
+  void sitesListingPartitionedAndCopied() throws CcsDbException {
+    assertEquals(PgDaoReconciliationUtils.getListingPartitions(),
+        countPartitions(sitesListingRepository, DaoSitesListingRepository.TABLE_NAME));
+    final var requestId = GuidLike.getGuid();
+    final var now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    final var local = List.of(new SingleSiteObject("site1", LocalReconciliationService.READY_RANK, now),
+        new SingleSiteObject("site2", LocalReconciliationService.DELETED_RANK, now));
+    for (var i = 0; i < 10; i++) {
+      sitesListingRepository.addToInsertBulk(
+          new PgDaoSitesListing().setId(GuidLike.getGuid()).setLocal(local).setRequestId(requestId)
+              .setBucket(i % 2 == 0 ? BUCKET1 : BUCKET2).setName("object" + i));
+    }
+    sitesListingRepository.flushAll();
+    assertEquals(5, sitesListingRepository.count(getQuery(requestId, BUCKET2)));
+    assertEquals(1, countPartitionsOf(sitesListingRepository, DaoSitesListingRepository.TABLE_NAME, BUCKET2));
+    try (final var iterator = sitesListingRepository.findIterator(getQuery(requestId, BUCKET2))) {
+      while (iterator.hasNext()) {
+        assertEquals(local, iterator.next().getLocal());
+      }
+    }
+    assertEquals(10, sitesListingRepository.delete(
+        new DbQuery(RestQuery.QUERY.EQ, DaoSitesListingRepository.REQUESTID, requestId)));
+  }
+
+  private static DbQuery getQuery(final String requestId, final String bucket) {
+    return new DbQuery(RestQuery.CONJUNCTION.AND,
+        new DbQuery(RestQuery.QUERY.EQ, DaoNativeListingRepository.REQUESTID, requestId),
+        new DbQuery(RestQuery.QUERY.EQ, DaoNativeListingRepository.BUCKET, bucket));
+  }
+
+  private static long countPartitions(final ExtendedPanacheRepositoryBase<?, ?> repository, final String table) {
+    return ((Number) repository.getEntityManager()
+        .createNativeQuery("SELECT count(*) FROM pg_inherits WHERE inhparent = '" + table + "'::regclass")
+        .getSingleResult()).longValue();
+  }
+
+  private static long countPartitionsOf(final ExtendedPanacheRepositoryBase<?, ?> repository,
+                                        final String table, final String bucket) {
+    return ((Number) repository.getEntityManager()
+        .createNativeQuery("SELECT count(DISTINCT tableoid) FROM " + table + " WHERE bucket = '" + bucket + "'")
+        .getSingleResult()).longValue();
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2022-2024. Clone Cloud Store (CCS), Contributors and Frederic Bregier
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed
+ *  under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ *  OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package io.clonecloudstore.reconciliator.database.postgre;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.clonecloudstore.reconciliator.server.ReconciliatorServer;
+import io.clonecloudstore.test.resource.postgres.PostgresProfile;
+
+/**
+ * PostgreSQL profile for the Reconciliator repositories only: the Reconciliation services being MongoDB only, the
+ * server (refusing to start on PostgreSQL) is excluded
+ */
+public class PgReconciliatorProfile extends PostgresProfile {
+  @Override
+  public Map<String, String> getConfigOverrides() {
+    final var map = new HashMap<>(super.getConfigOverrides());
+    map.put("quarkus.arc.exclude-types", ReconciliatorServer.class.getName());
+    return map;
+  }
+}